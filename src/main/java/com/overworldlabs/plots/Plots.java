@@ -1,25 +1,44 @@
 package com.overworldlabs.plots;
 
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.worldgen.provider.IWorldGenProvider;
 import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
 import com.overworldlabs.plots.command.PlotCommand;
+import com.overworldlabs.plots.manager.ActivityManager;
+import com.overworldlabs.plots.manager.ConfigManager;
 import com.overworldlabs.plots.manager.DataManager;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotAuditLog;
+import com.overworldlabs.plots.manager.PlotContextCache;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotPurgeManager;
+import com.overworldlabs.plots.manager.PlotResetManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
 import com.overworldlabs.plots.manager.TranslationManager;
 import com.overworldlabs.plots.manager.WorldManager;
+import com.overworldlabs.plots.manager.PlotMapManager;
+import com.overworldlabs.plots.manager.PlotSchematicManager;
+import com.overworldlabs.plots.manager.PlotSnapshotManager;
 import com.overworldlabs.plots.manager.RadarManager;
 import com.overworldlabs.plots.manager.PrefabManager;
 import com.overworldlabs.plots.integration.holograms.HologramManager;
 import com.overworldlabs.plots.integration.buildertools.BuilderToolsIntegration;
+import com.overworldlabs.plots.listener.PlayerListener;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.PlotConfig;
 import com.overworldlabs.plots.system.BreakProtectionSystem;
+import com.overworldlabs.plots.system.DamageProtectionSystem;
+import com.overworldlabs.plots.system.HologramVisibilitySystem;
 import com.overworldlabs.plots.system.PlaceProtectionSystem;
 
 import com.overworldlabs.plots.system.PlotNotificationSystem;
 import com.overworldlabs.plots.system.UpdateNotificationSystem;
-import com.overworldlabs.plots.system.RadarMarkerSystem;
+import com.overworldlabs.plots.system.UseBlockProtectionSystem;
 import com.overworldlabs.plots.system.BuilderToolsMaskSystem;
 import com.overworldlabs.plots.util.ConsoleColors;
 import com.overworldlabs.plots.util.UpdateChecker;
@@ -27,6 +46,9 @@ import com.overworldlabs.plots.worldgen.PlotWorldGenProvider;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main plugin class for the Plots system
@@ -40,9 +62,22 @@ public class Plots extends JavaPlugin {
     private WorldManager worldManager;
     private TranslationManager translationManager;
     private RadarManager radarManager;
+    private PlotMapManager plotMapManager;
+    private PlotSchematicManager schematicManager;
+    private PlotSnapshotManager snapshotManager;
     private PrefabManager prefabManager;
     private HologramManager hologramManager;
     private BuilderToolsIntegration builderToolsIntegration;
+    private HologramVisibilitySystem hologramVisibilitySystem;
+    private DenialThrottle denialThrottle;
+    private PlotContextCache plotContextCache;
+    private ConfigManager configManager;
+    private PlotResetManager plotResetManager;
+    private ActivityManager activityManager;
+    private PlayerNameCache playerNameCache;
+    private PlotPurgeManager plotPurgeManager;
+    private PlotWorldRegistry plotWorldRegistry;
+    private ScheduledExecutorService scheduler;
 
     public Plots(@Nonnull JavaPluginInit init) {
         super(init);
@@ -67,14 +102,20 @@ public class Plots extends JavaPlugin {
         super.setup();
         ConsoleColors.info("Setting up Plots plugin...");
 
-        PlotConfig config = loadConfig();
         File dataDir = getDataDirectory().toFile();
+        prefabManager = new PrefabManager(dataDir);
+        configManager = new ConfigManager(dataDir, prefabManager);
+        PlotConfig config = configManager.load();
+        PlotMetrics.setEnabled(config.isMetricsEnabled());
+        ConsoleColors.setDebug(config.isDebug());
+        ConsoleColors.startAsync();
 
         initializeTranslationManager(dataDir, config);
         printBanner();
         initializeManagers(dataDir, config);
         registerWorldGenerator();
         registerSystems();
+        registerListeners();
 
         ConsoleColors.success("Setup complete! Plugin is ready.");
 
@@ -98,20 +139,58 @@ public class Plots extends JavaPlugin {
      * Initialize all plugin managers
      */
     private void initializeManagers(File dataDir, PlotConfig config) {
-        prefabManager = new PrefabManager(dataDir);
-        plotManager = new PlotManager(config);
-        plotManager.syncConfigWithPrefabs();
+        plotWorldRegistry = new PlotWorldRegistry();
+        PlotWorld primary = createPlotWorld(dataDir, config, "plots.json", true);
+        for (PlotConfig worldConfig : config.getWorldConfigs()) {
+            createPlotWorld(dataDir, worldConfig, "plots-" + worldConfig.getPlotWorldName() + ".json", false);
+        }
+
+        plotManager = primary.getPlotManager();
+        worldManager = primary.getWorldManager();
+        plotResetManager = primary.getResetManager();
+        dataManager = primary.getDataManager();
 
         PlotManager pm = this.plotManager;
-        if (pm != null) {
-            worldManager = new WorldManager(config);
-            radarManager = new RadarManager(pm, worldManager);
-            hologramManager = new HologramManager(pm);
-            dataManager = new DataManager(dataDir, pm);
-
-            dataManager.loadPlots();
-            getCommandRegistry().registerCommand(new PlotCommand(pm));
+        radarManager = new RadarManager(pm, worldManager);
+        plotMapManager = new PlotMapManager(dataDir, pm, worldManager, translationManager);
+        pm.setChangeListener(plotMapManager::onPlotChanged);
+        schematicManager = new PlotSchematicManager(dataDir, configManager);
+        snapshotManager = new PlotSnapshotManager(dataDir, schematicManager, plotWorldRegistry, configManager);
+        hologramManager = new HologramManager(pm);
+        activityManager = new ActivityManager(dataDir);
+        plotPurgeManager = new PlotPurgeManager(dataDir, pm, activityManager, worldManager);
+        denialThrottle = new DenialThrottle(pm, translationManager);
+        api = new PlotsAPIImpl(pm, worldManager);
+        plotContextCache = new PlotContextCache();
+
+        activityManager.load();
+        plotMapManager.load();
+        playerNameCache = new PlayerNameCache(dataDir);
+        playerNameCache.load();
+        for (PlotWorld plotWorld : plotWorldRegistry.getAll()) {
+            playerNameCache.seed(plotWorld.getPlotManager().getAllPlots());
+        }
+        getCommandRegistry().registerCommand(new PlotCommand(pm));
+    }
+
+    /**
+     * Creates the managers of a plot world, loads its plots and registers it
+     */
+    private PlotWorld createPlotWorld(File dataDir, PlotConfig config, String dataFileName, boolean primary) {
+        String name = config.getPlotWorldName();
+        PlotManager pm = new PlotManager(configManager, name);
+        WorldManager wm = new WorldManager(config);
+        DataManager dm = new DataManager(dataDir, dataFileName, pm);
+        PlotAuditLog auditLog = new PlotAuditLog(dataDir, pm, wm);
+        PlotWorld plotWorld = new PlotWorld(name, primary, pm, dm, wm, new PlotResetManager(pm, wm), auditLog);
+
+        dm.loadPlots();
+        auditLog.load();
+        plotWorldRegistry.register(plotWorld);
+        if (!primary) {
+            ConsoleColors.info("Registered additional plot world '" + name + "'");
         }
+        return plotWorld;
     }
 
     /**
@@ -134,19 +213,38 @@ public class Plots extends JavaPlugin {
      */
     private void registerSystems() {
         var registry = getEntityStoreRegistry();
-        registry.registerSystem(new BreakProtectionSystem(plotManager, worldManager));
-        registry.registerSystem(new PlaceProtectionSystem(plotManager, worldManager));
-        registry.registerSystem(new PlotNotificationSystem(plotManager, worldManager));
+        registry.registerSystem(new BreakProtectionSystem(plotWorldRegistry, denialThrottle, snapshotManager));
+        registry.registerSystem(new PlaceProtectionSystem(plotWorldRegistry, denialThrottle, snapshotManager));
+        registry.registerSystem(new UseBlockProtectionSystem(plotWorldRegistry, plotContextCache, denialThrottle));
+        registry.registerSystem(new DamageProtectionSystem(plotWorldRegistry, plotContextCache, denialThrottle));
+        registry.registerSystem(new PlotNotificationSystem(plotWorldRegistry, denialThrottle));
         registry.registerSystem(new UpdateNotificationSystem(getVersion()));
-        registry.registerSystem(new RadarMarkerSystem(radarManager));
+
+        if (hologramManager != null) {
+            hologramVisibilitySystem = new HologramVisibilitySystem(plotManager, worldManager, hologramManager);
+            registry.registerSystem(hologramVisibilitySystem);
+        }
 
         if (worldManager != null) {
             builderToolsIntegration = new BuilderToolsIntegration();
             builderToolsIntegration.initialize();
-            registry.registerSystem(new BuilderToolsMaskSystem(worldManager, builderToolsIntegration));
+            registry.registerSystem(new BuilderToolsMaskSystem(plotWorldRegistry, builderToolsIntegration));
         }
     }
 
+    /**
+     * Register player lifecycle listeners
+     */
+    private void registerListeners() {
+        if (worldManager == null)
+            return;
+
+        PlayerListener listener = new PlayerListener(worldManager, radarManager, plotMapManager, schematicManager,
+                activityManager, playerNameCache, denialThrottle, plotContextCache, hologramVisibilitySystem);
+        getEventRegistry().registerGlobal(PlayerReadyEvent.class, listener::onPlayerReady);
+        getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, listener::onPlayerDisconnect);
+    }
+
     /**
      * Check for plugin updates
      */
@@ -165,57 +263,130 @@ public class Plots extends JavaPlugin {
         return radarManager;
     }
 
+    public PlotMapManager getPlotMapManager() {
+        return plotMapManager;
+    }
+
+    public PlotSchematicManager getSchematicManager() {
+        return schematicManager;
+    }
+
+    public PlotSnapshotManager getSnapshotManager() {
+        return snapshotManager;
+    }
+
     @Override
     protected void start() {
         super.start();
         ConsoleColors.info("Starting Plots...");
-        worldManager.createWorldIfNeeded();
+        for (PlotWorld plotWorld : plotWorldRegistry.getAll()) {
+            plotWorld.getWorldManager().createWorldIfNeeded();
+        }
+
+        // Background timer for work that is spread over several world ticks
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Plots-Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (PlotWorld plotWorld : plotWorldRegistry.getAll()) {
+            plotWorld.getResetManager().start(scheduler);
+            plotWorld.getAuditLog().start(scheduler);
+        }
+        if (plotPurgeManager != null) {
+            plotPurgeManager.start(scheduler);
+        }
+        if (schematicManager != null) {
+            schematicManager.start(scheduler);
+        }
+        if (snapshotManager != null) {
+            snapshotManager.start(scheduler);
+        }
+        if (playerNameCache != null) {
+            scheduler.scheduleWithFixedDelay(playerNameCache::save, 5, 5, TimeUnit.MINUTES);
+        }
+
+        int dumpInterval = plotManager.getConfig().getMetricsDumpIntervalSeconds();
+        if (PlotMetrics.isEnabled() && dumpInterval > 0) {
+            scheduler.scheduleWithFixedDelay(this::dumpMetrics, dumpInterval, dumpInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Write current metrics to metrics.json in the data directory
+     */
+    private void dumpMetrics() {
+        PlotMetrics.writeJson(new File(getDataDirectory().toFile(), "metrics.json"));
     }
 
     @Override
     protected void shutdown() {
         ConsoleColors.info("Shutting down...");
 
-        if (dataManager != null) {
-            dataManager.savePlots();
+        if (plotPurgeManager != null) {
+            plotPurgeManager.stop();
+        }
+        if (plotWorldRegistry != null) {
+            plotWorldRegistry.getAll().forEach(plotWorld -> plotWorld.getResetManager().stop());
+            plotWorldRegistry.getAll().forEach(plotWorld -> plotWorld.getAuditLog().stop());
+        }
+        if (schematicManager != null) {
+            schematicManager.stop();
+        }
+        if (snapshotManager != null) {
+            snapshotManager.stop();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (api != null) {
+            api.shutdown();
+        }
+
+        if (plotWorldRegistry != null) {
+            plotWorldRegistry.getAll().forEach(plotWorld -> plotWorld.getDataManager().savePlots());
+        }
+        if (activityManager != null) {
+            activityManager.save();
+        }
+        if (playerNameCache != null) {
+            playerNameCache.save();
+        }
+        if (plotMapManager != null) {
+            plotMapManager.save();
+        }
+        if (PlotMetrics.isEnabled()) {
+            dumpMetrics();
         }
 
         super.shutdown();
         ConsoleColors.success("Shutdown complete!");
+        ConsoleColors.stopAsync();
     }
 
     /**
-     * Load configuration from config.json
+     * Reloads config.json and language files and applies the settings that
+     * can change at runtime
+     *
+     * @return {@code true} if world layout changes were skipped and need a
+     *         restart
      */
-    private PlotConfig loadConfig() {
-        File dataDir = getDataDirectory().toFile();
-        if (!dataDir.exists()) {
-            dataDir.mkdirs();
+    public boolean reloadConfig() {
+        boolean layoutChanged = configManager.reload();
+        PlotConfig config = configManager.getConfig();
+
+        PlotMetrics.setEnabled(config.isMetricsEnabled());
+        ConsoleColors.setDebug(config.isDebug());
+        if (translationManager != null) {
+            translationManager.reload(config.getLanguage());
         }
 
-        File configFile = new File(dataDir, "config.json");
-        com.google.gson.Gson gson = new com.google.gson.GsonBuilder().setPrettyPrinting().create();
-
-        if (!configFile.exists()) {
-            PlotConfig defaultConfig = PlotConfig.getDefault();
-
-            try (java.io.FileWriter writer = new java.io.FileWriter(configFile)) {
-                gson.toJson(defaultConfig, writer);
-                ConsoleColors.info("Created default config.json");
-            } catch (java.io.IOException e) {
-                ConsoleColors.error("Failed to save default config: " + e.getMessage());
-            }
-
-            return defaultConfig;
-        }
+        ConsoleColors.success("Configuration reloaded");
+        return layoutChanged;
+    }
 
-        try (java.io.FileReader reader = new java.io.FileReader(configFile)) {
-            PlotConfig config = gson.fromJson(reader, PlotConfig.class);
-            return (config != null) ? config : PlotConfig.getDefault();
-        } catch (java.io.IOException e) {
-            ConsoleColors.error("Failed to load config: " + e.getMessage());
-            return PlotConfig.getDefault();
-        }
+    public ConfigManager getConfigManager() {
+        return configManager;
     }
 
     public PlotManager getPlotManager() {
@@ -242,6 +413,34 @@ public class Plots extends JavaPlugin {
         return hologramManager;
     }
 
+    public PlotResetManager getPlotResetManager() {
+        return plotResetManager;
+    }
+
+    public ActivityManager getActivityManager() {
+        return activityManager;
+    }
+
+    public PlayerNameCache getPlayerNameCache() {
+        return playerNameCache;
+    }
+
+    public DenialThrottle getDenialThrottle() {
+        return denialThrottle;
+    }
+
+    public PlotWorldRegistry getPlotWorldRegistry() {
+        return plotWorldRegistry;
+    }
+
+    public PlotPurgeManager getPlotPurgeManager() {
+        return plotPurgeManager;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Gets the plugin version from the JAR manifest
      */
@@ -1,15 +1,28 @@
 package com.overworldlabs.plots.api;
 
 import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotFlag;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API for individual plot operations.
  * Provides methods to modify and query plot data.
+ * <p>
+ * Claiming, unclaiming, trusting and untrusting change plots that the plot
+ * world thread reads and update holograms in the plot world's entity store,
+ * so the plain variants must be called on the plot world thread; they throw
+ * an {@link IllegalStateException} otherwise. The {@code Async} variants may
+ * be called from any thread; they run on the plot world thread and complete
+ * their future there, so dependent stages that are not {@code Async}
+ * themselves run on the world thread too.
+ * </p>
  */
 public interface PlotAPI {
 
@@ -21,18 +34,74 @@ public interface PlotAPI {
      * @param ownerUuid UUID of the new owner
      * @param ownerName Name of the new owner
      * @return The claimed plot, or null if already claimed
+     * @throws IllegalStateException If called outside the plot world thread
      */
     @Nullable
     Plot claimPlot(int gridX, int gridZ, @Nonnull UUID ownerUuid, @Nonnull String ownerName);
 
+    /**
+     * Claim a plot for a player on the plot world thread. Plot limits are not
+     * checked. Radar markers and holograms are updated, the plot data is saved
+     * and a claim event is fired.
+     * 
+     * @param gridX     Grid X coordinate
+     * @param gridZ     Grid Z coordinate
+     * @param ownerUuid UUID of the new owner
+     * @param ownerName Name of the new owner
+     * @return Future of the claimed plot, completing with null if the plot is
+     *         already claimed or being reset
+     */
+    @Nonnull
+    CompletableFuture<Plot> claimPlotAsync(int gridX, int gridZ, @Nonnull UUID ownerUuid,
+            @Nonnull String ownerName);
+
+    /**
+     * Claim several plots for a player in one batch on the plot world thread.
+     * Plots that are already claimed or being reset are skipped. The plot data
+     * is saved once for the whole batch.
+     * 
+     * @param grids     Grid coordinates as {gridX, gridZ}
+     * @param ownerUuid UUID of the new owner
+     * @param ownerName Name of the new owner
+     * @return Future of the plots that were claimed
+     */
+    @Nonnull
+    CompletableFuture<List<Plot>> claimPlotsAsync(@Nonnull Collection<int[]> grids, @Nonnull UUID ownerUuid,
+            @Nonnull String ownerName);
+
     /**
      * Unclaim/delete a plot
      * 
      * @param plot Plot to unclaim
      * @return true if the plot was successfully unclaimed
+     * @throws IllegalStateException If called outside the plot world thread
      */
     boolean unclaimPlot(@Nonnull Plot plot);
 
+    /**
+     * Unclaim a plot on the plot world thread. Radar markers and holograms are
+     * removed, the plot is reset if {@code ResetOnDelete} is enabled, the plot
+     * data is saved and an unclaim event is fired.
+     * 
+     * @param plot Plot to unclaim
+     * @return Future completing with true if the plot was unclaimed
+     */
+    @Nonnull
+    CompletableFuture<Boolean> unclaimPlotAsync(@Nonnull Plot plot);
+
+    /**
+     * Transfer every plot of an owner to another player in one batch on the
+     * plot world thread. Merged plots stay merged.
+     * 
+     * @param fromUuid UUID of the current owner
+     * @param toUuid   UUID of the new owner
+     * @param toName   Name of the new owner
+     * @return Future of the transferred plots
+     */
+    @Nonnull
+    CompletableFuture<List<Plot>> transferPlotsAsync(@Nonnull UUID fromUuid, @Nonnull UUID toUuid,
+            @Nonnull String toName);
+
     /**
      * Rename a plot
      * 
@@ -48,6 +117,7 @@ public interface PlotAPI {
      * @param plot       Plot to modify
      * @param playerUuid UUID of the player to trust
      * @return true if the player was successfully added
+     * @throws IllegalStateException If called outside the plot world thread
      */
     boolean trustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid);
 
@@ -57,9 +127,30 @@ public interface PlotAPI {
      * @param plot       Plot to modify
      * @param playerUuid UUID of the player to untrust
      * @return true if the player was successfully removed
+     * @throws IllegalStateException If called outside the plot world thread
      */
     boolean untrustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid);
 
+    /**
+     * Add a trusted player to a plot on the plot world thread
+     * 
+     * @param plot       Plot to modify
+     * @param playerUuid UUID of the player to trust
+     * @return Future completing with true if the player was added
+     */
+    @Nonnull
+    CompletableFuture<Boolean> trustPlayerAsync(@Nonnull Plot plot, @Nonnull UUID playerUuid);
+
+    /**
+     * Remove a trusted player from a plot on the plot world thread
+     * 
+     * @param plot       Plot to modify
+     * @param playerUuid UUID of the player to untrust
+     * @return Future completing with true if the player was removed
+     */
+    @Nonnull
+    CompletableFuture<Boolean> untrustPlayerAsync(@Nonnull Plot plot, @Nonnull UUID playerUuid);
+
     /**
      * Get all trusted players for a plot
      * 
@@ -120,4 +211,38 @@ public interface PlotAPI {
      * @return true if the coordinates are within the plot
      */
     boolean isWithinPlot(@Nonnull Plot plot, int x, int z);
+
+    /**
+     * Check if a flag is enabled on a plot, explicitly or by default
+     * 
+     * @param plot Plot to query
+     * @param flag Flag to check
+     * @return true if the flag is enabled
+     */
+    boolean hasFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag);
+
+    /**
+     * Get the enabled flags of a plot as a bit mask of {@link PlotFlag#getBit()}
+     * 
+     * @param plot Plot to query
+     * @return Mask of enabled flags
+     */
+    long getFlags(@Nonnull Plot plot);
+
+    /**
+     * Set a flag on a plot
+     * 
+     * @param plot  Plot to modify
+     * @param flag  Flag to set
+     * @param value New value of the flag
+     */
+    void setFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag, boolean value);
+
+    /**
+     * Return a flag of a plot to its default value
+     * 
+     * @param plot Plot to modify
+     * @param flag Flag to reset
+     */
+    void resetFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag);
 }
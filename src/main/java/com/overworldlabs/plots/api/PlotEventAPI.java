@@ -8,6 +8,12 @@ import java.util.function.Consumer;
 /**
  * API for registering event listeners for plot events.
  * Allows other plugins to react to plot changes.
+ * <p>
+ * The {@code onPlot...} methods register synchronous listeners with
+ * {@link EventPriority#NORMAL}. Use {@link #subscribe} to choose a priority,
+ * to run a listener asynchronously, or to listen to the cancellable
+ * {@code PlotPre...} events fired before a change.
+ * </p>
  */
 public interface PlotEventAPI {
 
@@ -48,6 +54,51 @@ public interface PlotEventAPI {
     @Nonnull
     String onPlotTrust(@Nonnull Consumer<TrustEvent> listener);
 
+    /**
+     * Register a listener for plot reset events
+     * <p>
+     * Resets run over several ticks; the listener is called when a reset
+     * starts, after every regenerated chunk and when it completes. Listeners
+     * run on the plot world thread.
+     * </p>
+     * 
+     * @param listener Consumer that will be called with the reset progress
+     * @return Listener ID for unregistering later
+     */
+    @Nonnull
+    String onPlotReset(@Nonnull Consumer<PlotResetEvent> listener);
+
+    /**
+     * Register a synchronous listener with {@link EventPriority#NORMAL}
+     * 
+     * @param eventType Event class to listen to, subclasses included
+     * @param listener  Consumer that will be called with the event
+     * @return Listener ID for unregistering later
+     */
+    @Nonnull
+    <E extends Event> String subscribe(@Nonnull Class<E> eventType, @Nonnull Consumer<? super E> listener);
+
+    /**
+     * Register a listener for an event class
+     * <p>
+     * Listeners are called from {@link EventPriority#LOWEST} to
+     * {@link EventPriority#MONITOR}. Synchronous listeners run on the thread
+     * firing the event, usually the plot world thread, and can cancel
+     * {@link Cancellable} events. Asynchronous listeners run afterwards on the
+     * Plots event thread and only observe the outcome; if they fall behind,
+     * events are dropped rather than delaying the server.
+     * </p>
+     * 
+     * @param eventType Event class to listen to, subclasses included
+     * @param priority  Position of the listener in the dispatch order
+     * @param async     Whether to run the listener on the event thread
+     * @param listener  Consumer that will be called with the event
+     * @return Listener ID for unregistering later
+     */
+    @Nonnull
+    <E extends Event> String subscribe(@Nonnull Class<E> eventType, @Nonnull EventPriority priority, boolean async,
+            @Nonnull Consumer<? super E> listener);
+
     /**
      * Unregister a listener by its ID
      * 
@@ -5,7 +5,10 @@ import com.overworldlabs.plots.model.Plot;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Spliterator;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Main API interface for the Plots plugin.
@@ -34,22 +37,82 @@ public interface PlotsAPI {
     Plot getPlotByGrid(int gridX, int gridZ);
 
     /**
-     * Get all plots owned by a player
+     * Get all plots owned by a player, looked up in the owner index
      * 
      * @param ownerUuid UUID of the plot owner
-     * @return Collection of plots owned by the player
+     * @return Unmodifiable collection of plots owned by the player
      */
     @Nonnull
     Collection<Plot> getPlotsByOwner(@Nonnull UUID ownerUuid);
 
     /**
      * Get all claimed plots
+     * <p>
+     * The collection is an unmodifiable live view: it reflects later claims and
+     * unclaims and can be iterated while plots change. Copy it if you need a
+     * snapshot.
+     * </p>
      * 
-     * @return Collection of all claimed plots
+     * @return Live view of all claimed plots
      */
     @Nonnull
     Collection<Plot> getAllPlots();
 
+    /**
+     * Call an action for every claimed plot, without copying the plot list
+     * 
+     * @param action Action to run for each plot
+     */
+    void forEachPlot(@Nonnull Consumer<? super Plot> action);
+
+    /**
+     * Get a spliterator over all claimed plots. It is concurrent and splits
+     * well, so it can back parallel streams.
+     * 
+     * @return Spliterator over the live plot collection
+     */
+    @Nonnull
+    Spliterator<Plot> plotSpliterator();
+
+    /**
+     * Stream all claimed plots
+     * 
+     * @param parallel Whether the stream should be parallel
+     * @return Stream over the live plot collection
+     */
+    @Nonnull
+    Stream<Plot> streamPlots(boolean parallel);
+
+    /**
+     * Stream the claimed plots that overlap an area of the plot world
+     * <p>
+     * The area is converted to a range of the plot grid and read from the plot
+     * index directly, so the cost depends on the size of the area and the
+     * number of plots in it, not on the total number of plots. Only the plot
+     * area counts; a box that touches nothing but the road next to a plot
+     * does not include it.
+     * </p>
+     * 
+     * @param minX Minimum X coordinate, inclusive
+     * @param minZ Minimum Z coordinate, inclusive
+     * @param maxX Maximum X coordinate, inclusive
+     * @param maxZ Maximum Z coordinate, inclusive
+     * @return Lazy stream over the live plot index, ordered by grid X, then Z
+     */
+    @Nonnull
+    Stream<Plot> getPlotsInArea(int minX, int minZ, int maxX, int maxZ);
+
+    /**
+     * Stream the claimed plots within a distance of a point in the plot world
+     * 
+     * @param x      X coordinate
+     * @param z      Z coordinate
+     * @param radius Distance in blocks to the closest block of a plot
+     * @return Lazy stream over the live plot index, ordered by grid X, then Z
+     */
+    @Nonnull
+    Stream<Plot> getPlotsNear(int x, int z, int radius);
+
     /**
      * Check if a player is trusted in a plot (owner or explicitly trusted)
      * 
@@ -79,14 +142,14 @@ public interface PlotsAPI {
     boolean canPlayerBuild(@Nonnull UUID playerUuid, int x, int z);
 
     /**
-     * Get the total number of claimed plots
+     * Get the total number of claimed plots in constant time
      * 
      * @return Number of claimed plots
      */
     int getTotalPlots();
 
     /**
-     * Get the number of plots owned by a specific player
+     * Get the number of plots owned by a specific player in constant time
      * 
      * @param ownerUuid UUID of the owner
      * @return Number of plots owned
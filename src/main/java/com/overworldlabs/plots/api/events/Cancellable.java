@@ -0,0 +1,22 @@
+package com.overworldlabs.plots.api.events;
+
+/**
+ * An event that listeners can cancel to stop the action it announces
+ */
+public interface Cancellable {
+
+    /**
+     * Check if a listener cancelled the action
+     * 
+     * @return true if the action will not happen
+     */
+    boolean isCancelled();
+
+    /**
+     * Cancel or un-cancel the action. Listeners with a later priority see and
+     * may change the value.
+     * 
+     * @param cancelled true to stop the action
+     */
+    void setCancelled(boolean cancelled);
+}
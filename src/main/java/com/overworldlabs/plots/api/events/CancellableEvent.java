@@ -0,0 +1,26 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Base class for events fired before a plot change, which listeners can cancel
+ */
+public abstract class CancellableEvent extends Event implements Cancellable {
+    private boolean cancelled;
+
+    public CancellableEvent(@Nonnull Plot plot) {
+        super(plot);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+}
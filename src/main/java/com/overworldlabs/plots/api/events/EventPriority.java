@@ -0,0 +1,19 @@
+package com.overworldlabs.plots.api.events;
+
+/**
+ * Order in which listeners of an event are called, from {@link #LOWEST} to
+ * {@link #MONITOR}. Listeners with the same priority run in registration
+ * order.
+ */
+public enum EventPriority {
+    LOWEST,
+    LOW,
+    NORMAL,
+    HIGH,
+    HIGHEST,
+    /**
+     * Called last, to observe the final outcome. Monitor listeners should not
+     * cancel or change the event.
+     */
+    MONITOR
+}
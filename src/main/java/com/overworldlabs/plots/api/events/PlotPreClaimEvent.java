@@ -0,0 +1,41 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Event fired before a plot is claimed. The plot is not registered yet;
+ * cancelling the event leaves the position unclaimed.
+ */
+public class PlotPreClaimEvent extends CancellableEvent {
+    private final UUID claimerUuid;
+    private final String claimerName;
+
+    public PlotPreClaimEvent(@Nonnull Plot plot, @Nonnull UUID claimerUuid, @Nonnull String claimerName) {
+        super(plot);
+        this.claimerUuid = claimerUuid;
+        this.claimerName = claimerName;
+    }
+
+    /**
+     * Get the UUID of the player claiming the plot
+     * 
+     * @return Player UUID
+     */
+    @Nonnull
+    public UUID getClaimerUuid() {
+        return claimerUuid;
+    }
+
+    /**
+     * Get the name of the player claiming the plot
+     * 
+     * @return Player name
+     */
+    @Nonnull
+    public String getClaimerName() {
+        return claimerName;
+    }
+}
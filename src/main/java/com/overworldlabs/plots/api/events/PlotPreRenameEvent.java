@@ -0,0 +1,27 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Event fired before a plot is renamed
+ */
+public class PlotPreRenameEvent extends CancellableEvent {
+    private final String newName;
+
+    public PlotPreRenameEvent(@Nonnull Plot plot, @Nonnull String newName) {
+        super(plot);
+        this.newName = newName;
+    }
+
+    /**
+     * Get the name the plot is about to receive
+     * 
+     * @return New plot name
+     */
+    @Nonnull
+    public String getNewName() {
+        return newName;
+    }
+}
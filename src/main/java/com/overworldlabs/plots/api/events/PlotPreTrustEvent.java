@@ -0,0 +1,39 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Event fired before a player is trusted or untrusted in a plot
+ */
+public class PlotPreTrustEvent extends CancellableEvent {
+    private final UUID playerUuid;
+    private final boolean trusted;
+
+    public PlotPreTrustEvent(@Nonnull Plot plot, @Nonnull UUID playerUuid, boolean trusted) {
+        super(plot);
+        this.playerUuid = playerUuid;
+        this.trusted = trusted;
+    }
+
+    /**
+     * Get the UUID of the player being trusted/untrusted
+     * 
+     * @return Player UUID
+     */
+    @Nonnull
+    public UUID getPlayerUuid() {
+        return playerUuid;
+    }
+
+    /**
+     * Check if the player is being trusted or untrusted
+     * 
+     * @return true if trusted, false if untrusted
+     */
+    public boolean isTrusted() {
+        return trusted;
+    }
+}
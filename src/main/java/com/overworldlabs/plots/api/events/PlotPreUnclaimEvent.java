@@ -0,0 +1,31 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Event fired before a plot is unclaimed, by a player, the inactive plot purge
+ * or the API
+ */
+public class PlotPreUnclaimEvent extends CancellableEvent {
+    private final UUID actorUuid;
+
+    public PlotPreUnclaimEvent(@Nonnull Plot plot, @Nullable UUID actorUuid) {
+        super(plot);
+        this.actorUuid = actorUuid;
+    }
+
+    /**
+     * Get the UUID of the player deleting the plot
+     * 
+     * @return Player UUID, or null if the plot is unclaimed by the purge or
+     *         through the API
+     */
+    @Nullable
+    public UUID getActorUuid() {
+        return actorUuid;
+    }
+}
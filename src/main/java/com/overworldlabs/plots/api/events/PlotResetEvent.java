@@ -0,0 +1,81 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Event fired while a plot is being reset to its generated state.
+ * <p>
+ * A reset is spread over many ticks, so listeners receive a
+ * {@link Stage#STARTED} event, a {@link Stage#PROGRESS} event after each
+ * chunk and a final {@link Stage#COMPLETED} event.
+ * </p>
+ */
+public class PlotResetEvent extends Event {
+    public enum Stage {
+        STARTED,
+        PROGRESS,
+        COMPLETED
+    }
+
+    private final Stage stage;
+    private final int processedColumns;
+    private final int totalColumns;
+    private final int changedBlocks;
+
+    public PlotResetEvent(@Nonnull Plot plot, @Nonnull Stage stage, int processedColumns, int totalColumns,
+            int changedBlocks) {
+        super(plot);
+        this.stage = stage;
+        this.processedColumns = processedColumns;
+        this.totalColumns = totalColumns;
+        this.changedBlocks = changedBlocks;
+    }
+
+    /**
+     * Get the stage of the reset this event reports
+     *
+     * @return Reset stage
+     */
+    @Nonnull
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Get the number of block columns already regenerated
+     *
+     * @return Processed columns
+     */
+    public int getProcessedColumns() {
+        return processedColumns;
+    }
+
+    /**
+     * Get the number of block columns in the plot
+     *
+     * @return Total columns
+     */
+    public int getTotalColumns() {
+        return totalColumns;
+    }
+
+    /**
+     * Get the number of blocks that differed from the template so far
+     *
+     * @return Changed blocks
+     */
+    public int getChangedBlocks() {
+        return changedBlocks;
+    }
+
+    /**
+     * Get the reset progress
+     *
+     * @return Progress between 0 and 1
+     */
+    public double getProgress() {
+        return totalColumns == 0 ? 1.0 : (double) processedColumns / totalColumns;
+    }
+}
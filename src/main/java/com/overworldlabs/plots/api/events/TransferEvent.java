@@ -0,0 +1,40 @@
+package com.overworldlabs.plots.api.events;
+
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Event fired when a plot is given to a new owner
+ */
+public class TransferEvent extends Event {
+    private final UUID formerOwnerUuid;
+    private final UUID newOwnerUuid;
+
+    public TransferEvent(@Nonnull Plot plot, @Nonnull UUID formerOwnerUuid, @Nonnull UUID newOwnerUuid) {
+        super(plot);
+        this.formerOwnerUuid = formerOwnerUuid;
+        this.newOwnerUuid = newOwnerUuid;
+    }
+
+    /**
+     * Get the UUID of the former owner
+     * 
+     * @return Former owner UUID
+     */
+    @Nonnull
+    public UUID getFormerOwnerUuid() {
+        return formerOwnerUuid;
+    }
+
+    /**
+     * Get the UUID of the new owner
+     * 
+     * @return New owner UUID
+     */
+    @Nonnull
+    public UUID getNewOwnerUuid() {
+        return newOwnerUuid;
+    }
+}
@@ -0,0 +1,336 @@
+package com.overworldlabs.plots.api.impl;
+
+import com.overworldlabs.plots.api.events.Event;
+import com.overworldlabs.plots.api.events.EventPriority;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches plot events to listeners in priority order.
+ * <p>
+ * Listeners are registered for an event class and also receive its
+ * subclasses. The listeners of each posted event class are resolved once into
+ * an array sorted by priority and cached until the next registration change,
+ * so posting an event is a map read and an array walk.
+ * </p>
+ * <p>
+ * Synchronous listeners run on the thread that fires the event; for
+ * cancellable events this is where the outcome is decided. Asynchronous
+ * listeners get the event afterwards, on a single {@code Plots-Events} thread
+ * fed by a queue of {@code Events.AsyncQueueSize} events. When the queue is
+ * full, events are dropped and counted instead of blocking the world thread.
+ * </p>
+ * <p>
+ * Each listener records its run time in an {@code events.listener.*}
+ * histogram, and synchronous listeners slower than
+ * {@code Events.SlowListenerMillis} are reported in the console.
+ * </p>
+ */
+public class PlotEventBus {
+    private static final long WARN_INTERVAL_MILLIS = 60_000L;
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final Comparator<Listener> ORDER = Comparator.<Listener, EventPriority>comparing(l -> l.priority)
+            .thenComparingLong(l -> l.sequence);
+
+    private final Supplier<PlotConfig> config;
+    private final LongAdder dropped = PlotMetrics.counter("events.async.dropped");
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    // Replaced as a whole on every registration change
+    private volatile Registry registry = new Registry(Collections.emptyMap());
+    private long nextSequence;
+    private ThreadPoolExecutor executor;
+    private boolean closed;
+
+    public PlotEventBus(@Nonnull Supplier<PlotConfig> config) {
+        this.config = config;
+    }
+
+    /**
+     * Registers a listener
+     *
+     * @param type     Event class, subclasses included
+     * @param priority Position of the listener in the dispatch order
+     * @param async    Whether the listener runs on the event thread instead of
+     *                 the thread firing the event
+     * @param handler  The listener
+     * @return Listener ID for unregistering later
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public synchronized <E extends Event> String register(@Nonnull Class<E> type, @Nonnull EventPriority priority,
+            boolean async, @Nonnull Consumer<? super E> handler) {
+        String id = UUID.randomUUID().toString();
+        String name = nameOf(handler) + "#" + type.getSimpleName();
+        Listener listener = new Listener(id, priority, async, (Consumer<Event>) handler,
+                nextSequence++, PlotMetrics.histogram("events.listener." + name), name);
+
+        Map<Class<?>, Listener[]> byType = new HashMap<>(registry.byType);
+        Listener[] current = byType.getOrDefault(type, NO_LISTENERS);
+        Listener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        byType.put(type, updated);
+        registry = new Registry(byType);
+        return id;
+    }
+
+    /**
+     * Unregisters a listener by its ID
+     *
+     * @return true if the listener was found and removed
+     */
+    public synchronized boolean unregister(@Nonnull String id) {
+        Map<Class<?>, Listener[]> byType = new HashMap<>(registry.byType);
+        for (Map.Entry<Class<?>, Listener[]> entry : byType.entrySet()) {
+            Listener[] current = entry.getValue();
+            for (int i = 0; i < current.length; i++) {
+                if (!current[i].id.equals(id))
+                    continue;
+
+                if (current.length == 1) {
+                    byType.remove(entry.getKey());
+                } else {
+                    Listener[] updated = new Listener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    entry.setValue(updated);
+                }
+                registry = new Registry(byType);
+                releaseTiming(current[i]);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unregisters all listeners
+     */
+    public synchronized void unregisterAll() {
+        Registry previous = registry;
+        registry = new Registry(Collections.emptyMap());
+        for (Listener[] listeners : previous.byType.values()) {
+            for (Listener listener : listeners) {
+                releaseTiming(listener);
+            }
+        }
+    }
+
+    /**
+     * Removes the histogram of an unregistered listener, unless another
+     * listener with the same name still records into it
+     */
+    private void releaseTiming(@Nonnull Listener removed) {
+        for (Listener[] listeners : registry.byType.values()) {
+            for (Listener listener : listeners) {
+                if (listener.timing == removed.timing)
+                    return;
+            }
+        }
+        PlotMetrics.removeHistogram("events.listener." + removed.name);
+    }
+
+    /**
+     * Dispatches an event to its listeners
+     *
+     * @return The event, for reading the outcome of cancellable events
+     */
+    @Nonnull
+    public <E extends Event> E post(@Nonnull E event) {
+        Registry current = registry;
+        if (current.byType.isEmpty())
+            return event;
+
+        Listener[] targets = current.dispatch.computeIfAbsent(event.getClass(), current::resolve);
+        boolean hasAsync = false;
+        for (Listener listener : targets) {
+            if (listener.async) {
+                hasAsync = true;
+            } else {
+                invoke(listener, event);
+            }
+        }
+
+        if (hasAsync) {
+            dispatchAsync(targets, event);
+        }
+        return event;
+    }
+
+    /**
+     * Stops the event thread, giving queued events a moment to finish
+     */
+    public void shutdown() {
+        ThreadPoolExecutor running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+            closed = true;
+        }
+        if (running == null)
+            return;
+
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(1, TimeUnit.SECONDS)) {
+                ConsoleColors.warning("[Plots] " + running.getQueue().size()
+                        + " queued plot event(s) were not delivered before shutdown");
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatchAsync(@Nonnull Listener[] targets, @Nonnull Event event) {
+        ThreadPoolExecutor target = getExecutor();
+        if (target == null)
+            return;
+
+        // One queue slot per event; listeners keep their priority order
+        target.execute(() -> {
+            for (Listener listener : targets) {
+                if (listener.async) {
+                    invoke(listener, event);
+                }
+            }
+        });
+    }
+
+    private void invoke(@Nonnull Listener listener, @Nonnull Event event) {
+        long start = System.nanoTime();
+        try {
+            listener.handler.accept(event);
+        } catch (Exception e) {
+            ConsoleColors.error("[Plots] Event listener " + listener.name + " failed: " + e, e);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            listener.timing.recordNanos(nanos);
+            if (!listener.async) {
+                checkSlow(listener, nanos);
+            }
+        }
+    }
+
+    private void checkSlow(@Nonnull Listener listener, long nanos) {
+        int limitMillis = config.get().getEventSlowListenerMillis();
+        if (limitMillis <= 0 || nanos < TimeUnit.MILLISECONDS.toNanos(limitMillis))
+            return;
+
+        long now = System.currentTimeMillis();
+        if (now - listener.lastWarning < WARN_INTERVAL_MILLIS)
+            return;
+        listener.lastWarning = now;
+        ConsoleColors.warning("[Plots] Event listener " + listener.name + " took "
+                + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms on the calling thread (limit " + limitMillis
+                + " ms); consider registering it as async");
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null && !closed) {
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.get().getEventAsyncQueueSize()), r -> {
+                        Thread thread = new Thread(r, "Plots-Events");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (task, pool) -> onDropped());
+        }
+        return executor;
+    }
+
+    private void onDropped() {
+        dropped.increment();
+
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last >= WARN_INTERVAL_MILLIS && lastDropWarning.compareAndSet(last, now)) {
+            ConsoleColors.warning("[Plots] Async event queue is full; " + dropped.sum()
+                    + " event(s) dropped so far. A listener is falling behind.");
+        }
+    }
+
+    /**
+     * Readable listener name: the class that created it, without the lambda
+     * suffix
+     */
+    @Nonnull
+    private static String nameOf(@Nonnull Object handler) {
+        String name = handler.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        return lambda > 0 ? name.substring(0, lambda) : name;
+    }
+
+    /**
+     * Listeners by registered type, with the resolved listeners of each posted
+     * event class
+     */
+    private static final class Registry {
+        final Map<Class<?>, Listener[]> byType;
+        final Map<Class<?>, Listener[]> dispatch = new ConcurrentHashMap<>();
+
+        Registry(@Nonnull Map<Class<?>, Listener[]> byType) {
+            this.byType = byType;
+        }
+
+        @Nonnull
+        Listener[] resolve(@Nonnull Class<?> eventClass) {
+            List<Listener> found = new ArrayList<>();
+            for (Class<?> type = eventClass; type != null && Event.class.isAssignableFrom(type); type = type
+                    .getSuperclass()) {
+                Listener[] registered = byType.get(type);
+                if (registered != null) {
+                    Collections.addAll(found, registered);
+                }
+            }
+            if (found.isEmpty())
+                return NO_LISTENERS;
+
+            found.sort(ORDER);
+            return found.toArray(NO_LISTENERS);
+        }
+    }
+
+    private static final class Listener {
+        final String id;
+        final EventPriority priority;
+        final boolean async;
+        final Consumer<Event> handler;
+        final long sequence;
+        final LatencyHistogram timing;
+        final String name;
+        volatile long lastWarning;
+
+        Listener(@Nonnull String id, @Nonnull EventPriority priority, boolean async,
+                @Nonnull Consumer<Event> handler, long sequence, @Nonnull LatencyHistogram timing,
+                @Nonnull String name) {
+            this.id = id;
+            this.priority = priority;
+            this.async = async;
+            this.handler = handler;
+            this.sequence = sequence;
+            this.timing = timing;
+            this.name = name;
+        }
+    }
+}
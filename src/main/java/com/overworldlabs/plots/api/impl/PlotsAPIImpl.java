@@ -1,17 +1,28 @@
 package com.overworldlabs.plots.api.impl;
 
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
 import com.overworldlabs.plots.api.*;
 import com.overworldlabs.plots.api.events.*;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotBatch;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.WorldManager;
 import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotFlag;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of all Plot API interfaces
@@ -20,15 +31,12 @@ public class PlotsAPIImpl implements PlotsAPI, PlotAPI, PlotEventAPI {
     private final PlotManager plotManager;
     private final WorldManager worldManager;
 
-    // Event listeners
-    private final Map<String, Consumer<ClaimEvent>> claimListeners = new ConcurrentHashMap<>();
-    private final Map<String, Consumer<UnclaimEvent>> unclaimListeners = new ConcurrentHashMap<>();
-    private final Map<String, Consumer<RenameEvent>> renameListeners = new ConcurrentHashMap<>();
-    private final Map<String, Consumer<TrustEvent>> trustListeners = new ConcurrentHashMap<>();
+    private final PlotEventBus eventBus;
 
     public PlotsAPIImpl(@Nonnull PlotManager plotManager, @Nonnull WorldManager worldManager) {
         this.plotManager = plotManager;
         this.worldManager = worldManager;
+        this.eventBus = new PlotEventBus(plotManager::getConfig);
     }
 
     // ========== PlotsAPI Implementation ==========
@@ -48,21 +56,78 @@ public class PlotsAPIImpl implements PlotsAPI, PlotAPI, PlotEventAPI {
     @Override
     @Nonnull
     public Collection<Plot> getPlotsByOwner(@Nonnull UUID ownerUuid) {
-        return plotManager.getAllPlots().stream()
-                .filter(plot -> plot.getOwner() != null && plot.getOwner().equals(ownerUuid))
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(plotManager.getPlayerPlots(ownerUuid));
     }
 
     @Override
     @Nonnull
     public Collection<Plot> getAllPlots() {
-        return new ArrayList<>(plotManager.getAllPlots());
+        return plotManager.getPlotsView();
+    }
+
+    @Override
+    public void forEachPlot(@Nonnull Consumer<? super Plot> action) {
+        plotManager.getPlotsView().forEach(action);
+    }
+
+    @Override
+    @Nonnull
+    public Spliterator<Plot> plotSpliterator() {
+        return plotManager.getPlotsView().spliterator();
+    }
+
+    @Override
+    @Nonnull
+    public Stream<Plot> streamPlots(boolean parallel) {
+        return StreamSupport.stream(plotSpliterator(), parallel);
+    }
+
+    @Override
+    @Nonnull
+    public Stream<Plot> getPlotsInArea(int minX, int minZ, int maxX, int maxZ) {
+        if (minX > maxX || minZ > maxZ)
+            return Stream.empty();
+
+        PlotConfig config = plotManager.getConfig();
+        return plotManager.streamPlotsInArea(firstGridX(config, minX), firstGridZ(config, minZ),
+                config.worldToGridX(maxX), config.worldToGridZ(maxZ));
+    }
+
+    @Override
+    @Nonnull
+    public Stream<Plot> getPlotsNear(int x, int z, int radius) {
+        if (radius < 0)
+            return Stream.empty();
+
+        PlotConfig config = plotManager.getConfig();
+        long radiusSquared = (long) radius * radius;
+        return getPlotsInArea(x - radius, z - radius, x + radius, z + radius).filter(plot -> {
+            int minX = config.gridToWorldX(plot.getGridX());
+            int minZ = config.gridToWorldZ(plot.getGridZ());
+            // Distance to the closest block of the plot
+            long dx = Math.max(0, Math.max(minX - x, x - (minX + config.getPlotSizeX() - 1)));
+            long dz = Math.max(0, Math.max(minZ - z, z - (minZ + config.getPlotSizeZ() - 1)));
+            return dx * dx + dz * dz <= radiusSquared;
+        });
+    }
+
+    /**
+     * First grid column whose plot reaches X or further; a coordinate on the
+     * road east of a plot starts at the next column
+     */
+    private static int firstGridX(@Nonnull PlotConfig config, int minX) {
+        int gridX = config.worldToGridX(minX);
+        return minX - config.gridToWorldX(gridX) >= config.getPlotSizeX() ? gridX + 1 : gridX;
+    }
+
+    private static int firstGridZ(@Nonnull PlotConfig config, int minZ) {
+        int gridZ = config.worldToGridZ(minZ);
+        return minZ - config.gridToWorldZ(gridZ) >= config.getPlotSizeZ() ? gridZ + 1 : gridZ;
     }
 
     @Override
     public boolean isPlayerTrusted(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
-        return (plot.getOwner() != null && plot.getOwner().equals(playerUuid))
-                || plot.getTrustedPlayers().contains(playerUuid);
+        return plot.hasPermission(playerUuid);
     }
 
     @Override
@@ -81,14 +146,12 @@ public class PlotsAPIImpl implements PlotsAPI, PlotAPI, PlotEventAPI {
 
     @Override
     public int getTotalPlots() {
-        return plotManager.getAllPlots().size();
+        return plotManager.getPlotCount();
     }
 
     @Override
     public int getPlotCount(@Nonnull UUID ownerUuid) {
-        return (int) plotManager.getAllPlots().stream()
-                .filter(plot -> plot.getOwner() != null && plot.getOwner().equals(ownerUuid))
-                .count();
+        return plotManager.getPlotCount(ownerUuid);
     }
 
     @Override
@@ -112,49 +175,123 @@ public class PlotsAPIImpl implements PlotsAPI, PlotAPI, PlotEventAPI {
     @Override
     @Nullable
     public Plot claimPlot(int gridX, int gridZ, @Nonnull UUID ownerUuid, @Nonnull String ownerName) {
-        // Note: Claiming plots requires CommandSender context
-        // This method is not fully implemented - use PlotCommand instead
-        return null;
+        requirePlotWorldThread();
+        Plot plot = claim(gridX, gridZ, ownerUuid, ownerName);
+        if (plot != null) {
+            requestSave();
+            fireClaimEvent(new ClaimEvent(plot, ownerUuid, ownerName));
+        }
+        return plot;
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<Plot> claimPlotAsync(int gridX, int gridZ, @Nonnull UUID ownerUuid,
+            @Nonnull String ownerName) {
+        return supplyOnPlotWorld(() -> claimPlot(gridX, gridZ, ownerUuid, ownerName));
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<List<Plot>> claimPlotsAsync(@Nonnull Collection<int[]> grids, @Nonnull UUID ownerUuid,
+            @Nonnull String ownerName) {
+        List<int[]> batch = new ArrayList<>(grids);
+        return supplyOnPlotWorld(() -> {
+            List<Plot> claimed = new ArrayList<>();
+            for (int[] grid : batch) {
+                Plot plot = claim(grid[0], grid[1], ownerUuid, ownerName);
+                if (plot != null) {
+                    claimed.add(plot);
+                }
+            }
+
+            if (!claimed.isEmpty()) {
+                requestSave();
+                for (Plot plot : claimed) {
+                    fireClaimEvent(new ClaimEvent(plot, ownerUuid, ownerName));
+                }
+            }
+            return claimed;
+        });
     }
 
     @Override
     public boolean unclaimPlot(@Nonnull Plot plot) {
-        // Note: Unclaiming plots requires proper cleanup (holograms, radar, etc)
-        // This method is not fully implemented - use PlotCommand instead
-        return false;
+        requirePlotWorldThread();
+        boolean reset = plotManager.getConfig().isResetOnDelete();
+        return !PlotBatch.unclaim(getPlotWorld(), Collections.singletonList(plot), reset, null).isEmpty();
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<Boolean> unclaimPlotAsync(@Nonnull Plot plot) {
+        return supplyOnPlotWorld(() -> unclaimPlot(plot));
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<List<Plot>> transferPlotsAsync(@Nonnull UUID fromUuid, @Nonnull UUID toUuid,
+            @Nonnull String toName) {
+        return supplyOnPlotWorld(() -> {
+            if (fromUuid.equals(toUuid))
+                return Collections.<Plot>emptyList();
+            return PlotBatch.transfer(getPlotWorld(), plotManager.getPlayerPlots(fromUuid), toUuid, toName);
+        });
     }
 
     @Override
     public boolean renamePlot(@Nonnull Plot plot, @Nonnull String newName) {
+        if (!callPreEvent(new PlotPreRenameEvent(plot, newName))) {
+            return false;
+        }
         String oldName = plot.getName();
-        plot.setName(newName);
+        plotManager.renamePlot(plot, newName);
         fireRenameEvent(new RenameEvent(plot, oldName, newName));
         return true;
     }
 
     @Override
     public boolean trustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
-        if (plot.getTrustedPlayers().contains(playerUuid)) {
+        requirePlotWorldThread();
+        if (plot.isTrusted(playerUuid) || !callPreEvent(new PlotPreTrustEvent(plot, playerUuid, true))
+                || !plotManager.trustPlayer(plot, playerUuid)) {
             return false;
         }
-        plot.getTrustedPlayers().add(playerUuid);
+        requestSave();
         fireTrustEvent(new TrustEvent(plot, playerUuid, true));
         return true;
     }
 
     @Override
     public boolean untrustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
-        boolean removed = plot.getTrustedPlayers().remove(playerUuid);
+        requirePlotWorldThread();
+        if (!plot.isTrusted(playerUuid) || !callPreEvent(new PlotPreTrustEvent(plot, playerUuid, false))) {
+            return false;
+        }
+        boolean removed = plotManager.untrustPlayer(plot, playerUuid);
         if (removed) {
+            requestSave();
             fireTrustEvent(new TrustEvent(plot, playerUuid, false));
         }
         return removed;
     }
 
+    @Override
+    @Nonnull
+    public CompletableFuture<Boolean> trustPlayerAsync(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
+        return supplyOnPlotWorld(() -> trustPlayer(plot, playerUuid));
+    }
+
+    @Override
+    @Nonnull
+    public CompletableFuture<Boolean> untrustPlayerAsync(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
+        return supplyOnPlotWorld(() -> untrustPlayer(plot, playerUuid));
+    }
+
     @Override
     @Nonnull
     public Set<UUID> getTrustedPlayers(@Nonnull Plot plot) {
-        return new HashSet<>(plot.getTrustedPlayers());
+        return new HashSet<>(plot.getTrustedPlayersView());
     }
 
     @Override
@@ -212,95 +349,191 @@ public class PlotsAPIImpl implements PlotsAPI, PlotAPI, PlotEventAPI {
         return x >= min[0] && x <= max[0] && z >= min[1] && z <= max[1];
     }
 
+    @Override
+    public boolean hasFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag) {
+        return plot.hasFlag(flag);
+    }
+
+    @Override
+    public long getFlags(@Nonnull Plot plot) {
+        return plot.getFlags();
+    }
+
+    @Override
+    public void setFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag, boolean value) {
+        plot.setFlag(flag, value);
+    }
+
+    @Override
+    public void resetFlag(@Nonnull Plot plot, @Nonnull PlotFlag flag) {
+        plot.resetFlag(flag);
+    }
+
+    // ========== Plot World Side Effects ==========
+
+    /**
+     * Claims a plot unless a listener cancels it, and adds its radar marker
+     * and hologram
+     */
+    @Nullable
+    private Plot claim(int gridX, int gridZ, @Nonnull UUID ownerUuid, @Nonnull String ownerName) {
+        if (plotManager.getPlot(gridX, gridZ) != null || plotManager.isPlotLocked(gridX, gridZ))
+            return null;
+
+        Plot plot = new Plot(gridX, gridZ, ownerUuid, ownerName);
+        if (!callPreEvent(new PlotPreClaimEvent(plot, ownerUuid, ownerName)) || !plotManager.claimPlot(plot))
+            return null;
+
+        Plots plugin = Plots.getInstance();
+        if (plugin.getRadarManager() != null) {
+            plugin.getRadarManager().updatePlotMarker(plot);
+        }
+        Store<EntityStore> store = getPlotWorldStore();
+        if (plugin.getHologramManager() != null && store != null) {
+            plugin.getHologramManager().updateHologram(plot, store);
+        }
+        PlayerNameCache nameCache = plugin.getPlayerNameCache();
+        if (nameCache != null) {
+            nameCache.update(ownerUuid, ownerName);
+        }
+        return plot;
+    }
+
+    /**
+     * Fails fast when a method that changes plots or touches the plot world's
+     * entity store is called from another thread
+     */
+    private void requirePlotWorldThread() {
+        World world = worldManager.getPlotWorld();
+        if (world != null && !world.isInThread()) {
+            throw new IllegalStateException("Call this on the plot world thread, or use the Async variant");
+        }
+    }
+
+    /**
+     * Runs an action on the plot world thread
+     */
+    @Nonnull
+    private <T> CompletableFuture<T> supplyOnPlotWorld(@Nonnull Supplier<T> action) {
+        World world = worldManager.getPlotWorld();
+        if (world == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The plot world is not loaded"));
+        }
+        return CompletableFuture.supplyAsync(action, world);
+    }
+
+    @Nullable
+    private Store<EntityStore> getPlotWorldStore() {
+        World world = worldManager.getPlotWorld();
+        return world != null ? world.getEntityStore().getStore() : null;
+    }
+
+    /**
+     * Saves the plot data on the plugin scheduler, once per batch of changes
+     */
+    private void requestSave() {
+        PlotBatch.requestSave(getPlotWorld());
+    }
+
+    @Nonnull
+    private PlotWorld getPlotWorld() {
+        return Plots.getInstance().getPlotWorldRegistry().getPrimary();
+    }
+
     // ========== PlotEventAPI Implementation ==========
 
     @Override
     @Nonnull
     public String onPlotClaim(@Nonnull Consumer<ClaimEvent> listener) {
-        String id = UUID.randomUUID().toString();
-        claimListeners.put(id, listener);
-        return id;
+        return subscribe(ClaimEvent.class, listener);
     }
 
     @Override
     @Nonnull
     public String onPlotUnclaim(@Nonnull Consumer<UnclaimEvent> listener) {
-        String id = UUID.randomUUID().toString();
-        unclaimListeners.put(id, listener);
-        return id;
+        return subscribe(UnclaimEvent.class, listener);
     }
 
     @Override
     @Nonnull
     public String onPlotRename(@Nonnull Consumer<RenameEvent> listener) {
-        String id = UUID.randomUUID().toString();
-        renameListeners.put(id, listener);
-        return id;
+        return subscribe(RenameEvent.class, listener);
     }
 
     @Override
     @Nonnull
     public String onPlotTrust(@Nonnull Consumer<TrustEvent> listener) {
-        String id = UUID.randomUUID().toString();
-        trustListeners.put(id, listener);
-        return id;
+        return subscribe(TrustEvent.class, listener);
+    }
+
+    @Override
+    @Nonnull
+    public String onPlotReset(@Nonnull Consumer<PlotResetEvent> listener) {
+        return subscribe(PlotResetEvent.class, listener);
+    }
+
+    @Override
+    @Nonnull
+    public <E extends Event> String subscribe(@Nonnull Class<E> eventType, @Nonnull Consumer<? super E> listener) {
+        return eventBus.register(eventType, EventPriority.NORMAL, false, listener);
+    }
+
+    @Override
+    @Nonnull
+    public <E extends Event> String subscribe(@Nonnull Class<E> eventType, @Nonnull EventPriority priority,
+            boolean async, @Nonnull Consumer<? super E> listener) {
+        return eventBus.register(eventType, priority, async, listener);
     }
 
     @Override
     public boolean unregisterListener(@Nonnull String listenerId) {
-        return claimListeners.remove(listenerId) != null
-                || unclaimListeners.remove(listenerId) != null
-                || renameListeners.remove(listenerId) != null
-                || trustListeners.remove(listenerId) != null;
+        return eventBus.unregister(listenerId);
     }
 
     @Override
     public void unregisterAllListeners() {
-        claimListeners.clear();
-        unclaimListeners.clear();
-        renameListeners.clear();
-        trustListeners.clear();
+        eventBus.unregisterAll();
+    }
+
+    /**
+     * Stops asynchronous event delivery, called when the plugin shuts down
+     */
+    public void shutdown() {
+        eventBus.shutdown();
     }
 
     // ========== Event Firing Methods ==========
 
+    /**
+     * Fires a pre-event to its listeners
+     *
+     * @return {@code false} if a listener cancelled the action
+     */
+    public boolean callPreEvent(@Nonnull CancellableEvent event) {
+        return !eventBus.post(event).isCancelled();
+    }
+
     public void fireClaimEvent(ClaimEvent event) {
-        claimListeners.values().forEach(listener -> {
-            try {
-                listener.accept(event);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        eventBus.post(event);
     }
 
     public void fireUnclaimEvent(UnclaimEvent event) {
-        unclaimListeners.values().forEach(listener -> {
-            try {
-                listener.accept(event);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        eventBus.post(event);
+    }
+
+    public void fireTransferEvent(TransferEvent event) {
+        eventBus.post(event);
     }
 
     public void fireRenameEvent(RenameEvent event) {
-        renameListeners.values().forEach(listener -> {
-            try {
-                listener.accept(event);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        eventBus.post(event);
     }
 
     public void fireTrustEvent(TrustEvent event) {
-        trustListeners.values().forEach(listener -> {
-            try {
-                listener.accept(event);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        eventBus.post(event);
+    }
+
+    public void firePlotResetEvent(PlotResetEvent event) {
+        eventBus.post(event);
     }
 }
@@ -0,0 +1,27 @@
+package com.overworldlabs.plots.command;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+import com.overworldlabs.plots.command.sub.PlotAdminPurgeOwnerCommand;
+import com.overworldlabs.plots.command.sub.PlotAdminReloadCommand;
+import com.overworldlabs.plots.command.sub.PlotAdminStatsCommand;
+import com.overworldlabs.plots.command.sub.PlotAdminTransferCommand;
+import com.overworldlabs.plots.manager.PlotManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /plot admin command collection - server administration subcommands like
+ * /plot admin stats, /plot admin reload and /plot admin transfer
+ */
+public class PlotAdminCommand extends AbstractCommandCollection {
+
+    public PlotAdminCommand(@Nonnull PlotManager plotManager) {
+        super("admin", "Plot administration commands");
+        requirePermission(PlotManager.PERM_ADMIN);
+
+        addSubCommand(new PlotAdminStatsCommand());
+        addSubCommand(new PlotAdminReloadCommand());
+        addSubCommand(new PlotAdminTransferCommand());
+        addSubCommand(new PlotAdminPurgeOwnerCommand());
+    }
+}
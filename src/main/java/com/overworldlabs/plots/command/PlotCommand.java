@@ -17,14 +17,26 @@ public class PlotCommand extends AbstractCommandCollection {
         requirePermission(PlotManager.PERM_BASE);
 
         // Add all subcommands
-        addSubCommand(new PlotClaimCommand(plotManager));
-        addSubCommand(new PlotAutoCommand(plotManager));
-        addSubCommand(new PlotInfoCommand(plotManager));
-        addSubCommand(new PlotDeleteCommand(plotManager));
-        addSubCommand(new PlotListCommand(plotManager));
+        addSubCommand(new PlotClaimCommand());
+        addSubCommand(new PlotAutoCommand());
+        addSubCommand(new PlotInfoCommand());
+        addSubCommand(new PlotDeleteCommand());
+        addSubCommand(new PlotListCommand());
         addSubCommand(new PlotSpawnCommand(plotManager));
-        addSubCommand(new PlotRenameCommand(plotManager));
-        addSubCommand(new PlotTrustCommand(plotManager));
-        addSubCommand(new PlotUntrustCommand(plotManager));
+        addSubCommand(new PlotHomeCommand());
+        addSubCommand(new PlotVisitCommand());
+        addSubCommand(new PlotRenameCommand());
+        addSubCommand(new PlotTrustCommand());
+        addSubCommand(new PlotUntrustCommand());
+        addSubCommand(new PlotMergeCommand());
+        addSubCommand(new PlotFlagCommand());
+        addSubCommand(new PlotCopyCommand());
+        addSubCommand(new PlotPasteCommand());
+        addSubCommand(new PlotExportCommand(plotManager));
+        addSubCommand(new PlotSnapshotCommand(plotManager));
+        addSubCommand(new PlotSnapshotsCommand());
+        addSubCommand(new PlotRollbackCommand());
+        addSubCommand(new PlotHistoryCommand());
+        addSubCommand(new PlotAdminCommand(plotManager));
     }
 }
@@ -0,0 +1,65 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotBatch;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot admin purge-owner <player>
+ * Unclaims every plot of a player in all plot worlds, for example after a ban.
+ * Plots are reset when {@code Reset.ResetOnDelete} is enabled.
+ */
+public class PlotAdminPurgeOwnerCommand extends CommandBase {
+    private final RequiredArg<String> playerArg;
+
+    public PlotAdminPurgeOwnerCommand() {
+        super("purge-owner", "Unclaim every plot of a player");
+        this.playerArg = (RequiredArg<String>) withRequiredArg("player", "Player name", ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_ADMIN);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+        PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+
+        String name = playerArg.get(context);
+        UUID ownerUuid = names.resolve(name);
+        if (ownerUuid == null) {
+            context.sender().sendMessage(tm.error("trust.player_unknown", "player", name));
+            return;
+        }
+        String ownerName = names.getNameOrId(ownerUuid);
+        UUID actorUuid = context.isPlayer() ? context.sender().getUuid() : null;
+
+        long start = System.nanoTime();
+        PlotBatch.inAllWorlds(plotWorld -> PlotBatch.unclaim(plotWorld,
+                plotWorld.getPlotManager().getPlayerPlots(ownerUuid),
+                plotWorld.getPlotManager().getConfig().isResetOnDelete(), actorUuid))
+                .whenComplete((count, error) -> {
+                    if (error != null) {
+                        ConsoleColors.error("[Plots] Failed to purge plots of " + ownerName + ": "
+                                + error.getMessage());
+                        error.printStackTrace();
+                        context.sender().sendMessage(tm.error("general.error_generic"));
+                    } else if (count == 0) {
+                        context.sender().sendMessage(tm.warning("admin.purge_owner.none", "player", ownerName));
+                    } else {
+                        context.sender().sendMessage(tm.success("admin.purge_owner.success", "count", count,
+                                "player", ownerName,
+                                "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                    }
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command: /plot admin reload
+ * Reloads config.json and the language files without a restart
+ */
+public class PlotAdminReloadCommand extends CommandBase {
+
+    public PlotAdminReloadCommand() {
+        super("reload", "Reload the plot configuration and translations");
+        requirePermission(PlotManager.PERM_ADMIN);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        try {
+            boolean layoutChanged = Plots.getInstance().reloadConfig();
+
+            // Fetched after the reload so the message uses the new language
+            TranslationManager tm = Plots.getInstance().getTranslationManager();
+            context.sender().sendMessage(tm.success("admin.reload.success"));
+            if (layoutChanged) {
+                context.sender().sendMessage(tm.warning("admin.reload.layout_changed"));
+            }
+        } catch (Exception e) {
+            ConsoleColors.error("Failed to reload configuration: " + e.getMessage());
+            e.printStackTrace();
+            TranslationManager tm = Plots.getInstance().getTranslationManager();
+            context.sender().sendMessage(tm.error("general.error_generic"));
+        }
+    }
+}
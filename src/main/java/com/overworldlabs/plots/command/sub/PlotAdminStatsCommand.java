@@ -0,0 +1,79 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+
+import javax.annotation.Nonnull;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command: /plot admin stats [reset]
+ * Shows operation counters and latency percentiles
+ */
+public class PlotAdminStatsCommand extends CommandBase {
+    private final OptionalArg<String> actionArg;
+
+    public PlotAdminStatsCommand() {
+        super("stats", "Show plot operation metrics");
+        this.actionArg = (OptionalArg<String>) withOptionalArg("action", "Use 'reset' to clear the metrics",
+                ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_ADMIN);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        String action = actionArg.get(context);
+        if ("reset".equalsIgnoreCase(action)) {
+            PlotMetrics.reset();
+            context.sender().sendMessage(tm.success("admin.stats.reset"));
+            return;
+        }
+
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        context.sender().sendMessage(
+                tm.message("admin.stats.header", "since", sdf.format(new Date(PlotMetrics.getResetAt()))));
+
+        Map<String, Long> counters = PlotMetrics.getCounterValues();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            context.sender().sendMessage(tm.message("admin.stats.counter",
+                    "name", entry.getKey(), "value", String.valueOf(entry.getValue())));
+        }
+
+        List<LatencyHistogram.Snapshot> histograms = PlotMetrics.getHistogramSnapshots();
+        if (histograms.isEmpty()) {
+            context.sender().sendMessage(tm.message("admin.stats.no_samples"));
+        }
+        for (LatencyHistogram.Snapshot snapshot : histograms) {
+            context.sender().sendMessage(tm.message("admin.stats.histogram",
+                    "name", snapshot.getName(),
+                    "count", String.valueOf(snapshot.getCount()),
+                    "mean", formatNanos((long) snapshot.getMeanNanos()),
+                    "p50", formatNanos(snapshot.getPercentileNanos(50)),
+                    "p99", formatNanos(snapshot.getPercentileNanos(99)),
+                    "max", formatNanos(snapshot.getMaxNanos())));
+        }
+    }
+
+    @Nonnull
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L)
+            return nanos + "ns";
+        if (nanos < 1_000_000L)
+            return String.format("%.1fus", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L)
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+}
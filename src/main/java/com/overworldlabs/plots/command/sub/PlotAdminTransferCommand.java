@@ -0,0 +1,158 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotBatch;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot admin transfer <player> [--from <owner>]
+ * Gives the plot you are standing on, together with the plots merged with it,
+ * to another player. With --from, every plot of the owner in all plot worlds
+ * is transferred.
+ */
+public class PlotAdminTransferCommand extends CommandBase {
+    private final RequiredArg<String> playerArg;
+    private final OptionalArg<String> fromArg;
+
+    public PlotAdminTransferCommand() {
+        super("transfer", "Give a plot or all plots of a player to another player");
+        this.playerArg = (RequiredArg<String>) withRequiredArg("player", "New owner", ArgTypes.STRING);
+        this.fromArg = (OptionalArg<String>) withOptionalArg("from", "Transfer every plot of this player",
+                ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_ADMIN);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+        PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+
+        UUID toUuid = resolve(context, names, tm, playerArg.get(context));
+        if (toUuid == null)
+            return;
+        String toName = names.getNameOrId(toUuid);
+
+        String from = fromArg.get(context);
+        if (from != null) {
+            transferAll(context, names, tm, from, toUuid, toName);
+            return;
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        // Get the player object from Universe (thread-safe) to find their world
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("admin.transfer"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (toUuid.equals(plot.getOwner())) {
+                playerRef.sendMessage(tm.error("admin.transfer.already_owner", "player", toName));
+                return;
+            }
+
+            // Merged plots share one owner, so the whole region moves
+            long start = System.nanoTime();
+            List<Plot> transferred = PlotBatch.transfer(plotWorld, plotManager.getRegionPlots(plot), toUuid, toName);
+            playerRef.sendMessage(tm.success("admin.transfer.success", "count", transferred.size(),
+                    "location", PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ()), "player", toName,
+                    "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }));
+    }
+
+    private void transferAll(@Nonnull CommandContext context, @Nonnull PlayerNameCache names,
+            @Nonnull TranslationManager tm, @Nonnull String from, @Nonnull UUID toUuid, @Nonnull String toName) {
+        UUID fromUuid = resolve(context, names, tm, from);
+        if (fromUuid == null)
+            return;
+        String fromName = names.getNameOrId(fromUuid);
+        if (fromUuid.equals(toUuid)) {
+            context.sender().sendMessage(tm.error("admin.transfer.already_owner", "player", toName));
+            return;
+        }
+
+        long start = System.nanoTime();
+        PlotBatch.inAllWorlds(plotWorld -> PlotBatch.transfer(plotWorld,
+                plotWorld.getPlotManager().getPlayerPlots(fromUuid), toUuid, toName))
+                .whenComplete((count, error) -> {
+                    if (error != null) {
+                        ConsoleColors.error("[Plots] Failed to transfer plots of " + fromName + ": "
+                                + error.getMessage());
+                        error.printStackTrace();
+                        context.sender().sendMessage(tm.error("general.error_generic"));
+                    } else if (count == 0) {
+                        context.sender().sendMessage(tm.warning("admin.transfer.none", "player", fromName));
+                    } else {
+                        context.sender().sendMessage(tm.success("admin.transfer.success_all", "count", count,
+                                "from", fromName, "player", toName,
+                                "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                    }
+                });
+    }
+
+    private static UUID resolve(@Nonnull CommandContext context, @Nonnull PlayerNameCache names,
+            @Nonnull TranslationManager tm, @Nonnull String name) {
+        UUID uuid = names.resolve(name);
+        if (uuid == null) {
+            context.sender().sendMessage(tm.error("trust.player_unknown", "player", name));
+        }
+        return uuid;
+    }
+}
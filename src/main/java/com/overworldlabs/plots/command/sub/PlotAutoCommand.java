@@ -8,20 +8,21 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.ClaimEvent;
+import com.overworldlabs.plots.api.events.PlotPreClaimEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
-import com.overworldlabs.plots.util.ChatUtil;
 import com.overworldlabs.plots.util.PlotUtil;
 
 import javax.annotation.Nonnull;
 
 public class PlotAutoCommand extends CommandBase {
-    private final PlotManager plotManager;
-
-    public PlotAutoCommand(@Nonnull PlotManager plotManager) {
+    public PlotAutoCommand() {
         super("auto", "Automatically claim a plot nearby");
-        this.plotManager = plotManager;
         requirePermission(PlotManager.PERM_PLOT);
     }
 
@@ -30,7 +31,7 @@ public class PlotAutoCommand extends CommandBase {
         TranslationManager tm = Plots.getInstance().getTranslationManager();
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(com.overworldlabs.plots.util.ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -56,42 +57,54 @@ public class PlotAutoCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("auto"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
                 return;
 
             // Find next available plot
-            int[] freePlot = this.plotManager.findNextFreePlot();
+            int[] freePlot = plotManager.findNextFreePlot();
             if (freePlot == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("management.not_found")));
+                playerRef.sendMessage(tm.error("management.not_found"));
                 return;
             }
 
             int gridX = freePlot[0];
             int gridZ = freePlot[1];
 
+            // API events only cover the main plot world
+            PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+            Plot plot = new Plot(gridX, gridZ, playerRef.getUuid(), playerRef.getUsername());
+            if (api != null
+                    && !api.callPreEvent(new PlotPreClaimEvent(plot, playerRef.getUuid(), playerRef.getUsername()))) {
+                playerRef.sendMessage(tm.error("general.action_cancelled"));
+                return;
+            }
+
             // Attempt to claim
-            if (this.plotManager.claimPlot(context.sender(), playerRef, freePlot[0], freePlot[1])) {
+            if (plotManager.claimPlot(context.sender(), plot)) {
                 playerRef.sendMessage(
-                        ChatUtil.success(
-                                tm.get("claim.plot_auto_claimed", "location",
-                                        PlotUtil.formatPlotLocation(gridX, gridZ))));
+                        tm.success("claim.plot_auto_claimed", "location",
+                                PlotUtil.formatPlotLocation(gridX, gridZ)));
 
                 // Update radar marker
-                Plot plot = this.plotManager.getPlot(gridX, gridZ);
-                if (plot != null) {
+                if (plotWorld.isPrimary()) {
                     Plots.getInstance().getRadarManager().updatePlotMarker(plot);
                     Plots.getInstance().getHologramManager().updateHologram(plot, store);
-
-                    // Use centralized teleport method
-                    this.plotManager.teleportPlayerToPlot(store, ref, plot);
-                    playerRef.sendMessage(ChatUtil.success(tm.get("teleport.teleporting")));
                 }
+                if (api != null) {
+                    api.fireClaimEvent(new ClaimEvent(plot, playerRef.getUuid(), playerRef.getUsername()));
+                }
+
+                // Use centralized teleport method
+                plotManager.teleportPlayerToPlot(store, ref, plot);
+                playerRef.sendMessage(tm.success("teleport.teleporting"));
             } else {
-                playerRef.sendMessage(ChatUtil.error(tm.get("claim.max_plots_reached")));
+                playerRef.sendMessage(tm.error("claim.max_plots_reached"));
             }
-        });
+        }));
     }
 }
@@ -10,11 +10,15 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.ClaimEvent;
+import com.overworldlabs.plots.api.events.PlotPreClaimEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.model.PlotConfig;
-import com.overworldlabs.plots.util.ChatUtil;
 import com.overworldlabs.plots.util.PlotUtil;
 
 import javax.annotation.Nonnull;
@@ -24,11 +28,8 @@ import javax.annotation.Nonnull;
  * Claims the plot at the player's current location
  */
 public class PlotClaimCommand extends CommandBase {
-    private final PlotManager plotManager;
-
-    public PlotClaimCommand(@Nonnull PlotManager plotManager) {
+    public PlotClaimCommand() {
         super("claim", "Claim the current plot");
-        this.plotManager = plotManager;
         requirePermission(PlotManager.PERM_PLOT);
     }
 
@@ -41,7 +42,7 @@ public class PlotClaimCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -67,17 +68,19 @@ public class PlotClaimCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("claim"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
                 return;
 
             Vector3d pos = playerRef.getTransform().getPosition();
-            PlotConfig config = this.plotManager.getConfig();
+            PlotConfig config = plotManager.getConfig();
 
             if (!config.isInPlot(currentWorld.getName(), (int) pos.x, (int) pos.z)) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("claim.standing_on_road")));
+                playerRef.sendMessage(tm.error("claim.standing_on_road"));
                 return;
             }
 
@@ -85,25 +88,43 @@ public class PlotClaimCommand extends CommandBase {
             int gridX = grid[0];
             int gridZ = grid[1];
 
-            if (this.plotManager.claimPlot(context.sender(), playerRef, gridX, gridZ)) {
+            if (plotManager.getPlot(gridX, gridZ) != null) {
+                playerRef.sendMessage(tm.error("claim.plot_already_claimed"));
+                return;
+            }
+            if (plotManager.isPlotLocked(gridX, gridZ)) {
+                playerRef.sendMessage(tm.error("claim.plot_resetting"));
+                return;
+            }
+            if (plotManager.getPlotCount(playerRef.getUuid()) >= plotManager.getMaxPlots(context.sender())) {
+                playerRef.sendMessage(tm.error("claim.max_plots_reached"));
+                return;
+            }
+
+            // API events only cover the main plot world
+            PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+            Plot plot = new Plot(gridX, gridZ, playerRef.getUuid(), playerRef.getUsername());
+            if (api != null
+                    && !api.callPreEvent(new PlotPreClaimEvent(plot, playerRef.getUuid(), playerRef.getUsername()))) {
+                playerRef.sendMessage(tm.error("general.action_cancelled"));
+                return;
+            }
+
+            if (plotManager.claimPlot(context.sender(), plot)) {
                 playerRef.sendMessage(
-                        ChatUtil.success(
-                                tm.get("claim.plot_claimed", "location", PlotUtil.formatPlotLocation(gridX, gridZ))));
+                        tm.success("claim.plot_claimed", "location", PlotUtil.formatPlotLocation(gridX, gridZ)));
 
                 // Update radar marker
-                Plot plot = this.plotManager.getPlot(gridX, gridZ);
-                if (plot != null) {
+                if (plotWorld.isPrimary()) {
                     Plots.getInstance().getRadarManager().updatePlotMarker(plot);
                     Plots.getInstance().getHologramManager().updateHologram(plot, store);
                 }
-            } else {
-                Plot existingPlot = this.plotManager.getPlot(gridX, gridZ);
-                if (existingPlot != null) {
-                    playerRef.sendMessage(ChatUtil.error(tm.get("claim.plot_already_claimed")));
-                } else {
-                    playerRef.sendMessage(ChatUtil.error(tm.get("claim.max_plots_reached")));
+                if (api != null) {
+                    api.fireClaimEvent(new ClaimEvent(plot, playerRef.getUuid(), playerRef.getUsername()));
                 }
+            } else {
+                playerRef.sendMessage(tm.error("claim.plot_already_claimed"));
             }
-        });
+        }));
     }
 }
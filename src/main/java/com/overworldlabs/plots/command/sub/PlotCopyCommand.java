@@ -0,0 +1,120 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotSchematicManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot copy
+ * Copies the blocks of the plot you are standing on into your clipboard
+ */
+public class PlotCopyCommand extends CommandBase {
+    public PlotCopyCommand() {
+        super("copy", "Copy the blocks of your plot");
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SCHEMATIC);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("copy"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            PlotSchematicManager schematics = Plots.getInstance().getSchematicManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+            if (schematics.isBusy(plotManager, plot)) {
+                playerRef.sendMessage(tm.error("schematic.busy"));
+                return;
+            }
+
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            long start = System.nanoTime();
+            playerRef.sendMessage(tm.info("schematic.copy_started", "location", location));
+            schematics.copy(currentWorld, plotManager, plot).whenComplete((schematic, error) -> {
+                if (error != null) {
+                    playerRef.sendMessage(tm.error("schematic.cancelled"));
+                    return;
+                }
+                schematics.setClipboard(playerRef.getUuid(), schematic);
+                playerRef.sendMessage(tm.success("schematic.copied", "location", location,
+                        "blocks", schematic.getBlockCount(), "size", (schematic.getCompressedSize() + 1023) / 1024,
+                        "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            });
+        }));
+    }
+}
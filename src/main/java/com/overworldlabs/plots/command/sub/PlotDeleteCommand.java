@@ -13,27 +13,32 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.PlotPreUnclaimEvent;
+import com.overworldlabs.plots.api.events.PlotResetEvent;
+import com.overworldlabs.plots.api.events.UnclaimEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotResetManager;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.model.PlotConfig;
-import com.overworldlabs.plots.util.ChatUtil;
 import com.overworldlabs.plots.util.PlotUtil;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
  * Command: /plot delete
  * Deletes/unclaims the current plot
  */
 public class PlotDeleteCommand extends CommandBase {
-    private final PlotManager plotManager;
     private final OptionalArg<Integer> gridXArg;
     private final OptionalArg<Integer> gridZArg;
 
-    public PlotDeleteCommand(@Nonnull PlotManager plotManager) {
+    public PlotDeleteCommand() {
         super("delete", "Delete your plot or any plot with coordinates");
-        this.plotManager = plotManager;
         this.gridXArg = (OptionalArg<Integer>) withOptionalArg("gridX", "Grid X coordinate", ArgTypes.INTEGER);
         this.gridZArg = (OptionalArg<Integer>) withOptionalArg("gridZ", "Grid Z coordinate", ArgTypes.INTEGER);
         requirePermission(PlotManager.PERM_PLOT);
@@ -48,7 +53,7 @@ public class PlotDeleteCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -74,14 +79,16 @@ public class PlotDeleteCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("delete"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
                 return;
 
             Vector3d pos = playerRef.getTransform().getPosition();
-            PlotConfig config = this.plotManager.getConfig();
+            PlotConfig config = plotManager.getConfig();
 
             // Check if coordinates were provided (requires plots.delete.* permission)
             Integer providedGridX = gridXArg.get(context);
@@ -100,10 +107,10 @@ public class PlotDeleteCommand extends CommandBase {
                 grid = config.getPlotGridAt((int) pos.x, (int) pos.z);
             }
 
-            Plot plot = this.plotManager.getPlot(grid[0], grid[1]);
+            Plot plot = plotManager.getPlot(grid[0], grid[1]);
 
             if (plot == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("management.not_found")));
+                playerRef.sendMessage(tm.error("management.not_found"));
                 return;
             }
 
@@ -114,17 +121,52 @@ public class PlotDeleteCommand extends CommandBase {
                 }
             }
 
-            if (this.plotManager.unclaimPlot(grid[0], grid[1])) {
+            // API events only cover the main plot world
+            PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+            if (api != null && !api.callPreEvent(new PlotPreUnclaimEvent(plot, playerRef.getUuid()))) {
+                playerRef.sendMessage(tm.error("general.action_cancelled"));
+                return;
+            }
+
+            // Roads merged around the plot turn back into road once it is gone
+            java.util.UUID formerOwner = plot.getOwner();
+            List<int[]> mergedRoads = plotManager.getMergedRoadAreas(grid[0], grid[1]);
+
+            if (plotManager.unclaimPlot(grid[0], grid[1])) {
                 playerRef.sendMessage(
-                        ChatUtil.success(
-                                tm.get("delete.success", "location", PlotUtil.formatPlotLocation(grid[0], grid[1]))));
+                        tm.success("delete.success", "location", PlotUtil.formatPlotLocation(grid[0], grid[1])));
 
                 // Remove radar marker
-                Plots.getInstance().getRadarManager().removePlotMarker(plot);
-                Plots.getInstance().getHologramManager().removeHologram(plot, store);
+                if (plotWorld.isPrimary()) {
+                    Plots.getInstance().getRadarManager().removePlotMarker(plot);
+                    Plots.getInstance().getHologramManager().removeHologram(plot, store);
+                }
+
+                // Regenerate the plot so the next owner starts from a clean plot
+                PlotResetManager resetManager = plotWorld.getResetManager();
+                if (config.isResetOnDelete()) {
+                    java.util.UUID playerUuid = playerRef.getUuid();
+                    String location = PlotUtil.formatPlotLocation(grid[0], grid[1]);
+                    resetManager.queueReset(plot, mergedRoads, event -> {
+                        if (event.getStage() != PlotResetEvent.Stage.COMPLETED)
+                            return;
+                        PlayerRef target = Universe.get().getPlayer(playerUuid);
+                        if (target != null) {
+                            target.sendMessage(tm.success("delete.reset_complete", "location", location));
+                        }
+                    });
+                    playerRef.sendMessage(tm.info("delete.reset_queued", "count",
+                            String.valueOf(resetManager.getQueueSize())));
+                } else if (!mergedRoads.isEmpty()) {
+                    resetManager.queueRegenerate(plot, mergedRoads);
+                }
+
+                if (api != null && formerOwner != null) {
+                    api.fireUnclaimEvent(new UnclaimEvent(plot, formerOwner));
+                }
             } else {
-                playerRef.sendMessage(ChatUtil.error(tm.get("general.error_generic")));
+                playerRef.sendMessage(tm.error("general.error_generic"));
             }
-        });
+        }));
     }
 }
@@ -0,0 +1,154 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotSchematicManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot export <name>
+ * Copies the plot you are standing on into a schematic file that can be
+ * pasted later with /plot paste --file <name>
+ */
+public class PlotExportCommand extends CommandBase {
+    private final PlotManager plotManager;
+    private final RequiredArg<String> nameArg;
+
+    public PlotExportCommand(@Nonnull PlotManager plotManager) {
+        super("export", "Save the blocks of your plot to a schematic file");
+        this.plotManager = plotManager;
+        this.nameArg = (RequiredArg<String>) withRequiredArg("name", "Schematic name", ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+        PlotSchematicManager schematics = Plots.getInstance().getSchematicManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SCHEMATIC);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        String name = nameArg.get(context);
+        if (!PlotSchematicManager.isValidName(name)) {
+            context.sender().sendMessage(tm.error("schematic.invalid_name"));
+            return;
+        }
+        int maxExports = plotManager.getConfig().getSchematicMaxExportsPerPlayer();
+        if (maxExports > 0 && !schematics.exists(senderUuid, name)
+                && schematics.countExports(senderUuid) >= maxExports) {
+            context.sender().sendMessage(tm.error("schematic.too_many", "max", maxExports));
+            return;
+        }
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("export"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+            if (schematics.isBusy(plotManager, plot)) {
+                playerRef.sendMessage(tm.error("schematic.busy"));
+                return;
+            }
+
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            long start = System.nanoTime();
+            playerRef.sendMessage(tm.info("schematic.copy_started", "location", location));
+            schematics.copy(currentWorld, plotManager, plot).whenComplete((schematic, error) -> {
+                ScheduledExecutorService scheduler = Plots.getInstance().getScheduler();
+                if (error != null || scheduler == null || scheduler.isShutdown()) {
+                    playerRef.sendMessage(tm.error("schematic.cancelled"));
+                    return;
+                }
+
+                // Files are written off the world thread
+                scheduler.execute(() -> {
+                    try {
+                        schematics.save(senderUuid, name, schematic);
+                        playerRef.sendMessage(tm.success("schematic.exported", "location", location,
+                                "name", name, "size", (schematic.getCompressedSize() + 1023) / 1024,
+                                "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                    } catch (IOException e) {
+                        ConsoleColors.error("[Plots] Failed to save schematic " + name + ": " + e.getMessage());
+                        e.printStackTrace();
+                        playerRef.sendMessage(tm.error("general.error_generic"));
+                    }
+                });
+            });
+        }));
+    }
+}
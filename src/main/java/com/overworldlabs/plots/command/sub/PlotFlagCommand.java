@@ -0,0 +1,180 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotFlag;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Command: /plot flag [flag] [on|off|default]
+ * Lists, shows or changes the flags of the plot you are standing on
+ */
+public class PlotFlagCommand extends CommandBase {
+    private final OptionalArg<String> flagArg;
+    private final OptionalArg<String> valueArg;
+
+    public PlotFlagCommand() {
+        super("flag", "View or change the flags of your plot");
+        this.flagArg = (OptionalArg<String>) withOptionalArg("flag", "Flag name", ArgTypes.STRING);
+        this.valueArg = (OptionalArg<String>) withOptionalArg("value", "on, off or default", ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_FLAG);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        String flagName = flagArg.get(context);
+        String value = valueArg.get(context);
+        PlotFlag flag = PlotFlag.fromKey(flagName);
+        if (flagName != null && flag == null) {
+            context.sender().sendMessage(tm.error("flag.unknown", "flag", flagName, "flags", flagKeys()));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("flag"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            // Merged regions keep their flags on the main plot
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
+
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            if (flag == null) {
+                playerRef.sendMessage(tm.message("flag.header", "name", plot.getName()));
+                for (PlotFlag each : PlotFlag.values()) {
+                    sendValue(tm, playerRef, plot, each);
+                }
+                playerRef.sendMessage(tm.warning("flag.not_enforced", "flags", flagKeys(false)));
+                return;
+            }
+
+            if (value == null) {
+                sendValue(tm, playerRef, plot, flag);
+                sendNotEnforced(tm, playerRef, flag);
+                return;
+            }
+
+            boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+            if (!plot.getOwner().equals(playerRef.getUuid()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "on", "true", "allow" -> plot.setFlag(flag, true);
+                case "off", "false", "deny" -> plot.setFlag(flag, false);
+                case "default", "reset" -> plot.resetFlag(flag);
+                default -> {
+                    playerRef.sendMessage(tm.error("flag.usage"));
+                    return;
+                }
+            }
+
+            playerRef.sendMessage(tm.success("flag.updated", "flag", flag.getKey(),
+                    "value", tm.get(plot.hasFlag(flag) ? "flag.on" : "flag.off")));
+            sendNotEnforced(tm, playerRef, flag);
+        }));
+    }
+
+    private static void sendValue(@Nonnull TranslationManager tm, @Nonnull PlayerRef playerRef, @Nonnull Plot plot,
+            @Nonnull PlotFlag flag) {
+        playerRef.sendMessage(tm.message(plot.isFlagSet(flag) ? "flag.entry" : "flag.entry_default",
+                "flag", flag.getKey(),
+                "value", tm.get(plot.hasFlag(flag) ? "flag.on" : "flag.off")));
+    }
+
+    private static void sendNotEnforced(@Nonnull TranslationManager tm, @Nonnull PlayerRef playerRef,
+            @Nonnull PlotFlag flag) {
+        if (!flag.isEnforced()) {
+            playerRef.sendMessage(tm.warning("flag.not_enforced", "flags", flag.getKey()));
+        }
+    }
+
+    @Nonnull
+    private static String flagKeys() {
+        StringBuilder keys = new StringBuilder();
+        for (PlotFlag flag : PlotFlag.values()) {
+            if (keys.length() > 0) {
+                keys.append(", ");
+            }
+            keys.append(flag.getKey());
+        }
+        return keys.toString();
+    }
+
+    /**
+     * Get the keys of the flags that are, or are not, enforced
+     */
+    @Nonnull
+    private static String flagKeys(boolean enforced) {
+        StringBuilder keys = new StringBuilder();
+        for (PlotFlag flag : PlotFlag.values()) {
+            if (flag.isEnforced() != enforced)
+                continue;
+            if (keys.length() > 0) {
+                keys.append(", ");
+            }
+            keys.append(flag.getKey());
+        }
+        return keys.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotAuditLog;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command: /plot history [--page <n>]
+ * Shows who broke and placed blocks on the plot you are standing on, newest
+ * first. Owners see the changes since they claimed the plot, admins all of
+ * them.
+ */
+public class PlotHistoryCommand extends CommandBase {
+    private static final int PAGE_SIZE = 8;
+
+    private final OptionalArg<Integer> pageArg;
+
+    public PlotHistoryCommand() {
+        super("history", "Show who changed blocks on your plot");
+        this.pageArg = (OptionalArg<Integer>) withOptionalArg("page", "Page number", ArgTypes.INTEGER);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_HISTORY);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        Integer requestedPage = pageArg.get(context);
+        int page = requestedPage != null ? Math.max(1, requestedPage) : 1;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("history"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+
+            // Changes made under a previous owner stay private
+            long since = admin ? 0L : plot.getCreatedAt() / 1000L;
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            plotWorld.getAuditLog().history(plot.getGridX(), plot.getGridZ(), since, (page - 1) * PAGE_SIZE,
+                    PAGE_SIZE).whenComplete((entries, error) -> {
+                        if (entries == null || entries.isEmpty()) {
+                            playerRef.sendMessage(tm.error(page == 1 ? "history.empty" : "history.invalid_page"));
+                            return;
+                        }
+
+                        PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+                        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                        List<Message> lines = new ArrayList<>(entries.size() * 2 + 1);
+                        lines.add(tm.message("history.header", "location", location, "page", page));
+                        for (PlotAuditLog.Entry entry : entries) {
+                            UUID actor = entry.getActor();
+                            String block = entry.getBlockKey();
+                            lines.add(Message.raw("\n"));
+                            lines.add(tm.message(entry.isPlaced() ? "history.placed" : "history.broken",
+                                    "date", sdf.format(new Date(entry.getTime() * 1000L)),
+                                    "player", actor != null ? names.getNameOrId(actor) : "?",
+                                    "block", block != null ? block : "?",
+                                    "x", entry.getX(), "y", entry.getY(), "z", entry.getZ()));
+                        }
+                        playerRef.sendMessage(Message.join(lines.toArray(new Message[0])));
+                    });
+        }));
+    }
+}
@@ -0,0 +1,100 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command: /plot home [--number <n>]
+ * Teleports the player to one of their plots, numbered in the order they were
+ * claimed
+ */
+public class PlotHomeCommand extends CommandBase {
+    private final OptionalArg<Integer> numberArg;
+
+    public PlotHomeCommand() {
+        super("home", "Teleport to one of your plots");
+        this.numberArg = (OptionalArg<Integer>) withOptionalArg("number", "Which plot, in claim order",
+                ArgTypes.INTEGER);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_HOME);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        Integer requestedNumber = numberArg.get(context);
+        int number = requestedNumber != null ? Math.max(1, requestedNumber) : 1;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("home"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            List<Plot> owned = plotManager.getPlayerPlotsOldestFirst(playerRef.getUuid());
+            if (owned.isEmpty()) {
+                playerRef.sendMessage(tm.error("list.empty"));
+                return;
+            }
+            if (number > owned.size()) {
+                playerRef.sendMessage(tm.error("home.invalid_number", "count", owned.size()));
+                return;
+            }
+
+            Plot plot = owned.get(number - 1);
+            plotManager.teleportPlayerToPlot(store, ref, plot);
+            playerRef.sendMessage(tm.success("home.teleporting", "name", plot.getName()));
+        }));
+    }
+}
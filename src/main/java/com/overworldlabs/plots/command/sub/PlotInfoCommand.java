@@ -11,8 +11,11 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.util.ColorConstants;
 import com.overworldlabs.plots.util.ChatUtil;
@@ -20,6 +23,7 @@ import com.overworldlabs.plots.util.ChatUtil;
 import javax.annotation.Nonnull;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Command: /plot info
@@ -27,11 +31,8 @@ import java.util.Date;
  * system.
  */
 public class PlotInfoCommand extends CommandBase {
-        private final PlotManager plotManager;
-
-        public PlotInfoCommand(@Nonnull PlotManager plotManager) {
+        public PlotInfoCommand() {
                 super("info", "Show plot information");
-                this.plotManager = plotManager;
                 requirePermission(PlotManager.PERM_PLOT);
         }
 
@@ -44,7 +45,7 @@ public class PlotInfoCommand extends CommandBase {
                 }
 
                 if (!context.isPlayer()) {
-                        context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+                        context.sender().sendMessage(tm.error("general.only_players"));
                         return;
                 }
 
@@ -70,7 +71,9 @@ public class PlotInfoCommand extends CommandBase {
                         return;
 
                 // Execute store operations on the world thread
-                currentWorld.execute(() -> {
+                currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("info"), () -> {
+                        PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+                        PlotManager plotManager = plotWorld.getPlotManager();
                         Store<EntityStore> store = ref.getStore();
                         PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
                         if (playerRef == null)
@@ -81,17 +84,17 @@ public class PlotInfoCommand extends CommandBase {
                                 return;
 
                         Vector3d pos = transform.getPosition();
-                        Plot plot = this.plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
+                        Plot plot = plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
 
                         if (plot == null) {
-                                playerRef.sendMessage(ChatUtil.error(tm.get("info.not_in_plot")));
+                                playerRef.sendMessage(tm.error("info.not_in_plot"));
                                 return;
                         }
 
                         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
                         String date = sdf.format(new Date(plot.getCreatedAt()));
 
-                        playerRef.sendMessage(ChatUtil.colorize(tm.get("info.header")));
+                        playerRef.sendMessage(tm.message("info.header"));
 
                         playerRef.sendMessage(ChatUtil.builder()
                                         .color(ColorConstants.WHITE).append(tm.get("info.label.name"))
@@ -112,7 +115,7 @@ public class PlotInfoCommand extends CommandBase {
                         playerRef.sendMessage(ChatUtil.builder()
                                         .color(ColorConstants.WHITE).append(tm.get("info.label.trusted"))
                                         .color(ColorConstants.SECONDARY)
-                                        .append(String.valueOf(plot.getTrustedPlayers().size()))
+                                        .append(trustedNames(plot))
                                         .build());
 
                         playerRef.sendMessage(ChatUtil.builder()
@@ -120,7 +123,26 @@ public class PlotInfoCommand extends CommandBase {
                                         .color(ColorConstants.SECONDARY).append(date)
                                         .build());
 
-                        playerRef.sendMessage(ChatUtil.colorize(tm.get("info.footer")));
-                });
+                        playerRef.sendMessage(tm.message("info.footer"));
+                }));
+        }
+
+        /**
+         * Lists the trusted players of a plot by their last known names
+         */
+        private static String trustedNames(Plot plot) {
+                List<java.util.UUID> trusted = plot.getTrustedPlayers();
+                if (trusted.isEmpty())
+                        return "0";
+
+                PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+                StringBuilder sb = new StringBuilder();
+                for (java.util.UUID uuid : trusted) {
+                        if (sb.length() > 0) {
+                                sb.append(", ");
+                        }
+                        sb.append(names.getNameOrId(uuid));
+                }
+                return sb.toString();
         }
 }
@@ -2,7 +2,11 @@ package com.overworldlabs.plots.command.sub;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import com.hypixel.hytale.server.core.command.system.CommandUtil;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -10,25 +14,52 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
-import com.overworldlabs.plots.util.ChatUtil;
+import com.overworldlabs.plots.model.PlotConfig;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.UUID;
 
 /**
- * Command: /plot list
- * Lists plots owned by the player in chat using the new color system.
+ * Command: /plot list [--owner player|*] [--trusted player] [--radius plots]
+ * [--sort created|name|distance] [--page n]
+ * Lists plots one page at a time. Without filters it lists your own plots;
+ * other players' plots and areas need plots.list.*
  */
 public class PlotListCommand extends CommandBase {
-    private final PlotManager plotManager;
+    private static final int PAGE_SIZE = 8;
+    private static final int MAX_RADIUS = 32;
+    private static final Comparator<Plot> NEWEST_FIRST = Comparator.comparingLong(Plot::getCreatedAt).reversed();
 
-    public PlotListCommand(@Nonnull PlotManager plotManager) {
+    private final OptionalArg<String> ownerArg;
+    private final OptionalArg<String> trustedArg;
+    private final OptionalArg<Integer> radiusArg;
+    private final OptionalArg<String> sortArg;
+    private final OptionalArg<Integer> pageArg;
+
+    public PlotListCommand() {
         super("list", "List your plots");
-        this.plotManager = plotManager;
+        this.ownerArg = (OptionalArg<String>) withOptionalArg("owner", "Owner name, or * for all plots",
+                ArgTypes.STRING);
+        this.trustedArg = (OptionalArg<String>) withOptionalArg("trusted", "Name of a trusted player",
+                ArgTypes.STRING);
+        this.radiusArg = (OptionalArg<Integer>) withOptionalArg("radius", "Plots around you, in grid cells",
+                ArgTypes.INTEGER);
+        this.sortArg = (OptionalArg<String>) withOptionalArg("sort", "created, name or distance", ArgTypes.STRING);
+        this.pageArg = (OptionalArg<Integer>) withOptionalArg("page", "Page number", ArgTypes.INTEGER);
         requirePermission(PlotManager.PERM_PLOT);
     }
 
@@ -41,16 +72,31 @@ public class PlotListCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
+        String ownerName = ownerArg.get(context);
+        String trustedName = trustedArg.get(context);
+        Integer radius = radiusArg.get(context);
+        Integer requestedPage = pageArg.get(context);
+        Comparator<Plot> sort = null;
+        String sortName = sortArg.get(context);
+        boolean byDistance = "distance".equalsIgnoreCase(sortName);
+        if (sortName != null && !byDistance) {
+            sort = sortBy(sortName);
+            if (sort == null) {
+                context.sender().sendMessage(tm.error("list.invalid_sort"));
+                return;
+            }
+        }
+
         Ref<EntityStore> ref = context.senderAsPlayerRef();
         if (ref == null)
             return;
 
         // Get the player object from Universe (thread-safe) to find their world
-        java.util.UUID senderUuid = context.sender().getUuid();
+        UUID senderUuid = context.sender().getUuid();
         if (senderUuid == null)
             return;
 
@@ -58,7 +104,7 @@ public class PlotListCommand extends CommandBase {
         if (playerObj == null)
             return;
 
-        java.util.UUID worldUuid = playerObj.getWorldUuid();
+        UUID worldUuid = playerObj.getWorldUuid();
         if (worldUuid == null)
             return;
 
@@ -66,30 +112,140 @@ public class PlotListCommand extends CommandBase {
         if (currentWorld == null)
             return;
 
+        Comparator<Plot> order = sort;
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("list"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
                 return;
 
-            String uuidStr = playerRef.getUuid().toString();
-            List<Plot> myPlots = this.plotManager.getAllPlots().stream()
-                    .filter(p -> p.getOwner().toString().equals(uuidStr))
-                    .collect(Collectors.toList());
+            PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+            UUID self = playerRef.getUuid();
+            boolean all = "*".equals(ownerName);
+            UUID owner = ownerName == null ? null : all ? null : names.resolve(ownerName);
+            UUID trusted = trustedName == null ? null : names.resolve(trustedName);
+            if (ownerName != null && !all && owner == null) {
+                playerRef.sendMessage(tm.error("trust.player_unknown", "player", ownerName));
+                return;
+            }
+            if (trustedName != null && trusted == null) {
+                playerRef.sendMessage(tm.error("trust.player_unknown", "player", trustedName));
+                return;
+            }
+
+            boolean ownOnly = radius == null && !all && (owner == null || owner.equals(self))
+                    && (trusted == null || trusted.equals(self));
+            if (!ownOnly && !context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+                CommandUtil.requirePermission(context.sender(), PlotManager.PERM_LIST_ANY);
+            }
+            if (ownerName == null && trustedName == null && radius == null) {
+                owner = self;
+            }
 
-            if (myPlots.isEmpty()) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("list.empty")));
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            int page = requestedPage != null ? Math.max(1, requestedPage) : 1;
+
+            // Pick the narrowest index, then apply the remaining filters
+            Collection<Plot> source;
+            if (radius != null) {
+                int r = Math.max(0, Math.min(radius, MAX_RADIUS));
+                int gridX = config.worldToGridX((int) Math.floor(pos.x));
+                int gridZ = config.worldToGridZ((int) Math.floor(pos.z));
+                source = plotManager.getPlotsInArea(gridX - r, gridZ - r, gridX + r, gridZ + r);
+            } else if (owner != null) {
+                source = plotManager.getPlayerPlots(owner);
+            } else if (trusted != null) {
+                source = plotManager.getTrustedPlots(trusted);
+            } else {
+                source = plotManager.getPlotsNewestFirst();
+            }
+
+            UUID ownerFilter = owner;
+            UUID trustedFilter = trusted;
+            Comparator<Plot> comparator = byDistance ? byDistance(config, pos.x, pos.z)
+                    : order != null ? order : NEWEST_FIRST;
+            boolean presorted = source instanceof NavigableSet && comparator == NEWEST_FIRST;
+
+            List<Plot> pageItems = new ArrayList<>(PAGE_SIZE);
+            int total;
+            if (presorted) {
+                // The newest-first index is already in order: skip to the page
+                total = 0;
+                int first = (page - 1) * PAGE_SIZE;
+                for (Iterator<Plot> it = source.iterator(); it.hasNext();) {
+                    Plot plot = it.next();
+                    if (!matches(plot, ownerFilter, trustedFilter))
+                        continue;
+                    if (total >= first && pageItems.size() < PAGE_SIZE) {
+                        pageItems.add(plot);
+                    }
+                    total++;
+                }
+            } else {
+                List<Plot> matching = new ArrayList<>(source.size());
+                for (Plot plot : source) {
+                    if (matches(plot, ownerFilter, trustedFilter)) {
+                        matching.add(plot);
+                    }
+                }
+                matching.sort(comparator);
+                total = matching.size();
+                int first = Math.min((page - 1) * PAGE_SIZE, total);
+                pageItems.addAll(matching.subList(first, Math.min(first + PAGE_SIZE, total)));
+            }
+
+            if (total == 0) {
+                playerRef.sendMessage(tm.error(ownOnly ? "list.empty" : "list.no_results"));
+                return;
+            }
+
+            int pages = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+            if (page > pages) {
+                playerRef.sendMessage(tm.error("list.invalid_page", "pages", pages));
                 return;
             }
 
-            playerRef.sendMessage(ChatUtil.colorize(tm.get("list.header", "count", String.valueOf(myPlots.size()))));
-            for (Plot plot : myPlots) {
-                playerRef.sendMessage(ChatUtil.colorize(tm.get("list.item",
-                        "name", plot.getName(),
-                        "x", String.valueOf(plot.getGridX()),
-                        "z", String.valueOf(plot.getGridZ()))));
+            List<Message> lines = new ArrayList<>(pageItems.size() * 2 + 1);
+            lines.add(tm.message(ownOnly ? "list.header" : "list.header_results",
+                    "count", total, "page", page, "pages", pages));
+            for (Plot plot : pageItems) {
+                lines.add(Message.raw("\n"));
+                if (ownOnly) {
+                    lines.add(tm.message("list.item", "name", plot.getName(),
+                            "x", plot.getGridX(), "z", plot.getGridZ()));
+                } else {
+                    lines.add(tm.message("list.item_owner", "name", plot.getName(),
+                            "x", plot.getGridX(), "z", plot.getGridZ(), "owner", plot.getOwnerName()));
+                }
             }
+            playerRef.sendMessage(Message.join(lines.toArray(new Message[0])));
+        }));
+    }
+
+    private static boolean matches(@Nonnull Plot plot, @Nullable UUID owner, @Nullable UUID trusted) {
+        return (owner == null || owner.equals(plot.getOwner())) && (trusted == null || plot.isTrusted(trusted));
+    }
+
+    @Nullable
+    private static Comparator<Plot> sortBy(@Nonnull String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "created", "newest" -> NEWEST_FIRST;
+            case "oldest" -> NEWEST_FIRST.reversed();
+            case "name" -> Comparator.comparing(Plot::getName, String.CASE_INSENSITIVE_ORDER);
+            default -> null;
+        };
+    }
+
+    @Nonnull
+    private static Comparator<Plot> byDistance(@Nonnull PlotConfig config, double x, double z) {
+        return Comparator.comparingDouble(plot -> {
+            double dx = plot.getCenterX(config) - x;
+            double dz = plot.getCenterZ(config) - z;
+            return dx * dx + dz * dz;
         });
     }
 }
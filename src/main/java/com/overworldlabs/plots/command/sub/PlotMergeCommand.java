@@ -0,0 +1,151 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Command: /plot merge <direction>
+ * Merges the plot you are standing on with an adjacent plot you also own
+ */
+public class PlotMergeCommand extends CommandBase {
+    private final RequiredArg<String> directionArg;
+
+    public PlotMergeCommand() {
+        super("merge", "Merge your plot with an adjacent plot you own");
+        this.directionArg = (RequiredArg<String>) withRequiredArg("direction", "north, east, south or west",
+                ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_MERGE);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        int[] direction = parseDirection(directionArg.get(context));
+        if (direction == null) {
+            context.sender().sendMessage(tm.error("merge.usage"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("merge"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            int gridX = config.worldToGridX((int) Math.floor(pos.x));
+            int gridZ = config.worldToGridZ((int) Math.floor(pos.z));
+            Plot plot = plotManager.getPlot(gridX, gridZ);
+
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+            if (!plot.getOwner().equals(playerRef.getUuid()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+
+            int dx = direction[0];
+            int dz = direction[1];
+            Plot neighbour = plotManager.getPlot(gridX + dx, gridZ + dz);
+            if (neighbour == null) {
+                playerRef.sendMessage(tm.error("merge.neighbour_unclaimed"));
+                return;
+            }
+            if (!neighbour.getOwner().equals(plot.getOwner())) {
+                playerRef.sendMessage(tm.error("merge.different_owner"));
+                return;
+            }
+
+            if (!plotManager.mergePlots(gridX, gridZ, dx, dz)) {
+                playerRef.sendMessage(tm.error("merge.already_merged"));
+                return;
+            }
+
+            // Turn the road between the plots into plot ground
+            plotWorld.getResetManager().queueRegenerate(plot, plotManager.getLinkRoadAreas(gridX, gridZ, dx, dz));
+            playerRef.sendMessage(tm.success("merge.success", "x", neighbour.getGridX(), "z", neighbour.getGridZ()));
+        }));
+    }
+
+    /**
+     * @return {dx, dz} in the plot grid, or {@code null} for an unknown
+     *         direction
+     */
+    private static int[] parseDirection(String direction) {
+        if (direction == null)
+            return null;
+
+        return switch (direction.toLowerCase(Locale.ROOT)) {
+            case "north", "n" -> new int[] { 0, -1 };
+            case "east", "e" -> new int[] { 1, 0 };
+            case "south", "s" -> new int[] { 0, 1 };
+            case "west", "w" -> new int[] { -1, 0 };
+            default -> null;
+        };
+    }
+}
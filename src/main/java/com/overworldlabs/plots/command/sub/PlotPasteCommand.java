@@ -0,0 +1,168 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotSchematicManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotSchematic;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.PlotUtil;
+import com.overworldlabs.plots.worldgen.PlotTemplate;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot paste [--file <name>]
+ * Pastes your clipboard, or one of your exported schematics, into the plot you
+ * are standing on
+ */
+public class PlotPasteCommand extends CommandBase {
+    private final OptionalArg<String> fileArg;
+
+    public PlotPasteCommand() {
+        super("paste", "Paste a copied or exported plot into your plot");
+        this.fileArg = (OptionalArg<String>) withOptionalArg("file", "Name of an exported schematic",
+                ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+        PlotSchematicManager schematics = Plots.getInstance().getSchematicManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SCHEMATIC);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlotSchematic schematic;
+        String fileName = fileArg.get(context);
+        if (fileName != null) {
+            if (!PlotSchematicManager.isValidName(fileName)) {
+                context.sender().sendMessage(tm.error("schematic.invalid_name"));
+                return;
+            }
+            try {
+                schematic = schematics.load(senderUuid, fileName);
+            } catch (IOException e) {
+                ConsoleColors.error("[Plots] Failed to read schematic " + fileName + ": " + e.getMessage());
+                context.sender().sendMessage(tm.error("schematic.unreadable", "name", fileName));
+                return;
+            }
+            if (schematic == null) {
+                context.sender().sendMessage(tm.error("schematic.not_found", "name", fileName));
+                return;
+            }
+        } else {
+            schematic = schematics.getClipboard(senderUuid);
+            if (schematic == null) {
+                context.sender().sendMessage(tm.error("schematic.no_clipboard"));
+                return;
+            }
+        }
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+        PlotSchematic source = schematic;
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("paste"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+            if (plotManager.isPlotLocked(plot.getGridX(), plot.getGridZ())) {
+                playerRef.sendMessage(tm.error("claim.plot_resetting"));
+                return;
+            }
+            if (schematics.isBusy(plotManager, plot)) {
+                playerRef.sendMessage(tm.error("schematic.busy"));
+                return;
+            }
+            if (source.getSizeX() != config.getPlotSizeX() || source.getSizeZ() != config.getPlotSizeZ()
+                    || source.getSizeY() > PlotTemplate.HEIGHT) {
+                playerRef.sendMessage(tm.error("schematic.size_mismatch", "size_x", source.getSizeX(),
+                        "size_z", source.getSizeZ(), "plot_x", config.getPlotSizeX(), "plot_z",
+                        config.getPlotSizeZ()));
+                return;
+            }
+
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            long start = System.nanoTime();
+            playerRef.sendMessage(tm.info("schematic.paste_started", "location", location));
+            schematics.paste(currentWorld, plotManager, playerRef, plot, source).whenComplete((result, error) -> {
+                if (error != null) {
+                    playerRef.sendMessage(tm.error("schematic.cancelled"));
+                    return;
+                }
+                playerRef.sendMessage(tm.success("schematic.pasted", "location", location,
+                        "changed", result.getChangedBlocks(), "skipped", result.getSkippedColumns(),
+                        "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            });
+        }));
+    }
+}
@@ -12,10 +12,14 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.PlotPreRenameEvent;
+import com.overworldlabs.plots.api.events.RenameEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
-import com.overworldlabs.plots.util.ChatUtil;
 
 import javax.annotation.Nonnull;
 
@@ -27,12 +31,10 @@ import javax.annotation.Nonnull;
  * Single words don't need quotes: /plot rename MinhaCasa
  */
 public class PlotRenameCommand extends CommandBase {
-    private final PlotManager plotManager;
     private final RequiredArg<String> nameArg;
 
-    public PlotRenameCommand(@Nonnull PlotManager plotManager) {
+    public PlotRenameCommand() {
         super("rename", "Rename the plot you are standing on");
-        this.plotManager = plotManager;
         this.nameArg = (RequiredArg<String>) withRequiredArg("name", "The new name for the plot", ArgTypes.STRING);
         requirePermission(PlotManager.PERM_PLOT);
     }
@@ -46,7 +48,7 @@ public class PlotRenameCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -72,7 +74,9 @@ public class PlotRenameCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("rename"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
@@ -80,10 +84,10 @@ public class PlotRenameCommand extends CommandBase {
 
             // Get plot at player location
             Vector3d pos = playerRef.getTransform().getPosition();
-            Plot plot = this.plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
+            Plot plot = plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
 
             if (plot == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("management.not_found")));
+                playerRef.sendMessage(tm.error("management.not_found"));
                 return;
             }
 
@@ -96,16 +100,29 @@ public class PlotRenameCommand extends CommandBase {
 
             String newName = nameArg.get(context);
             if (newName == null || newName.trim().isEmpty()) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("management.rename_provide_name")));
+                playerRef.sendMessage(tm.error("management.rename_provide_name"));
                 return;
             }
 
-            plot.setName(newName);
-            playerRef.sendMessage(ChatUtil.success(tm.get("management.renamed", "name", newName)));
+            // API events only cover the main plot world
+            PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+            if (api != null && !api.callPreEvent(new PlotPreRenameEvent(plot, newName))) {
+                playerRef.sendMessage(tm.error("general.action_cancelled"));
+                return;
+            }
+
+            String oldName = plot.getName();
+            plotWorld.getPlotManager().renamePlot(plot, newName);
+            playerRef.sendMessage(tm.success("management.renamed", "name", newName));
+            if (api != null) {
+                api.fireRenameEvent(new RenameEvent(plot, oldName, newName));
+            }
 
             // Update radar marker
-            Plots.getInstance().getRadarManager().updatePlotMarker(plot);
-            Plots.getInstance().getHologramManager().updateHologram(plot, store);
-        });
+            if (plotWorld.isPrimary()) {
+                Plots.getInstance().getRadarManager().updatePlotMarker(plot);
+                Plots.getInstance().getHologramManager().updateHologram(plot, store);
+            }
+        }));
     }
 }
@@ -0,0 +1,153 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotSnapshotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot rollback <id>
+ * Restores the plot you are standing on to one of its snapshots. Only the
+ * blocks that differ from the snapshot are changed.
+ */
+public class PlotRollbackCommand extends CommandBase {
+    private final RequiredArg<Integer> idArg;
+
+    public PlotRollbackCommand() {
+        super("rollback", "Restore your plot to a snapshot");
+        this.idArg = (RequiredArg<Integer>) withRequiredArg("id", "Snapshot number, see /plot snapshots",
+                ArgTypes.INTEGER);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SNAPSHOT);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        int id = idArg.get(context);
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("rollback"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            PlotSnapshotManager snapshots = Plots.getInstance().getSnapshotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+            if (plotManager.isPlotLocked(plot.getGridX(), plot.getGridZ())) {
+                playerRef.sendMessage(tm.error("claim.plot_resetting"));
+                return;
+            }
+            if (Plots.getInstance().getSchematicManager().isBusy(plotManager, plot)) {
+                playerRef.sendMessage(tm.error("schematic.busy"));
+                return;
+            }
+
+            UUID owner = plot.getOwner();
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            snapshots.get(plotManager, plot, id).whenComplete((snapshot, lookupError) -> {
+                // Snapshots of former owners are only restored by admins
+                if (snapshot == null || (!admin && (owner == null || !owner.equals(snapshot.getOwner())))) {
+                    playerRef.sendMessage(tm.error("snapshot.not_found", "id", id));
+                    return;
+                }
+
+                long start = System.nanoTime();
+                playerRef.sendMessage(tm.info("snapshot.rollback_started", "id", id, "location", location));
+                snapshots.rollback(currentWorld, plotManager, playerRef, plot, snapshot)
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                if (cause instanceof UncheckedIOException) {
+                                    ConsoleColors.error("[Plots] Failed to restore snapshot " + id + " of plot "
+                                            + location + ": " + cause.getMessage());
+                                    playerRef.sendMessage(tm.error("snapshot.unreadable", "id", id));
+                                } else {
+                                    playerRef.sendMessage(tm.error("schematic.cancelled"));
+                                }
+                                return;
+                            }
+                            playerRef.sendMessage(tm.success("snapshot.rolled_back", "id", id, "location",
+                                    location, "changed", result.getChangedBlocks(), "skipped",
+                                    result.getSkippedColumns(), "time",
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                        });
+            });
+        }));
+    }
+}
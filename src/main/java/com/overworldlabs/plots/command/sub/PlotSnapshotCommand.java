@@ -0,0 +1,130 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotSnapshotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command: /plot snapshot
+ * Saves a snapshot of the plot you are standing on, to roll back to later
+ * with /plot rollback <id>
+ */
+public class PlotSnapshotCommand extends CommandBase {
+    private final PlotManager plotManager;
+
+    public PlotSnapshotCommand(@Nonnull PlotManager plotManager) {
+        super("snapshot", "Save a snapshot of your plot");
+        this.plotManager = plotManager;
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SNAPSHOT);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+        if (!plotManager.getConfig().isSnapshotsEnabled()) {
+            context.sender().sendMessage(tm.error("snapshot.disabled"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("snapshot"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            PlotSnapshotManager snapshots = Plots.getInstance().getSnapshotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+            if (Plots.getInstance().getSchematicManager().isBusy(plotManager, plot)) {
+                playerRef.sendMessage(tm.error("schematic.busy"));
+                return;
+            }
+
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            long start = System.nanoTime();
+            playerRef.sendMessage(tm.info("snapshot.started", "location", location));
+            snapshots.snapshot(currentWorld, plotManager, plot, playerRef.getUuid()).whenComplete((snapshot, error) -> {
+                if (error != null) {
+                    ConsoleColors.error("[Plots] Failed to save a snapshot of plot " + location + ": "
+                            + error.getMessage());
+                    playerRef.sendMessage(tm.error("snapshot.failed", "location", location));
+                    return;
+                }
+                playerRef.sendMessage(tm.success("snapshot.saved", "id", snapshot.getId(), "location", location,
+                        "new", snapshot.getNewSections(), "sections", snapshot.getSections().size(),
+                        "time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            });
+        }));
+    }
+}
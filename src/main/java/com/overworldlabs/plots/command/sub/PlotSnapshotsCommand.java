@@ -0,0 +1,138 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotSnapshot;
+import com.overworldlabs.plots.util.PlotUtil;
+
+import javax.annotation.Nonnull;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command: /plot snapshots
+ * Lists the snapshots of the plot you are standing on. Snapshots taken while
+ * the plot belonged to someone else are only listed for admins.
+ */
+public class PlotSnapshotsCommand extends CommandBase {
+    public PlotSnapshotsCommand() {
+        super("snapshots", "List the snapshots of your plot");
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_SNAPSHOT);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("snapshots"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            if (!currentWorld.getName().equals(plotManager.getWorldName())) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+
+            // The plot of the grid cell under the player, not its region's main plot
+            PlotConfig config = plotManager.getConfig();
+            Vector3d pos = playerRef.getTransform().getPosition();
+            Plot plot = plotManager.getPlot(config.worldToGridX((int) Math.floor(pos.x)),
+                    config.worldToGridZ((int) Math.floor(pos.z)));
+            if (plot == null) {
+                playerRef.sendMessage(tm.error("management.not_found"));
+                return;
+            }
+            if (!playerRef.getUuid().equals(plot.getOwner()) && !admin) {
+                playerRef.sendMessage(tm.error("general.not_owner"));
+                return;
+            }
+
+            UUID owner = plot.getOwner();
+            String location = PlotUtil.formatPlotLocation(plot.getGridX(), plot.getGridZ());
+            // Manifests are read off the world thread
+            Plots.getInstance().getSnapshotManager().list(plotManager, plot).whenComplete((all, error) -> {
+                List<PlotSnapshot> visible = new ArrayList<>();
+                if (all != null) {
+                    for (PlotSnapshot snapshot : all) {
+                        if (admin || (owner != null && owner.equals(snapshot.getOwner()))) {
+                            visible.add(snapshot);
+                        }
+                    }
+                }
+                if (visible.isEmpty()) {
+                    playerRef.sendMessage(tm.error("snapshot.none"));
+                    return;
+                }
+
+                PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+                List<Message> lines = new ArrayList<>(visible.size() * 2 + 1);
+                lines.add(tm.message("snapshot.list_header", "location", location, "count", visible.size()));
+                for (PlotSnapshot snapshot : visible) {
+                    UUID createdBy = snapshot.getCreatedBy();
+                    String by = createdBy != null ? names.getNameOrId(createdBy) : tm.get("snapshot.automatic");
+                    lines.add(Message.raw("\n"));
+                    lines.add(tm.message("snapshot.list_item", "id", snapshot.getId(),
+                            "date", sdf.format(new Date(snapshot.getCreatedAt())), "by", by));
+                }
+                playerRef.sendMessage(Message.join(lines.toArray(new Message[0])));
+            });
+        }));
+    }
+}
@@ -2,12 +2,9 @@ package com.overworldlabs.plots.command.sub;
 
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import com.hypixel.hytale.server.core.command.system.CommandUtil;
-import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
@@ -15,7 +12,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
 import com.overworldlabs.plots.manager.PlotManager;
 import com.overworldlabs.plots.manager.TranslationManager;
-import com.overworldlabs.plots.util.ChatUtil;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 
 import javax.annotation.Nonnull;
 
@@ -41,7 +38,7 @@ public class PlotSpawnCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -67,37 +64,18 @@ public class PlotSpawnCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("spawn"), () -> {
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
                 return;
 
-            String plotWorldName = this.plotManager.getConfig().getPlotWorldName();
-
-            // Get the plot world from Universe
-            World plotWorld = Universe.get().getWorlds().get(plotWorldName);
-
-            if (plotWorld == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("teleport.world_not_loaded")));
+            // Onto the highest block at the world origin, see PlotSpawnCache
+            if (!this.plotManager.teleportPlayerToSpawn(store, ref)) {
+                playerRef.sendMessage(tm.error("teleport.world_not_loaded"));
                 return;
             }
-
-            try {
-                // Get spawn point of plot world (center at 0, 64, 0)
-                Vector3d spawnPos = new Vector3d(0.5, 64, 0.5);
-                Vector3f spawnRot = new Vector3f(0, 0, 0); // No rotation
-
-                // Create teleport to plot world
-                Teleport teleport = new Teleport(plotWorld, spawnPos, spawnRot);
-
-                // Add teleport component to player
-                store.addComponent(ref, Teleport.getComponentType(), teleport);
-
-                playerRef.sendMessage(ChatUtil.success(tm.get("teleport.teleporting")));
-            } catch (Exception e) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("teleport.failed", "error", e.getMessage())));
-            }
-        });
+            playerRef.sendMessage(tm.success("teleport.teleporting"));
+        }));
     }
 }
@@ -9,29 +9,31 @@ import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import com.hypixel.hytale.server.core.command.system.CommandUtil;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.NameMatching;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.PlotPreTrustEvent;
+import com.overworldlabs.plots.api.events.TrustEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
+import com.overworldlabs.plots.manager.PlayerNameCache;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
 import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
-import com.overworldlabs.plots.util.ChatUtil;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
  * Command: /plot untrust <player>
  * Revokes building permission for a player on your plot
  */
 public class PlotUntrustCommand extends CommandBase {
-    private final PlotManager plotManager;
     private final RequiredArg<String> playerArg;
 
-    public PlotUntrustCommand(@Nonnull PlotManager plotManager) {
+    public PlotUntrustCommand() {
         super("untrust", "Revoke build permissions from a player");
-        this.plotManager = plotManager;
         this.playerArg = (RequiredArg<String>) withRequiredArg("player", "Player name", ArgTypes.STRING);
         requirePermission(PlotManager.PERM_PLOT);
     }
@@ -45,7 +47,7 @@ public class PlotUntrustCommand extends CommandBase {
         }
 
         if (!context.isPlayer()) {
-            context.sender().sendMessage(ChatUtil.error(tm.get("general.only_players")));
+            context.sender().sendMessage(tm.error("general.only_players"));
             return;
         }
 
@@ -71,7 +73,9 @@ public class PlotUntrustCommand extends CommandBase {
             return;
 
         // Execute store operations on the world thread
-        currentWorld.execute(() -> {
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("untrust"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
             Store<EntityStore> store = ref.getStore();
             PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
             if (playerRef == null)
@@ -79,10 +83,10 @@ public class PlotUntrustCommand extends CommandBase {
 
             // Get plot at player location
             Vector3d pos = playerRef.getTransform().getPosition();
-            Plot plot = this.plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
+            Plot plot = plotManager.getPlotAt(currentWorld.getName(), (int) pos.x, (int) pos.z);
 
             if (plot == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("management.not_found")));
+                playerRef.sendMessage(tm.error("management.not_found"));
                 return;
             }
 
@@ -96,28 +100,43 @@ public class PlotUntrustCommand extends CommandBase {
             String targetPlayerName = playerArg.get(context);
 
             if (targetPlayerName == null) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("trust.usage_untrust")));
+                playerRef.sendMessage(tm.error("trust.usage_untrust"));
                 return;
             }
 
-            // Find the target player's UUID
-            PlayerRef targetRef = Universe.get().getPlayerByUsername(targetPlayerName, NameMatching.EXACT);
-            java.util.UUID targetUuid = null;
-
-            if (targetRef != null) {
-                targetUuid = targetRef.getUuid();
-            } else {
-                // Player is offline - we need their UUID from somewhere
-                playerRef.sendMessage(ChatUtil.error(tm.get("trust.player_offline")));
+            // Online players first, then players seen before or owning plots
+            PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+            java.util.UUID targetUuid = names.resolve(targetPlayerName);
+            if (targetUuid == null) {
+                List<String> suggestions = names.complete(targetPlayerName, 5);
+                playerRef.sendMessage(tm.error("trust.player_unknown", "player", targetPlayerName));
+                if (!suggestions.isEmpty()) {
+                    playerRef.sendMessage(tm.info("trust.suggestions", "players", String.join(", ", suggestions)));
+                }
                 return;
             }
+            targetPlayerName = names.getNameOrId(targetUuid);
 
             if (!plot.isTrusted(targetUuid)) {
-                playerRef.sendMessage(ChatUtil.error(tm.get("trust.not_trusted", "player", targetPlayerName)));
+                playerRef.sendMessage(tm.error("trust.not_trusted", "player", targetPlayerName));
+                return;
+            }
+
+            // API events only cover the main plot world
+            PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+            if (api != null && !api.callPreEvent(new PlotPreTrustEvent(plot, targetUuid, false))) {
+                playerRef.sendMessage(tm.error("general.action_cancelled"));
+                return;
+            }
+
+            if (plotManager.untrustPlayer(plot, targetUuid)) {
+                playerRef.sendMessage(tm.success("trust.removed", "player", targetPlayerName));
+                if (api != null) {
+                    api.fireTrustEvent(new TrustEvent(plot, targetUuid, false));
+                }
             } else {
-                plot.removeTrustedPlayer(targetUuid);
-                playerRef.sendMessage(ChatUtil.success(tm.get("trust.removed", "player", targetPlayerName)));
+                playerRef.sendMessage(tm.error("trust.not_trusted", "player", targetPlayerName));
             }
-        });
+        }));
     }
 }
@@ -0,0 +1,119 @@
+package com.overworldlabs.plots.command.sub;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandUtil;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.TranslationManager;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotFlag;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command: /plot visit <player|name>
+ * Teleports the player to the first plot of another player, or to the oldest
+ * plot with that name
+ */
+public class PlotVisitCommand extends CommandBase {
+    private final RequiredArg<String> targetArg;
+
+    public PlotVisitCommand() {
+        super("visit", "Teleport to a player's plot or a plot by name");
+        this.targetArg = (RequiredArg<String>) withRequiredArg("target", "Player or plot name", ArgTypes.STRING);
+        requirePermission(PlotManager.PERM_PLOT);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        TranslationManager tm = Plots.getInstance().getTranslationManager();
+
+        if (!context.sender().hasPermission(PlotManager.PERM_ADMIN)) {
+            CommandUtil.requirePermission(context.sender(), PlotManager.PERM_VISIT);
+        }
+
+        if (!context.isPlayer()) {
+            context.sender().sendMessage(tm.error("general.only_players"));
+            return;
+        }
+
+        Ref<EntityStore> ref = context.senderAsPlayerRef();
+        if (ref == null)
+            return;
+
+        UUID senderUuid = context.sender().getUuid();
+        if (senderUuid == null)
+            return;
+
+        String target = targetArg.get(context);
+        if (target == null || target.trim().isEmpty()) {
+            context.sender().sendMessage(tm.error("visit.usage"));
+            return;
+        }
+
+        PlayerRef playerObj = Universe.get().getPlayer(senderUuid);
+        if (playerObj == null)
+            return;
+
+        UUID worldUuid = playerObj.getWorldUuid();
+        if (worldUuid == null)
+            return;
+
+        World currentWorld = Universe.get().getWorld(worldUuid);
+        if (currentWorld == null)
+            return;
+
+        boolean admin = context.sender().hasPermission(PlotManager.PERM_ADMIN);
+
+        // Execute store operations on the world thread
+        currentWorld.execute(PlotMetrics.timed(PlotMetrics.command("visit"), () -> {
+            PlotWorld plotWorld = Plots.getInstance().getPlotWorldRegistry().getOrPrimary(currentWorld);
+            PlotManager plotManager = plotWorld.getPlotManager();
+            Store<EntityStore> store = ref.getStore();
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            // Player names first, then plot names; both are index lookups
+            PlayerNameCache names = Plots.getInstance().getPlayerNameCache();
+            UUID ownerUuid = names.resolve(target);
+            List<Plot> candidates = ownerUuid != null ? plotManager.getPlayerPlotsOldestFirst(ownerUuid)
+                    : List.of();
+            if (candidates.isEmpty()) {
+                candidates = plotManager.getPlotsByName(target);
+            }
+            if (candidates.isEmpty()) {
+                if (ownerUuid != null) {
+                    playerRef.sendMessage(tm.error("visit.no_plots", "player", names.getNameOrId(ownerUuid)));
+                } else {
+                    playerRef.sendMessage(tm.error("visit.not_found", "target", target));
+                }
+                return;
+            }
+
+            Plot plot = candidates.get(0);
+            if (plot.hasFlag(PlotFlag.ENTRY_DENY) && !plot.hasPermission(playerRef.getUuid()) && !admin) {
+                playerRef.sendMessage(tm.error("visit.entry_denied", "name", plot.getName()));
+                return;
+            }
+
+            plotManager.teleportPlayerToPlot(store, ref, plot);
+            playerRef.sendMessage(tm.success("visit.teleporting", "name", plot.getName(), "owner",
+                    plot.getOwnerName()));
+        }));
+    }
+}
@@ -3,9 +3,14 @@ package com.overworldlabs.plots.integration.buildertools;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.prefab.selection.mask.BlockFilter;
 import com.hypixel.hytale.server.core.prefab.selection.mask.BlockMask;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.accessor.ChunkAccessor;
 import com.overworldlabs.plots.Plots;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.util.ConsoleColors;
 
@@ -20,15 +25,16 @@ import java.util.UUID;
 @SuppressWarnings({ "rawtypes", "deprecation" })
 public class PlotProtectionMask extends BlockMask {
     private final UUID playerUuid;
+    // Plot manager of the world the player was in, or null outside plot worlds
     private final PlotManager plotManager;
     private final BlockMask originalMask;
 
     public PlotProtectionMask(@Nonnull UUID playerUuid, @Nullable BlockMask originalMask) {
         super(getFiltersFrom(originalMask));
         this.playerUuid = playerUuid;
-        this.plotManager = Plots.getInstance().getPlotManager();
+        this.plotManager = findPlotManager(playerUuid);
         this.originalMask = originalMask;
-        ConsoleColors.success("[PlotProtectionMask] ✓ Created for player: " + playerUuid + " (wrapping: "
+        ConsoleColors.debug(() -> "[PlotProtectionMask] Created for player: " + playerUuid + " (wrapping: "
                 + (originalMask != null ? originalMask.getClass().getSimpleName() : "none") + ")");
     }
 
@@ -36,6 +42,15 @@ public class PlotProtectionMask extends BlockMask {
         return playerUuid;
     }
 
+    @Nullable
+    private static PlotManager findPlotManager(@Nonnull UUID playerUuid) {
+        PlayerRef player = Universe.get().getPlayer(playerUuid);
+        UUID worldUuid = player != null ? player.getWorldUuid() : null;
+        World world = worldUuid != null ? Universe.get().getWorld(worldUuid) : null;
+        PlotWorld plotWorld = world != null ? Plots.getInstance().getPlotWorldRegistry().get(world) : null;
+        return plotWorld != null ? plotWorld.getPlotManager() : null;
+    }
+
     private static BlockFilter[] getFiltersFrom(@Nullable BlockMask mask) {
         return mask != null ? mask.getFilters() : new BlockFilter[0];
     }
@@ -43,61 +58,61 @@ public class PlotProtectionMask extends BlockMask {
     @Override
     public boolean isExcluded(@Nonnull ChunkAccessor chunks, int x, int y, int z, Vector3i min, Vector3i max,
             int worldY) {
-        ConsoleColors.warning("[PlotProtectionMask] ⚡ isExcluded() called at [" + x + "," + y + "," + z
-                + "] for player " + playerUuid);
+        long start = System.nanoTime();
         // Check original mask first
         if (originalMask != null && originalMask.isExcluded(chunks, x, y, z, min, max, worldY)) {
-            ConsoleColors.info("[PlotProtectionMask]   → Original mask excluded");
+            PlotMetrics.MASK_IS_EXCLUDED.recordSince(start);
             return true;
         }
         boolean result = isExcludedByPlot(x, y, z);
-        ConsoleColors.info("[PlotProtectionMask]   → Result: " + (result ? "BLOCKED" : "ALLOWED"));
+        PlotMetrics.MASK_IS_EXCLUDED.recordSince(start);
         return result;
     }
 
     @Override
     public boolean isExcluded(@Nonnull ChunkAccessor chunks, int x, int y, int z, Vector3i min, Vector3i max,
             int worldY, int layer) {
-        ConsoleColors.warning("[PlotProtectionMask] ⚡ isExcluded(layer) called at [" + x + "," + y + "," + z
-                + "] layer=" + layer + " for player " + playerUuid);
+        long start = System.nanoTime();
         // Check original mask first
         if (originalMask != null && originalMask.isExcluded(chunks, x, y, z, min, max, worldY, layer)) {
-            ConsoleColors.info("[PlotProtectionMask]   → Original mask excluded");
+            PlotMetrics.MASK_IS_EXCLUDED.recordSince(start);
             return true;
         }
         boolean result = isExcludedByPlot(x, y, z);
-        ConsoleColors.info("[PlotProtectionMask]   → Result: " + (result ? "BLOCKED" : "ALLOWED"));
+        PlotMetrics.MASK_IS_EXCLUDED.recordSince(start);
         return result;
     }
 
     private boolean isExcludedByPlot(int x, int y, int z) {
+        // Called per block; messages are only built with debug output enabled
+        boolean debug = ConsoleColors.isDebugEnabled();
+
         // Bypass for admin
         if (com.hypixel.hytale.server.core.permissions.PermissionsModule.get().hasPermission(playerUuid,
                 PlotManager.PERM_ADMIN)) {
-            ConsoleColors.info("[PlotProtectionMask] ALLOWING - Admin bypass for " + playerUuid);
+            if (debug)
+                ConsoleColors.debug("[PlotProtectionMask] ALLOWING - Admin bypass for " + playerUuid);
             return false;
         }
 
-        String configWorld = plotManager.getConfig().getPlotWorldName();
-        Plot plot = plotManager.getPlotAt(configWorld, x, z);
+        if (plotManager == null)
+            return false; // Other world
+
+        Plot plot = plotManager.getPlotAt(x, z);
 
         boolean isExcluded;
         if (plot == null) {
-            // Check if we are in the plot world
-            String currentWorld = Plots.getInstance().getWorldManager().getWorldName();
-            if (configWorld.equalsIgnoreCase(currentWorld)) {
-                isExcluded = true; // Road or empty space in plot world
-                ConsoleColors.warning("[PlotProtectionMask] BLOCKING - Road/empty at " + x + "," + z);
-            } else {
-                isExcluded = false; // Other world
-            }
+            isExcluded = true; // Road or empty space in plot world
+            if (debug)
+                ConsoleColors.debug("[PlotProtectionMask] BLOCKING - Road/empty at " + x + "," + z);
         } else {
             isExcluded = !plot.hasPermission(playerUuid);
-            if (isExcluded) {
-                ConsoleColors.warning("[PlotProtectionMask] BLOCKING - No permission for plot at " + x + "," + z +
-                        " (owner: " + plot.getOwner() + ")");
-            } else {
-                ConsoleColors.info("[PlotProtectionMask] ALLOWING - Has permission for plot at " + x + "," + z);
+            if (debug && isExcluded) {
+                ConsoleColors.debug("[PlotProtectionMask] BLOCKING - No permission for plot at " + x + ","
+                        + z + " (owner: " + plot.getOwner() + ")");
+            } else if (debug) {
+                ConsoleColors.debug("[PlotProtectionMask] ALLOWING - Has permission for plot at " + x + ","
+                        + z);
             }
         }
 
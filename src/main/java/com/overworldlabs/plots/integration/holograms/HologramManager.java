@@ -3,6 +3,8 @@ package com.overworldlabs.plots.integration.holograms;
 import dev.ehko.hylograms.api.HologramsAPI;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.overworldlabs.plots.Plots;
 import com.overworldlabs.plots.manager.PlotManager;
 import com.overworldlabs.plots.manager.TranslationManager;
@@ -11,40 +13,210 @@ import com.overworldlabs.plots.model.PlotConfig;
 import com.overworldlabs.plots.util.ConsoleColors;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Manages holograms for plots using Hylograms API
+ * Manages holograms for plots using Hylograms API.
+ * <p>
+ * Holograms are only spawned for plot cells that are within view distance of
+ * at least one player in the plot world, and are despawned once the last
+ * viewer moves away. Entity count and packet volume therefore scale with the
+ * number of viewers instead of the number of claimed plots.
+ * </p>
  */
 public class HologramManager {
     private final PlotManager plotManager;
 
+    // Number of players currently viewing each grid cell
+    private final Map<String, Integer> cellViewers = new ConcurrentHashMap<>();
+    // Grid cells currently visible to each player
+    private final Map<UUID, Set<String>> playerCells = new ConcurrentHashMap<>();
+    // Content of every hologram currently spawned, used to skip no-op updates
+    private final Map<String, RenderedHologram> spawned = new ConcurrentHashMap<>();
+
+    private volatile boolean available = true;
+
     public HologramManager(@Nonnull PlotManager plotManager) {
         this.plotManager = plotManager;
     }
 
     /**
-     * Updates or creates a hologram for a plot
+     * Updates or creates a hologram for a plot.
+     * <p>
+     * Does nothing if no player is near the plot (it will be spawned once one
+     * is) or if the rendered content did not change.
+     * </p>
      */
     public void updateHologram(@Nonnull Plot plot, @Nonnull Store<EntityStore> store) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        String cellKey = getCellKey(plot.getGridX(), plot.getGridZ());
+        if (!cellViewers.containsKey(cellKey)) {
+            return;
+        }
+
+        spawnHologram(plot, store);
+    }
+
+    /**
+     * Removes a hologram for a plot
+     */
+    public void removeHologram(@Nonnull Plot plot, @Nonnull Store<EntityStore> store) {
+        despawnHologram(getHologramId(plot.getGridX(), plot.getGridZ()), plot.getGridX(), plot.getGridZ(), store);
+    }
+
+    /**
+     * Updates the set of grid cells a player can see and spawns or despawns
+     * holograms for cells that gained their first or lost their last viewer.
+     *
+     * @param playerUuid The player that moved
+     * @param cells      The grid cells now in view (keys from
+     *                   {@link #getCellKey(int, int)})
+     * @param store      The plot world entity store
+     */
+    public void updateViewer(@Nonnull UUID playerUuid, @Nonnull Set<String> cells, @Nonnull Store<EntityStore> store) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Set<String> previous = playerCells.put(playerUuid, cells);
+        if (previous == null) {
+            previous = Collections.emptySet();
+        }
+
+        for (String cell : previous) {
+            if (!cells.contains(cell)) {
+                releaseCell(cell, store);
+            }
+        }
+        for (String cell : cells) {
+            if (!previous.contains(cell)) {
+                acquireCell(cell, store);
+            }
+        }
+    }
+
+    /**
+     * Drops all cells viewed by a player that left the server
+     */
+    public void removeViewer(@Nonnull UUID playerUuid) {
+        if (!playerCells.containsKey(playerUuid)) {
+            return;
+        }
+
+        World plotWorld = Universe.get().getWorld(plotManager.getConfig().getPlotWorldName());
+        if (plotWorld == null) {
+            playerCells.remove(playerUuid);
+            return;
+        }
+
+        plotWorld.execute(() -> removeViewer(playerUuid, plotWorld.getEntityStore().getStore()));
+    }
+
+    /**
+     * Drops all cells viewed by a player that left the plot world
+     */
+    public void removeViewer(@Nonnull UUID playerUuid, @Nonnull Store<EntityStore> store) {
+        Set<String> previous = playerCells.remove(playerUuid);
+        if (previous == null) {
+            return;
+        }
+
+        for (String cell : previous) {
+            releaseCell(cell, store);
+        }
+    }
+
+    /**
+     * Key identifying a grid cell in the viewer maps
+     */
+    @Nonnull
+    public static String getCellKey(int gridX, int gridZ) {
+        return gridX + "," + gridZ;
+    }
+
+    /**
+     * Builds the set of cell keys whose hologram anchor lies in the given
+     * chunk range
+     */
+    @Nonnull
+    public Set<String> getCellsInChunkRange(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
         PlotConfig config = plotManager.getConfig();
-        if (!config.isHologramEnabled()) {
+        int minX = minChunkX * 32;
+        int minZ = minChunkZ * 32;
+        int maxX = maxChunkX * 32 + 31;
+        int maxZ = maxChunkZ * 32 + 31;
+
+        Set<String> cells = new HashSet<>();
+        for (int gx = config.worldToGridX(minX); gx <= config.worldToGridX(maxX); gx++) {
+            int anchorX = config.gridToWorldX(gx);
+            if (anchorX < minX || anchorX > maxX)
+                continue;
+            for (int gz = config.worldToGridZ(minZ); gz <= config.worldToGridZ(maxZ); gz++) {
+                int anchorZ = config.gridToWorldZ(gz);
+                if (anchorZ >= minZ && anchorZ <= maxZ) {
+                    cells.add(getCellKey(gx, gz));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private void acquireCell(@Nonnull String cellKey, @Nonnull Store<EntityStore> store) {
+        int viewers = cellViewers.merge(cellKey, 1, Integer::sum);
+        if (viewers != 1) {
             return;
         }
 
-        String id = "plot_" + plot.getGridX() + "_" + plot.getGridZ();
+        int[] grid = parseCellKey(cellKey);
+        Plot plot = plotManager.getPlot(grid[0], grid[1]);
+        if (plot != null) {
+            spawnHologram(plot, store);
+        }
+    }
+
+    private void releaseCell(@Nonnull String cellKey, @Nonnull Store<EntityStore> store) {
+        Integer viewers = cellViewers.computeIfPresent(cellKey, (key, count) -> count > 1 ? count - 1 : null);
+        if (viewers != null) {
+            return;
+        }
+
+        int[] grid = parseCellKey(cellKey);
+        String id = getHologramId(grid[0], grid[1]);
+        if (spawned.containsKey(id)) {
+            despawnHologram(id, grid[0], grid[1], store);
+        }
+    }
+
+    private void spawnHologram(@Nonnull Plot plot, @Nonnull Store<EntityStore> store) {
+        PlotConfig config = plotManager.getConfig();
+        String id = getHologramId(plot.getGridX(), plot.getGridZ());
         TranslationManager tm = Plots.getInstance().getTranslationManager();
 
+        String title = tm.get("hologram.title", "name", plot.getName());
+        String subtitle = tm.get("hologram.subtitle", "owner", plot.getOwnerName());
+        RenderedHologram rendered = new RenderedHologram(title, subtitle, config.getHologramTitleColor());
+
+        if (rendered.equals(spawned.get(id))) {
+            return;
+        }
+
         // Calculate position at the corner of the plot
         int worldX = config.gridToWorldX(plot.getGridX());
         int worldZ = config.gridToWorldZ(plot.getGridZ());
         double y = 64.0 + config.getHologramHeightOffset();
 
-        String title = tm.get("hologram.title", "name", plot.getName());
-        String subtitle = tm.get("hologram.subtitle", "owner", plot.getOwnerName());
-
         try {
             if (HologramsAPI.exists(id)) {
-                // Delete existing hologram and recreate to apply color
+                // Hylograms has no line editing, so changed content is recreated
                 HologramsAPI.delete(id, store);
             }
 
@@ -52,10 +224,13 @@ public class HologramManager {
             HologramsAPI.create(id, store)
                     .at(worldX + 0.5, y, worldZ + 0.5)
                     .inWorld(config.getPlotWorldName())
-                    .color(config.getHologramTitleColor())
+                    .color(rendered.color)
                     .addLine(title != null ? title : "Plot")
                     .addLine(subtitle != null ? subtitle : "Owner")
                     .spawn();
+            spawned.put(id, rendered);
+        } catch (LinkageError e) {
+            disable(e);
         } catch (Exception e) {
             ConsoleColors.error("[Plots] Failed to update hologram for plot at " + plot.getGridX() + ","
                     + plot.getGridZ() + ": " + e.getMessage());
@@ -63,44 +238,80 @@ public class HologramManager {
         }
     }
 
-    /**
-     * Removes a hologram for a plot
-     */
-    public void removeHologram(@Nonnull Plot plot, @Nonnull Store<EntityStore> store) {
-        String id = "plot_" + plot.getGridX() + "_" + plot.getGridZ();
+    private void despawnHologram(@Nonnull String id, int gridX, int gridZ, @Nonnull Store<EntityStore> store) {
+        spawned.remove(id);
+        if (!available) {
+            return;
+        }
+
         try {
             if (HologramsAPI.exists(id)) {
                 HologramsAPI.delete(id, store);
             }
+        } catch (LinkageError e) {
+            disable(e);
         } catch (Exception e) {
-            ConsoleColors.error("[Plots] Failed to remove hologram for plot at " + plot.getGridX() + ","
-                    + plot.getGridZ() + ": " + e.getMessage());
+            ConsoleColors.error("[Plots] Failed to remove hologram for plot at " + gridX + ","
+                    + gridZ + ": " + e.getMessage());
         }
     }
 
+    private boolean isEnabled() {
+        return available && plotManager.getConfig().isHologramEnabled();
+    }
+
     /**
-     * Spawns holograms for all managed plots
+     * Hylograms is an optional dependency; stop calling into it once it turns
+     * out to be missing
      */
-    public void spawnAllHolograms(@Nonnull Store<EntityStore> store) {
-        for (Plot plot : plotManager.getAllPlots()) {
-            if (plot != null) {
-                updateHologram(plot, store);
-            }
-        }
+    private void disable(@Nonnull LinkageError e) {
+        available = false;
+        cellViewers.clear();
+        playerCells.clear();
+        spawned.clear();
+        ConsoleColors.warning("[Plots] Hylograms is not available, plot holograms disabled: " + e.getMessage());
+    }
+
+    @Nonnull
+    private static String getHologramId(int gridX, int gridZ) {
+        return "plot_" + gridX + "_" + gridZ;
+    }
+
+    @Nonnull
+    private static int[] parseCellKey(@Nonnull String cellKey) {
+        int comma = cellKey.indexOf(',');
+        return new int[] { Integer.parseInt(cellKey.substring(0, comma)),
+                Integer.parseInt(cellKey.substring(comma + 1)) };
     }
 
     /**
-     * Spawns holograms for all plots using an online player's store
-     * Note: Currently just logs a message - holograms will be created when plots
-     * are claimed/renamed
+     * Content of a spawned hologram
      */
-    public void spawnAllHologramsForOnlinePlayers() {
-        PlotConfig config = plotManager.getConfig();
-        if (!config.isHologramEnabled()) {
-            return;
+    private static final class RenderedHologram {
+        private final String title;
+        private final String subtitle;
+        private final String color;
+
+        private RenderedHologram(String title, String subtitle, String color) {
+            this.title = title;
+            this.subtitle = subtitle;
+            this.color = color;
         }
 
-        System.out.println(
-                "[Plots] Hologram system is enabled. Holograms will appear when plots are claimed or renamed.");
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof RenderedHologram))
+                return false;
+            RenderedHologram other = (RenderedHologram) o;
+            return Objects.equals(title, other.title) && Objects.equals(subtitle, other.subtitle)
+                    && Objects.equals(color, other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, subtitle, color);
+        }
     }
 }
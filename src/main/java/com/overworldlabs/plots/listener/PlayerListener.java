@@ -0,0 +1,102 @@
+package com.overworldlabs.plots.listener;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.manager.ActivityManager;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlayerNameCache;
+import com.overworldlabs.plots.manager.PlotContextCache;
+import com.overworldlabs.plots.manager.PlotMapManager;
+import com.overworldlabs.plots.manager.PlotSchematicManager;
+import com.overworldlabs.plots.manager.RadarManager;
+import com.overworldlabs.plots.manager.WorldManager;
+import com.overworldlabs.plots.system.HologramVisibilitySystem;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Listens to player lifecycle events (join, world change, disconnect)
+ */
+public class PlayerListener {
+    private final WorldManager worldManager;
+    private final RadarManager radarManager;
+    private final PlotMapManager plotMapManager;
+    private final PlotSchematicManager schematicManager;
+    private final ActivityManager activityManager;
+    private final PlayerNameCache playerNameCache;
+    private final DenialThrottle denialThrottle;
+    private final PlotContextCache plotContextCache;
+    private final HologramVisibilitySystem hologramVisibilitySystem;
+
+    public PlayerListener(@Nonnull WorldManager worldManager, @Nonnull RadarManager radarManager,
+            @Nonnull PlotMapManager plotMapManager, @Nonnull PlotSchematicManager schematicManager,
+            @Nonnull ActivityManager activityManager, @Nonnull PlayerNameCache playerNameCache,
+            @Nonnull DenialThrottle denialThrottle, @Nonnull PlotContextCache plotContextCache,
+            @Nullable HologramVisibilitySystem hologramVisibilitySystem) {
+        this.worldManager = worldManager;
+        this.radarManager = radarManager;
+        this.plotMapManager = plotMapManager;
+        this.schematicManager = schematicManager;
+        this.activityManager = activityManager;
+        this.playerNameCache = playerNameCache;
+        this.denialThrottle = denialThrottle;
+        this.plotContextCache = plotContextCache;
+        this.hologramVisibilitySystem = hologramVisibilitySystem;
+    }
+
+    /**
+     * Fired when a player finished loading into a world, both on join and on
+     * world change
+     */
+    public void onPlayerReady(@Nonnull PlayerReadyEvent event) {
+        Ref<EntityStore> ref = event.getPlayerRef();
+        if (ref == null)
+            return;
+
+        Store<EntityStore> store = ref.getStore();
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        if (world == null)
+            return;
+
+        boolean plotWorld = world.getName().equals(worldManager.getWorldName());
+
+        // Execute store operations on the world thread
+        world.execute(() -> {
+            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+            if (playerRef == null)
+                return;
+
+            activityManager.markSeen(playerRef.getUuid());
+            playerNameCache.update(playerRef.getUuid(), playerRef.getUsername());
+            if (plotWorld) {
+                radarManager.onPlayerEnterPlotWorld(playerRef);
+                plotMapManager.onPlayerEnterPlotWorld(playerRef);
+            }
+        });
+    }
+
+    /**
+     * Fired when a player leaves the server
+     */
+    public void onPlayerDisconnect(@Nonnull PlayerDisconnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef == null)
+            return;
+
+        activityManager.markSeen(playerRef.getUuid());
+        radarManager.onPlayerDisconnect(playerRef.getUuid());
+        plotMapManager.onPlayerDisconnect(playerRef.getUuid());
+        schematicManager.onPlayerDisconnect(playerRef.getUuid());
+        denialThrottle.onPlayerDisconnect(playerRef.getUuid());
+        plotContextCache.onPlayerDisconnect(playerRef.getUuid());
+        if (hologramVisibilitySystem != null) {
+            hologramVisibilitySystem.onPlayerDisconnect(playerRef.getUuid());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tracks when players were last seen on the server, used to find abandoned
+ * plots
+ */
+public class ActivityManager {
+    private final File dataFile;
+    private final Gson gson;
+    private final Map<UUID, Long> lastSeen = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public ActivityManager(@Nonnull File dataDirectory) {
+        this.dataFile = new File(dataDirectory, "activity.json");
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+    }
+
+    /**
+     * Record that a player is active right now
+     */
+    public void markSeen(@Nonnull UUID playerUuid) {
+        lastSeen.put(playerUuid, System.currentTimeMillis());
+        dirty = true;
+    }
+
+    /**
+     * Record a last-seen time only if none is known yet
+     */
+    public void markSeenIfUnknown(@Nonnull UUID playerUuid, long timestamp) {
+        if (lastSeen.putIfAbsent(playerUuid, timestamp) == null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Get when a player was last seen
+     *
+     * @return Timestamp in milliseconds, or {@code 0} if never seen
+     */
+    public long getLastSeen(@Nonnull UUID playerUuid) {
+        Long time = lastSeen.get(playerUuid);
+        return time != null ? time : 0L;
+    }
+
+    /**
+     * Drops entries that are no longer needed
+     *
+     * @param keep Predicate deciding which players to keep
+     * @return The number of removed entries
+     */
+    public int prune(@Nonnull Predicate<UUID> keep) {
+        int before = lastSeen.size();
+        lastSeen.keySet().removeIf(uuid -> !keep.test(uuid));
+        int removed = before - lastSeen.size();
+        if (removed > 0) {
+            dirty = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Get the number of tracked players
+     */
+    public int size() {
+        return lastSeen.size();
+    }
+
+    /**
+     * Save last-seen times to disk if anything changed
+     */
+    public void save() {
+        if (!dirty)
+            return;
+        dirty = false;
+
+        try (FileWriter writer = new FileWriter(dataFile)) {
+            gson.toJson(new HashMap<>(lastSeen), writer);
+        } catch (IOException e) {
+            dirty = true;
+            ConsoleColors.error("Failed to save player activity: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Load last-seen times from disk
+     */
+    public void load() {
+        if (!dataFile.exists())
+            return;
+
+        try (FileReader reader = new FileReader(dataFile)) {
+            Type type = new TypeToken<HashMap<UUID, Long>>() {
+            }.getType();
+            Map<UUID, Long> loaded = gson.fromJson(reader, type);
+
+            lastSeen.clear();
+            if (loaded != null) {
+                lastSeen.putAll(loaded);
+            }
+            dirty = false;
+        } catch (Exception e) {
+            ConsoleColors.error("Failed to load player activity: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
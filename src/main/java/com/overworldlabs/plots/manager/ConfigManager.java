@@ -0,0 +1,222 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.Prefab;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads config.json and publishes it as a frozen {@link PlotConfig}.
+ * <p>
+ * A config is read, adjusted to the configured prefabs and frozen before it
+ * is published through a volatile reference, so readers always see either
+ * the old or the new config in full. Reloading keeps the world layout of the
+ * running config; layout changes need a restart. Additional plot worlds get
+ * their own frozen config, reachable through the main one.
+ * </p>
+ */
+public class ConfigManager {
+    private final File configFile;
+    private final PrefabManager prefabManager;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private volatile PlotConfig config;
+
+    public ConfigManager(@Nonnull File dataDirectory, @Nullable PrefabManager prefabManager) {
+        if (!dataDirectory.exists()) {
+            dataDirectory.mkdirs();
+        }
+        this.configFile = new File(dataDirectory, "config.json");
+        this.prefabManager = prefabManager;
+    }
+
+    /**
+     * Get the current config
+     */
+    @Nonnull
+    public PlotConfig getConfig() {
+        PlotConfig current = config;
+        if (current == null) {
+            current = load();
+        }
+        return current;
+    }
+
+    /**
+     * Get the config of a plot world
+     *
+     * @param worldName The world name
+     * @return The world's config, or the main config for the main plot world
+     *         and unknown worlds
+     */
+    @Nonnull
+    public PlotConfig getConfig(@Nonnull String worldName) {
+        PlotConfig main = getConfig();
+        PlotConfig worldConfig = main.getWorldConfig(worldName);
+        return worldConfig != null ? worldConfig : main;
+    }
+
+    /**
+     * Loads config.json, creating it with defaults if it doesn't exist
+     *
+     * @return The published config
+     */
+    @Nonnull
+    public synchronized PlotConfig load() {
+        PlotConfig loaded = read();
+        syncWithPrefabs(loaded);
+
+        Map<String, PlotConfig> worldConfigs = new LinkedHashMap<>();
+        buildWorldConfigs(loaded, null, worldConfigs);
+        loaded.setWorldConfigs(worldConfigs);
+
+        config = loaded.freeze();
+        return config;
+    }
+
+    /**
+     * Reloads config.json and swaps it in. World layout settings (world name,
+     * grid sizes, blocks and prefabs) keep their current values, and plot
+     * worlds are neither added nor removed.
+     *
+     * @return {@code true} if the file changed layout settings that were not
+     *         applied
+     */
+    public synchronized boolean reload() {
+        PlotConfig current = config;
+        if (current == null) {
+            load();
+            return false;
+        }
+
+        PlotConfig loaded = read();
+        syncWithPrefabs(loaded);
+
+        boolean layoutChanged = !loaded.hasSameLayout(current);
+        if (layoutChanged) {
+            loaded.copyLayoutFrom(current);
+        }
+
+        Map<String, PlotConfig> worldConfigs = new LinkedHashMap<>();
+        layoutChanged |= buildWorldConfigs(loaded, current, worldConfigs);
+        loaded.setWorldConfigs(worldConfigs);
+
+        if (layoutChanged) {
+            ConsoleColors.warning("World layout settings changed in config.json; restart the server to apply them");
+        }
+        config = loaded.freeze();
+        return layoutChanged;
+    }
+
+    /**
+     * Builds the frozen configs of the additional plot worlds
+     *
+     * @param main    The unfrozen main config
+     * @param current The running config when reloading, whose worlds and
+     *                layouts are kept
+     * @param out     Receives the configs by world name
+     * @return {@code true} if layout changes were skipped
+     */
+    private boolean buildWorldConfigs(@Nonnull PlotConfig main, @Nullable PlotConfig current,
+            @Nonnull Map<String, PlotConfig> out) {
+        boolean layoutChanged = false;
+
+        for (PlotConfig.WorldDefinition definition : main.getWorldDefinitions()) {
+            if (definition == null || definition.Name == null || definition.Name.isBlank()) {
+                ConsoleColors.warning("Config: ignoring an entry in Worlds without a Name");
+                continue;
+            }
+            String name = definition.Name;
+            if (name.equals(main.getPlotWorldName()) || out.containsKey(name)) {
+                ConsoleColors.warning("Config: plot world '" + name + "' is declared more than once");
+                continue;
+            }
+
+            PlotConfig running = current != null ? current.getWorldConfig(name) : null;
+            if (current != null && running == null) {
+                // New worlds need their managers, which are created at startup
+                layoutChanged = true;
+                continue;
+            }
+
+            PlotConfig worldConfig = main.createWorldConfig(definition);
+            syncWithPrefabs(worldConfig);
+            if (running != null && !worldConfig.hasSameLayout(running)) {
+                worldConfig.copyLayoutFrom(running);
+                layoutChanged = true;
+            }
+            out.put(name, worldConfig.freeze());
+        }
+
+        if (current != null) {
+            // Removed worlds stay loaded until a restart
+            for (PlotConfig running : current.getWorldConfigs()) {
+                if (!out.containsKey(running.getPlotWorldName())) {
+                    out.put(running.getPlotWorldName(), running);
+                    layoutChanged = true;
+                }
+            }
+        }
+        return layoutChanged;
+    }
+
+    @Nonnull
+    private PlotConfig read() {
+        if (!configFile.exists()) {
+            PlotConfig defaultConfig = PlotConfig.getDefault();
+
+            try (FileWriter writer = new FileWriter(configFile)) {
+                gson.toJson(defaultConfig, writer);
+                ConsoleColors.info("Created default config.json");
+            } catch (IOException e) {
+                ConsoleColors.error("Failed to save default config: " + e.getMessage());
+            }
+
+            return defaultConfig;
+        }
+
+        try (FileReader reader = new FileReader(configFile)) {
+            PlotConfig loaded = gson.fromJson(reader, PlotConfig.class);
+            return (loaded != null) ? loaded : PlotConfig.getDefault();
+        } catch (Exception e) {
+            ConsoleColors.error("Failed to load config: " + e.getMessage());
+            return PlotConfig.getDefault();
+        }
+    }
+
+    /**
+     * Adjusts grid sizes of an unfrozen config to the configured prefabs
+     */
+    private void syncWithPrefabs(@Nonnull PlotConfig target) {
+        if (prefabManager == null)
+            return;
+
+        Prefab roadPrefab = prefabManager.getOrLoadPrefab(target.getRoadPrefab());
+        Prefab plotPrefab = prefabManager.getOrLoadPrefab(target.getPlotPrefab());
+
+        if (roadPrefab != null) {
+            // A road prefab runs along a plot side (X) and is as deep as the road (Z)
+            target.setPlotSizeX(roadPrefab.getWidthX());
+            target.setRoadSizeZ(roadPrefab.getDepthZ());
+            ConsoleColors.info("Auto-adjusted dimensions from Road Prefab: PlotSizeX=" + roadPrefab.getWidthX()
+                    + ", RoadSizeZ=" + roadPrefab.getDepthZ());
+        }
+
+        if (plotPrefab != null) {
+            target.setPlotSizeX(plotPrefab.getWidthX());
+            target.setPlotSizeZ(plotPrefab.getDepthZ());
+            ConsoleColors.info("Auto-adjusted dimensions from Plot Prefab: PlotSizeX=" + plotPrefab.getWidthX()
+                    + ", PlotSizeZ=" + plotPrefab.getDepthZ());
+        }
+    }
+}
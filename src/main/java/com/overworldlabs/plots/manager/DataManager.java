@@ -3,10 +3,12 @@ package com.overworldlabs.plots.manager;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.util.ConsoleColors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
@@ -14,6 +16,8 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages saving and loading plot data
@@ -22,9 +26,17 @@ public class DataManager {
     private final File dataFile;
     private final Gson gson;
     private final PlotManager plotManager;
+    private final AtomicBoolean savePending = new AtomicBoolean(false);
 
     public DataManager(@Nonnull File dataDirectory, @Nonnull PlotManager plotManager) {
-        this.dataFile = new File(dataDirectory, "plots.json");
+        this(dataDirectory, "plots.json", plotManager);
+    }
+
+    /**
+     * @param fileName Name of the data file, one per plot world
+     */
+    public DataManager(@Nonnull File dataDirectory, @Nonnull String fileName, @Nonnull PlotManager plotManager) {
+        this.dataFile = new File(dataDirectory, fileName);
         this.gson = new GsonBuilder().setPrettyPrinting().create();
         this.plotManager = plotManager;
 
@@ -38,13 +50,45 @@ public class DataManager {
      * Save all plots to disk
      */
     public void savePlots() {
+        writePlots(plotManager.getPlotsMap());
+    }
+
+    private void writePlots(@Nonnull Map<String, Plot> plots) {
+        long start = System.nanoTime();
         try (FileWriter writer = new FileWriter(dataFile)) {
-            Map<String, Plot> plots = plotManager.getPlotsMap();
             gson.toJson(plots, writer);
-            ConsoleColors.success("Saved " + plots.size() + " plots to disk");
-        } catch (IOException e) {
+            ConsoleColors.success("Saved " + plots.size() + " plots to " + dataFile.getName());
+        } catch (IOException | RuntimeException e) {
             ConsoleColors.error("Failed to save plots: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            PlotMetrics.SAVE_PLOTS.recordSince(start);
+        }
+    }
+
+    /**
+     * Queue a save. The plots are copied on the world thread, so they are not
+     * changed while they are written, and written on an executor. Requests
+     * made before the copy is taken are covered by it, so a batch of changes
+     * is written once.
+     *
+     * @param worldThread Executor of the plot world thread, or null if the
+     *                    world is not loaded
+     * @param executor    Executor to write on, usually the plugin scheduler
+     */
+    public void requestSave(@Nullable Executor worldThread, @Nonnull Executor executor) {
+        if (!savePending.compareAndSet(false, true))
+            return;
+
+        Runnable copy = () -> {
+            savePending.set(false);
+            Map<String, Plot> plots = plotManager.copyPlots();
+            executor.execute(() -> writePlots(plots));
+        };
+        if (worldThread != null) {
+            worldThread.execute(copy);
+        } else {
+            copy.run();
         }
     }
 
@@ -57,6 +101,7 @@ public class DataManager {
             return;
         }
 
+        long start = System.nanoTime();
         try (FileReader reader = new FileReader(dataFile)) {
             Type type = new TypeToken<HashMap<String, Plot>>() {
             }.getType();
@@ -64,13 +109,15 @@ public class DataManager {
 
             if (loadedPlots != null) {
                 plotManager.loadPlots(loadedPlots);
-                ConsoleColors.success("Loaded " + loadedPlots.size() + " plots from disk");
+                ConsoleColors.success("Loaded " + loadedPlots.size() + " plots from " + dataFile.getName());
             } else {
                 ConsoleColors.error("Plots file was empty or invalid");
             }
         } catch (IOException e) {
             ConsoleColors.error("Failed to load plots: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            PlotMetrics.LOAD_PLOTS.recordSince(start);
         }
     }
 
@@ -0,0 +1,76 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.overworldlabs.plots.model.PlotConfig;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate-limits protection denial messages.
+ * <p>
+ * Holding break or place on a protected block cancels an event every few
+ * ticks. Each player gets at most one message per translation key every
+ * {@code Protection.DenialCooldownMillis}; denials in between are only
+ * counted, and the count is reported with the next message that goes out.
+ * </p>
+ */
+public class DenialThrottle {
+    private final PlotManager plotManager;
+    private final TranslationManager translationManager;
+    private final Map<UUID, Map<String, Window>> windows = new ConcurrentHashMap<>();
+
+    public DenialThrottle(@Nonnull PlotManager plotManager, @Nonnull TranslationManager translationManager) {
+        this.plotManager = plotManager;
+        this.translationManager = translationManager;
+    }
+
+    /**
+     * Tells a player that an action was denied, unless they were told recently
+     *
+     * @param playerRef The player
+     * @param key       Translation key of the denial message
+     */
+    public void deny(@Nonnull PlayerRef playerRef, @Nonnull String key) {
+        PlotConfig config = plotManager.getConfig();
+        long cooldown = config.getDenialCooldownMillis();
+        if (cooldown <= 0) {
+            playerRef.sendMessage(translationManager.error(key));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int suppressed;
+        Map<String, Window> playerWindows = windows.computeIfAbsent(playerRef.getUuid(), k -> new HashMap<>());
+        synchronized (playerWindows) {
+            Window window = playerWindows.computeIfAbsent(key, k -> new Window());
+            if (now - window.lastSent < cooldown) {
+                window.suppressed++;
+                return;
+            }
+            suppressed = window.suppressed;
+            window.lastSent = now;
+            window.suppressed = 0;
+        }
+
+        playerRef.sendMessage(translationManager.error(key));
+        if (suppressed > 0 && config.isShowBlockedCount()) {
+            playerRef.sendMessage(translationManager.warning("protection.blocked_actions", "count", suppressed));
+        }
+    }
+
+    /**
+     * Forget a player's windows when they leave
+     */
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        windows.remove(playerUuid);
+    }
+
+    private static final class Window {
+        long lastSent = Long.MIN_VALUE / 2;
+        int suppressed;
+    }
+}
@@ -0,0 +1,212 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.server.core.NameMatching;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Remembers the names of players who have been online or own plots, so
+ * commands can work with offline players.
+ * <p>
+ * Names are indexed in lower case in a sorted map: exact lookups ignore case
+ * and name completion is a range scan over the prefix. The cache is saved to
+ * names.json as a compact UUID to name object.
+ * </p>
+ */
+public class PlayerNameCache {
+    private final File dataFile;
+    private final Gson gson = new Gson();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    // Lower-case name -> UUID
+    private final NavigableMap<String, UUID> byName = new ConcurrentSkipListMap<>();
+    private volatile boolean dirty;
+
+    public PlayerNameCache(@Nonnull File dataDirectory) {
+        this.dataFile = new File(dataDirectory, "names.json");
+    }
+
+    /**
+     * Record a player's current name, replacing any previous one. The name
+     * lookup always points to the player who used a name last, even if another
+     * player took it over in between.
+     */
+    public void update(@Nonnull UUID playerUuid, @Nullable String name) {
+        if (name == null || name.isEmpty())
+            return;
+
+        synchronized (this) {
+            String previous = names.put(playerUuid, name);
+            byName.put(normalize(name), playerUuid);
+            if (name.equals(previous))
+                return;
+
+            if (previous != null && !normalize(previous).equals(normalize(name))
+                    && byName.remove(normalize(previous), playerUuid)) {
+                // Hand the old name back to another known player who still has it
+                for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                    if (normalize(entry.getValue()).equals(normalize(previous))) {
+                        byName.put(normalize(previous), entry.getKey());
+                        break;
+                    }
+                }
+            }
+            dirty = true;
+        }
+    }
+
+    /**
+     * Record the owner names of plots for players the cache does not know yet
+     */
+    public void seed(@Nonnull Collection<Plot> plots) {
+        for (Plot plot : plots) {
+            if (plot.getOwner() != null && !names.containsKey(plot.getOwner())) {
+                update(plot.getOwner(), plot.getOwnerName());
+            }
+        }
+    }
+
+    /**
+     * Get the last known name of a player
+     *
+     * @return The name, or {@code null} if the player is unknown
+     */
+    @Nullable
+    public String getName(@Nonnull UUID playerUuid) {
+        return names.get(playerUuid);
+    }
+
+    /**
+     * Get the last known name of a player, or a shortened UUID if unknown
+     */
+    @Nonnull
+    public String getNameOrId(@Nonnull UUID playerUuid) {
+        String name = names.get(playerUuid);
+        return name != null ? name : playerUuid.toString().substring(0, 8);
+    }
+
+    /**
+     * Find a player by name, ignoring case
+     *
+     * @return The UUID, or {@code null} if no player with that name is known
+     */
+    @Nullable
+    public UUID getUuid(@Nonnull String name) {
+        return byName.get(normalize(name));
+    }
+
+    /**
+     * Find a player by name, asking the server first so online players are
+     * always resolved with their current name
+     *
+     * @return The UUID, or {@code null} if the player is neither online nor
+     *         known
+     */
+    @Nullable
+    public UUID resolve(@Nonnull String name) {
+        PlayerRef online = Universe.get().getPlayerByUsername(name, NameMatching.EXACT);
+        if (online != null) {
+            update(online.getUuid(), online.getUsername());
+            return online.getUuid();
+        }
+        return getUuid(name);
+    }
+
+    /**
+     * Complete a partial player name
+     *
+     * @param prefix Start of the name, any case
+     * @param limit  Maximum number of names to return
+     * @return Known names starting with the prefix, in alphabetical order
+     */
+    @Nonnull
+    public List<String> complete(@Nonnull String prefix, int limit) {
+        String from = normalize(prefix);
+        List<String> result = new ArrayList<>();
+        for (UUID uuid : byName.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (result.size() >= limit)
+                break;
+            String name = names.get(uuid);
+            if (name != null) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of known players
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Save the cache to disk if anything changed
+     */
+    public void save() {
+        if (!dirty)
+            return;
+        dirty = false;
+
+        try (FileWriter writer = new FileWriter(dataFile)) {
+            gson.toJson(new HashMap<>(names), writer);
+        } catch (IOException e) {
+            dirty = true;
+            ConsoleColors.error("Failed to save player names: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Load the cache from disk
+     */
+    public void load() {
+        if (!dataFile.exists())
+            return;
+
+        try (FileReader reader = new FileReader(dataFile)) {
+            Type type = new TypeToken<HashMap<UUID, String>>() {
+            }.getType();
+            Map<UUID, String> loaded = gson.fromJson(reader, type);
+
+            synchronized (this) {
+                names.clear();
+                byName.clear();
+                if (loaded != null) {
+                    loaded.forEach(this::update);
+                }
+                dirty = false;
+            }
+        } catch (Exception e) {
+            ConsoleColors.error("Failed to load player names: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,601 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records who broke and placed which blocks on the plots of one plot world.
+ * <p>
+ * Every allowed change is packed into two longs and appended to a ring buffer
+ * of the plot it happened on, on the plot world thread and without locking.
+ * The first word holds the position inside the grid cell, the action and the
+ * actor's index in the actor table; the second the time in seconds and the
+ * block id. A plot keeps at most {@code Audit.BufferSize} records between
+ * flushes; older ones are dropped and counted in {@code audit.dropped}.
+ * </p>
+ * <p>
+ * Every {@code Audit.FlushIntervalSeconds} the buffers are drained on the
+ * world thread and appended on the plugin scheduler to one log file per
+ * region of 16 x 16 plots, in {@code audit/<world>/<rx>_<rz>.log}. Records on
+ * disk have a fixed size, so {@link #history} reads a file backwards from its
+ * end and stops as soon as the requested page is complete. A region file
+ * larger than {@code Audit.MaxRegionFileKB} is rotated to
+ * {@code <rx>_<rz>.log.old}, replacing the previous one.
+ * </p>
+ * <p>
+ * Placements are recorded before the block exists, so their block is read
+ * from the world when the buffer is drained.
+ * </p>
+ */
+public class PlotAuditLog {
+    private static final LatencyHistogram FLUSH = PlotMetrics.histogram("audit.flush");
+    private static final LongAdder DROPPED = PlotMetrics.counter("audit.dropped");
+
+    private static final int REGION_PLOTS = 16;
+    // Grid X and Z, then the two packed words
+    private static final int RECORD_BYTES = 24;
+    private static final int ACTOR_BYTES = 16;
+    private static final int READ_CHUNK_RECORDS = 512;
+    private static final int UNKNOWN_BLOCK = -1;
+    private static final int ACTOR_BITS = 19;
+    private static final int UNKNOWN_ACTOR = (1 << ACTOR_BITS) - 1;
+    private static final long PLACED_BIT = 1L << ACTOR_BITS;
+
+    private final PlotManager plotManager;
+    private final WorldManager worldManager;
+    private final File directory;
+    private final File actorFile;
+
+    // Buffers and actor lookup, only used on the plot world thread
+    private final Map<Long, Ring> rings = new HashMap<>();
+    private final Map<UUID, Integer> actorIndex = new HashMap<>();
+    private Ring lastRing;
+    private UUID lastActor;
+    private int lastActorIndex;
+
+    // Actor table by index, appended on the plot world thread, read anywhere
+    private final List<UUID> actors = new CopyOnWriteArrayList<>();
+    // Number of actors in the actor file, guarded by this
+    private int persistedActors;
+
+    // Seconds clock for records, updated every second by the scheduler;
+    // reading the system clock would cost more than the rest of a record
+    private volatile long nowSeconds = System.currentTimeMillis() / 1000L;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+    private int secondsUntilFlush;
+
+    public PlotAuditLog(@Nonnull File dataDirectory, @Nonnull PlotManager plotManager,
+            @Nonnull WorldManager worldManager) {
+        this.plotManager = plotManager;
+        this.worldManager = worldManager;
+        this.directory = new File(new File(dataDirectory, "audit"), plotManager.getWorldName());
+        this.actorFile = new File(directory, "actors.dat");
+    }
+
+    /**
+     * Loads the actor table. Call once before the world starts ticking.
+     */
+    public synchronized void load() {
+        if (!actorFile.isFile())
+            return;
+
+        long count = actorFile.length() / ACTOR_BYTES;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(actorFile)))) {
+            for (long i = 0; i < count; i++) {
+                UUID actor = new UUID(in.readLong(), in.readLong());
+                actorIndex.put(actor, actors.size());
+                actors.add(actor);
+            }
+        } catch (IOException e) {
+            ConsoleColors.error("[Plots] Failed to read audit actors of " + plotManager.getWorldName() + ": "
+                    + e.getMessage());
+        }
+        persistedActors = actors.size();
+    }
+
+    /**
+     * Starts flushing the buffers on the given scheduler, which also runs the
+     * log file IO
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        secondsUntilFlush = plotManager.getConfig().getAuditFlushIntervalSeconds();
+        task = scheduler.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops flushing and writes what is left in the buffers. The world no
+     * longer ticks at this point, so blocks of recent placements are not read.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        write(drain(null), actors.size());
+    }
+
+    /**
+     * Records an allowed block change. Must be called on the plot world
+     * thread.
+     *
+     * @param blockId The broken block; ignored for placements
+     * @param placed  Whether a block was placed rather than broken
+     */
+    public void record(int x, int y, int z, int blockId, @Nonnull UUID actor, boolean placed) {
+        PlotConfig config = plotManager.getConfig();
+        if (!config.isAuditEnabled())
+            return;
+
+        int gridX = config.worldToGridX(x);
+        int gridZ = config.worldToGridZ(z);
+        long key = PlotMergeIndex.key(gridX, gridZ);
+        Ring ring = lastRing;
+        if (ring == null || ring.key != key) {
+            ring = rings.get(key);
+            if (ring == null) {
+                ring = new Ring(key, gridX, gridZ, config.getAuditBufferSize());
+                rings.put(key, ring);
+            }
+            lastRing = ring;
+        }
+
+        long position = ((long) (x - config.gridToWorldX(gridX)) & 0xFFFF) << 48
+                | ((long) (z - config.gridToWorldZ(gridZ)) & 0xFFFF) << 32
+                | ((long) y & 0xFFF) << 20
+                | (placed ? PLACED_BIT : 0L)
+                | getActorIndex(actor);
+        long detail = nowSeconds << 32
+                | ((placed ? UNKNOWN_BLOCK : blockId) & 0xFFFFFFFFL);
+        ring.add(position, detail);
+    }
+
+    /**
+     * Get a page of the changes made in one grid cell, newest first. Must be
+     * called on the plot world thread.
+     *
+     * @param sinceSeconds Oldest change to include, in epoch seconds
+     * @param skip         Number of matching changes to skip
+     * @param limit        Number of changes to return
+     * @return Future completed on the plugin scheduler
+     */
+    @Nonnull
+    public CompletableFuture<List<Entry>> history(int gridX, int gridZ, long sinceSeconds, int skip, int limit) {
+        if (scheduler == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("The audit log is not running"));
+
+        // Changes not flushed yet come first
+        Ring ring = rings.get(PlotMergeIndex.key(gridX, gridZ));
+        long[] pending = ring != null ? ring.copyPending() : new long[0];
+        World world = worldManager.getPlotWorld();
+        if (world != null) {
+            resolvePlacedBlocks(world, gridX, gridZ, pending);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            Page page = new Page(sinceSeconds, skip, limit);
+            for (int i = pending.length - 2; i >= 0 && !page.isDone(); i -= 2) {
+                page.offer(pending[i], pending[i + 1]);
+            }
+            try {
+                readBackwards(getRegionFile(gridX, gridZ, false), gridX, gridZ, page);
+                readBackwards(getRegionFile(gridX, gridZ, true), gridX, gridZ, page);
+            } catch (IOException e) {
+                ConsoleColors.error("[Plots] Failed to read the audit log of " + gridX + "," + gridZ + ": "
+                        + e.getMessage());
+            }
+
+            PlotConfig config = plotManager.getConfig();
+            List<Entry> entries = new ArrayList<>(page.words.size() / 2);
+            for (int i = 0; i < page.words.size(); i += 2) {
+                entries.add(toEntry(config, gridX, gridZ, page.words.get(i), page.words.get(i + 1)));
+            }
+            return entries;
+        }, scheduler);
+    }
+
+    private int getActorIndex(@Nonnull UUID actor) {
+        if (actor.equals(lastActor))
+            return lastActorIndex;
+
+        Integer index = actorIndex.get(actor);
+        if (index == null) {
+            if (actors.size() >= UNKNOWN_ACTOR)
+                return UNKNOWN_ACTOR;
+            index = actors.size();
+            actors.add(actor);
+            actorIndex.put(actor, index);
+        }
+        lastActor = actor;
+        lastActorIndex = index;
+        return index;
+    }
+
+    private void tick() {
+        nowSeconds = System.currentTimeMillis() / 1000L;
+        if (--secondsUntilFlush > 0)
+            return;
+        secondsUntilFlush = plotManager.getConfig().getAuditFlushIntervalSeconds();
+
+        World world = worldManager.getPlotWorld();
+        if (world == null || !drainScheduled.compareAndSet(false, true))
+            return;
+
+        world.execute(() -> {
+            try {
+                List<PlotRecords> batch = drain(world);
+                int actorCount = actors.size();
+                if (!batch.isEmpty() || actorCount > persistedActors) {
+                    scheduler.execute(() -> write(batch, actorCount));
+                }
+            } catch (Exception e) {
+                ConsoleColors.error("[Plots] Audit log flush failed: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                drainScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Takes the pending records out of the buffers and releases buffers that
+     * stayed empty since the last drain
+     *
+     * @param world World to read placed blocks from, or null to leave them
+     *              unknown
+     */
+    @Nonnull
+    private List<PlotRecords> drain(@Nullable World world) {
+        List<PlotRecords> batch = new ArrayList<>();
+        Iterator<Ring> it = rings.values().iterator();
+        while (it.hasNext()) {
+            Ring ring = it.next();
+            if (ring.pending == 0) {
+                it.remove();
+                if (ring == lastRing) {
+                    lastRing = null;
+                }
+                continue;
+            }
+
+            long[] words = ring.copyPending();
+            if (world != null) {
+                resolvePlacedBlocks(world, ring.gridX, ring.gridZ, words);
+            }
+            if (ring.lost > 0) {
+                DROPPED.add(ring.lost);
+            }
+            ring.pending = 0;
+            ring.lost = 0;
+            batch.add(new PlotRecords(ring.gridX, ring.gridZ, words));
+        }
+        return batch;
+    }
+
+    private void resolvePlacedBlocks(@Nonnull World world, int gridX, int gridZ, @Nonnull long[] words) {
+        PlotConfig config = plotManager.getConfig();
+        int originX = config.gridToWorldX(gridX);
+        int originZ = config.gridToWorldZ(gridZ);
+        for (int i = 0; i < words.length; i += 2) {
+            long position = words[i];
+            if ((position & PLACED_BIT) == 0 || (int) words[i + 1] != UNKNOWN_BLOCK)
+                continue;
+
+            int blockId = world.getBlock(originX + (int) (position >>> 48), (int) (position >>> 20) & 0xFFF,
+                    originZ + ((int) (position >>> 32) & 0xFFFF));
+            words[i + 1] = (words[i + 1] & 0xFFFFFFFF00000000L) | (blockId & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Appends drained records and new actors to the log files
+     */
+    private synchronized void write(@Nonnull List<PlotRecords> batch, int actorCount) {
+        long start = System.nanoTime();
+        try {
+            if (!directory.exists() && !directory.mkdirs())
+                throw new IOException("Could not create " + directory);
+            // Actors go first, so every record on disk can be resolved
+            if (actorCount > persistedActors) {
+                appendActors(actorCount);
+            }
+
+            Map<File, List<PlotRecords>> byFile = new HashMap<>();
+            for (PlotRecords records : batch) {
+                byFile.computeIfAbsent(getRegionFile(records.gridX, records.gridZ, false), k -> new ArrayList<>())
+                        .add(records);
+            }
+            for (Map.Entry<File, List<PlotRecords>> entry : byFile.entrySet()) {
+                appendRecords(entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            ConsoleColors.error("[Plots] Failed to write the audit log of " + plotManager.getWorldName() + ": "
+                    + e.getMessage());
+        }
+        FLUSH.recordSince(start);
+    }
+
+    private void appendActors(int actorCount) throws IOException {
+        truncatePartial(actorFile, ACTOR_BYTES);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(actorFile, true)))) {
+            for (int i = persistedActors; i < actorCount; i++) {
+                UUID actor = actors.get(i);
+                out.writeLong(actor.getMostSignificantBits());
+                out.writeLong(actor.getLeastSignificantBits());
+            }
+        }
+        persistedActors = actorCount;
+    }
+
+    private void appendRecords(@Nonnull File file, @Nonnull List<PlotRecords> batch) throws IOException {
+        if (file.length() >= plotManager.getConfig().getAuditMaxRegionFileBytes()) {
+            File old = new File(file.getPath() + ".old");
+            if (old.exists() && !old.delete())
+                throw new IOException("Could not delete " + old);
+            if (!file.renameTo(old))
+                throw new IOException("Could not rotate " + file);
+        }
+
+        truncatePartial(file, RECORD_BYTES);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            for (PlotRecords records : batch) {
+                for (int i = 0; i < records.words.length; i += 2) {
+                    out.writeInt(records.gridX);
+                    out.writeInt(records.gridZ);
+                    out.writeLong(records.words[i]);
+                    out.writeLong(records.words[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuts off a record left incomplete by a crash, so appends stay aligned
+     */
+    private static void truncatePartial(@Nonnull File file, int recordBytes) throws IOException {
+        long length = file.length();
+        if (length % recordBytes == 0)
+            return;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length - length % recordBytes);
+        }
+    }
+
+    /**
+     * Reads the records of one grid cell from the end of a region file until
+     * the page is complete
+     */
+    private synchronized void readBackwards(@Nonnull File file, int gridX, int gridZ, @Nonnull Page page)
+            throws IOException {
+        if (page.isDone() || !file.isFile())
+            return;
+
+        byte[] chunk = new byte[READ_CHUNK_RECORDS * RECORD_BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long end = in.length() / RECORD_BYTES;
+            while (end > 0 && !page.isDone()) {
+                long begin = Math.max(0L, end - READ_CHUNK_RECORDS);
+                int count = (int) (end - begin);
+                in.seek(begin * RECORD_BYTES);
+                in.readFully(chunk, 0, count * RECORD_BYTES);
+                for (int i = count - 1; i >= 0 && !page.isDone(); i--) {
+                    int base = i * RECORD_BYTES;
+                    if (buffer.getInt(base) == gridX && buffer.getInt(base + 4) == gridZ) {
+                        page.offer(buffer.getLong(base + 8), buffer.getLong(base + 16));
+                    }
+                }
+                end = begin;
+            }
+        }
+    }
+
+    @Nonnull
+    private Entry toEntry(@Nonnull PlotConfig config, int gridX, int gridZ, long position, long detail) {
+        int actor = (int) position & UNKNOWN_ACTOR;
+        int blockId = (int) detail;
+        String blockKey = blockId != UNKNOWN_BLOCK ? PlotResetManager.getBlockKey(blockId) : null;
+        return new Entry(detail >>> 32, actor < actors.size() ? actors.get(actor) : null,
+                (position & PLACED_BIT) != 0, blockKey,
+                config.gridToWorldX(gridX) + (int) (position >>> 48), (int) (position >>> 20) & 0xFFF,
+                config.gridToWorldZ(gridZ) + ((int) (position >>> 32) & 0xFFFF));
+    }
+
+    @Nonnull
+    private File getRegionFile(int gridX, int gridZ, boolean rotated) {
+        String name = Math.floorDiv(gridX, REGION_PLOTS) + "_" + Math.floorDiv(gridZ, REGION_PLOTS) + ".log";
+        return new File(directory, rotated ? name + ".old" : name);
+    }
+
+    /**
+     * One logged block change
+     */
+    public static final class Entry {
+        private final long time;
+        private final UUID actor;
+        private final boolean placed;
+        private final String blockKey;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private Entry(long time, @Nullable UUID actor, boolean placed, @Nullable String blockKey, int x, int y,
+                int z) {
+            this.time = time;
+            this.actor = actor;
+            this.placed = placed;
+            this.blockKey = blockKey;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        /**
+         * Get when the change happened, in epoch seconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        @Nullable
+        public UUID getActor() {
+            return actor;
+        }
+
+        public boolean isPlaced() {
+            return placed;
+        }
+
+        /**
+         * Get the broken or placed block, or null if it is not known
+         */
+        @Nullable
+        public String getBlockKey() {
+            return blockKey;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getZ() {
+            return z;
+        }
+    }
+
+    /**
+     * Pending records of one plot, as pairs of words in the order they
+     * happened
+     */
+    private static final class Ring {
+        final long key;
+        final int gridX;
+        final int gridZ;
+        final long[] words;
+        // Next free word and the number of records not drained yet
+        int next;
+        int pending;
+        int lost;
+
+        Ring(long key, int gridX, int gridZ, int capacity) {
+            this.key = key;
+            this.gridX = gridX;
+            this.gridZ = gridZ;
+            this.words = new long[capacity * 2];
+        }
+
+        void add(long position, long detail) {
+            words[next] = position;
+            words[next + 1] = detail;
+            next += 2;
+            if (next == words.length) {
+                next = 0;
+            }
+            if (pending < words.length / 2) {
+                pending++;
+            } else {
+                // The oldest pending record was overwritten
+                lost++;
+            }
+        }
+
+        @Nonnull
+        long[] copyPending() {
+            long[] copy = new long[pending * 2];
+            int start = next - copy.length;
+            if (start >= 0) {
+                System.arraycopy(words, start, copy, 0, copy.length);
+            } else {
+                int wrapped = -start;
+                System.arraycopy(words, words.length - wrapped, copy, 0, wrapped);
+                System.arraycopy(words, 0, copy, wrapped, next);
+            }
+            return copy;
+        }
+    }
+
+    private static final class PlotRecords {
+        final int gridX;
+        final int gridZ;
+        final long[] words;
+
+        PlotRecords(int gridX, int gridZ, @Nonnull long[] words) {
+            this.gridX = gridX;
+            this.gridZ = gridZ;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Collects one page of records, newest first
+     */
+    private static final class Page {
+        final long sinceSeconds;
+        final int limit;
+        int skip;
+        final List<Long> words = new ArrayList<>();
+        boolean reachedOlder;
+
+        Page(long sinceSeconds, int skip, int limit) {
+            this.sinceSeconds = sinceSeconds;
+            this.skip = skip;
+            this.limit = limit;
+        }
+
+        boolean isDone() {
+            return reachedOlder || words.size() >= limit * 2;
+        }
+
+        void offer(long position, long detail) {
+            if ((detail >>> 32) < sinceSeconds) {
+                // Records are in time order, everything further back is older
+                reachedOlder = true;
+                return;
+            }
+            if (skip > 0) {
+                skip--;
+                return;
+            }
+            words.add(position);
+            words.add(detail);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.PlotPreUnclaimEvent;
+import com.overworldlabs.plots.api.events.TransferEvent;
+import com.overworldlabs.plots.api.events.UnclaimEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
+import com.overworldlabs.plots.integration.holograms.HologramManager;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Applies ownership changes to many plots of one plot world at once.
+ * <p>
+ * A batch changes the plot index in one pass on the plot world thread, then
+ * queues the radar diffs, updates holograms and fires events for the plots
+ * that changed, and requests a single save of the world's data file.
+ * Radar markers and events only cover the main plot world.
+ * </p>
+ */
+public final class PlotBatch {
+    private static final LatencyHistogram TRANSFER = PlotMetrics.histogram("batch.transfer");
+    private static final LatencyHistogram UNCLAIM = PlotMetrics.histogram("batch.unclaim");
+
+    private PlotBatch() {
+    }
+
+    /**
+     * Gives plots to a new owner. Must run on the plot world thread.
+     *
+     * @param plotWorld The plot world the plots belong to
+     * @param plots     The plots to transfer
+     * @param toUuid    The new owner
+     * @param toName    The display name of the new owner
+     * @return The transferred plots
+     */
+    @Nonnull
+    public static List<Plot> transfer(@Nonnull PlotWorld plotWorld, @Nonnull Collection<Plot> plots,
+            @Nonnull UUID toUuid, @Nonnull String toName) {
+        long start = System.nanoTime();
+        Plots plugin = Plots.getInstance();
+        RadarManager radar = plotWorld.isPrimary() ? plugin.getRadarManager() : null;
+
+        // Owners of the plots before the change
+        Map<Plot, UUID> formerOwners = new IdentityHashMap<>(plots.size());
+        for (Plot plot : plots) {
+            formerOwners.put(plot, plot.getOwner());
+            // Markers are removed while the plots still belong to the old owner
+            if (radar != null && !toUuid.equals(plot.getOwner())) {
+                radar.removePlotMarker(plot);
+            }
+        }
+
+        List<Plot> transferred = plotWorld.getPlotManager().transferPlots(plots, toUuid, toName);
+        if (transferred.isEmpty()) {
+            TRANSFER.recordSince(start);
+            return transferred;
+        }
+
+        HologramManager holograms = plotWorld.isPrimary() ? plugin.getHologramManager() : null;
+        Store<EntityStore> store = getStore(plotWorld);
+        for (Plot plot : transferred) {
+            if (radar != null) {
+                radar.updatePlotMarker(plot);
+            }
+            if (holograms != null && store != null) {
+                holograms.updateHologram(plot, store);
+            }
+        }
+
+        PlayerNameCache nameCache = plugin.getPlayerNameCache();
+        if (nameCache != null) {
+            nameCache.update(toUuid, toName);
+        }
+        requestSave(plotWorld);
+
+        PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+        if (api != null) {
+            for (Plot plot : transferred) {
+                UUID formerOwner = formerOwners.get(plot);
+                if (formerOwner != null) {
+                    api.fireTransferEvent(new TransferEvent(plot, formerOwner, toUuid));
+                }
+            }
+        }
+        TRANSFER.recordSince(start);
+        return transferred;
+    }
+
+    /**
+     * Unclaims plots, removes their markers and holograms and queues their
+     * resets. Must run on the plot world thread.
+     *
+     * @param plotWorld The plot world the plots belong to
+     * @param plots     The plots to unclaim; plots that are no longer claimed
+     *                  or whose pre-unclaim event is cancelled are skipped
+     * @param reset     Whether to reset the plots, otherwise only merged roads
+     *                  are regenerated
+     * @param actorUuid The player unclaiming the plots, or null for the purge
+     *                  and the API
+     * @return The unclaimed plots
+     */
+    @Nonnull
+    public static List<Plot> unclaim(@Nonnull PlotWorld plotWorld, @Nonnull Collection<Plot> plots, boolean reset,
+            @Nullable UUID actorUuid) {
+        long start = System.nanoTime();
+        Plots plugin = Plots.getInstance();
+        PlotManager plotManager = plotWorld.getPlotManager();
+        PlotResetManager resetManager = plotWorld.getResetManager();
+        RadarManager radar = plotWorld.isPrimary() ? plugin.getRadarManager() : null;
+        HologramManager holograms = plotWorld.isPrimary() ? plugin.getHologramManager() : null;
+        PlotsAPIImpl api = plotWorld.isPrimary() ? Plots.getAPI() : null;
+        Store<EntityStore> store = getStore(plotWorld);
+
+        List<Plot> unclaimed = new ArrayList<>();
+        List<UUID> formerOwners = new ArrayList<>();
+        for (Plot plot : plots) {
+            int gridX = plot.getGridX();
+            int gridZ = plot.getGridZ();
+            // A stale plot instance must not unclaim whoever owns the position now
+            if (plotManager.getPlot(gridX, gridZ) != plot)
+                continue;
+            if (api != null && !api.callPreEvent(new PlotPreUnclaimEvent(plot, actorUuid)))
+                continue;
+
+            // Roads merged around the plot turn back into road once it is gone
+            UUID formerOwner = plot.getOwner();
+            List<int[]> mergedRoads = plotManager.getMergedRoadAreas(gridX, gridZ);
+            if (!plotManager.unclaimPlot(gridX, gridZ))
+                continue;
+
+            if (radar != null) {
+                radar.removePlotMarker(plot);
+            }
+            if (holograms != null && store != null) {
+                holograms.removeHologram(plot, store);
+            }
+            if (reset) {
+                resetManager.queueReset(plot, mergedRoads, null);
+            } else if (!mergedRoads.isEmpty()) {
+                resetManager.queueRegenerate(plot, mergedRoads);
+            }
+            unclaimed.add(plot);
+            formerOwners.add(formerOwner);
+        }
+
+        if (!unclaimed.isEmpty()) {
+            requestSave(plotWorld);
+        }
+        if (api != null) {
+            for (int i = 0; i < unclaimed.size(); i++) {
+                if (formerOwners.get(i) != null) {
+                    api.fireUnclaimEvent(new UnclaimEvent(unclaimed.get(i), formerOwners.get(i)));
+                }
+            }
+        }
+        UNCLAIM.recordSince(start);
+        return unclaimed;
+    }
+
+    /**
+     * Runs a batch in every loaded plot world, each on its own world thread
+     *
+     * @param batch Batch to run, returning the plots it changed
+     * @return Future of the number of plots changed in all worlds
+     */
+    @Nonnull
+    public static CompletableFuture<Integer> inAllWorlds(@Nonnull Function<PlotWorld, List<Plot>> batch) {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (PlotWorld plotWorld : Plots.getInstance().getPlotWorldRegistry().getAll()) {
+            World world = plotWorld.getWorldManager().getPlotWorld();
+            if (world != null) {
+                futures.add(CompletableFuture.supplyAsync(() -> batch.apply(plotWorld).size(), world));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> futures.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    /**
+     * Saves a plot world's data on the plugin scheduler, once per batch of
+     * changes
+     */
+    public static void requestSave(@Nonnull PlotWorld plotWorld) {
+        ScheduledExecutorService scheduler = Plots.getInstance().getScheduler();
+        if (scheduler != null && !scheduler.isShutdown()) {
+            plotWorld.getDataManager().requestSave(plotWorld.getWorldManager().getPlotWorld(), scheduler);
+        }
+    }
+
+    @Nullable
+    private static Store<EntityStore> getStore(@Nonnull PlotWorld plotWorld) {
+        World world = plotWorld.getWorldManager().getPlotWorld();
+        return world != null ? world.getEntityStore().getStore() : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.overworldlabs.plots.manager;
+
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotFlag;
+
+import javax.annotation.Nullable;
+
+/**
+ * What a player may do at a block column: the plot there, the player's
+ * relation to it and the plot's flags.
+ * <p>
+ * Contexts are resolved by {@link PlotContextCache} and reused for events of
+ * the same player at the same column within a tick. They are only valid on the
+ * world thread that resolved them and must not be kept.
+ * </p>
+ */
+public final class PlotContext {
+    PlotWorld plotWorld;
+    int x;
+    int z;
+    long resolvedAt;
+
+    Plot plot;
+    boolean owner;
+    boolean trusted;
+    boolean bypass;
+    long flags;
+
+    PlotContext() {
+    }
+
+    /**
+     * Get the plot at the column, the main plot for merged regions
+     *
+     * @return The plot, or {@code null} on roads
+     */
+    @Nullable
+    public Plot getPlot() {
+        return plot;
+    }
+
+    public boolean isRoad() {
+        return plot == null;
+    }
+
+    public boolean isOwner() {
+        return owner;
+    }
+
+    /**
+     * Checks whether the player owns or is trusted on the plot
+     */
+    public boolean isTrusted() {
+        return trusted;
+    }
+
+    /**
+     * Checks whether the player has admin permission and ignores protection
+     */
+    public boolean isBypass() {
+        return bypass;
+    }
+
+    /**
+     * Get the effective flags of the plot, {@code 0} on roads
+     */
+    public long getFlags() {
+        return flags;
+    }
+
+    public boolean hasFlag(PlotFlag flag) {
+        return (flags & flag.getBit()) != 0;
+    }
+
+    /**
+     * Checks whether the player may use blocks here. Roads are free to use;
+     * on plots visitors need {@link PlotFlag#INTERACT}.
+     */
+    public boolean canInteract() {
+        return bypass || trusted || plot == null || hasFlag(PlotFlag.INTERACT);
+    }
+
+    /**
+     * Checks whether the player may damage other players here. Only plots with
+     * {@link PlotFlag#PVP} allow it, for everyone including admins.
+     */
+    public boolean canAttackPlayers() {
+        return hasFlag(PlotFlag.PVP);
+    }
+
+    /**
+     * Checks whether the player may damage other entities here. Roads are free;
+     * on plots only the owner and trusted players may.
+     */
+    public boolean canAttackEntities() {
+        return bypass || trusted || plot == null;
+    }
+}
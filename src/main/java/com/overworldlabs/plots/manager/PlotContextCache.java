@@ -0,0 +1,70 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves {@link PlotContext}s for the interaction protection systems.
+ * <p>
+ * Using a block, opening it and hitting an entity can fire several events for
+ * the same player and column in one tick. Each player has a single context
+ * that is refilled in place, so the plot lookup, the trust check and the
+ * permission lookup run once per column and tick, and resolving does not
+ * allocate.
+ * </p>
+ */
+public class PlotContextCache {
+    // A context is reused for at most one server tick
+    private static final long MAX_AGE_NANOS = 50_000_000L;
+
+    private final Map<UUID, PlotContext> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the context of a player at a block column
+     *
+     * @param player    The acting player
+     * @param plotWorld The plot world the column is in
+     * @param x         World X coordinate
+     * @param z         World Z coordinate
+     * @return The player's context, valid until their next call
+     */
+    @Nonnull
+    public PlotContext resolve(@Nonnull PlayerRef player, @Nonnull PlotWorld plotWorld, int x, int z) {
+        UUID uuid = player.getUuid();
+        PlotContext context = contexts.computeIfAbsent(uuid, k -> new PlotContext());
+
+        long now = System.nanoTime();
+        if (context.plotWorld == plotWorld && context.x == x && context.z == z
+                && now - context.resolvedAt < MAX_AGE_NANOS) {
+            PlotMetrics.CONTEXT_REUSED.increment();
+            return context;
+        }
+
+        Plot plot = plotWorld.getPlotManager().getPlotAt(x, z);
+        context.plotWorld = plotWorld;
+        context.x = x;
+        context.z = z;
+        context.resolvedAt = now;
+        context.plot = plot;
+        context.owner = plot != null && uuid.equals(plot.getOwner());
+        context.trusted = plot != null && plot.hasPermission(uuid);
+        context.flags = plot != null ? plot.getFlags() : 0L;
+        context.bypass = PermissionsModule.get().hasPermission(uuid, PlotManager.PERM_ADMIN);
+        PlotMetrics.CONTEXT_RESOLVED.increment();
+        return context;
+    }
+
+    /**
+     * Forget a player's context when they leave
+     */
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        contexts.remove(playerUuid);
+    }
+}
@@ -11,16 +11,20 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.metrics.PlotMetrics;
 import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.model.PlotConfig;
 import com.overworldlabs.plots.model.Prefab;
-import com.overworldlabs.plots.util.ConsoleColors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Manages all plots in the world
@@ -34,66 +38,118 @@ public class PlotManager {
     public static final String PERM_DELETE_ANY = "plots.delete.*";
     public static final String PERM_SPAWN = "plots.spawn";
     public static final String PERM_LIST = "plots.list";
+    public static final String PERM_LIST_ANY = "plots.list.*";
     public static final String PERM_INFO = "plots.info";
     public static final String PERM_RENAME = "plots.rename";
     public static final String PERM_TRUST = "plots.trust";
+    public static final String PERM_MERGE = "plots.merge";
+    public static final String PERM_FLAG = "plots.flag";
+    public static final String PERM_SCHEMATIC = "plots.schematic";
+    public static final String PERM_SNAPSHOT = "plots.snapshot";
+    public static final String PERM_HISTORY = "plots.history";
+    public static final String PERM_HOME = "plots.home";
+    public static final String PERM_VISIT = "plots.visit";
+
+    private static final Comparator<Plot> OLDEST_FIRST = Comparator.comparingLong(Plot::getCreatedAt)
+            .thenComparingInt(Plot::getGridX)
+            .thenComparingInt(Plot::getGridZ);
+    private static final Comparator<Plot> NEWEST_FIRST = Comparator.comparingLong(Plot::getCreatedAt).reversed()
+            .thenComparingInt(Plot::getGridX)
+            .thenComparingInt(Plot::getGridZ);
 
     private final Map<String, Plot> plots;
-    private final PlotConfig config;
+    private final Map<UUID, Set<String>> ownerIndex;
+    private final Map<UUID, Set<String>> trustedIndex;
+    // Plot keys by plot name, lower case
+    private final Map<String, Set<String>> nameIndex;
+    private final Collection<Plot> plotsView;
+    // All plots, newest first
+    private final NavigableSet<Plot> byCreated;
+    // All plots by grid position, ordered by X, then Z (see #gridKey)
+    private final ConcurrentNavigableMap<Long, Plot> byGrid;
+    // Plots that cannot be claimed right now, e.g. while they are being reset
+    private final Set<String> lockedPlots;
+    private final PlotMergeIndex mergeIndex = new PlotMergeIndex();
+    private final PlotSpawnCache spawnCache = new PlotSpawnCache();
+    private final ConfigManager configManager;
+    private final String worldName;
+    private volatile ChangeListener changeListener;
+
+    /**
+     * Receives the grid position of every plot that is claimed, unclaimed or
+     * given to another owner, on the thread that changed it
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void onPlotChanged(int gridX, int gridZ);
+    }
 
     /**
-     * Constructs a new PlotManager with the specified configuration.
+     * Constructs a new PlotManager for one plot world.
      *
-     * @param config The plot configuration containing world settings and limits
+     * @param configManager Source of the current plot configuration
+     * @param worldName     The plot world whose plots this manager holds
      */
-    public PlotManager(PlotConfig config) {
+    public PlotManager(ConfigManager configManager, String worldName) {
         this.plots = new ConcurrentHashMap<>();
-        this.config = config;
+        this.ownerIndex = new ConcurrentHashMap<>();
+        this.trustedIndex = new ConcurrentHashMap<>();
+        this.nameIndex = new ConcurrentHashMap<>();
+        this.plotsView = Collections.unmodifiableCollection(plots.values());
+        this.byCreated = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+        this.byGrid = new ConcurrentSkipListMap<>();
+        this.lockedPlots = ConcurrentHashMap.newKeySet();
+        this.configManager = configManager;
+        this.worldName = worldName;
+    }
+
+    /**
+     * Sets the listener notified of ownership changes, or null to remove it
+     */
+    public void setChangeListener(@Nullable ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void notifyChanged(int gridX, int gridZ) {
+        // The road in front of a plot is regenerated with merged plots
+        invalidateSpawn(gridX, gridZ);
+        ChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.onPlotChanged(gridX, gridZ);
+        }
     }
 
     /**
      * Gets the plot configuration.
      *
-     * @return The current PlotConfig instance
+     * @return The current PlotConfig snapshot; it may be replaced by a reload,
+     *         so hold on to it only for one operation
      */
     public PlotConfig getConfig() {
-        return config;
+        return configManager.getConfig(worldName);
     }
 
     /**
-     * Synchronizes configuration sizes with loaded prefabs
+     * Gets the name of the plot world this manager holds plots for.
      */
-    public void syncConfigWithPrefabs() {
-        PrefabManager pm = Plots.getInstance().getPrefabManager();
-        if (pm == null)
-            return;
-
-        Prefab roadPrefab = pm.getOrLoadPrefab(config.getRoadPrefab());
-        Prefab plotPrefab = pm.getOrLoadPrefab(config.getPlotPrefab());
-
-        if (roadPrefab != null) {
-            // detectedPlotSize (length) along X, detectedRoadSize (thickness) along Z
-            int detectedPlotSizeX = roadPrefab.getWidthX();
-            int detectedRoadSizeZ = roadPrefab.getDepthZ();
-
-            // For a road prefab, usually width is the plot side it borders, and depth is
-            // the road width.
-            config.setPlotSizeX(detectedPlotSizeX);
-            config.setRoadSizeZ(detectedRoadSizeZ);
+    public String getWorldName() {
+        return worldName;
+    }
 
-            // If it's a square-oriented system, we might want to mirror these or detect
-            // other prefabs.
-            // But let's assume if they give a road, they want that specific layout.
-            ConsoleColors.info("Auto-adjusted dimensions from Road Prefab: PlotSizeX=" + detectedPlotSizeX
-                    + ", RoadSizeZ=" + detectedRoadSizeZ);
-        }
+    /**
+     * Gets the index of merged plots in this manager's world.
+     */
+    @Nonnull
+    public PlotMergeIndex getMergeIndex() {
+        return mergeIndex;
+    }
 
-        if (plotPrefab != null) {
-            config.setPlotSizeX(plotPrefab.getWidthX());
-            config.setPlotSizeZ(plotPrefab.getDepthZ());
-            ConsoleColors.info("Auto-adjusted dimensions from Plot Prefab: PlotSizeX=" + config.getPlotSizeX()
-                    + ", PlotSizeZ=" + config.getPlotSizeZ());
-        }
+    /**
+     * Get the cache of safe teleport positions in this plot world
+     */
+    @Nonnull
+    public PlotSpawnCache getSpawnCache() {
+        return spawnCache;
     }
 
     /**
@@ -107,39 +163,144 @@ public class PlotManager {
         return gridX + "," + gridZ;
     }
 
+    /**
+     * Key of a plot in the grid-ordered index. The sign bit of Z is flipped so
+     * that keys sort by X, then Z, and each grid column is one key range.
+     */
+    private static long gridKey(int gridX, int gridZ) {
+        return ((long) gridX << 32) | ((gridZ ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
     /**
      * Claims a plot for a player at the specified grid coordinates.
      * <p>
      * This method checks if:
      * - The plot is not already claimed
+     * - The plot is not locked (see {@link #lockPlot(int, int)})
      * - The player hasn't reached their maximum plot limit
      * </p>
      *
-     * @param playerUuid The UUID of the player claiming the plot
-     * @param ownerName  The display name of the player
-     * @param gridX      The X coordinate in the plot grid
-     * @param gridZ      The Z coordinate in the plot grid
+     * @param sender    The sender whose permissions set the plot limit
+     * @param playerRef The player claiming the plot
+     * @param gridX     The X coordinate in the plot grid
+     * @param gridZ     The Z coordinate in the plot grid
      * @return {@code true} if the plot was successfully claimed, {@code false}
      *         otherwise
      */
     public boolean claimPlot(@Nonnull com.hypixel.hytale.server.core.command.system.CommandSender sender,
             @Nonnull PlayerRef playerRef, int gridX, int gridZ) {
-        String key = getPlotKey(gridX, gridZ);
-        if (plots.containsKey(key))
+        return claimPlot(sender, new Plot(gridX, gridZ, playerRef.getUuid(), playerRef.getUsername()));
+    }
+
+    /**
+     * Claims a prepared plot for its owner, checking the same conditions as
+     * {@link #claimPlot(com.hypixel.hytale.server.core.command.system.CommandSender, PlayerRef, int, int)}
+     *
+     * @param sender The sender whose permissions set the plot limit
+     * @param plot   The new, unregistered plot
+     * @return {@code true} if the plot was successfully claimed
+     */
+    public boolean claimPlot(@Nonnull com.hypixel.hytale.server.core.command.system.CommandSender sender,
+            @Nonnull Plot plot) {
+        if (getPlotCount(plot.getOwner()) >= getMaxPlots(sender))
             return false;
 
-        long playerPlotCount = plots.values().stream()
-                .filter(plot -> playerRef.getUuid().equals(plot.getOwner()))
-                .count();
+        return claimPlot(plot);
+    }
+
+    /**
+     * Claims a plot for an owner without checking plot limits.
+     *
+     * @param gridX     The X coordinate in the plot grid
+     * @param gridZ     The Z coordinate in the plot grid
+     * @param ownerUuid The UUID of the new owner
+     * @param ownerName The display name of the new owner
+     * @return The claimed plot, or {@code null} if the plot is claimed or
+     *         locked
+     */
+    @Nullable
+    public Plot claimPlot(int gridX, int gridZ, @Nonnull UUID ownerUuid, @Nonnull String ownerName) {
+        Plot plot = new Plot(gridX, gridZ, ownerUuid, ownerName);
+        return claimPlot(plot) ? plot : null;
+    }
 
-        if (playerPlotCount >= getMaxPlots(sender))
+    /**
+     * Registers a prepared plot without checking plot limits, so the instance
+     * seen by pre-claim listeners becomes the claimed plot.
+     *
+     * @param plot The new, unregistered plot
+     * @return {@code false} if its position is claimed or locked
+     */
+    public boolean claimPlot(@Nonnull Plot plot) {
+        String key = getPlotKey(plot.getGridX(), plot.getGridZ());
+        if (plots.containsKey(key) || lockedPlots.contains(key))
             return false;
 
-        Plot plot = new Plot(gridX, gridZ, playerRef.getUuid(), playerRef.getUsername());
-        plots.put(key, plot);
+        if (plots.putIfAbsent(key, plot) != null)
+            return false;
+        indexOwner(plot, key);
+        indexName(plot.getName(), key);
+        byCreated.add(plot);
+        byGrid.put(gridKey(plot.getGridX(), plot.getGridZ()), plot);
+        PlotMetrics.PLOTS_CLAIMED.increment();
+        notifyChanged(plot.getGridX(), plot.getGridZ());
         return true;
     }
 
+    /**
+     * Transfers plots to another player.
+     * <p>
+     * Merged regions are only kept consistent if all their plots move
+     * together. The new owner is removed from the trusted players of the
+     * transferred plots.
+     * </p>
+     *
+     * @param batch  The plots to transfer; plots that are no longer claimed or
+     *               already owned by the new owner are skipped
+     * @param toUuid The new owner
+     * @param toName The display name of the new owner
+     * @return The transferred plots
+     */
+    @Nonnull
+    public List<Plot> transferPlots(@Nonnull Collection<Plot> batch, @Nonnull UUID toUuid, @Nonnull String toName) {
+        List<Plot> transferred = new ArrayList<>(batch.size());
+        for (Plot plot : batch) {
+            String key = getPlotKey(plot.getGridX(), plot.getGridZ());
+            if (plots.get(key) != plot || toUuid.equals(plot.getOwner()))
+                continue;
+
+            unindexOwner(plot, key);
+            plot.setOwner(toUuid);
+            plot.setOwnerName(toName);
+            indexOwner(plot, key);
+            untrustPlayer(plot, toUuid);
+            transferred.add(plot);
+            notifyChanged(plot.getGridX(), plot.getGridZ());
+        }
+        return transferred;
+    }
+
+    /**
+     * Gets the plots of the merged region a plot belongs to
+     *
+     * @return The claimed plots of the region, or just the plot if it is not
+     *         merged
+     */
+    @Nonnull
+    public List<Plot> getRegionPlots(@Nonnull Plot plot) {
+        if (plot.getOwner() == null || !mergeIndex.isMerged(plot.getGridX(), plot.getGridZ()))
+            return Collections.singletonList(plot);
+
+        long region = mergeIndex.getRegion(plot.getGridX(), plot.getGridZ());
+        List<Plot> members = new ArrayList<>();
+        for (Plot owned : getPlayerPlots(plot.getOwner())) {
+            if (mergeIndex.getRegion(owned.getGridX(), owned.getGridZ()) == region) {
+                members.add(owned);
+            }
+        }
+        return members;
+    }
+
     /**
      * Gets the maximum number of plots a player can claim based on their
      * permissions.
@@ -178,7 +339,313 @@ public class PlotManager {
      */
     public boolean unclaimPlot(int gridX, int gridZ) {
         String key = getPlotKey(gridX, gridZ);
-        return plots.remove(key) != null;
+        Plot regionPlot = getRegionPlot(gridX, gridZ);
+        Plot removed = plots.remove(key);
+        if (removed == null)
+            return false;
+        unindexOwner(removed, key);
+        unindexName(removed.getName(), key);
+        for (UUID trusted : removed.getTrustedPlayers()) {
+            unindex(trustedIndex, trusted, key);
+        }
+        byCreated.remove(removed);
+        byGrid.remove(gridKey(gridX, gridZ), removed);
+
+        if (mergeIndex.isMerged(gridX, gridZ)) {
+            Plot west = getPlot(gridX - 1, gridZ);
+            Plot north = getPlot(gridX, gridZ - 1);
+            // Neighbours linked to the removed plot, as {dx, dz}
+            List<int[]> linked = new ArrayList<>(4);
+            if (west != null && west.isMergedEast()) {
+                west.setMergedEast(false);
+                linked.add(new int[] { -1, 0 });
+            }
+            if (north != null && north.isMergedSouth()) {
+                north.setMergedSouth(false);
+                linked.add(new int[] { 0, -1 });
+            }
+            if (removed.isMergedEast())
+                linked.add(new int[] { 1, 0 });
+            if (removed.isMergedSouth())
+                linked.add(new int[] { 0, 1 });
+            removed.setMergedEast(false);
+            removed.setMergedSouth(false);
+            mergeIndex.unlinkAll(gridX, gridZ);
+
+            // The parts left behind may have a new main plot, which still
+            // holds the settings from before it was merged
+            for (int[] offset : linked) {
+                Plot partPlot = getRegionPlot(gridX + offset[0], gridZ + offset[1]);
+                if (partPlot != null && regionPlot != null && partPlot != regionPlot)
+                    copyRegionSettings(regionPlot, partPlot);
+            }
+        }
+        PlotMetrics.PLOTS_UNCLAIMED.increment();
+        notifyChanged(gridX, gridZ);
+        return true;
+    }
+
+    /**
+     * Merges a plot with an adjacent plot of the same owner.
+     * <p>
+     * The road between them becomes part of the merged region. A region is
+     * represented by its main plot (see {@link #getRegionPlot(int, int)}), which
+     * receives the trusted players of both regions. Flags and name are taken
+     * from the region of the plot at {@code gridX, gridZ}.
+     * </p>
+     *
+     * @param gridX The X coordinate in the plot grid
+     * @param gridZ The Z coordinate in the plot grid
+     * @param dx    Direction of the neighbour on the X axis (-1, 0 or 1)
+     * @param dz    Direction of the neighbour on the Z axis (-1, 0 or 1)
+     * @return {@code false} if either plot is unclaimed, the owners differ or
+     *         the plots are already merged
+     */
+    public boolean mergePlots(int gridX, int gridZ, int dx, int dz) {
+        if (Math.abs(dx) + Math.abs(dz) != 1)
+            return false;
+
+        Plot plot = getPlot(gridX, gridZ);
+        Plot other = getPlot(gridX + dx, gridZ + dz);
+        if (plot == null || other == null || !plot.getOwner().equals(other.getOwner()))
+            return false;
+
+        // Links are stored on the west or north plot of the pair
+        Plot from = (dx < 0 || dz < 0) ? other : plot;
+        boolean east = dx != 0;
+        if (east ? from.isMergedEast() : from.isMergedSouth())
+            return false;
+
+        Plot regionPlot = getRegionPlot(gridX, gridZ);
+        Plot otherRegionPlot = getRegionPlot(gridX + dx, gridZ + dz);
+
+        if (east) {
+            from.setMergedEast(true);
+        } else {
+            from.setMergedSouth(true);
+        }
+        mergeIndex.link(from.getGridX(), from.getGridZ(), east);
+
+        Plot merged = getRegionPlot(gridX, gridZ);
+        if (merged == null)
+            return true;
+        if (regionPlot != null && regionPlot != merged) {
+            merged.copyFlags(regionPlot);
+            if (!merged.getName().equals(regionPlot.getName()))
+                renamePlot(merged, regionPlot.getName());
+        }
+        for (Plot previous : new Plot[] { regionPlot, otherRegionPlot }) {
+            if (previous != null && previous != merged) {
+                for (UUID trusted : previous.getTrustedPlayers()) {
+                    trustPlayer(merged, trusted);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the main plot of a region part the trusted players, flags and name
+     * of the region it was split off.
+     */
+    private void copyRegionSettings(@Nonnull Plot from, @Nonnull Plot to) {
+        for (UUID trusted : new ArrayList<>(to.getTrustedPlayers())) {
+            if (!from.isTrusted(trusted))
+                untrustPlayer(to, trusted);
+        }
+        for (UUID trusted : from.getTrustedPlayers()) {
+            trustPlayer(to, trusted);
+        }
+        to.copyFlags(from);
+        if (!to.getName().equals(from.getName()))
+            renamePlot(to, from.getName());
+    }
+
+    /**
+     * Gets the main plot of the region a plot belongs to.
+     *
+     * @param gridX The X coordinate in the plot grid
+     * @param gridZ The Z coordinate in the plot grid
+     * @return The plot itself if it is not merged, or {@code null} if unclaimed
+     */
+    @Nullable
+    public Plot getRegionPlot(int gridX, int gridZ) {
+        long region = mergeIndex.getRegion(gridX, gridZ);
+        return getPlot(PlotMergeIndex.gridX(region), PlotMergeIndex.gridZ(region));
+    }
+
+    /**
+     * Gets the road between a plot and its east or south neighbour, or the
+     * intersection south-east of it when both are set.
+     *
+     * @return {minX, minZ, maxX, maxZ} in world coordinates; empty (min &gt;
+     *         max) without roads
+     */
+    @Nonnull
+    public int[] getRoadArea(int gridX, int gridZ, boolean east, boolean south) {
+        PlotConfig config = getConfig();
+        int plotMinX = config.gridToWorldX(gridX);
+        int plotMinZ = config.gridToWorldZ(gridZ);
+        return new int[] {
+                east ? plotMinX + config.getPlotSizeX() : plotMinX,
+                south ? plotMinZ + config.getPlotSizeZ() : plotMinZ,
+                east ? plotMinX + config.getPeriodX() - 1 : plotMinX + config.getPlotSizeX() - 1,
+                south ? plotMinZ + config.getPeriodZ() - 1 : plotMinZ + config.getPlotSizeZ() - 1 };
+    }
+
+    /**
+     * Gets the road areas a merge between a plot and its neighbour added to the
+     * region: the road between them and the intersections it completed.
+     *
+     * @param dx Direction of the neighbour on the X axis (-1, 0 or 1)
+     * @param dz Direction of the neighbour on the Z axis (-1, 0 or 1)
+     */
+    @Nonnull
+    public List<int[]> getLinkRoadAreas(int gridX, int gridZ, int dx, int dz) {
+        int fromX = Math.min(gridX, gridX + dx);
+        int fromZ = Math.min(gridZ, gridZ + dz);
+        boolean east = dx != 0;
+
+        List<int[]> areas = new ArrayList<>();
+        areas.add(getRoadArea(fromX, fromZ, east, !east));
+        // Intersections at both ends of the road
+        int beforeX = east ? fromX : fromX - 1;
+        int beforeZ = east ? fromZ - 1 : fromZ;
+        if (mergeIndex.isIntersectionMerged(fromX, fromZ)) {
+            areas.add(getRoadArea(fromX, fromZ, true, true));
+        }
+        if (mergeIndex.isIntersectionMerged(beforeX, beforeZ)) {
+            areas.add(getRoadArea(beforeX, beforeZ, true, true));
+        }
+        return areas;
+    }
+
+    /**
+     * Gets the road areas merged around a plot. They go back to road when the
+     * plot is unclaimed, so they are regenerated together with the plot.
+     */
+    @Nonnull
+    public List<int[]> getMergedRoadAreas(int gridX, int gridZ) {
+        List<int[]> areas = new ArrayList<>();
+        if (mergeIndex.isMergedEast(gridX, gridZ))
+            areas.add(getRoadArea(gridX, gridZ, true, false));
+        if (mergeIndex.isMergedEast(gridX - 1, gridZ))
+            areas.add(getRoadArea(gridX - 1, gridZ, true, false));
+        if (mergeIndex.isMergedSouth(gridX, gridZ))
+            areas.add(getRoadArea(gridX, gridZ, false, true));
+        if (mergeIndex.isMergedSouth(gridX, gridZ - 1))
+            areas.add(getRoadArea(gridX, gridZ - 1, false, true));
+
+        for (int x = gridX - 1; x <= gridX; x++) {
+            for (int z = gridZ - 1; z <= gridZ; z++) {
+                if (mergeIndex.isIntersectionMerged(x, z))
+                    areas.add(getRoadArea(x, z, true, true));
+            }
+        }
+        return areas;
+    }
+
+    /**
+     * Prevents a plot position from being claimed until
+     * {@link #unlockPlot(int, int)} is called.
+     *
+     * @param gridX The X coordinate in the plot grid
+     * @param gridZ The Z coordinate in the plot grid
+     * @return {@code false} if the plot was already locked
+     */
+    public boolean lockPlot(int gridX, int gridZ) {
+        return lockedPlots.add(getPlotKey(gridX, gridZ));
+    }
+
+    /**
+     * Allows a locked plot position to be claimed again.
+     *
+     * @param gridX The X coordinate in the plot grid
+     * @param gridZ The Z coordinate in the plot grid
+     */
+    public void unlockPlot(int gridX, int gridZ) {
+        lockedPlots.remove(getPlotKey(gridX, gridZ));
+    }
+
+    /**
+     * Checks if a plot position is locked against claiming.
+     *
+     * @param gridX The X coordinate in the plot grid
+     * @param gridZ The Z coordinate in the plot grid
+     * @return {@code true} if the plot is locked
+     */
+    public boolean isPlotLocked(int gridX, int gridZ) {
+        return lockedPlots.contains(getPlotKey(gridX, gridZ));
+    }
+
+    /**
+     * Adds a plot to its owner's entry in the owner index.
+     */
+    private void indexOwner(@Nonnull Plot plot, @Nonnull String key) {
+        if (plot.getOwner() == null)
+            return;
+        ownerIndex.computeIfAbsent(plot.getOwner(), k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    /**
+     * Removes a plot from its owner's entry in the owner index, dropping empty
+     * entries so the index only holds current owners.
+     */
+    private void unindexOwner(@Nonnull Plot plot, @Nonnull String key) {
+        if (plot.getOwner() == null)
+            return;
+        unindex(ownerIndex, plot.getOwner(), key);
+    }
+
+    private void indexName(@Nonnull String name, @Nonnull String key) {
+        nameIndex.computeIfAbsent(normalizeName(name), k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void unindexName(@Nonnull String name, @Nonnull String key) {
+        unindex(nameIndex, normalizeName(name), key);
+    }
+
+    @Nonnull
+    private static String normalizeName(@Nonnull String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> void unindex(@Nonnull Map<K, Set<String>> index, @Nonnull K entry, @Nonnull String key) {
+        index.computeIfPresent(entry, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Trusts a player on a plot and records it in the trusted index.
+     *
+     * @param plot       The plot
+     * @param playerUuid The player to trust
+     * @return {@code false} if the player was already trusted
+     */
+    public boolean trustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
+        if (plot.isTrusted(playerUuid))
+            return false;
+        plot.addTrustedPlayer(playerUuid);
+        trustedIndex.computeIfAbsent(playerUuid, k -> ConcurrentHashMap.newKeySet())
+                .add(getPlotKey(plot.getGridX(), plot.getGridZ()));
+        return true;
+    }
+
+    /**
+     * Removes a trusted player from a plot and from the trusted index.
+     *
+     * @param plot       The plot
+     * @param playerUuid The player to untrust
+     * @return {@code false} if the player was not trusted
+     */
+    public boolean untrustPlayer(@Nonnull Plot plot, @Nonnull UUID playerUuid) {
+        if (!plot.isTrusted(playerUuid))
+            return false;
+        plot.removeTrustedPlayer(playerUuid);
+        unindex(trustedIndex, playerUuid, getPlotKey(plot.getGridX(), plot.getGridZ()));
+        return true;
     }
 
     /**
@@ -194,10 +661,39 @@ public class PlotManager {
         Plot plot = getPlot(gridX, gridZ);
         if (plot == null)
             return false;
-        plot.setName(name);
+        renamePlot(plot, name);
         return true;
     }
 
+    /**
+     * Renames a plot and updates the name index.
+     *
+     * @param plot The plot
+     * @param name The new name for the plot
+     */
+    public void renamePlot(@Nonnull Plot plot, @Nonnull String name) {
+        String key = getPlotKey(plot.getGridX(), plot.getGridZ());
+        boolean indexed = plots.get(key) == plot;
+        if (indexed)
+            unindexName(plot.getName(), key);
+        plot.setName(name);
+        if (indexed)
+            indexName(name, key);
+    }
+
+    /**
+     * Gets the plots with a name, ignoring case.
+     *
+     * @param name The plot name
+     * @return The plots with that name, oldest first (may be empty)
+     */
+    @Nonnull
+    public List<Plot> getPlotsByName(@Nonnull String name) {
+        List<Plot> result = resolveKeys(nameIndex.get(normalizeName(name)));
+        result.sort(OLDEST_FIRST);
+        return result;
+    }
+
     /**
      * Gets a plot by its grid coordinates.
      *
@@ -251,10 +747,46 @@ public class PlotManager {
      */
     @Nullable
     public Plot getPlotAt(String worldName, int worldX, int worldZ) {
-        if (!config.isInPlot(worldName, worldX, worldZ))
+        if (!this.worldName.equals(worldName))
             return null;
-        int[] grid = config.getPlotGridAt(worldX, worldZ);
-        return getPlot(grid[0], grid[1]);
+        return getPlotAt(worldX, worldZ);
+    }
+
+    /**
+     * Gets the plot at the specified coordinates in this manager's world.
+     * <p>
+     * Inside a merged region, including its merged roads, this is the region's
+     * main plot.
+     * </p>
+     *
+     * @param worldX The X coordinate in world space
+     * @param worldZ The Z coordinate in world space
+     * @return The Plot at the specified coordinates, or {@code null} if not in a
+     *         plot
+     */
+    @Nullable
+    public Plot getPlotAt(int worldX, int worldZ) {
+        long start = System.nanoTime();
+        try {
+            PlotConfig config = getConfig();
+            if (mergeIndex.isEmpty()) {
+                if (!config.isInPlot(worldX, worldZ))
+                    return null;
+                int[] grid = config.getPlotGridAt(worldX, worldZ);
+                return getPlot(grid[0], grid[1]);
+            }
+
+            int gridX = config.worldToGridX(worldX);
+            int gridZ = config.worldToGridZ(worldZ);
+            boolean eastRoad = worldX - config.gridToWorldX(gridX) >= config.getPlotSizeX();
+            boolean southRoad = worldZ - config.gridToWorldZ(gridZ) >= config.getPlotSizeZ();
+            long region = mergeIndex.getRegionAt(gridX, gridZ, eastRoad, southRoad);
+            if (region == PlotMergeIndex.NO_REGION)
+                return null;
+            return getPlot(PlotMergeIndex.gridX(region), PlotMergeIndex.gridZ(region));
+        } finally {
+            PlotMetrics.GET_PLOT_AT.recordSince(start);
+        }
     }
 
     /**
@@ -264,9 +796,141 @@ public class PlotManager {
      * @return A list of all plots owned by the player (may be empty)
      */
     public List<Plot> getPlayerPlots(@Nonnull UUID playerUuid) {
-        return plots.values().stream()
-                .filter(plot -> playerUuid.equals(plot.getOwner()))
-                .collect(Collectors.toList());
+        return resolveKeys(ownerIndex.get(playerUuid));
+    }
+
+    /**
+     * Gets all plots owned by a player in the order they were claimed, which
+     * is the order {@code /plot home} numbers them in.
+     *
+     * @param playerUuid The UUID of the player
+     * @return The player's plots, oldest first (may be empty)
+     */
+    @Nonnull
+    public List<Plot> getPlayerPlotsOldestFirst(@Nonnull UUID playerUuid) {
+        List<Plot> result = getPlayerPlots(playerUuid);
+        result.sort(OLDEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Gets all plots a player is trusted on.
+     *
+     * @param playerUuid The UUID of the player
+     * @return A list of the plots (may be empty)
+     */
+    public List<Plot> getTrustedPlots(@Nonnull UUID playerUuid) {
+        return resolveKeys(trustedIndex.get(playerUuid));
+    }
+
+    /**
+     * Gets all plots, newest first.
+     * <p>
+     * The view is backed by an index kept sorted on claim and unclaim, so it
+     * can be paged without copying or sorting.
+     * </p>
+     *
+     * @return An unmodifiable, weakly consistent view
+     */
+    @Nonnull
+    public NavigableSet<Plot> getPlotsNewestFirst() {
+        return Collections.unmodifiableNavigableSet(byCreated);
+    }
+
+    /**
+     * Gets the plots in a rectangle of the plot grid.
+     *
+     * @return The plots, ordered by grid X, then Z
+     */
+    @Nonnull
+    public List<Plot> getPlotsInArea(int minGridX, int minGridZ, int maxGridX, int maxGridZ) {
+        List<Plot> result = new ArrayList<>();
+        streamPlotsInArea(minGridX, minGridZ, maxGridX, maxGridZ).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Streams the plots in a rectangle of the plot grid without copying them.
+     * <p>
+     * Small rectangles probe each grid cell. Once a rectangle has more cells
+     * than there are plots, each grid column in it is read as one key range of
+     * the grid-ordered index, and rectangles wider than the number of plots
+     * read the X range once and filter by Z.
+     * </p>
+     *
+     * @return A lazy, weakly consistent stream of the plots, ordered by grid X,
+     *         then Z
+     */
+    @Nonnull
+    public Stream<Plot> streamPlotsInArea(int minGridX, int minGridZ, int maxGridX, int maxGridZ) {
+        if (minGridX > maxGridX || minGridZ > maxGridZ)
+            return Stream.empty();
+
+        int count = byGrid.size();
+        long width = (long) maxGridX - minGridX + 1;
+        long depth = (long) maxGridZ - minGridZ + 1;
+        if (width * depth <= count) {
+            return IntStream.rangeClosed(minGridX, maxGridX).boxed()
+                    .flatMap(x -> IntStream.rangeClosed(minGridZ, maxGridZ)
+                            .mapToObj(z -> byGrid.get(gridKey(x, z)))
+                            .filter(Objects::nonNull));
+        }
+        if (width <= count) {
+            return IntStream.rangeClosed(minGridX, maxGridX).boxed()
+                    .flatMap(x -> byGrid.subMap(gridKey(x, minGridZ), true, gridKey(x, maxGridZ), true)
+                            .values().stream());
+        }
+        return byGrid.subMap(gridKey(minGridX, minGridZ), true, gridKey(maxGridX, maxGridZ), true)
+                .values().stream()
+                .filter(plot -> plot.getGridZ() >= minGridZ && plot.getGridZ() <= maxGridZ);
+    }
+
+    @Nonnull
+    private List<Plot> resolveKeys(@Nullable Set<String> keys) {
+        if (keys == null)
+            return new ArrayList<>();
+
+        List<Plot> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Plot plot = plots.get(key);
+            if (plot != null)
+                result.add(plot);
+        }
+        return result;
+    }
+
+    /**
+     * Gets a snapshot of all players that currently own at least one plot.
+     *
+     * @return A list of owner UUIDs
+     */
+    @Nonnull
+    public List<UUID> getOwners() {
+        return new ArrayList<>(ownerIndex.keySet());
+    }
+
+    /**
+     * Checks if a player currently owns at least one plot.
+     *
+     * @param playerUuid The UUID of the player
+     * @return {@code true} if the player owns a plot
+     */
+    public boolean isOwner(@Nonnull UUID playerUuid) {
+        return ownerIndex.containsKey(playerUuid);
+    }
+
+    /**
+     * Gets the number of plots owned by a specific player.
+     * <p>
+     * Served from the owner index, so this does not scan all plots.
+     * </p>
+     *
+     * @param playerUuid The UUID of the player
+     * @return The number of plots owned by the player
+     */
+    public int getPlotCount(@Nonnull UUID playerUuid) {
+        Set<String> keys = ownerIndex.get(playerUuid);
+        return keys == null ? 0 : keys.size();
     }
 
     /**
@@ -287,16 +951,28 @@ public class PlotManager {
      *         otherwise
      */
     public boolean canModify(@Nonnull PlayerRef player, @Nonnull World world, int worldX, int worldY, int worldZ) {
+        long start = System.nanoTime();
+        boolean allowed = checkModify(player, world, worldX, worldY, worldZ);
+        PlotMetrics.CAN_MODIFY.recordSince(start);
+        if (!allowed) {
+            PlotMetrics.PROTECTION_DENIED.increment();
+        }
+        return allowed;
+    }
+
+    private boolean checkModify(@Nonnull PlayerRef player, @Nonnull World world, int worldX, int worldY,
+            int worldZ) {
         if (PermissionsModule.get().hasPermission(player.getUuid(),
                 PERM_ADMIN)) {
             return true;
         }
 
-        if (!config.isInPlot(world.getName(), worldX, worldZ)) {
+        if (!worldName.equals(world.getName())) {
             return false;
         }
 
-        Plot plot = getPlotAt(world.getName(), worldX, worldZ);
+        PlotConfig config = getConfig();
+        Plot plot = getPlotAt(worldX, worldZ);
         if (plot == null) {
             return false;
         }
@@ -316,16 +992,19 @@ public class PlotManager {
                 if (worldY < 0)
                     return false;
 
-                // Calculate local prefab coordinates
-                int originX = config.gridToWorldX(plot.getGridX());
-                int originZ = config.gridToWorldZ(plot.getGridZ());
+                // Calculate local prefab coordinates; merged plots share one region plot
+                int originX = config.gridToWorldX(config.worldToGridX(worldX));
+                int originZ = config.gridToWorldZ(config.worldToGridZ(worldZ));
 
                 int relX = worldX - originX;
                 int relZ = worldZ - originZ;
 
+                // Roads merged into the region lie outside the prefab and are built on freely
+                boolean mergedRoad = relX >= config.getPlotSizeX() || relZ >= config.getPlotSizeZ();
+
                 // Check vertical column for prefab block occupancy
                 // This allows vertical expansion while protecting the empty spaces.
-                if (!prefab.hasColumnAt(relX + prefab.getMinX(), relZ + prefab.getMinZ())) {
+                if (!mergedRoad && !prefab.hasColumnAt(relX + prefab.getMinX(), relZ + prefab.getMinZ())) {
                     return false;
                 }
             }
@@ -334,6 +1013,21 @@ public class PlotManager {
         return true;
     }
 
+    /**
+     * Gets a live, unmodifiable view of all plots.
+     * <p>
+     * The view reflects claims and unclaims as they happen and never throws
+     * {@link java.util.ConcurrentModificationException}; iterating it does not
+     * copy the plots.
+     * </p>
+     *
+     * @return A weakly consistent view of the plots
+     */
+    @Nonnull
+    public Collection<Plot> getPlotsView() {
+        return plotsView;
+    }
+
     /**
      * Gets all plots currently managed by this PlotManager.
      *
@@ -354,7 +1048,44 @@ public class PlotManager {
      */
     public void loadPlots(@Nonnull Map<String, Plot> loadedPlots) {
         plots.clear();
+        ownerIndex.clear();
+        trustedIndex.clear();
+        nameIndex.clear();
+        byCreated.clear();
+        byGrid.clear();
         plots.putAll(loadedPlots);
+        plots.forEach((key, plot) -> {
+            indexOwner(plot, key);
+            indexName(plot.getName(), key);
+            for (UUID trusted : plot.getTrustedPlayers()) {
+                trustedIndex.computeIfAbsent(trusted, k -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            byCreated.add(plot);
+            byGrid.put(gridKey(plot.getGridX(), plot.getGridZ()), plot);
+        });
+
+        mergeIndex.clear();
+        for (Plot plot : plots.values()) {
+            linkLoaded(plot, true);
+            linkLoaded(plot, false);
+        }
+    }
+
+    private void linkLoaded(@Nonnull Plot plot, boolean east) {
+        if (!(east ? plot.isMergedEast() : plot.isMergedSouth()))
+            return;
+
+        Plot other = getPlot(plot.getGridX() + (east ? 1 : 0), plot.getGridZ() + (east ? 0 : 1));
+        if (other == null || !plot.getOwner().equals(other.getOwner())) {
+            // Stale link, e.g. from an edited plots file
+            if (east) {
+                plot.setMergedEast(false);
+            } else {
+                plot.setMergedSouth(false);
+            }
+            return;
+        }
+        mergeIndex.link(plot.getGridX(), plot.getGridZ(), east);
     }
 
     /**
@@ -370,6 +1101,19 @@ public class PlotManager {
         return new HashMap<>(plots);
     }
 
+    /**
+     * Gets a copy of all plots that later changes do not affect. Call it on the
+     * plot world thread, so no plot is copied halfway through a change.
+     *
+     * @return A map of plot keys to copies of the plots
+     */
+    @Nonnull
+    public Map<String, Plot> copyPlots() {
+        Map<String, Plot> copy = new HashMap<>(plots.size() * 4 / 3 + 1);
+        plots.forEach((key, plot) -> copy.put(key, new Plot(plot)));
+        return copy;
+    }
+
     /**
      * Gets the total number of claimed plots.
      *
@@ -386,7 +1130,7 @@ public class PlotManager {
      * @return The default maximum plot count.
      */
     public int getMaxPlotsDefaultValue() {
-        return config.getMaxPlotsDefaultValue();
+        return getConfig().getMaxPlotsDefaultValue();
     }
 
     /**
@@ -397,7 +1141,7 @@ public class PlotManager {
      * @return The maximum plot limit.
      */
     public int getMaxPlotLimit() {
-        return config.getMaxPlotLimit();
+        return getConfig().getMaxPlotLimit();
     }
 
     /**
@@ -418,7 +1162,8 @@ public class PlotManager {
         int maxChecks = 10000;
 
         for (int i = 0; i < maxChecks; i++) {
-            if (!plots.containsKey(getPlotKey(x, z))) {
+            String key = getPlotKey(x, z);
+            if (!plots.containsKey(key) && !lockedPlots.contains(key)) {
                 return new int[] { x, z };
             }
 
@@ -439,7 +1184,9 @@ public class PlotManager {
      * Teleports a player to the specified plot.
      * <p>
      * The player is teleported to the center-front of the plot (on the road),
-     * facing south (into the plot) for optimal orientation.
+     * facing south (into the plot) for optimal orientation, standing on the
+     * highest block there (see {@link PlotSpawnCache}). Must be called on the
+     * player's world thread.
      * </p>
      *
      * @param store The entity store containing the player entity
@@ -448,25 +1195,76 @@ public class PlotManager {
      */
     public void teleportPlayerToPlot(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
             @Nonnull Plot plot) {
-        PlotConfig plotConfig = getConfig();
-        String plotWorldName = plotConfig.getPlotWorldName();
-        World plotWorld = Universe.get().getWorlds().get(plotWorldName);
-
+        World plotWorld = Universe.get().getWorlds().get(getConfig().getPlotWorldName());
         if (plotWorld == null) {
             return;
         }
 
-        int gridX = plot.getGridX();
-        int gridZ = plot.getGridZ();
-        int worldX = plotConfig.gridToWorldX(gridX) + (plotConfig.getPlotSizeX() / 2);
-        int worldZ = plotConfig.gridToWorldZ(gridZ) - 2;
-        double spawnY = 66.5;
-
-        Vector3d pos = new Vector3d(worldX + 0.5, spawnY, worldZ + 0.5);
+        int[] column = getSpawnColumn(plot.getGridX(), plot.getGridZ());
         // Rotation: Y=180 means facing south (into the plot), X=0 (level), Z=0 (no
         // tilt)
-        Vector3f rot = new Vector3f(0, 180, 0);
+        teleportToColumn(store, ref, plotWorld, column[0], column[1], 66.5, new Vector3f(0, 180, 0));
+    }
+
+    /**
+     * Teleports a player to the plot world spawn at the world origin. Must be
+     * called on the player's world thread.
+     *
+     * @return {@code false} if the plot world is not loaded
+     */
+    public boolean teleportPlayerToSpawn(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref) {
+        World plotWorld = Universe.get().getWorlds().get(getConfig().getPlotWorldName());
+        if (plotWorld == null) {
+            return false;
+        }
+
+        teleportToColumn(store, ref, plotWorld, 0, 0, 64, new Vector3f(0, 0, 0));
+        return true;
+    }
+
+    /**
+     * Gets the column players are teleported to for a plot.
+     *
+     * @return {x, z} in world coordinates
+     */
+    @Nonnull
+    private int[] getSpawnColumn(int gridX, int gridZ) {
+        PlotConfig plotConfig = getConfig();
+        return new int[] {
+                plotConfig.gridToWorldX(gridX) + (plotConfig.getPlotSizeX() / 2),
+                plotConfig.gridToWorldZ(gridZ) - 2 };
+    }
+
+    private void invalidateSpawn(int gridX, int gridZ) {
+        int[] column = getSpawnColumn(gridX, gridZ);
+        spawnCache.invalidate(column[0], column[1]);
+    }
+
+    /**
+     * Teleports a player onto the top of a column in the plot world. The column
+     * is read on the plot world thread and the teleport is added on the
+     * player's.
+     */
+    private void teleportToColumn(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+            @Nonnull World plotWorld, int x, int z, double fallbackY, @Nonnull Vector3f rotation) {
+        World currentWorld = ((EntityStore) store.getExternalData()).getWorld();
+        if (currentWorld == plotWorld) {
+            addTeleport(store, ref, plotWorld, spawnCache.getSpawn(plotWorld, x, z, fallbackY), rotation);
+            return;
+        }
+
+        plotWorld.execute(() -> {
+            Vector3d pos = spawnCache.getSpawn(plotWorld, x, z, fallbackY);
+            currentWorld.execute(() -> {
+                if (ref.isValid()) {
+                    addTeleport(ref.getStore(), ref, plotWorld, pos, rotation);
+                }
+            });
+        });
+    }
 
+    private static void addTeleport(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+            @Nonnull World plotWorld, @Nonnull Vector3d pos, @Nonnull Vector3f rot) {
         try {
             Teleport teleport = new Teleport(plotWorld, pos, rot);
             store.addComponent(ref, Teleport.getComponentType(), teleport);
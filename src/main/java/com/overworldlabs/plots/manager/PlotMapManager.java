@@ -0,0 +1,386 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Transform;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.universe.world.worldmap.WorldMapManager;
+import com.hypixel.hytale.server.core.util.PositionUtil;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shows an overview of the plot grid on the world map.
+ * <p>
+ * The grid is split into square map regions of {@code WorldMap.RegionPlots}
+ * plots per side. Every region with claimed plots gets one marker per player
+ * that tells how many of its plots are claimed, free and owned by that
+ * player, so a large grid needs a few hundred markers instead of one per
+ * plot.
+ * </p>
+ * <p>
+ * Region summaries are cached. Claims, unclaims and transfers only mark their
+ * region dirty; dirty regions are summarized again from the plot index in a
+ * single flush on the plot world thread, and only markers whose text changed
+ * are sent again.
+ * </p>
+ * <p>
+ * Markers are persisted in the players' world data, so the ids of every
+ * marker ever sent are kept in {@code map-markers.json}. That way markers of
+ * regions that became empty while a player was offline can still be removed.
+ * </p>
+ */
+public class PlotMapManager {
+    private static final LatencyHistogram RENDER = PlotMetrics.histogram("map.render");
+
+    private final PlotManager plotManager;
+    private final WorldManager worldManager;
+    private final TranslationManager translationManager;
+    private final int regionPlots;
+    private final File markerFile;
+    private final Gson gson;
+
+    // Ids of all markers ever sent, including earlier sessions
+    private final Set<String> knownMarkers = ConcurrentHashMap.newKeySet();
+    private volatile boolean markersDirty;
+
+    // Cached summaries of regions with claimed plots, by region key
+    private final Map<Long, RegionSummary> summaries = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyRegions = ConcurrentHashMap.newKeySet();
+    // Markers sent to each player this session (region key -> label)
+    private final Map<UUID, Map<Long, String>> shownMarkers = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean summarized;
+
+    public PlotMapManager(@Nonnull File dataDirectory, @Nonnull PlotManager plotManager,
+            @Nonnull WorldManager worldManager, @Nonnull TranslationManager translationManager) {
+        this.markerFile = new File(dataDirectory, "map-markers.json");
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.plotManager = plotManager;
+        this.worldManager = worldManager;
+        this.translationManager = translationManager;
+        // Fixed for the session so marker ids stay valid
+        this.regionPlots = plotManager.getConfig().getWorldMapRegionPlots();
+    }
+
+    /**
+     * Marks the region of a plot dirty, see {@link PlotManager.ChangeListener}
+     */
+    public void onPlotChanged(int gridX, int gridZ) {
+        if (!summarized)
+            return;
+
+        dirtyRegions.add(PlotMergeIndex.key(Math.floorDiv(gridX, regionPlots), Math.floorDiv(gridZ, regionPlots)));
+        scheduleFlush();
+    }
+
+    /**
+     * Called when a player enters the plot world (join or world change). The
+     * first entry of a session removes every region marker that was ever
+     * sent, including those of regions that are empty now, and sends the
+     * current ones; later entries only apply the diff.
+     */
+    public void onPlayerEnterPlotWorld(@Nonnull PlayerRef playerRef) {
+        if (!plotManager.getConfig().isWorldMapEnabled())
+            return;
+
+        ensureSummarized();
+        UUID uuid = playerRef.getUuid();
+        Map<Long, String> shown = shownMarkers.get(uuid);
+        if (shown == null) {
+            shown = new HashMap<>();
+            for (String markerId : knownMarkers) {
+                removeMarker(uuid, markerId);
+            }
+            for (Long region : summaries.keySet()) {
+                if (!knownMarkers.contains(getMarkerId(region))) {
+                    removeMarker(uuid, getMarkerId(region));
+                }
+            }
+            shownMarkers.put(uuid, shown);
+        }
+
+        for (Long region : new ArrayList<>(shown.keySet())) {
+            if (!summaries.containsKey(region)) {
+                removeMarker(uuid, region);
+                shown.remove(region);
+            }
+        }
+        for (Long region : summaries.keySet()) {
+            syncRegion(playerRef, shown, region);
+        }
+    }
+
+    /**
+     * Forget the marker state of a player that left the server
+     */
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        shownMarkers.remove(playerUuid);
+    }
+
+    /**
+     * Get the number of regions with claimed plots
+     */
+    public int getRegionCount() {
+        return summaries.size();
+    }
+
+    /**
+     * Save the ids of sent markers to disk if new ones were sent
+     */
+    public void save() {
+        if (!markersDirty)
+            return;
+        markersDirty = false;
+
+        try (FileWriter writer = new FileWriter(markerFile)) {
+            gson.toJson(new ArrayList<>(knownMarkers), writer);
+        } catch (IOException e) {
+            markersDirty = true;
+            ConsoleColors.error("Failed to save map markers: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Load the ids of markers sent in earlier sessions
+     */
+    public void load() {
+        if (!markerFile.exists())
+            return;
+
+        try (FileReader reader = new FileReader(markerFile)) {
+            Type type = new TypeToken<ArrayList<String>>() {
+            }.getType();
+            List<String> loaded = gson.fromJson(reader, type);
+
+            knownMarkers.clear();
+            if (loaded != null) {
+                knownMarkers.addAll(loaded);
+            }
+            markersDirty = false;
+        } catch (Exception e) {
+            ConsoleColors.error("Failed to load map markers: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Summarizes every region from the plot index, once per session
+     */
+    private synchronized void ensureSummarized() {
+        if (summarized)
+            return;
+
+        long start = System.nanoTime();
+        Map<Long, List<Plot>> byRegion = new HashMap<>();
+        for (Plot plot : plotManager.getPlotsView()) {
+            long region = PlotMergeIndex.key(Math.floorDiv(plot.getGridX(), regionPlots),
+                    Math.floorDiv(plot.getGridZ(), regionPlots));
+            byRegion.computeIfAbsent(region, k -> new ArrayList<>()).add(plot);
+        }
+        for (Map.Entry<Long, List<Plot>> entry : byRegion.entrySet()) {
+            summaries.put(entry.getKey(), summarize(entry.getKey(), entry.getValue()));
+        }
+        summarized = true;
+        RENDER.recordSince(start);
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true))
+            return;
+
+        World plotWorld = worldManager.getPlotWorld();
+        if (plotWorld == null) {
+            // Dirty regions are kept for the next flush
+            flushScheduled.set(false);
+            return;
+        }
+
+        plotWorld.execute(this::flush);
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (dirtyRegions.isEmpty())
+            return;
+
+        long start = System.nanoTime();
+        List<Long> changed = new ArrayList<>();
+        Iterator<Long> it = dirtyRegions.iterator();
+        while (it.hasNext()) {
+            long region = it.next();
+            it.remove();
+            changed.add(region);
+
+            int minGridX = PlotMergeIndex.gridX(region) * regionPlots;
+            int minGridZ = PlotMergeIndex.gridZ(region) * regionPlots;
+            List<Plot> plots = plotManager.getPlotsInArea(minGridX, minGridZ, minGridX + regionPlots - 1,
+                    minGridZ + regionPlots - 1);
+            if (plots.isEmpty()) {
+                summaries.remove(region);
+            } else {
+                summaries.put(region, summarize(region, plots));
+            }
+        }
+        RENDER.recordSince(start);
+
+        if (!plotManager.getConfig().isWorldMapEnabled())
+            return;
+
+        Iterator<Map.Entry<UUID, Map<Long, String>>> players = shownMarkers.entrySet().iterator();
+        while (players.hasNext()) {
+            Map.Entry<UUID, Map<Long, String>> entry = players.next();
+            PlayerRef playerRef = Universe.get().getPlayer(entry.getKey());
+            if (playerRef == null || !isInPlotWorld(playerRef)) {
+                // Picked up again on the next entry
+                continue;
+            }
+            for (Long region : changed) {
+                syncRegion(playerRef, entry.getValue(), region);
+            }
+        }
+    }
+
+    /**
+     * Sends, replaces or removes the marker of one region for one player
+     */
+    private void syncRegion(@Nonnull PlayerRef playerRef, @Nonnull Map<Long, String> shown, long region) {
+        UUID uuid = playerRef.getUuid();
+        RegionSummary summary = summaries.get(region);
+        String shownLabel = shown.get(region);
+        if (summary == null) {
+            if (shownLabel != null) {
+                removeMarker(uuid, region);
+                shown.remove(region);
+            }
+            return;
+        }
+
+        String label = summary.label(uuid);
+        if (label.equals(shownLabel))
+            return;
+
+        if (shownLabel != null) {
+            removeMarker(uuid, region);
+        }
+        if (createMarker(playerRef, summary, label)) {
+            shown.put(region, label);
+        } else {
+            shown.remove(region);
+        }
+    }
+
+    @Nonnull
+    private RegionSummary summarize(long region, @Nonnull List<Plot> plots) {
+        Map<UUID, Integer> owned = new HashMap<>();
+        for (Plot plot : plots) {
+            if (plot.getOwner() != null) {
+                owned.merge(plot.getOwner(), 1, Integer::sum);
+            }
+        }
+
+        PlotConfig config = plotManager.getConfig();
+        int minGridX = PlotMergeIndex.gridX(region) * regionPlots;
+        int minGridZ = PlotMergeIndex.gridZ(region) * regionPlots;
+        double centerX = (config.gridToWorldX(minGridX) + config.gridToWorldX(minGridX + regionPlots)) / 2.0;
+        double centerZ = (config.gridToWorldZ(minGridZ) + config.gridToWorldZ(minGridZ + regionPlots)) / 2.0;
+        return new RegionSummary(region, plots.size(), owned, centerX, centerZ);
+    }
+
+    private boolean createMarker(@Nonnull PlayerRef playerRef, @Nonnull RegionSummary summary,
+            @Nonnull String label) {
+        Ref<EntityStore> playerEntityRef = playerRef.getReference();
+        if (playerEntityRef == null)
+            return false;
+
+        MapMarker marker = new MapMarker();
+        marker.id = getMarkerId(summary.region);
+        marker.name = label;
+        marker.markerImage = plotManager.getConfig().getWorldMapMarkerImage();
+        marker.transform = PositionUtil.toTransformPacket(
+                new Transform(new Vector3d(summary.centerX, 64.0, summary.centerZ)));
+
+        if (knownMarkers.add(marker.id)) {
+            markersDirty = true;
+        }
+        WorldMapManager.createPlayerMarker(playerEntityRef, marker, playerEntityRef.getStore());
+        return true;
+    }
+
+    private void removeMarker(@Nonnull UUID playerUuid, long region) {
+        removeMarker(playerUuid, getMarkerId(region));
+    }
+
+    private void removeMarker(@Nonnull UUID playerUuid, @Nonnull String markerId) {
+        new WorldMapManager.PlayerMarkerReference(playerUuid, worldManager.getWorldName(), markerId).remove();
+    }
+
+    private boolean isInPlotWorld(@Nonnull PlayerRef playerRef) {
+        World plotWorld = worldManager.getPlotWorld();
+        UUID worldUuid = playerRef.getWorldUuid();
+        return plotWorld != null && plotWorld.getWorldConfig() != null && worldUuid != null
+                && worldUuid.equals(plotWorld.getWorldConfig().getUuid());
+    }
+
+    @Nonnull
+    private static String getMarkerId(long region) {
+        return "plot_region_" + PlotMergeIndex.gridX(region) + "_" + PlotMergeIndex.gridZ(region);
+    }
+
+    /**
+     * Claimed plots of a region and how many of them each owner has
+     */
+    private final class RegionSummary {
+        final long region;
+        final int claimed;
+        final Map<UUID, Integer> owned;
+        final double centerX;
+        final double centerZ;
+
+        RegionSummary(long region, int claimed, @Nonnull Map<UUID, Integer> owned, double centerX,
+                double centerZ) {
+            this.region = region;
+            this.claimed = claimed;
+            this.owned = owned;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+        }
+
+        @Nonnull
+        String label(@Nullable UUID viewer) {
+            int free = regionPlots * regionPlots - claimed;
+            Integer own = viewer != null ? owned.get(viewer) : null;
+            if (own == null)
+                return translationManager.get("map.region", "claimed", claimed, "free", free);
+            return translationManager.get("map.region_own", "claimed", claimed, "free", free, "own", own);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.overworldlabs.plots.manager;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which plots are merged into regions.
+ * <p>
+ * A link joins a plot with its east or south neighbour and makes the road
+ * between them part of the region. The intersection between four plots joins
+ * once all four roads around it are linked. Every merged plot maps directly to
+ * its region id, the grid key of the region's main plot, so lookups are a
+ * single map read. Joining two regions relabels the smaller one; removing a
+ * plot relabels the parts its region splits into.
+ * </p>
+ * <p>
+ * Lookups are lock-free and may run on any thread, including world
+ * generation. Changes are synchronized.
+ * </p>
+ */
+public class PlotMergeIndex {
+    /**
+     * Region of road columns that are not merged
+     */
+    public static final long NO_REGION = Long.MIN_VALUE;
+
+    // Grid keys of plots linked to their east / south neighbour
+    private final Set<Long> eastLinks = ConcurrentHashMap.newKeySet();
+    private final Set<Long> southLinks = ConcurrentHashMap.newKeySet();
+    // Merged plot -> region id; plots without links are their own region
+    private final Map<Long, Long> regionOf = new ConcurrentHashMap<>();
+    // Region id -> member plots, only used under the lock
+    private final Map<Long, Set<Long>> members = new HashMap<>();
+
+    public static long key(int gridX, int gridZ) {
+        return ((long) gridX << 32) | (gridZ & 0xFFFFFFFFL);
+    }
+
+    public static int gridX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int gridZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Checks whether no plots are merged
+     */
+    public boolean isEmpty() {
+        return regionOf.isEmpty();
+    }
+
+    /**
+     * Checks whether a plot is part of a region with other plots
+     */
+    public boolean isMerged(int gridX, int gridZ) {
+        return regionOf.containsKey(key(gridX, gridZ));
+    }
+
+    /**
+     * Get the region id of a plot, its own key if it is not merged
+     */
+    public long getRegion(int gridX, int gridZ) {
+        long key = key(gridX, gridZ);
+        Long region = regionOf.get(key);
+        return region != null ? region : key;
+    }
+
+    public boolean isMergedEast(int gridX, int gridZ) {
+        return eastLinks.contains(key(gridX, gridZ));
+    }
+
+    public boolean isMergedSouth(int gridX, int gridZ) {
+        return southLinks.contains(key(gridX, gridZ));
+    }
+
+    /**
+     * Checks whether the intersection south-east of a plot is merged
+     */
+    public boolean isIntersectionMerged(int gridX, int gridZ) {
+        return isMergedEast(gridX, gridZ) && isMergedSouth(gridX, gridZ)
+                && isMergedSouth(gridX + 1, gridZ) && isMergedEast(gridX, gridZ + 1);
+    }
+
+    /**
+     * Get the region of a column in the grid cell of a plot
+     *
+     * @param eastRoad  Whether the column is in the road east of the plot
+     * @param southRoad Whether the column is in the road south of the plot
+     * @return The region id, or {@link #NO_REGION} for road that is not merged
+     */
+    public long getRegionAt(int gridX, int gridZ, boolean eastRoad, boolean southRoad) {
+        if (eastRoad && southRoad) {
+            return isIntersectionMerged(gridX, gridZ) ? getRegion(gridX, gridZ) : NO_REGION;
+        }
+        if (eastRoad) {
+            return isMergedEast(gridX, gridZ) ? getRegion(gridX, gridZ) : NO_REGION;
+        }
+        if (southRoad) {
+            return isMergedSouth(gridX, gridZ) ? getRegion(gridX, gridZ) : NO_REGION;
+        }
+        return getRegion(gridX, gridZ);
+    }
+
+    /**
+     * Links a plot with its east or south neighbour and joins their regions.
+     * When both regions have the same size, the plot's region id is kept.
+     */
+    public synchronized void link(int gridX, int gridZ, boolean east) {
+        long from = key(gridX, gridZ);
+        long to = east ? key(gridX + 1, gridZ) : key(gridX, gridZ + 1);
+        (east ? eastLinks : southLinks).add(from);
+        join(from, to);
+    }
+
+    /**
+     * Removes every link of a plot and splits its region where it no longer
+     * connects
+     */
+    public synchronized void unlinkAll(int gridX, int gridZ) {
+        eastLinks.remove(key(gridX, gridZ));
+        southLinks.remove(key(gridX, gridZ));
+        eastLinks.remove(key(gridX - 1, gridZ));
+        southLinks.remove(key(gridX, gridZ - 1));
+
+        long region = getRegion(gridX, gridZ);
+        Set<Long> old = members.remove(region);
+        if (old == null)
+            return;
+
+        // Relabel each connected part; single plots leave the index
+        Set<Long> remaining = new HashSet<>(old);
+        while (!remaining.isEmpty()) {
+            List<Long> part = collect(remaining.iterator().next(), remaining);
+            if (part.size() == 1) {
+                regionOf.remove(part.get(0));
+                continue;
+            }
+
+            long id = part.contains(region) ? region : part.get(0);
+            for (Long member : part) {
+                regionOf.put(member, id);
+            }
+            members.put(id, new HashSet<>(part));
+        }
+    }
+
+    /**
+     * Removes all links
+     */
+    public synchronized void clear() {
+        eastLinks.clear();
+        southLinks.clear();
+        regionOf.clear();
+        members.clear();
+    }
+
+    private void join(long a, long b) {
+        long regionA = regionOf.getOrDefault(a, a);
+        long regionB = regionOf.getOrDefault(b, b);
+        if (regionA == regionB)
+            return;
+
+        Set<Long> membersA = members.computeIfAbsent(regionA, PlotMergeIndex::singleton);
+        Set<Long> membersB = members.computeIfAbsent(regionB, PlotMergeIndex::singleton);
+        if (membersA.size() < membersB.size()) {
+            absorb(regionB, membersB, regionA, membersA);
+        } else {
+            absorb(regionA, membersA, regionB, membersB);
+        }
+    }
+
+    private void absorb(long into, @Nonnull Set<Long> intoMembers, long from, @Nonnull Set<Long> fromMembers) {
+        regionOf.put(into, into);
+        for (Long member : fromMembers) {
+            regionOf.put(member, into);
+        }
+        intoMembers.addAll(fromMembers);
+        members.remove(from);
+    }
+
+    @Nonnull
+    private List<Long> collect(long start, @Nonnull Set<Long> remaining) {
+        List<Long> part = new ArrayList<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        remaining.remove(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            long key = queue.poll();
+            part.add(key);
+            int x = gridX(key);
+            int z = gridZ(key);
+            visit(eastLinks.contains(key), key(x + 1, z), remaining, queue);
+            visit(eastLinks.contains(key(x - 1, z)), key(x - 1, z), remaining, queue);
+            visit(southLinks.contains(key), key(x, z + 1), remaining, queue);
+            visit(southLinks.contains(key(x, z - 1)), key(x, z - 1), remaining, queue);
+        }
+        return part;
+    }
+
+    private static void visit(boolean linked, long neighbour, @Nonnull Set<Long> remaining,
+            @Nonnull Deque<Long> queue) {
+        if (linked && remaining.remove(neighbour)) {
+            queue.add(neighbour);
+        }
+    }
+
+    @Nonnull
+    private static Set<Long> singleton(long key) {
+        Set<Long> set = new HashSet<>();
+        set.add(key);
+        return set;
+    }
+}
@@ -0,0 +1,217 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds plots whose owner has not been seen for {@code Purge.InactiveDays}.
+ * <p>
+ * A purge pass walks a snapshot of the owner index a few owners per tick, so
+ * a pass never blocks a thread for long and only holds the owner list of the
+ * current pass. Inactive plots are written to {@code purge-report.json} and,
+ * if {@code Purge.DeleteInactivePlots} is set, unclaimed and queued for a
+ * reset.
+ * </p>
+ */
+public class PlotPurgeManager {
+    private static final long TICK_MILLIS = 1000L;
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final PlotManager plotManager;
+    private final ActivityManager activityManager;
+    private final WorldManager worldManager;
+    private final File reportFile;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private ScheduledFuture<?> task;
+    private long nextPassAt;
+
+    // State of the running pass, null when idle
+    private List<UUID> owners;
+    private int cursor;
+    private PurgeReport report;
+
+    public PlotPurgeManager(@Nonnull File dataDirectory, @Nonnull PlotManager plotManager,
+            @Nonnull ActivityManager activityManager, @Nonnull WorldManager worldManager) {
+        this.reportFile = new File(dataDirectory, "purge-report.json");
+        this.plotManager = plotManager;
+        this.activityManager = activityManager;
+        this.worldManager = worldManager;
+    }
+
+    /**
+     * Starts the purge job on the given scheduler. The first pass runs one
+     * scan interval after startup.
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        nextPassAt = System.currentTimeMillis()
+                + TimeUnit.MINUTES.toMillis(plotManager.getConfig().getPurgeScanIntervalMinutes());
+        task = scheduler.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    private synchronized void tick() {
+        try {
+            PlotConfig config = plotManager.getConfig();
+            if (owners == null) {
+                if (!config.isPurgeEnabled())
+                    return;
+                if (System.currentTimeMillis() < nextPassAt)
+                    return;
+                beginPass();
+            }
+
+            scanSlice(config);
+
+            if (cursor >= owners.size()) {
+                finishPass(config);
+            }
+        } catch (Exception e) {
+            ConsoleColors.error("[Plots] Plot purge failed: " + e.getMessage());
+            e.printStackTrace();
+            owners = null;
+            report = null;
+        }
+    }
+
+    private void beginPass() {
+        owners = plotManager.getOwners();
+        cursor = 0;
+        report = new PurgeReport();
+        report.startedAt = System.currentTimeMillis();
+    }
+
+    private void scanSlice(@Nonnull PlotConfig config) {
+        long now = System.currentTimeMillis();
+        long threshold = now - config.getPurgeInactiveDays() * DAY_MILLIS;
+        int end = Math.min(owners.size(), cursor + config.getPurgeOwnersPerTick());
+
+        for (; cursor < end; cursor++) {
+            UUID owner = owners.get(cursor);
+            report.scannedOwners++;
+
+            if (Universe.get().getPlayer(owner) != null) {
+                activityManager.markSeen(owner);
+                continue;
+            }
+
+            // Owners from before activity tracking start their clock at the first scan
+            activityManager.markSeenIfUnknown(owner, now);
+            long lastSeen = activityManager.getLastSeen(owner);
+            if (lastSeen >= threshold)
+                continue;
+
+            List<Plot> plots = plotManager.getPlayerPlots(owner);
+            if (plots.isEmpty())
+                continue;
+
+            report.inactiveOwners++;
+            for (Plot plot : plots) {
+                report.inactivePlots++;
+                if (report.plots.size() < config.getPurgeMaxReportEntries()) {
+                    report.plots.add(new PurgeReport.Entry(plot, lastSeen, config.isPurgeDeleteInactivePlots()));
+                }
+            }
+
+            if (config.isPurgeDeleteInactivePlots()) {
+                deletePlots(plots, config.isPurgeResetDeletedPlots());
+            }
+        }
+    }
+
+    private void finishPass(@Nonnull PlotConfig config) {
+        long threshold = System.currentTimeMillis() - config.getPurgeInactiveDays() * DAY_MILLIS;
+        // Keep activity of owners and of players that may still claim a plot soon
+        int pruned = activityManager.prune(uuid -> plotManager.isOwner(uuid)
+                || activityManager.getLastSeen(uuid) >= threshold);
+        activityManager.save();
+
+        report.finishedAt = System.currentTimeMillis();
+        writeReport(report);
+
+        ConsoleColors.info("[Plots] Purge scan finished: " + report.scannedOwners + " owners scanned, "
+                + report.inactiveOwners + " inactive owning " + report.inactivePlots + " plots"
+                + (config.isPurgeDeleteInactivePlots() ? " (deleted)" : "")
+                + (pruned > 0 ? ", " + pruned + " activity entries pruned" : ""));
+
+        owners = null;
+        report = null;
+        nextPassAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(config.getPurgeScanIntervalMinutes());
+    }
+
+    /**
+     * Unclaims plots in one batch on the plot world thread
+     */
+    private void deletePlots(@Nonnull List<Plot> plots, boolean reset) {
+        World plotWorld = worldManager.getPlotWorld();
+        if (plotWorld == null)
+            return;
+
+        plotWorld.execute(() -> PlotBatch.unclaim(Plots.getInstance().getPlotWorldRegistry().getPrimary(), plots,
+                reset, null));
+    }
+
+    private void writeReport(@Nonnull PurgeReport purgeReport) {
+        try (FileWriter writer = new FileWriter(reportFile)) {
+            gson.toJson(purgeReport, writer);
+        } catch (IOException e) {
+            ConsoleColors.error("Failed to write purge report: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Summary of a purge pass, serialized to purge-report.json
+     */
+    private static class PurgeReport {
+        long startedAt;
+        long finishedAt;
+        int scannedOwners;
+        int inactiveOwners;
+        int inactivePlots;
+        final List<Entry> plots = new ArrayList<>();
+
+        static class Entry {
+            final int gridX;
+            final int gridZ;
+            final UUID owner;
+            final String ownerName;
+            final String name;
+            final long lastSeen;
+            final boolean deleted;
+
+            Entry(@Nonnull Plot plot, long lastSeen, boolean deleted) {
+                this.gridX = plot.getGridX();
+                this.gridZ = plot.getGridZ();
+                this.owner = plot.getOwner();
+                this.ownerName = plot.getOwnerName();
+                this.name = plot.getName();
+                this.lastSeen = lastSeen;
+                this.deleted = deleted;
+            }
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.api.events.PlotResetEvent;
+import com.overworldlabs.plots.api.impl.PlotsAPIImpl;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.worldgen.PlotTemplate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Resets plots back to their generated state.
+ * <p>
+ * Resets are queued and processed one after another on the plot world thread,
+ * chunk by chunk, with at most {@code Reset.BlocksPerTick} blocks visited per
+ * step. Only blocks that differ from the {@link PlotTemplate} are written, so
+ * untouched parts of a plot cost a read each.
+ * </p>
+ * <p>
+ * Road areas merged into or split off a region are regenerated the same way,
+ * together with the border layer of the columns around them.
+ * </p>
+ */
+public class PlotResetManager {
+    private final PlotManager plotManager;
+    private final WorldManager worldManager;
+
+    private final Queue<ResetJob> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean stepScheduled = new AtomicBoolean(false);
+
+    private PlotTemplate template;
+    private ScheduledFuture<?> task;
+
+    public PlotResetManager(@Nonnull PlotManager plotManager, @Nonnull WorldManager worldManager) {
+        this.plotManager = plotManager;
+        this.worldManager = worldManager;
+    }
+
+    /**
+     * Starts processing queued resets on the given scheduler
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        long interval = plotManager.getConfig().getResetTickIntervalMillis();
+        task = scheduler.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops processing. Queued resets that did not finish are logged and dropped.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+
+        if (!queue.isEmpty()) {
+            ConsoleColors.warning("[Plots] " + queue.size() + " plot reset(s) did not finish before shutdown");
+            for (ResetJob job : queue) {
+                if (job.resetsPlot) {
+                    plotManager.unlockPlot(job.plot.getGridX(), job.plot.getGridZ());
+                }
+            }
+            queue.clear();
+        }
+    }
+
+    /**
+     * Queues a plot to be reset to its generated state. The plot position is
+     * locked against claiming until the reset completes.
+     *
+     * @param plot     The plot to reset (may already be unclaimed)
+     * @param callback Optional callback receiving the same events as
+     *                 {@code PlotEventAPI#onPlotReset}, on the plot world thread
+     * @return {@code false} if the plot is already queued
+     */
+    public boolean queueReset(@Nonnull Plot plot, @Nullable Consumer<PlotResetEvent> callback) {
+        return queueReset(plot, Collections.emptyList(), callback);
+    }
+
+    /**
+     * Queues a plot reset that also regenerates road areas, see
+     * {@link PlotManager#getMergedRoadAreas(int, int)}
+     *
+     * @param roadAreas Areas as {minX, minZ, maxX, maxZ}
+     */
+    public boolean queueReset(@Nonnull Plot plot, @Nonnull List<int[]> roadAreas,
+            @Nullable Consumer<PlotResetEvent> callback) {
+        if (!plotManager.lockPlot(plot.getGridX(), plot.getGridZ()))
+            return false;
+
+        queue.add(new ResetJob(plot, true, roadAreas, plotManager.getConfig(), callback));
+        return true;
+    }
+
+    /**
+     * Queues road areas to be regenerated after a merge, without resetting the
+     * plot itself. No {@link PlotResetEvent}s are fired to API listeners.
+     *
+     * @param plot      The merged plot
+     * @param roadAreas Areas as {minX, minZ, maxX, maxZ}
+     */
+    public void queueRegenerate(@Nonnull Plot plot, @Nonnull List<int[]> roadAreas) {
+        queue.add(new ResetJob(plot, false, roadAreas, plotManager.getConfig(), null));
+    }
+
+    /**
+     * Get the number of plots waiting for or undergoing a reset
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void tick() {
+        if (queue.isEmpty() || !stepScheduled.compareAndSet(false, true))
+            return;
+
+        World plotWorld = worldManager.getPlotWorld();
+        if (plotWorld == null) {
+            stepScheduled.set(false);
+            return;
+        }
+
+        plotWorld.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                step(plotWorld);
+                PlotMetrics.RESET_STEP.recordSince(start);
+            } catch (Exception e) {
+                ConsoleColors.error("[Plots] Plot reset step failed: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                stepScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Spends one step's block budget on the queued resets, in order
+     */
+    private void step(@Nonnull World world) {
+        PlotTemplate plotTemplate = getTemplate();
+        PlotMergeIndex merges = plotManager.getMergeIndex();
+        int budget = plotManager.getConfig().getResetBlocksPerTick();
+
+        while (budget > 0) {
+            ResetJob job = queue.peek();
+            if (job == null)
+                return;
+
+            if (!job.started) {
+                job.started = true;
+                fire(job, PlotResetEvent.Stage.STARTED);
+            }
+
+            budget = job.process(world, plotTemplate, merges, budget);
+
+            if (job.isDone()) {
+                queue.poll();
+                if (job.resetsPlot) {
+                    plotManager.unlockPlot(job.plot.getGridX(), job.plot.getGridZ());
+                    PlotMetrics.RESETS_COMPLETED.increment();
+                }
+                fire(job, PlotResetEvent.Stage.COMPLETED);
+            }
+        }
+    }
+
+    private PlotTemplate getTemplate() {
+        // Built on first use so block assets and prefabs are loaded
+        if (template == null) {
+            PlotConfig config = plotManager.getConfig();
+            template = new PlotTemplate(config, Plots.getInstance().getPrefabManager(), config.getPlotSizeX(),
+                    config.getPlotSizeZ(), config.getRoadSizeX(), config.getRoadSizeZ());
+        }
+        return template;
+    }
+
+    private void fire(@Nonnull ResetJob job, @Nonnull PlotResetEvent.Stage stage) {
+        PlotResetEvent event = new PlotResetEvent(job.plot, stage, job.processedColumns, job.totalColumns,
+                job.changedBlocks);
+
+        if (job.callback != null) {
+            try {
+                job.callback.accept(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        PlotsAPIImpl api = Plots.getAPI();
+        if (api != null && job.resetsPlot) {
+            api.firePlotResetEvent(event);
+        }
+    }
+
+    /**
+     * Get the asset key of a block id, or null for unknown ids
+     */
+    @Nullable
+    static String getBlockKey(int blockId) {
+        var assetMap = BlockType.getAssetMap();
+        if (assetMap == null)
+            return null;
+
+        BlockType blockType = assetMap.getAsset(blockId);
+        return blockType != null ? blockType.getId() : null;
+    }
+
+    /**
+     * A single plot reset or road regeneration, split into chunk-aligned
+     * regions
+     */
+    private final class ResetJob {
+        private static final int BORDER_Y = PlotTemplate.GROUND_HEIGHT + 1;
+
+        private final Plot plot;
+        private final boolean resetsPlot;
+        private final Consumer<PlotResetEvent> callback;
+        // Regions as {minX, minZ, maxX, maxZ, minY, maxY}, each inside one chunk
+        private final List<int[]> regions = new ArrayList<>();
+        private final int totalColumns;
+        private final int[] column = new int[PlotTemplate.HEIGHT];
+
+        private boolean started;
+        private int regionIndex;
+        private int columnIndex;
+        private boolean columnFilled;
+        private int y;
+        private int processedColumns;
+        private int changedBlocks;
+
+        private ResetJob(@Nonnull Plot plot, boolean resetsPlot, @Nonnull List<int[]> roadAreas,
+                @Nonnull PlotConfig config, @Nullable Consumer<PlotResetEvent> callback) {
+            this.plot = plot;
+            this.resetsPlot = resetsPlot;
+            this.callback = callback;
+
+            int columns = 0;
+            if (resetsPlot) {
+                int minX = config.gridToWorldX(plot.getGridX());
+                int minZ = config.gridToWorldZ(plot.getGridZ());
+                columns += addArea(minX, minZ, minX + config.getPlotSizeX() - 1, minZ + config.getPlotSizeZ() - 1,
+                        0, PlotTemplate.HEIGHT - 1);
+            }
+            for (int[] area : roadAreas) {
+                columns += addArea(area[0], area[1], area[2], area[3], 0, PlotTemplate.HEIGHT - 1);
+                // Borders of the plots around the road appear or disappear with the merge
+                columns += addArea(area[0] - 1, area[1] - 1, area[2] + 1, area[1] - 1, BORDER_Y, BORDER_Y);
+                columns += addArea(area[0] - 1, area[3] + 1, area[2] + 1, area[3] + 1, BORDER_Y, BORDER_Y);
+                columns += addArea(area[0] - 1, area[1], area[0] - 1, area[3], BORDER_Y, BORDER_Y);
+                columns += addArea(area[2] + 1, area[1], area[2] + 1, area[3], BORDER_Y, BORDER_Y);
+            }
+            this.totalColumns = columns;
+        }
+
+        /**
+         * Splits an area into chunk-aligned regions
+         *
+         * @return The number of columns added
+         */
+        private int addArea(int minX, int minZ, int maxX, int maxZ, int minY, int maxY) {
+            if (minX > maxX || minZ > maxZ)
+                return 0;
+
+            for (int cx = Math.floorDiv(minX, 32); cx <= Math.floorDiv(maxX, 32); cx++) {
+                for (int cz = Math.floorDiv(minZ, 32); cz <= Math.floorDiv(maxZ, 32); cz++) {
+                    regions.add(new int[] { Math.max(minX, cx * 32), Math.max(minZ, cz * 32),
+                            Math.min(maxX, cx * 32 + 31), Math.min(maxZ, cz * 32 + 31), minY, maxY });
+                }
+            }
+            return (maxX - minX + 1) * (maxZ - minZ + 1);
+        }
+
+        boolean isDone() {
+            return regionIndex >= regions.size();
+        }
+
+        /**
+         * Regenerates blocks until the budget is spent or the plot is done
+         *
+         * @return The remaining budget
+         */
+        int process(@Nonnull World world, @Nonnull PlotTemplate template, @Nonnull PlotMergeIndex merges,
+                int budget) {
+            while (budget > 0 && !isDone()) {
+                int[] region = regions.get(regionIndex);
+                int width = region[2] - region[0] + 1;
+                int x = region[0] + columnIndex % width;
+                int z = region[1] + columnIndex / width;
+
+                if (!columnFilled) {
+                    template.fillColumn(x, z, column, merges);
+                    columnFilled = true;
+                    y = region[4];
+                }
+
+                while (budget > 0 && y <= region[5]) {
+                    int target = column[y];
+                    if (world.getBlock(x, y, z) != target) {
+                        String blockKey = getBlockKey(target);
+                        world.setBlock(x, y, z, blockKey != null ? blockKey : "Empty");
+                        changedBlocks++;
+                        PlotMetrics.RESET_BLOCKS_CHANGED.increment();
+                    }
+                    y++;
+                    budget--;
+                }
+
+                if (y <= region[5])
+                    return budget;
+
+                // Column finished
+                columnFilled = false;
+                columnIndex++;
+                processedColumns++;
+
+                int depth = region[3] - region[1] + 1;
+                if (columnIndex >= width * depth) {
+                    columnIndex = 0;
+                    regionIndex++;
+                    if (!isDone()) {
+                        fire(this, PlotResetEvent.Stage.PROGRESS);
+                    }
+                }
+            }
+            return budget;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotSchematic;
+import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.worldgen.PlotTemplate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Copies plots into {@link PlotSchematic}s and pastes them back.
+ * <p>
+ * Copies and pastes are queued and processed one after another on the plot
+ * world thread, with at most {@code Schematics.BlocksPerTick} blocks visited
+ * per step, in the tile order of the schematic. Pastes check every column
+ * with {@link PlotManager#canModify}, so masked columns and plots the player
+ * may not build on are skipped, and only blocks that differ are written.
+ * </p>
+ * <p>
+ * Each player has one clipboard for the session. Exported schematics are
+ * stored per player in {@code schematics/<uuid>/<name>.plotschem}.
+ * </p>
+ */
+public class PlotSchematicManager {
+    private static final LatencyHistogram STEP = PlotMetrics.histogram("schematic.step");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private final File directory;
+    private final ConfigManager configManager;
+
+    private final Queue<Job> queue = new ConcurrentLinkedQueue<>();
+    // Plots with a queued copy or paste, as "world:gridX,gridZ"
+    private final Set<String> busyPlots = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, PlotSchematic> clipboards = new ConcurrentHashMap<>();
+    private final AtomicBoolean stepScheduled = new AtomicBoolean(false);
+
+    private ScheduledFuture<?> task;
+
+    public PlotSchematicManager(@Nonnull File dataDirectory, @Nonnull ConfigManager configManager) {
+        this.directory = new File(dataDirectory, "schematics");
+        this.configManager = configManager;
+    }
+
+    /**
+     * Starts processing queued copies and pastes on the given scheduler
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        long interval = configManager.getConfig().getResetTickIntervalMillis();
+        task = scheduler.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops processing. Queued jobs that did not finish are failed.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+
+        Job job;
+        while ((job = queue.poll()) != null) {
+            finish(job);
+            job.fail(new IllegalStateException("The server is shutting down"));
+        }
+    }
+
+    /**
+     * Checks whether a plot has a queued copy or paste
+     */
+    public boolean isBusy(@Nonnull PlotManager plotManager, @Nonnull Plot plot) {
+        return busyPlots.contains(busyKey(plotManager, plot));
+    }
+
+    /**
+     * Queues a copy of a plot's blocks, from bedrock to the build limit
+     *
+     * @return Future completed on the plot world thread, or failed if the plot
+     *         changes hands while it is copied
+     */
+    @Nonnull
+    public CompletableFuture<PlotSchematic> copy(@Nonnull World world, @Nonnull PlotManager plotManager,
+            @Nonnull Plot plot) {
+        CopyJob job = new CopyJob(world, plotManager, plot);
+        return enqueue(job) ? job.future : CompletableFuture.failedFuture(busy());
+    }
+
+    /**
+     * Queues a paste of a schematic into a plot. The schematic must have the
+     * plot's width and length; a lower schematic, e.g. one saved before the
+     * world height grew, is pasted from the bottom and leaves the blocks
+     * above it alone.
+     *
+     * @param player The player pasting; columns they cannot modify are skipped
+     * @return Future of the result, completed on the plot world thread
+     */
+    @Nonnull
+    public CompletableFuture<PasteResult> paste(@Nonnull World world, @Nonnull PlotManager plotManager,
+            @Nonnull PlayerRef player, @Nonnull Plot plot, @Nonnull PlotSchematic schematic) {
+        PlotConfig config = plotManager.getConfig();
+        if (schematic.getSizeX() != config.getPlotSizeX() || schematic.getSizeZ() != config.getPlotSizeZ()
+                || schematic.getSizeY() > PlotTemplate.HEIGHT) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Schematic size does not match"));
+        }
+
+        PasteJob job;
+        try {
+            job = new PasteJob(world, plotManager, plot, player, schematic);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(job) ? job.future : CompletableFuture.failedFuture(busy());
+    }
+
+    @Nullable
+    public PlotSchematic getClipboard(@Nonnull UUID playerUuid) {
+        return clipboards.get(playerUuid);
+    }
+
+    public void setClipboard(@Nonnull UUID playerUuid, @Nonnull PlotSchematic schematic) {
+        clipboards.put(playerUuid, schematic);
+    }
+
+    /**
+     * Forget the clipboard of a player that left the server
+     */
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        clipboards.remove(playerUuid);
+    }
+
+    /**
+     * Checks whether a name can be used for an exported schematic
+     */
+    public static boolean isValidName(@Nonnull String name) {
+        return NAME.matcher(name).matches();
+    }
+
+    /**
+     * Get the number of schematics a player has exported
+     */
+    public int countExports(@Nonnull UUID playerUuid) {
+        File[] files = getPlayerDirectory(playerUuid)
+                .listFiles((dir, name) -> name.endsWith(PlotSchematic.FILE_EXTENSION));
+        return files != null ? files.length : 0;
+    }
+
+    /**
+     * Checks whether a player has exported a schematic with this name
+     */
+    public boolean exists(@Nonnull UUID playerUuid, @Nonnull String name) {
+        return getFile(playerUuid, name).isFile();
+    }
+
+    /**
+     * Writes an exported schematic. Call this off the world thread.
+     */
+    public void save(@Nonnull UUID playerUuid, @Nonnull String name, @Nonnull PlotSchematic schematic)
+            throws IOException {
+        File file = getFile(playerUuid, name);
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs())
+            throw new IOException("Could not create " + parent);
+
+        // Write next to the target first, so a failed write keeps the old file
+        File temp = new File(parent, name + PlotSchematic.FILE_EXTENSION + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            schematic.write(out);
+        }
+        if (file.exists() && !file.delete())
+            throw new IOException("Could not replace " + file);
+        if (!temp.renameTo(file))
+            throw new IOException("Could not move " + temp + " to " + file);
+    }
+
+    /**
+     * Reads an exported schematic
+     *
+     * @return The schematic, or null if the player has none with this name
+     */
+    @Nullable
+    public PlotSchematic load(@Nonnull UUID playerUuid, @Nonnull String name) throws IOException {
+        File file = getFile(playerUuid, name);
+        if (!file.isFile())
+            return null;
+
+        try (InputStream in = new FileInputStream(file)) {
+            return PlotSchematic.read(in);
+        }
+    }
+
+    @Nonnull
+    private File getPlayerDirectory(@Nonnull UUID playerUuid) {
+        return new File(directory, playerUuid.toString());
+    }
+
+    @Nonnull
+    private File getFile(@Nonnull UUID playerUuid, @Nonnull String name) {
+        if (!isValidName(name))
+            throw new IllegalArgumentException("Invalid schematic name: " + name);
+        return new File(getPlayerDirectory(playerUuid), name + PlotSchematic.FILE_EXTENSION);
+    }
+
+    private boolean enqueue(@Nonnull Job job) {
+        if (!busyPlots.add(job.busyKey))
+            return false;
+        queue.add(job);
+        return true;
+    }
+
+    private void finish(@Nonnull Job job) {
+        busyPlots.remove(job.busyKey);
+    }
+
+    @Nonnull
+    private static IllegalStateException busy() {
+        return new IllegalStateException("The plot is already being copied or pasted");
+    }
+
+    @Nonnull
+    private static String busyKey(@Nonnull PlotManager plotManager, @Nonnull Plot plot) {
+        return plotManager.getWorldName() + ":" + plot.getGridX() + "," + plot.getGridZ();
+    }
+
+    private void tick() {
+        Job job = queue.peek();
+        if (job == null || !stepScheduled.compareAndSet(false, true))
+            return;
+
+        job.world.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                step(job);
+                STEP.recordSince(start);
+            } catch (Exception e) {
+                ConsoleColors.error("[Plots] Schematic step failed: " + e.getMessage());
+                e.printStackTrace();
+                queue.remove(job);
+                finish(job);
+                job.fail(e);
+            } finally {
+                stepScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Spends one step's block budget on the job at the head of the queue
+     */
+    private void step(@Nonnull Job job) throws IOException {
+        // A plot that changed hands must not receive or leak blocks any more
+        if (job.plotManager.getPlot(job.plot.getGridX(), job.plot.getGridZ()) != job.plot
+                || job.plotManager.isPlotLocked(job.plot.getGridX(), job.plot.getGridZ())) {
+            queue.remove(job);
+            finish(job);
+            job.fail(new IllegalStateException("The plot changed while it was being copied or pasted"));
+            return;
+        }
+
+        job.process(configManager.getConfig().getSchematicBlocksPerTick());
+        if (!job.cursor.hasNext()) {
+            queue.remove(job);
+            finish(job);
+            job.complete();
+        }
+    }
+
+    /**
+     * Result of a paste
+     */
+    public static final class PasteResult {
+        private final int changedBlocks;
+        private final int skippedColumns;
+
+        private PasteResult(int changedBlocks, int skippedColumns) {
+            this.changedBlocks = changedBlocks;
+            this.skippedColumns = skippedColumns;
+        }
+
+        public int getChangedBlocks() {
+            return changedBlocks;
+        }
+
+        /**
+         * Get the number of columns the player was not allowed to modify
+         */
+        public int getSkippedColumns() {
+            return skippedColumns;
+        }
+    }
+
+    /**
+     * A copy or paste of one plot, walked with a schematic cursor
+     */
+    private abstract static class Job {
+        final World world;
+        final PlotManager plotManager;
+        final Plot plot;
+        final String busyKey;
+        final int originX;
+        final int originZ;
+        final PlotSchematic.Cursor cursor;
+        // Block keys by id, looked up once per job
+        private final Map<Integer, String> keys = new HashMap<>();
+
+        Job(@Nonnull World world, @Nonnull PlotManager plotManager, @Nonnull Plot plot,
+                @Nonnull PlotSchematic.Cursor cursor) {
+            PlotConfig config = plotManager.getConfig();
+            this.world = world;
+            this.plotManager = plotManager;
+            this.plot = plot;
+            this.busyKey = busyKey(plotManager, plot);
+            this.originX = config.gridToWorldX(plot.getGridX());
+            this.originZ = config.gridToWorldZ(plot.getGridZ());
+            this.cursor = cursor;
+        }
+
+        @Nonnull
+        String getBlockKey(int x, int y, int z) {
+            return keys.computeIfAbsent(world.getBlock(x, y, z), id -> {
+                String key = PlotResetManager.getBlockKey(id);
+                return key != null ? key : "Empty";
+            });
+        }
+
+        abstract void process(int budget) throws IOException;
+
+        abstract void complete();
+
+        abstract void fail(@Nonnull Exception e);
+    }
+
+    private static final class CopyJob extends Job {
+        final CompletableFuture<PlotSchematic> future = new CompletableFuture<>();
+        final PlotSchematic.Writer writer;
+
+        CopyJob(@Nonnull World world, @Nonnull PlotManager plotManager, @Nonnull Plot plot) {
+            super(world, plotManager, plot, new PlotSchematic.Cursor(plotManager.getConfig().getPlotSizeX(),
+                    PlotTemplate.HEIGHT, plotManager.getConfig().getPlotSizeZ()));
+            PlotConfig config = plotManager.getConfig();
+            this.writer = PlotSchematic.writer(config.getPlotSizeX(), PlotTemplate.HEIGHT, config.getPlotSizeZ());
+        }
+
+        @Override
+        void process(int budget) {
+            for (; budget > 0 && cursor.hasNext(); budget--) {
+                writer.add(getBlockKey(originX + cursor.x(), cursor.y(), originZ + cursor.z()));
+                cursor.advance();
+            }
+        }
+
+        @Override
+        void complete() {
+            future.complete(writer.finish());
+        }
+
+        @Override
+        void fail(@Nonnull Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static final class PasteJob extends Job {
+        final CompletableFuture<PasteResult> future = new CompletableFuture<>();
+        final PlayerRef player;
+        final PlotSchematic.Reader reader;
+
+        boolean columnAllowed;
+        int changedBlocks;
+        int skippedColumns;
+
+        PasteJob(@Nonnull World world, @Nonnull PlotManager plotManager, @Nonnull Plot plot,
+                @Nonnull PlayerRef player, @Nonnull PlotSchematic schematic) throws IOException {
+            super(world, plotManager, plot, schematic.cursor());
+            this.player = player;
+            this.reader = schematic.openReader();
+        }
+
+        @Override
+        void process(int budget) throws IOException {
+            for (; budget > 0 && cursor.hasNext(); budget--) {
+                int x = originX + cursor.x();
+                int y = cursor.y();
+                int z = originZ + cursor.z();
+                if (cursor.isColumnStart()) {
+                    // Protection is decided per column
+                    columnAllowed = plotManager.canModify(player, world, x, y, z);
+                    if (!columnAllowed) {
+                        skippedColumns++;
+                    }
+                }
+
+                String key = reader.next();
+                if (columnAllowed && !key.equals(getBlockKey(x, y, z))) {
+                    world.setBlock(x, y, z, key);
+                    changedBlocks++;
+                }
+                cursor.advance();
+            }
+        }
+
+        @Override
+        void complete() {
+            closeReader();
+            future.complete(new PasteResult(changedBlocks, skippedColumns));
+        }
+
+        @Override
+        void fail(@Nonnull Exception e) {
+            closeReader();
+            future.completeExceptionally(e);
+        }
+
+        private void closeReader() {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // In-memory stream
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.model.Plot;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotSchematic;
+import com.overworldlabs.plots.model.PlotSnapshot;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes plot snapshots and rolls plots back to them.
+ * <p>
+ * Plots that players build on are remembered, and every
+ * {@code Snapshots.IntervalMinutes} each of them gets an automatic snapshot.
+ * Players can also take snapshots on demand. A snapshot copies the plot with
+ * the {@link PlotSchematicManager} and hands the copy to the
+ * {@link PlotSnapshotStore} on the plugin scheduler, so only the block reads
+ * run on the world thread.
+ * </p>
+ * <p>
+ * A rollback rebuilds the snapshot from its sections and pastes it, which only
+ * writes the blocks that differ from the plot as it is now. After each pass,
+ * snapshots beyond {@code Snapshots.MaxPerPlot} or older than
+ * {@code Snapshots.MaxAgeDays} are deleted, together with the sections no
+ * snapshot needs any more.
+ * </p>
+ */
+public class PlotSnapshotManager {
+    private static final LatencyHistogram SAVE = PlotMetrics.histogram("snapshot.save");
+    private static final LatencyHistogram RESTORE = PlotMetrics.histogram("snapshot.restore");
+
+    private final PlotSnapshotStore store;
+    private final PlotSchematicManager schematics;
+    private final PlotWorldRegistry plotWorlds;
+    private final ConfigManager configManager;
+
+    // Plots built on since the last pass, by plot world name
+    private final Map<String, Set<Long>> edited = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+
+    public PlotSnapshotManager(@Nonnull File dataDirectory, @Nonnull PlotSchematicManager schematics,
+            @Nonnull PlotWorldRegistry plotWorlds, @Nonnull ConfigManager configManager) {
+        this.store = new PlotSnapshotStore(dataDirectory);
+        this.schematics = schematics;
+        this.plotWorlds = plotWorlds;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Starts the automatic snapshot passes on the given scheduler, which also
+     * runs the snapshot file IO
+     */
+    public void start(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        long interval = configManager.getConfig().getSnapshotIntervalMinutes();
+        task = scheduler.scheduleWithFixedDelay(this::runPass, interval, interval, TimeUnit.MINUTES);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Remembers that a block was changed, so the plot gets a snapshot in the
+     * next pass. Called for every allowed block break and place.
+     */
+    public void markEdited(@Nonnull PlotWorld plotWorld, int x, int z) {
+        PlotConfig config = plotWorld.getPlotManager().getConfig();
+        if (!config.isSnapshotsEnabled())
+            return;
+
+        edited.computeIfAbsent(plotWorld.getName(), k -> ConcurrentHashMap.newKeySet())
+                .add(PlotMergeIndex.key(config.worldToGridX(x), config.worldToGridZ(z)));
+    }
+
+    /**
+     * Takes a snapshot of a claimed plot. Must be called on the plot world
+     * thread.
+     *
+     * @param createdBy The player taking the snapshot, or null for automatic
+     *                  snapshots
+     * @return Future of the stored snapshot, completed on the plugin scheduler
+     */
+    @Nonnull
+    public CompletableFuture<PlotSnapshot> snapshot(@Nonnull World world, @Nonnull PlotManager plotManager,
+            @Nonnull Plot plot, @Nullable UUID createdBy) {
+        UUID owner = plot.getOwner();
+        if (owner == null || scheduler == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("The plot cannot be saved now"));
+
+        int gridX = plot.getGridX();
+        int gridZ = plot.getGridZ();
+        return schematics.copy(world, plotManager, plot).thenApplyAsync(schematic -> {
+            long start = System.nanoTime();
+            try {
+                PlotConfig config = plotManager.getConfig();
+                PlotSnapshot snapshot = store.save(plotManager.getWorldName(), gridX, gridZ, owner, createdBy,
+                        schematic);
+                store.prune(plotManager.getWorldName(), gridX, gridZ, owner, config.getSnapshotMaxPerPlot(),
+                        config.getSnapshotMaxAgeDays());
+                return snapshot;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                SAVE.recordSince(start);
+            }
+        }, scheduler);
+    }
+
+    /**
+     * Rolls a plot back to a snapshot. Columns the player may not modify are
+     * skipped, see {@link PlotSchematicManager#paste}.
+     *
+     * @return Future of the paste result, completed on the plot world thread
+     */
+    @Nonnull
+    public CompletableFuture<PlotSchematicManager.PasteResult> rollback(@Nonnull World world,
+            @Nonnull PlotManager plotManager, @Nonnull PlayerRef player, @Nonnull Plot plot,
+            @Nonnull PlotSnapshot snapshot) {
+        if (scheduler == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Snapshots are not running"));
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return store.restore(snapshot);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                RESTORE.recordSince(start);
+            }
+        }, scheduler).thenCompose((PlotSchematic schematic) -> schematics.paste(world, plotManager, player, plot,
+                schematic));
+    }
+
+    /**
+     * Get the snapshots of a plot, newest first
+     *
+     * @return Future completed on the plugin scheduler
+     */
+    @Nonnull
+    public CompletableFuture<List<PlotSnapshot>> list(@Nonnull PlotManager plotManager, @Nonnull Plot plot) {
+        if (scheduler == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Snapshots are not running"));
+
+        String worldName = plotManager.getWorldName();
+        int gridX = plot.getGridX();
+        int gridZ = plot.getGridZ();
+        return CompletableFuture.supplyAsync(() -> store.list(worldName, gridX, gridZ), scheduler);
+    }
+
+    /**
+     * Get one snapshot of a plot
+     *
+     * @return Future of the snapshot, or of null if the plot has none with
+     *         this ID, completed on the plugin scheduler
+     */
+    @Nonnull
+    public CompletableFuture<PlotSnapshot> get(@Nonnull PlotManager plotManager, @Nonnull Plot plot, int id) {
+        if (scheduler == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Snapshots are not running"));
+
+        String worldName = plotManager.getWorldName();
+        int gridX = plot.getGridX();
+        int gridZ = plot.getGridZ();
+        return CompletableFuture.supplyAsync(() -> store.get(worldName, gridX, gridZ, id), scheduler);
+    }
+
+    /**
+     * Snapshots the plots built on since the last pass, then applies the
+     * retention limits
+     */
+    private void runPass() {
+        try {
+            if (configManager.getConfig().isSnapshotsEnabled()) {
+                for (PlotWorld plotWorld : plotWorlds.getAll()) {
+                    snapshotEdited(plotWorld);
+                }
+            }
+            applyRetention();
+        } catch (Exception e) {
+            ConsoleColors.error("[Plots] Snapshot pass failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void snapshotEdited(@Nonnull PlotWorld plotWorld) {
+        Set<Long> keys = edited.remove(plotWorld.getName());
+        World world = plotWorld.getWorldManager().getPlotWorld();
+        if (keys == null || world == null)
+            return;
+
+        PlotManager plotManager = plotWorld.getPlotManager();
+        for (long key : keys) {
+            int gridX = PlotMergeIndex.gridX(key);
+            int gridZ = PlotMergeIndex.gridZ(key);
+            world.execute(() -> {
+                Plot plot = plotManager.getPlot(gridX, gridZ);
+                if (plot == null || plot.getOwner() == null)
+                    return;
+
+                snapshot(world, plotManager, plot, null).exceptionally(error -> {
+                    // Busy or changed plots are tried again in the next pass
+                    edited.computeIfAbsent(plotWorld.getName(), k -> ConcurrentHashMap.newKeySet()).add(key);
+                    ConsoleColors.debug(() -> "[Snapshots] Skipped plot " + gridX + "," + gridZ + ": "
+                            + error.getMessage());
+                    return null;
+                });
+            });
+        }
+    }
+
+    /**
+     * Deletes snapshots beyond the retention limits and the sections no
+     * snapshot refers to any more. Runs on the plugin scheduler.
+     */
+    private void applyRetention() {
+        PlotConfig config = configManager.getConfig();
+        int deleted = 0;
+        for (PlotWorld plotWorld : plotWorlds.getAll()) {
+            PlotManager plotManager = plotWorld.getPlotManager();
+            for (int[] position : store.listPlots(plotManager.getWorldName())) {
+                Plot plot = plotManager.getPlot(position[0], position[1]);
+                deleted += store.prune(plotManager.getWorldName(), position[0], position[1],
+                        plot != null ? plot.getOwner() : null, config.getSnapshotMaxPerPlot(),
+                        config.getSnapshotMaxAgeDays());
+            }
+        }
+
+        long freed = store.collectGarbage();
+        if (deleted > 0 || freed > 0) {
+            ConsoleColors.info("[Plots] Deleted " + deleted + " old plot snapshot(s), freed "
+                    + (freed + 1023) / 1024 + " KB");
+        }
+    }
+}
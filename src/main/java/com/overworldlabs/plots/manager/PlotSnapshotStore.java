@@ -0,0 +1,423 @@
+package com.overworldlabs.plots.manager;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.overworldlabs.plots.model.PlotSchematic;
+import com.overworldlabs.plots.model.PlotSnapshot;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores plot snapshots on disk, with each distinct section written once.
+ * <p>
+ * A snapshot is split into sections of one schematic tile by
+ * {@link PlotSnapshot#SECTION_HEIGHT} blocks. Each section is encoded as a
+ * small {@link PlotSchematic} and stored under the SHA-256 hash of its bytes
+ * in {@code snapshots/blobs/<ab>/<hash>.plotschem}; a section that is already
+ * stored is not written again. Snapshots themselves are small JSON manifests
+ * in {@code snapshots/plots/<world>/<gridX>_<gridZ>/<id>.json}.
+ * </p>
+ * <p>
+ * Pruning only deletes manifests; blobs no snapshot refers to any more are
+ * deleted by {@link #collectGarbage()}. All methods do file IO and must be
+ * called off the world thread; they are synchronized so a collection never
+ * runs between a save writing its blobs and its manifest.
+ * </p>
+ */
+public class PlotSnapshotStore {
+    private static final String MANIFEST_EXTENSION = ".json";
+    private static final Comparator<PlotSnapshot> NEWEST_FIRST = Comparator.comparingInt(PlotSnapshot::getId)
+            .reversed();
+
+    private final File blobDirectory;
+    private final File plotDirectory;
+    private final Gson gson;
+
+    public PlotSnapshotStore(@Nonnull File dataDirectory) {
+        File root = new File(dataDirectory, "snapshots");
+        this.blobDirectory = new File(root, "blobs");
+        this.plotDirectory = new File(root, "plots");
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+    }
+
+    /**
+     * Splits a plot schematic into sections and stores it as a new snapshot
+     *
+     * @param worldName Plot world of the plot
+     * @param owner     Owner of the plot
+     * @param createdBy Player taking the snapshot, or null for automatic ones
+     * @return The stored snapshot
+     */
+    @Nonnull
+    public synchronized PlotSnapshot save(@Nonnull String worldName, int gridX, int gridZ, @Nonnull UUID owner,
+            @Nullable UUID createdBy, @Nonnull PlotSchematic schematic) throws IOException {
+        int sizeX = schematic.getSizeX();
+        int sizeY = schematic.getSizeY();
+        int sizeZ = schematic.getSizeZ();
+        int slabs = (sizeY + PlotSnapshot.SECTION_HEIGHT - 1) / PlotSnapshot.SECTION_HEIGHT;
+
+        List<String> sections = new ArrayList<>();
+        int newSections = 0;
+        try (PlotSchematic.Reader reader = schematic.openReader()) {
+            for (int tileX = 0; tileX * PlotSchematic.TILE < sizeX; tileX++) {
+                int width = Math.min(PlotSchematic.TILE, sizeX - tileX * PlotSchematic.TILE);
+                for (int tileZ = 0; tileZ * PlotSchematic.TILE < sizeZ; tileZ++) {
+                    int depth = Math.min(PlotSchematic.TILE, sizeZ - tileZ * PlotSchematic.TILE);
+
+                    // The tile's columns are read once and split into slabs
+                    PlotSchematic.Writer[] writers = new PlotSchematic.Writer[slabs];
+                    for (int slab = 0; slab < slabs; slab++) {
+                        writers[slab] = PlotSchematic.writer(width, slabHeight(sizeY, slab), depth);
+                    }
+                    for (int column = 0; column < width * depth; column++) {
+                        for (int y = 0; y < sizeY; y++) {
+                            writers[y / PlotSnapshot.SECTION_HEIGHT].add(reader.next());
+                        }
+                    }
+
+                    for (PlotSchematic.Writer writer : writers) {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                        writer.finish().write(bytes);
+                        byte[] data = bytes.toByteArray();
+                        String hash = hash(data);
+                        if (writeBlob(hash, data)) {
+                            newSections++;
+                        }
+                        sections.add(hash);
+                    }
+                }
+            }
+        }
+
+        File directory = getPlotDirectory(worldName, gridX, gridZ);
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IOException("Could not create " + directory);
+
+        int id = list(worldName, gridX, gridZ).stream().mapToInt(PlotSnapshot::getId).max().orElse(0) + 1;
+        PlotSnapshot snapshot = new PlotSnapshot(id, System.currentTimeMillis(), owner, createdBy, sizeX, sizeY,
+                sizeZ, sections);
+        File temp = new File(directory, id + MANIFEST_EXTENSION + ".tmp");
+        try (Writer writer = new FileWriter(temp)) {
+            gson.toJson(snapshot, writer);
+        }
+        if (!temp.renameTo(new File(directory, id + MANIFEST_EXTENSION)))
+            throw new IOException("Could not move " + temp);
+
+        snapshot.setNewSections(newSections);
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the plot schematic of a snapshot from its sections
+     *
+     * @throws IOException if a section is missing or corrupt
+     */
+    @Nonnull
+    public synchronized PlotSchematic restore(@Nonnull PlotSnapshot snapshot) throws IOException {
+        int sizeX = snapshot.getSizeX();
+        int sizeY = snapshot.getSizeY();
+        int sizeZ = snapshot.getSizeZ();
+        int slabs = (sizeY + PlotSnapshot.SECTION_HEIGHT - 1) / PlotSnapshot.SECTION_HEIGHT;
+        int tiles = ((sizeX + PlotSchematic.TILE - 1) / PlotSchematic.TILE)
+                * ((sizeZ + PlotSchematic.TILE - 1) / PlotSchematic.TILE);
+        List<String> sections = snapshot.getSections();
+        if (sections.size() != tiles * slabs)
+            throw new IOException("Snapshot " + snapshot.getId() + " has " + sections.size() + " of "
+                    + tiles * slabs + " sections");
+
+        PlotSchematic.Writer writer = PlotSchematic.writer(sizeX, sizeY, sizeZ);
+        int next = 0;
+        for (int tileX = 0; tileX * PlotSchematic.TILE < sizeX; tileX++) {
+            int width = Math.min(PlotSchematic.TILE, sizeX - tileX * PlotSchematic.TILE);
+            for (int tileZ = 0; tileZ * PlotSchematic.TILE < sizeZ; tileZ++) {
+                int depth = Math.min(PlotSchematic.TILE, sizeZ - tileZ * PlotSchematic.TILE);
+
+                PlotSchematic.Reader[] readers = new PlotSchematic.Reader[slabs];
+                try {
+                    for (int slab = 0; slab < slabs; slab++) {
+                        PlotSchematic section = readBlob(sections.get(next++));
+                        if (section.getSizeX() != width || section.getSizeY() != slabHeight(sizeY, slab)
+                                || section.getSizeZ() != depth)
+                            throw new IOException("Snapshot section has the wrong size");
+                        readers[slab] = section.openReader();
+                    }
+                    for (int column = 0; column < width * depth; column++) {
+                        for (int y = 0; y < sizeY; y++) {
+                            writer.add(readers[y / PlotSnapshot.SECTION_HEIGHT].next());
+                        }
+                    }
+                } finally {
+                    for (PlotSchematic.Reader reader : readers) {
+                        if (reader != null) {
+                            reader.close();
+                        }
+                    }
+                }
+            }
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Get the snapshots of a plot, newest first
+     */
+    @Nonnull
+    public synchronized List<PlotSnapshot> list(@Nonnull String worldName, int gridX, int gridZ) {
+        List<PlotSnapshot> snapshots = new ArrayList<>();
+        File[] files = getPlotDirectory(worldName, gridX, gridZ)
+                .listFiles((dir, name) -> name.endsWith(MANIFEST_EXTENSION));
+        if (files == null)
+            return snapshots;
+
+        for (File file : files) {
+            PlotSnapshot snapshot = readManifest(file);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(NEWEST_FIRST);
+        return snapshots;
+    }
+
+    /**
+     * Get one snapshot of a plot
+     *
+     * @return The snapshot, or null if the plot has none with this ID
+     */
+    @Nullable
+    public synchronized PlotSnapshot get(@Nonnull String worldName, int gridX, int gridZ, int id) {
+        File file = new File(getPlotDirectory(worldName, gridX, gridZ), id + MANIFEST_EXTENSION);
+        return file.isFile() ? readManifest(file) : null;
+    }
+
+    /**
+     * Get the grid positions of the plots of a world that have snapshots
+     */
+    @Nonnull
+    public synchronized List<int[]> listPlots(@Nonnull String worldName) {
+        List<int[]> plots = new ArrayList<>();
+        File[] directories = new File(plotDirectory, worldName).listFiles(File::isDirectory);
+        if (directories == null)
+            return plots;
+
+        for (File directory : directories) {
+            String[] parts = directory.getName().split("_");
+            if (parts.length != 2)
+                continue;
+            try {
+                plots.add(new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) });
+            } catch (NumberFormatException ignored) {
+                // Not a plot directory
+            }
+        }
+        return plots;
+    }
+
+    /**
+     * Deletes the snapshots of a plot beyond the retention limits. The newest
+     * snapshot of the current owner is kept regardless of its age, so a plot
+     * always has one state to roll back to.
+     *
+     * @param currentOwner Owner of the plot now, or null if it is unclaimed
+     * @param maxPerPlot   Number of snapshots to keep
+     * @param maxAgeDays   Age after which snapshots are deleted, or 0 to keep
+     *                     them until the count limit
+     * @return The number of deleted snapshots
+     */
+    public synchronized int prune(@Nonnull String worldName, int gridX, int gridZ, @Nullable UUID currentOwner,
+            int maxPerPlot, int maxAgeDays) {
+        File directory = getPlotDirectory(worldName, gridX, gridZ);
+        List<PlotSnapshot> snapshots = list(worldName, gridX, gridZ);
+        long cutoff = maxAgeDays > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays) : 0L;
+        boolean keptOwnerSnapshot = false;
+        int deleted = 0;
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            PlotSnapshot snapshot = snapshots.get(i);
+            boolean ownerSnapshot = !keptOwnerSnapshot && snapshot.getOwner() != null
+                    && snapshot.getOwner().equals(currentOwner);
+            boolean keep = i < maxPerPlot && (ownerSnapshot || snapshot.getCreatedAt() >= cutoff);
+            if (keep) {
+                keptOwnerSnapshot |= ownerSnapshot;
+                continue;
+            }
+            if (new File(directory, snapshot.getId() + MANIFEST_EXTENSION).delete()) {
+                deleted++;
+            }
+        }
+
+        String[] left = directory.list();
+        if (left != null && left.length == 0) {
+            directory.delete();
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the blobs no snapshot refers to. Nothing is deleted if any
+     * manifest cannot be read, since the blobs it refers to would be lost with
+     * it.
+     *
+     * @return The number of bytes freed
+     */
+    public synchronized long collectGarbage() {
+        Set<String> referenced = collectReferencedSections();
+        if (referenced == null) {
+            ConsoleColors.warning("[Plots] Not deleting unused snapshot sections: a snapshot could not be read");
+            return 0;
+        }
+
+        long freed = 0;
+        File[] buckets = blobDirectory.listFiles(File::isDirectory);
+        if (buckets == null)
+            return freed;
+
+        for (File bucket : buckets) {
+            File[] blobs = bucket.listFiles();
+            if (blobs == null)
+                continue;
+            for (File blob : blobs) {
+                String name = blob.getName();
+                String hash = name.endsWith(PlotSchematic.FILE_EXTENSION)
+                        ? name.substring(0, name.length() - PlotSchematic.FILE_EXTENSION.length())
+                        : null;
+                if (hash != null && referenced.contains(hash))
+                    continue;
+
+                long length = blob.length();
+                if (blob.delete()) {
+                    freed += length;
+                }
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Get the sections all snapshots refer to
+     *
+     * @return The section hashes, or null if a directory or manifest could not
+     *         be read
+     */
+    @Nullable
+    private Set<String> collectReferencedSections() {
+        Set<String> referenced = new HashSet<>();
+        if (!plotDirectory.isDirectory())
+            return referenced;
+
+        File[] worlds = plotDirectory.listFiles(File::isDirectory);
+        if (worlds == null)
+            return null;
+        for (File world : worlds) {
+            File[] plots = world.listFiles(File::isDirectory);
+            if (plots == null)
+                return null;
+            for (File plot : plots) {
+                File[] manifests = plot.listFiles((dir, name) -> name.endsWith(MANIFEST_EXTENSION));
+                if (manifests == null)
+                    return null;
+                for (File manifest : manifests) {
+                    PlotSnapshot snapshot = readManifest(manifest);
+                    // Every snapshot has at least one section
+                    if (snapshot == null || snapshot.getSections().isEmpty())
+                        return null;
+                    referenced.addAll(snapshot.getSections());
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Writes a blob unless it is already stored
+     *
+     * @return true if the blob was written
+     */
+    private boolean writeBlob(@Nonnull String hash, @Nonnull byte[] data) throws IOException {
+        File file = getBlobFile(hash);
+        if (file.isFile())
+            return false;
+
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs())
+            throw new IOException("Could not create " + parent);
+
+        File temp = new File(parent, hash + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+        }
+        if (!temp.renameTo(file))
+            throw new IOException("Could not move " + temp + " to " + file);
+        return true;
+    }
+
+    @Nonnull
+    private PlotSchematic readBlob(@Nonnull String hash) throws IOException {
+        File file = getBlobFile(hash);
+        if (!file.isFile())
+            throw new IOException("Snapshot section " + hash + " is missing");
+
+        try (InputStream in = new FileInputStream(file)) {
+            return PlotSchematic.read(in);
+        }
+    }
+
+    @Nullable
+    private PlotSnapshot readManifest(@Nonnull File file) {
+        try (FileReader reader = new FileReader(file)) {
+            return gson.fromJson(reader, PlotSnapshot.class);
+        } catch (IOException | JsonParseException e) {
+            ConsoleColors.error("[Plots] Failed to read snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Nonnull
+    private File getBlobFile(@Nonnull String hash) {
+        if (!hash.matches("[0-9a-f]{64}"))
+            throw new IllegalArgumentException("Invalid section hash: " + hash);
+        return new File(new File(blobDirectory, hash.substring(0, 2)), hash + PlotSchematic.FILE_EXTENSION);
+    }
+
+    @Nonnull
+    private File getPlotDirectory(@Nonnull String worldName, int gridX, int gridZ) {
+        return new File(new File(plotDirectory, worldName), gridX + "_" + gridZ);
+    }
+
+    private static int slabHeight(int sizeY, int slab) {
+        return Math.min(PlotSnapshot.SECTION_HEIGHT, sizeY - slab * PlotSnapshot.SECTION_HEIGHT);
+    }
+
+    @Nonnull
+    private static String hash(@Nonnull byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java runtime provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.overworldlabs.plots.metrics.LatencyHistogram;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+import com.overworldlabs.plots.worldgen.PlotTemplate;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Safe teleport positions in one plot world.
+ * <p>
+ * Players are teleported onto the highest block of a column that has two
+ * free blocks above it, so they do not end up inside prefabs or tall builds.
+ * Finding it reads the column from the top, so the height is kept per column
+ * until a block in that column is broken or placed, see
+ * {@link #invalidate(int, int)}. Before a cached height is used, the three
+ * blocks around the feet are checked again, which also catches changes that
+ * are not made by players, like plot resets.
+ * </p>
+ */
+public class PlotSpawnCache {
+    private static final LatencyHistogram SCAN = PlotMetrics.histogram("spawn.scan");
+    // Scan result for columns without room to stand, never cached
+    private static final int NO_SPAWN = -1;
+
+    // Standing height by column, see PlotMergeIndex#key
+    private final Map<Long, Integer> heights = new ConcurrentHashMap<>();
+
+    /**
+     * Get the position to stand on at the top of a column. Must be called on
+     * the world thread. Columns without room to stand, e.g. in a chunk that is
+     * not generated yet, are scanned again on the next call.
+     *
+     * @param fallbackY Height to use if the column has no room to stand
+     * @return Position in the middle of the column
+     */
+    @Nonnull
+    public Vector3d getSpawn(@Nonnull World world, int x, int z, double fallbackY) {
+        long key = PlotMergeIndex.key(x, z);
+        Integer y = heights.get(key);
+        if (y == null || !isSafe(world, x, y, z)) {
+            y = findStandingY(world, x, z);
+            if (y == NO_SPAWN) {
+                heights.remove(key);
+                return new Vector3d(x + 0.5, fallbackY, z + 0.5);
+            }
+            heights.put(key, y);
+        }
+        return new Vector3d(x + 0.5, y, z + 0.5);
+    }
+
+    /**
+     * Forgets the height of a column. Called for every allowed block break and
+     * place, so it must stay cheap.
+     */
+    public void invalidate(int x, int z) {
+        if (!heights.isEmpty())
+            heights.remove(PlotMergeIndex.key(x, z));
+    }
+
+    private static boolean isSafe(@Nonnull World world, int x, int y, int z) {
+        return y > 0 && y + 1 < PlotTemplate.HEIGHT
+                && world.getBlock(x, y - 1, z) != 0
+                && world.getBlock(x, y, z) == 0
+                && world.getBlock(x, y + 1, z) == 0;
+    }
+
+    /**
+     * Finds the highest block of a column with two free blocks above it
+     *
+     * @return The height to stand at, or {@link #NO_SPAWN}
+     */
+    private static int findStandingY(@Nonnull World world, int x, int z) {
+        long start = System.nanoTime();
+        try {
+            int free = 0;
+            for (int y = PlotTemplate.HEIGHT - 1; y >= 0; y--) {
+                if (world.getBlock(x, y, z) == 0) {
+                    free++;
+                } else if (free >= 2) {
+                    return y + 1;
+                } else {
+                    free = 0;
+                }
+            }
+            return NO_SPAWN;
+        } finally {
+            SCAN.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.overworldlabs.plots.manager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The managers of one plot world. Each plot world has its own grid, plot
+ * index and data file.
+ */
+public final class PlotWorld {
+    private final String name;
+    private final boolean primary;
+    private final PlotManager plotManager;
+    private final DataManager dataManager;
+    private final WorldManager worldManager;
+    private final PlotResetManager resetManager;
+    private final PlotAuditLog auditLog;
+
+    public PlotWorld(@Nonnull String name, boolean primary, @Nonnull PlotManager plotManager,
+            @Nonnull DataManager dataManager, @Nonnull WorldManager worldManager,
+            @Nonnull PlotResetManager resetManager, @Nonnull PlotAuditLog auditLog) {
+        this.name = name;
+        this.primary = primary;
+        this.plotManager = plotManager;
+        this.dataManager = dataManager;
+        this.worldManager = worldManager;
+        this.resetManager = resetManager;
+        this.auditLog = auditLog;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether this is the world set by {@code World.PlotWorldName}.
+     * Radar markers, holograms and purging only run there.
+     */
+    public boolean isPrimary() {
+        return primary;
+    }
+
+    @Nonnull
+    public PlotManager getPlotManager() {
+        return plotManager;
+    }
+
+    @Nonnull
+    public DataManager getDataManager() {
+        return dataManager;
+    }
+
+    @Nonnull
+    public WorldManager getWorldManager() {
+        return worldManager;
+    }
+
+    @Nonnull
+    public PlotResetManager getResetManager() {
+        return resetManager;
+    }
+
+    @Nonnull
+    public PlotAuditLog getAuditLog() {
+        return auditLog;
+    }
+}
@@ -0,0 +1,98 @@
+package com.overworldlabs.plots.manager;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.WorldConfig;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up the plot world a {@link World} belongs to.
+ * <p>
+ * Worlds are registered by name during setup. Lookups by {@link World} are
+ * keyed by the world's UUID, so the name comparison happens once per world;
+ * worlds that are not plot worlds are remembered as well.
+ * </p>
+ */
+public class PlotWorldRegistry {
+    private final Map<String, PlotWorld> byName = new LinkedHashMap<>();
+    private final Map<UUID, PlotWorld> byUuid = new ConcurrentHashMap<>();
+    private final Set<UUID> otherWorlds = ConcurrentHashMap.newKeySet();
+    private PlotWorld primary;
+
+    /**
+     * Registers a plot world. Only called during setup.
+     */
+    public void register(@Nonnull PlotWorld plotWorld) {
+        byName.put(plotWorld.getName(), plotWorld);
+        if (plotWorld.isPrimary()) {
+            primary = plotWorld;
+        }
+    }
+
+    /**
+     * Get the plot world a world belongs to
+     *
+     * @return The plot world, or {@code null} if the world is not a plot world
+     */
+    @Nullable
+    public PlotWorld get(@Nonnull World world) {
+        WorldConfig worldConfig = world.getWorldConfig();
+        UUID uuid = worldConfig != null ? worldConfig.getUuid() : null;
+        if (uuid == null)
+            return byName.get(world.getName());
+
+        PlotWorld plotWorld = byUuid.get(uuid);
+        if (plotWorld != null || otherWorlds.contains(uuid))
+            return plotWorld;
+
+        plotWorld = byName.get(world.getName());
+        if (plotWorld != null) {
+            byUuid.put(uuid, plotWorld);
+        } else {
+            otherWorlds.add(uuid);
+        }
+        return plotWorld;
+    }
+
+    /**
+     * Get a plot world by name
+     */
+    @Nullable
+    public PlotWorld get(@Nonnull String worldName) {
+        return byName.get(worldName);
+    }
+
+    /**
+     * Get the plot world a world belongs to, or the primary one if the world
+     * is not a plot world
+     */
+    @Nonnull
+    public PlotWorld getOrPrimary(@Nonnull World world) {
+        PlotWorld plotWorld = get(world);
+        return plotWorld != null ? plotWorld : primary;
+    }
+
+    /**
+     * Get the world set by {@code World.PlotWorldName}
+     */
+    @Nonnull
+    public PlotWorld getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Get all plot worlds, the primary one first
+     */
+    @Nonnull
+    public Collection<PlotWorld> getAll() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+}
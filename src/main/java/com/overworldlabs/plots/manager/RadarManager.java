@@ -1,10 +1,12 @@
 package com.overworldlabs.plots.manager;
 
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.math.vector.Transform;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.universe.world.worldmap.WorldMapManager;
 import com.hypixel.hytale.server.core.util.PositionUtil;
@@ -12,69 +14,102 @@ import com.overworldlabs.plots.model.Plot;
 import com.overworldlabs.plots.model.PlotConfig;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Manages radar markers for plots
+ * Manages radar markers for plots.
+ * <p>
+ * Markers are synchronized by diffing the plots a player owns against the
+ * markers already sent to them, so only added, removed or renamed plots
+ * produce marker operations. Plot mutations only queue the owner; the queued
+ * owners are flushed together in a single task on the plot world thread.
+ * </p>
  */
 public class RadarManager {
+    private static final String MARKER_IMAGE = "Home.png"; // Bed icon
+
     private final PlotManager plotManager;
     private final WorldManager worldManager;
 
+    // Markers sent to each player this session (marker id -> label)
+    private final Map<UUID, Map<String, String>> shownMarkers = new ConcurrentHashMap<>();
+    // Owners waiting for a diff on the next flush
+    private final Set<UUID> pendingOwners = ConcurrentHashMap.newKeySet();
+    // Marker ids of plots that were removed since the last flush, per owner
+    private final Map<UUID, Set<String>> pendingRemovals = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
     public RadarManager(PlotManager plotManager, WorldManager worldManager) {
         this.plotManager = plotManager;
         this.worldManager = worldManager;
     }
 
     /**
-     * Add or update a radar marker for a plot for its owner
+     * Queue a marker update for a plot's owner (claim, rename, transfer)
      */
     public void updatePlotMarker(@Nonnull Plot plot) {
-        PlayerRef ownerRef = Universe.get().getPlayer(plot.getOwner());
-        if (ownerRef == null)
-            return;
+        if (plot.getOwner() != null) {
+            queueSync(plot.getOwner());
+        }
+    }
 
-        com.hypixel.hytale.component.Ref<EntityStore> playerEntityRef = ownerRef.getReference();
-        if (playerEntityRef == null)
+    /**
+     * Queue removal of the radar marker for a plot that is no longer owned
+     */
+    public void removePlotMarker(@Nonnull Plot plot) {
+        if (plot.getOwner() == null)
             return;
 
-        PlotConfig config = plotManager.getConfig();
-        Vector3d center = new Vector3d(plot.getCenterX(config), 64.0, plot.getCenterZ(config));
-
-        // Remove existing marker if any
-        removePlotMarker(plot);
-
-        // Create new marker
-        String markerId = "plot_" + plot.getGridX() + "_" + plot.getGridZ();
-        MapMarker marker = new MapMarker();
-        marker.id = markerId;
-        marker.name = plot.getName();
-        marker.markerImage = "Home.png"; // Bed icon
-        marker.transform = PositionUtil.toTransformPacket(new Transform(center));
+        pendingRemovals.computeIfAbsent(plot.getOwner(), k -> ConcurrentHashMap.newKeySet()).add(getMarkerId(plot));
+        queueSync(plot.getOwner());
+    }
 
-        // Use WorldMapManager to add it to player data
-        // We ensure the marker is registered for the plot world specifically
-        WorldMapManager.createPlayerMarker(playerEntityRef, marker, playerEntityRef.getStore());
+    /**
+     * Queue a marker diff for an owner. Diffs are flushed in one batch on the
+     * plot world thread.
+     */
+    public void queueSync(@Nonnull UUID owner) {
+        pendingOwners.add(owner);
+        scheduleFlush();
     }
 
     /**
-     * Remove a radar marker for a plot
+     * Called when a player enters the plot world (join or world change).
+     * The first entry of a session replaces whatever markers were persisted in
+     * the player's world data; later entries only apply the diff.
      */
-    public void removePlotMarker(@Nonnull Plot plot) {
-        String markerId = "plot_" + plot.getGridX() + "_" + plot.getGridZ();
+    public void onPlayerEnterPlotWorld(@Nonnull PlayerRef playerRef) {
+        UUID uuid = playerRef.getUuid();
+        if (!shownMarkers.containsKey(uuid)) {
+            Map<String, String> shown = new HashMap<>();
+            for (Plot plot : plotManager.getPlayerPlots(uuid)) {
+                String markerId = getMarkerId(plot);
+                removeMarker(uuid, markerId);
+                if (createMarker(playerRef, plot, markerId)) {
+                    shown.put(markerId, plot.getName());
+                }
+            }
+            shownMarkers.put(uuid, shown);
+            return;
+        }
 
-        // Marker reference for removal - handles removal even if player is offline
-        // This is world-specific, so it avoids clearing markers in other worlds if
-        // names collide
-        new WorldMapManager.PlayerMarkerReference(plot.getOwner(), worldManager.getWorldName(), markerId).remove();
+        syncOwner(uuid);
     }
 
     /**
-     * Refresh all plot markers for a player (e.g. on join)
+     * Forget the marker state of a player that left the server
      */
-    public void refreshPlayerMarkers(@Nonnull PlayerRef playerRef) {
-        for (Plot plot : plotManager.getPlayerPlots(playerRef.getUuid())) {
-            updatePlotMarker(plot);
-        }
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        shownMarkers.remove(playerUuid);
+        pendingOwners.remove(playerUuid);
     }
 
     /**
@@ -90,15 +125,150 @@ public class RadarManager {
     }
 
     /**
-     * Clear all plot markers for a specific player
+     * Clear all plot markers for a specific player.
+     * Only touches markers this manager could have created for the player:
+     * the ones sent this session and the ones for plots they own.
      */
     public void clearPlayerMarkers(@Nonnull PlayerRef playerRef) {
-        for (Plot plot : plotManager.getAllPlots()) {
-            if (plot != null) {
-                String markerId = "plot_" + plot.getGridX() + "_" + plot.getGridZ();
-                new WorldMapManager.PlayerMarkerReference(playerRef.getUuid(), worldManager.getWorldName(), markerId)
-                        .remove();
+        UUID uuid = playerRef.getUuid();
+        Set<String> markerIds = new HashSet<>();
+
+        Map<String, String> shown = shownMarkers.remove(uuid);
+        if (shown != null) {
+            markerIds.addAll(shown.keySet());
+        }
+        for (Plot plot : plotManager.getPlayerPlots(uuid)) {
+            markerIds.add(getMarkerId(plot));
+        }
+
+        for (String markerId : markerIds) {
+            removeMarker(uuid, markerId);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true))
+            return;
+
+        World plotWorld = worldManager.getPlotWorld();
+        if (plotWorld == null) {
+            // Nothing can be shown yet; pending owners are kept for the next flush
+            flushScheduled.set(false);
+            return;
+        }
+
+        plotWorld.execute(this::flush);
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+
+        Iterator<UUID> it = pendingOwners.iterator();
+        while (it.hasNext()) {
+            UUID owner = it.next();
+            it.remove();
+            syncOwner(owner);
+        }
+    }
+
+    /**
+     * Applies the difference between the plots an owner has and the markers
+     * that were sent to them.
+     */
+    private void syncOwner(@Nonnull UUID owner) {
+        Map<String, String> shown = shownMarkers.get(owner);
+
+        // Explicit removals work even if the owner is offline
+        Set<String> removals = pendingRemovals.remove(owner);
+        if (removals != null) {
+            for (String markerId : removals) {
+                removeMarker(owner, markerId);
+                if (shown != null) {
+                    shown.remove(markerId);
+                }
+            }
+        }
+
+        // Additions need the player in the plot world; they are picked up on entry
+        if (shown == null)
+            return;
+
+        PlayerRef playerRef = Universe.get().getPlayer(owner);
+        if (playerRef == null || !isInPlotWorld(playerRef))
+            return;
+
+        Map<String, Plot> desired = new HashMap<>();
+        for (Plot plot : plotManager.getPlayerPlots(owner)) {
+            desired.put(getMarkerId(plot), plot);
+        }
+
+        Iterator<Map.Entry<String, String>> it = shown.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            if (!desired.containsKey(entry.getKey())) {
+                removeMarker(owner, entry.getKey());
+                it.remove();
             }
         }
+
+        for (Map.Entry<String, Plot> entry : desired.entrySet()) {
+            String markerId = entry.getKey();
+            Plot plot = entry.getValue();
+            String shownName = shown.get(markerId);
+
+            if (shownName != null && shownName.equals(plot.getName()))
+                continue;
+
+            if (shownName != null) {
+                // Renamed: replace just this marker
+                removeMarker(owner, markerId);
+            }
+            if (createMarker(playerRef, plot, markerId)) {
+                shown.put(markerId, plot.getName());
+            } else {
+                shown.remove(markerId);
+            }
+        }
+    }
+
+    private boolean createMarker(@Nonnull PlayerRef playerRef, @Nonnull Plot plot, @Nonnull String markerId) {
+        Ref<EntityStore> playerEntityRef = playerRef.getReference();
+        if (playerEntityRef == null)
+            return false;
+
+        PlotConfig config = plotManager.getConfig();
+        Vector3d center = new Vector3d(plot.getCenterX(config), 64.0, plot.getCenterZ(config));
+
+        MapMarker marker = new MapMarker();
+        marker.id = markerId;
+        marker.name = plot.getName();
+        marker.markerImage = MARKER_IMAGE;
+        marker.transform = PositionUtil.toTransformPacket(new Transform(center));
+
+        WorldMapManager.createPlayerMarker(playerEntityRef, marker, playerEntityRef.getStore());
+        return true;
+    }
+
+    private void removeMarker(@Nonnull UUID playerUuid, @Nonnull String markerId) {
+        // Marker reference for removal - handles removal even if player is offline
+        // This is world-specific, so it avoids clearing markers in other worlds if
+        // names collide
+        new WorldMapManager.PlayerMarkerReference(playerUuid, worldManager.getWorldName(), markerId).remove();
+    }
+
+    private boolean isInPlotWorld(@Nonnull PlayerRef playerRef) {
+        World plotWorld = worldManager.getPlotWorld();
+        UUID worldUuid = playerRef.getWorldUuid();
+        return plotWorld != null && worldUuid != null && worldUuid.equals(getWorldUuid(plotWorld));
+    }
+
+    @Nullable
+    private static UUID getWorldUuid(@Nonnull World world) {
+        return world.getWorldConfig() != null ? world.getWorldConfig().getUuid() : null;
+    }
+
+    @Nonnull
+    private static String getMarkerId(@Nonnull Plot plot) {
+        return "plot_" + plot.getGridX() + "_" + plot.getGridZ();
     }
 }
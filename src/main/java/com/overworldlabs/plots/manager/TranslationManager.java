@@ -2,7 +2,10 @@ package com.overworldlabs.plots.manager;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.server.core.Message;
+import com.overworldlabs.plots.util.ChatUtil;
 import com.overworldlabs.plots.util.ConsoleColors;
+import com.overworldlabs.plots.util.MessageTemplate;
 
 import javax.annotation.Nonnull;
 import java.io.File;
@@ -15,11 +18,16 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Manages plugin translations
+ * Manages plugin translations.
+ * <p>
+ * Every translation is compiled into a {@link MessageTemplate} when it is
+ * loaded, so the message methods build {@link Message} trees without any
+ * string replacement or colour parsing.
+ * </p>
  */
 public class TranslationManager {
-    private final Map<String, String> translations = new HashMap<>();
-    private final String language;
+    private volatile Map<String, MessageTemplate> translations = new HashMap<>();
+    private volatile String language;
     private final Gson gson = new Gson();
     private final File langDir;
 
@@ -35,14 +43,30 @@ public class TranslationManager {
         load();
     }
 
+    /**
+     * Reloads the language files, optionally switching language
+     *
+     * @param newLanguage The language to use
+     */
+    public void reload(@Nonnull String newLanguage) {
+        this.language = newLanguage.toLowerCase();
+        exportDefaultLanguages();
+        load();
+    }
+
     private void load() {
+        // Built aside and swapped in, so lookups never see a partial map
+        Map<String, MessageTemplate> loaded = new HashMap<>();
+
         // Load default English first
-        loadLanguage("en_us");
+        loadLanguage("en_us", loaded);
 
         // Load target language if different
         if (!language.equals("en_us")) {
-            loadLanguage(language);
+            loadLanguage(language, loaded);
         }
+
+        translations = loaded;
     }
 
     private void exportDefaultLanguages() {
@@ -65,7 +89,7 @@ public class TranslationManager {
         }
     }
 
-    private void loadLanguage(String lang) {
+    private void loadLanguage(String lang, Map<String, MessageTemplate> target) {
         String fileName = lang + ".json";
         File file = new File(langDir, fileName);
 
@@ -88,7 +112,7 @@ public class TranslationManager {
             Map<String, Object> loaded = gson.fromJson(new InputStreamReader(is), type);
 
             if (loaded != null) {
-                flattenAndPut("", loaded);
+                flattenAndPut("", loaded, target);
             }
         } catch (Exception e) {
             ConsoleColors.error("Failed to load language " + lang + ": " + e.getMessage());
@@ -104,38 +128,79 @@ public class TranslationManager {
     }
 
     @SuppressWarnings("unchecked")
-    private void flattenAndPut(String prefix, Map<String, Object> map) {
+    private void flattenAndPut(String prefix, Map<String, Object> map, Map<String, MessageTemplate> target) {
         for (Map.Entry<String, Object> entry : map.entrySet()) {
             String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
             Object value = entry.getValue();
 
             if (value instanceof Map) {
-                flattenAndPut(key, (Map<String, Object>) value);
+                flattenAndPut(key, (Map<String, Object>) value, target);
             } else {
-                translations.put(key, String.valueOf(value));
+                target.put(key, MessageTemplate.compile(String.valueOf(value)));
             }
         }
     }
 
+    /**
+     * Get the compiled template of a translation
+     *
+     * @param key The translation key
+     * @return The template, or a template of the key itself if it is missing
+     */
+    @Nonnull
+    public MessageTemplate getTemplate(@Nonnull String key) {
+        MessageTemplate template = translations.get(key);
+        return template != null ? template : MessageTemplate.compile(key);
+    }
+
     @Nonnull
     public String get(@Nonnull String key) {
-        String value = translations.get(key);
-        return value != null ? value : key;
+        MessageTemplate template = translations.get(key);
+        return template != null ? template.getSource() : key;
     }
 
     @Nonnull
     public String get(@Nonnull String key, Object... args) {
-        String text = get(key);
-
-        for (int i = 0; i < args.length; i += 2) {
-            if (i + 1 < args.length) {
-                String placeholder = "%" + args[i] + "%";
-                Object argValue = args[i + 1];
-                String value = argValue != null ? String.valueOf(argValue) : "null";
-                text = text.replace(placeholder, value);
-            }
-        }
+        return getTemplate(key).format(args);
+    }
 
-        return text;
+    /**
+     * Renders a translation as a coloured message without prefix
+     */
+    @Nonnull
+    public Message message(@Nonnull String key, Object... args) {
+        return getTemplate(key).render(ChatUtil.Style.PLAIN, args);
+    }
+
+    /**
+     * Renders a translation like {@link ChatUtil#info(String)}
+     */
+    @Nonnull
+    public Message info(@Nonnull String key, Object... args) {
+        return getTemplate(key).render(ChatUtil.Style.INFO, args);
+    }
+
+    /**
+     * Renders a translation like {@link ChatUtil#success(String)}
+     */
+    @Nonnull
+    public Message success(@Nonnull String key, Object... args) {
+        return getTemplate(key).render(ChatUtil.Style.SUCCESS, args);
+    }
+
+    /**
+     * Renders a translation like {@link ChatUtil#error(String)}
+     */
+    @Nonnull
+    public Message error(@Nonnull String key, Object... args) {
+        return getTemplate(key).render(ChatUtil.Style.ERROR, args);
+    }
+
+    /**
+     * Renders a translation like {@link ChatUtil#warning(String)}
+     */
+    @Nonnull
+    public Message warning(@Nonnull String key, Object... args) {
+        return getTemplate(key).render(ChatUtil.Style.WARNING, args);
     }
 }
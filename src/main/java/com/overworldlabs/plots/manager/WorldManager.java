@@ -75,7 +75,8 @@ public class WorldManager {
             int roadSizeX = plotConfig.getRoadSizeX();
             int roadSizeZ = plotConfig.getRoadSizeZ();
 
-            PlotWorldGenProvider plotGen = new PlotWorldGenProvider(plotSizeX, plotSizeZ, roadSizeX, roadSizeZ);
+            PlotWorldGenProvider plotGen = new PlotWorldGenProvider(worldName, plotSizeX, plotSizeZ, roadSizeX,
+                    roadSizeZ);
             config.setWorldGenProvider(plotGen);
 
             config.setTicking(true);
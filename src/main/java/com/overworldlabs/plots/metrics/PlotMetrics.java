@@ -0,0 +1,187 @@
+package com.overworldlabs.plots.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of plugin-wide counters and latency histograms.
+ * <p>
+ * Hot paths record into the pre-registered constants below; the registry is
+ * only walked when stats are displayed or dumped.
+ * </p>
+ */
+public final class PlotMetrics {
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+    private static volatile long resetAt = System.currentTimeMillis();
+
+    // Protection
+    public static final LatencyHistogram CAN_MODIFY = histogram("protection.canModify");
+    public static final LatencyHistogram GET_PLOT_AT = histogram("protection.getPlotAt");
+    public static final LatencyHistogram MASK_IS_EXCLUDED = histogram("buildertools.isExcluded");
+    public static final LongAdder PROTECTION_DENIED = counter("protection.denied");
+    public static final LongAdder CONTEXT_RESOLVED = counter("protection.context.resolved");
+    public static final LongAdder CONTEXT_REUSED = counter("protection.context.reused");
+
+    // World generation
+    public static final LatencyHistogram GENERATE_CHUNK = histogram("worldgen.generate");
+    public static final LatencyHistogram APPLY_PREFABS = histogram("worldgen.applyPrefabs");
+
+    // Persistence
+    public static final LatencyHistogram SAVE_PLOTS = histogram("data.save");
+    public static final LatencyHistogram LOAD_PLOTS = histogram("data.load");
+
+    // Plot lifecycle
+    public static final LongAdder PLOTS_CLAIMED = counter("plots.claimed");
+    public static final LongAdder PLOTS_UNCLAIMED = counter("plots.unclaimed");
+    public static final LatencyHistogram RESET_STEP = histogram("reset.step");
+    public static final LongAdder RESET_BLOCKS_CHANGED = counter("reset.blocksChanged");
+    public static final LongAdder RESETS_COMPLETED = counter("reset.completed");
+
+    private PlotMetrics() {
+    }
+
+    /**
+     * Get or create a histogram by name
+     */
+    @Nonnull
+    public static LatencyHistogram histogram(@Nonnull String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Remove a histogram, e.g. one that belonged to an unregistered listener
+     */
+    public static void removeHistogram(@Nonnull String name) {
+        HISTOGRAMS.remove(name);
+    }
+
+    /**
+     * Get or create a counter by name
+     */
+    @Nonnull
+    public static LongAdder counter(@Nonnull String name) {
+        return COUNTERS.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Histogram for a command's world-thread execution
+     */
+    @Nonnull
+    public static LatencyHistogram command(@Nonnull String name) {
+        return histogram("command." + name);
+    }
+
+    /**
+     * Wraps a task so its execution time is recorded in a histogram
+     */
+    @Nonnull
+    public static Runnable timed(@Nonnull LatencyHistogram histogram, @Nonnull Runnable task) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                histogram.recordSince(start);
+            }
+        };
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Clears all recorded values
+     */
+    public static void reset() {
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+        COUNTERS.values().forEach(LongAdder::reset);
+        resetAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the time metrics were last reset (or the plugin was loaded)
+     */
+    public static long getResetAt() {
+        return resetAt;
+    }
+
+    /**
+     * Snapshots of all histograms that recorded at least one value, by name
+     */
+    @Nonnull
+    public static List<LatencyHistogram.Snapshot> getHistogramSnapshots() {
+        List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+        for (LatencyHistogram histogram : new TreeMap<>(HISTOGRAMS).values()) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Current values of all counters, by name
+     */
+    @Nonnull
+    public static Map<String, Long> getCounterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, adder) -> values.put(name, adder.sum()));
+        return values;
+    }
+
+    /**
+     * Writes all metrics to a JSON file
+     */
+    public static void writeJson(@Nonnull File file) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("timestamp", System.currentTimeMillis());
+        root.put("since", resetAt);
+        root.put("counters", getCounterValues());
+
+        Map<String, Object> histograms = new LinkedHashMap<>();
+        for (LatencyHistogram.Snapshot snapshot : getHistogramSnapshots()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", snapshot.getCount());
+            entry.put("meanMicros", toMicros(snapshot.getMeanNanos()));
+            entry.put("p50Micros", toMicros(snapshot.getPercentileNanos(50)));
+            entry.put("p90Micros", toMicros(snapshot.getPercentileNanos(90)));
+            entry.put("p99Micros", toMicros(snapshot.getPercentileNanos(99)));
+            entry.put("maxMicros", toMicros(snapshot.getMaxNanos()));
+            entry.put("totalMillis", snapshot.getTotalNanos() / 1_000_000L);
+            histograms.put(snapshot.getName(), entry);
+        }
+        root.put("histograms", histograms);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (FileWriter writer = new FileWriter(file)) {
+            gson.toJson(root, writer);
+        } catch (IOException e) {
+            ConsoleColors.error("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    private static double toMicros(double nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+}
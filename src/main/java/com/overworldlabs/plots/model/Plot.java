@@ -2,6 +2,7 @@ package com.overworldlabs.plots.model;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +30,12 @@ public class Plot {
     private String name;
     private final List<UUID> trustedPlayers;
     private final long createdAt;
+    // Merge links to the east (gridX + 1) and south (gridZ + 1) neighbours
+    private boolean mergedEast;
+    private boolean mergedSouth;
+    // Flag bits (see PlotFlag#getBit): values, and which of them the plot has set
+    private long flags;
+    private long flagsSet;
 
     /**
      * Constructs a new Plot with the specified grid coordinates and owner.
@@ -81,6 +88,21 @@ public class Plot {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Constructs a copy of a plot, e.g. to save it while the original keeps
+     * changing on the world thread.
+     *
+     * @param other The plot to copy
+     */
+    public Plot(@Nonnull Plot other) {
+        this(other.gridX, other.gridZ, other.owner, other.ownerName, other.name, other.trustedPlayers,
+                other.createdAt);
+        this.mergedEast = other.mergedEast;
+        this.mergedSouth = other.mergedSouth;
+        this.flags = other.flags;
+        this.flagsSet = other.flagsSet;
+    }
+
     /**
      * Gets the X coordinate of this plot in the grid system.
      *
@@ -168,6 +190,15 @@ public class Plot {
         return new ArrayList<>(trustedPlayers);
     }
 
+    /**
+     * Gets an unmodifiable view of the trusted players, without copying.
+     *
+     * @return A read-only view of the UUIDs of trusted players
+     */
+    public List<UUID> getTrustedPlayersView() {
+        return Collections.unmodifiableList(trustedPlayers);
+    }
+
     /**
      * Adds a player to the trusted players list.
      * <p>
@@ -210,6 +241,110 @@ public class Plot {
         return createdAt;
     }
 
+    /**
+     * Checks if this plot is merged with the plot east of it (gridX + 1).
+     *
+     * @return {@code true} if the road between them belongs to both plots
+     */
+    public boolean isMergedEast() {
+        return mergedEast;
+    }
+
+    /**
+     * Sets whether this plot is merged with the plot east of it.
+     *
+     * @param mergedEast The new merge state
+     */
+    public void setMergedEast(boolean mergedEast) {
+        this.mergedEast = mergedEast;
+    }
+
+    /**
+     * Checks if this plot is merged with the plot south of it (gridZ + 1).
+     *
+     * @return {@code true} if the road between them belongs to both plots
+     */
+    public boolean isMergedSouth() {
+        return mergedSouth;
+    }
+
+    /**
+     * Sets whether this plot is merged with the plot south of it.
+     *
+     * @param mergedSouth The new merge state
+     */
+    public void setMergedSouth(boolean mergedSouth) {
+        this.mergedSouth = mergedSouth;
+    }
+
+    /**
+     * Gets the effective flags of this plot as a bit mask.
+     * <p>
+     * Flags the plot has not set take their default value.
+     * </p>
+     *
+     * @return The mask of enabled flags
+     */
+    public long getFlags() {
+        return (flags & flagsSet) | (PlotFlag.DEFAULTS & ~flagsSet);
+    }
+
+    /**
+     * Checks if a flag is enabled on this plot.
+     *
+     * @param flag The flag to check
+     * @return {@code true} if the flag is enabled, explicitly or by default
+     */
+    public boolean hasFlag(@Nonnull PlotFlag flag) {
+        return (getFlags() & flag.getBit()) != 0;
+    }
+
+    /**
+     * Checks if this plot sets a flag instead of using its default.
+     *
+     * @param flag The flag to check
+     * @return {@code true} if the flag is set on this plot
+     */
+    public boolean isFlagSet(@Nonnull PlotFlag flag) {
+        return (flagsSet & flag.getBit()) != 0;
+    }
+
+    /**
+     * Sets a flag on this plot.
+     *
+     * @param flag  The flag to set
+     * @param value The new value
+     */
+    public void setFlag(@Nonnull PlotFlag flag, boolean value) {
+        flagsSet |= flag.getBit();
+        if (value) {
+            flags |= flag.getBit();
+        } else {
+            flags &= ~flag.getBit();
+        }
+    }
+
+    /**
+     * Returns a flag to its default value.
+     *
+     * @param flag The flag to reset
+     */
+    public void resetFlag(@Nonnull PlotFlag flag) {
+        flagsSet &= ~flag.getBit();
+        flags &= ~flag.getBit();
+    }
+
+    /**
+     * Replaces the flags of this plot with the flags of another plot,
+     * including which of them are left at their default.
+     *
+     * @param other The plot to copy the flags from
+     */
+    public void copyFlags(@Nonnull Plot other) {
+        this.flags = other.flags;
+        this.flagsSet = other.flagsSet;
+    }
+
     /**
      * Checks if a player has permission to build in this plot.
      * <p>
@@ -233,7 +368,7 @@ public class Plot {
      * @return The minimum world X coordinate (inclusive)
      */
     public int getMinX(PlotConfig config) {
-        return gridX * (config.getPlotSizeX() + config.getRoadSizeX());
+        return config.gridToWorldX(gridX);
     }
 
     /**
@@ -253,7 +388,7 @@ public class Plot {
      * @return The minimum world Z coordinate (inclusive)
      */
     public int getMinZ(PlotConfig config) {
-        return gridZ * (config.getPlotSizeZ() + config.getRoadSizeZ());
+        return config.gridToWorldZ(gridZ);
     }
 
     /**
@@ -1,13 +1,33 @@
 package com.overworldlabs.plots.model;
 
+import com.overworldlabs.plots.util.ConsoleColors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
- * Configuration for the plot system
+ * Configuration for the plot system.
+ * <p>
+ * Instances are read from config.json by Gson and then {@link #freeze()
+ * frozen}: values are validated, derived values such as the grid period are
+ * computed once, and setters stop working. A frozen config is never modified
+ * again, so it can be shared between threads and swapped as a whole on
+ * reload.
+ * </p>
  */
 public class PlotConfig {
 
     public static class GeneralSettings {
         public String Language = "en_us";
         public int AutoSaveIntervalSeconds = 300;
+        public boolean Debug = false;
     }
 
     public static class WorldSettings {
@@ -45,6 +65,75 @@ public class PlotConfig {
         public double HeightOffset = 2.0;
         public boolean Enabled = true;
         public String TitleColor = "#55ff55";
+        public int ViewDistanceChunks = 4;
+    }
+
+    public static class WorldMapSettings {
+        public boolean Enabled = true;
+        public int RegionPlots = 16;
+        public String MarkerImage = "Coordinate.png";
+    }
+
+    public static class ResetSettings {
+        public boolean ResetOnDelete = true;
+        public int BlocksPerTick = 8192;
+        public int TickIntervalMillis = 50;
+    }
+
+    public static class SchematicSettings {
+        public int BlocksPerTick = 16384;
+        public int MaxExportsPerPlayer = 10;
+    }
+
+    public static class SnapshotSettings {
+        public boolean Enabled = true;
+        public int IntervalMinutes = 60;
+        public int MaxPerPlot = 10;
+        public int MaxAgeDays = 14;
+    }
+
+    public static class AuditSettings {
+        public boolean Enabled = true;
+        public int BufferSize = 256;
+        public int FlushIntervalSeconds = 5;
+        public int MaxRegionFileKB = 4096;
+    }
+
+    public static class MetricsSettings {
+        public boolean Enabled = true;
+        public int DumpIntervalSeconds = 300;
+    }
+
+    public static class EventSettings {
+        public int AsyncQueueSize = 1024;
+        public int SlowListenerMillis = 5;
+    }
+
+    public static class ProtectionSettings {
+        public int DenialCooldownMillis = 1500;
+        public boolean ShowBlockedCount = true;
+    }
+
+    public static class PurgeSettings {
+        public boolean Enabled = false;
+        public int InactiveDays = 60;
+        public boolean DeleteInactivePlots = false;
+        public boolean ResetDeletedPlots = true;
+        public int ScanIntervalMinutes = 60;
+        public int OwnersPerTick = 50;
+        public int MaxReportEntries = 1000;
+    }
+
+    /**
+     * An additional plot world with its own layout. Sections left out use the
+     * values of the main config.
+     */
+    public static class WorldDefinition {
+        public String Name;
+        public String DefaultWorldTime;
+        public PlotSettings Plots;
+        public BlockSettings Blocks;
+        public PrefabSettings Prefabs;
     }
 
     private GeneralSettings General = new GeneralSettings();
@@ -53,11 +142,278 @@ public class PlotConfig {
     private BlockSettings Blocks = new BlockSettings();
     private PrefabSettings Prefabs = new PrefabSettings();
     private HologramSettings Holograms = new HologramSettings();
+    private WorldMapSettings WorldMap = new WorldMapSettings();
+    private ResetSettings Reset = new ResetSettings();
+    private SchematicSettings Schematics = new SchematicSettings();
+    private SnapshotSettings Snapshots = new SnapshotSettings();
+    private AuditSettings Audit = new AuditSettings();
+    private ProtectionSettings Protection = new ProtectionSettings();
+    private PurgeSettings Purge = new PurgeSettings();
+    private MetricsSettings Metrics = new MetricsSettings();
+    private EventSettings Events = new EventSettings();
+    private List<WorldDefinition> Worlds = new ArrayList<>();
+
+    // Derived values, computed by freeze()
+    private transient boolean frozen;
+    private transient int plotSizeX;
+    private transient int plotSizeZ;
+    private transient int roadSizeX;
+    private transient int roadSizeZ;
+    private transient int periodX;
+    private transient int periodZ;
+    private transient String bedrockBlock;
+    private transient String plotSurfaceBlock;
+    private transient String plotSubSurfaceBlock;
+    private transient String roadSurfaceBlock;
+    private transient String borderBlock;
+    private transient String fillingBlock;
+    private transient Map<String, PlotConfig> worldConfigs = Collections.emptyMap();
 
     public static PlotConfig getDefault() {
         return new PlotConfig();
     }
 
+    /**
+     * Validates the settings, computes derived values and makes the config
+     * read-only
+     *
+     * @return This config
+     */
+    @Nonnull
+    public PlotConfig freeze() {
+        if (frozen)
+            return this;
+
+        fillMissingSections();
+
+        if (General.Language == null || General.Language.isBlank()) {
+            General.Language = "en_us";
+        }
+        if (World.PlotWorldName == null || World.PlotWorldName.isBlank()) {
+            ConsoleColors.warning("Config: World.PlotWorldName is empty, using 'plotworld'");
+            World.PlotWorldName = "plotworld";
+        }
+
+        computeDerived();
+        warnIfClamped("PlotSizeX", rawPlotSizeX(), plotSizeX);
+        warnIfClamped("PlotSizeZ", rawPlotSizeZ(), plotSizeZ);
+        warnIfClamped("RoadSizeX", rawRoadSizeX(), roadSizeX);
+        warnIfClamped("RoadSizeZ", rawRoadSizeZ(), roadSizeZ);
+
+        frozen = true;
+        return this;
+    }
+
+    // Sections are null when written as "null" in config.json
+    private void fillMissingSections() {
+        if (General == null)
+            General = new GeneralSettings();
+        if (World == null)
+            World = new WorldSettings();
+        if (Plots == null)
+            Plots = new PlotSettings();
+        if (Blocks == null)
+            Blocks = new BlockSettings();
+        if (Prefabs == null)
+            Prefabs = new PrefabSettings();
+        if (Holograms == null)
+            Holograms = new HologramSettings();
+        if (WorldMap == null)
+            WorldMap = new WorldMapSettings();
+        if (Reset == null)
+            Reset = new ResetSettings();
+        if (Schematics == null)
+            Schematics = new SchematicSettings();
+        if (Snapshots == null)
+            Snapshots = new SnapshotSettings();
+        if (Audit == null)
+            Audit = new AuditSettings();
+        if (Protection == null)
+            Protection = new ProtectionSettings();
+        if (Purge == null)
+            Purge = new PurgeSettings();
+        if (Metrics == null)
+            Metrics = new MetricsSettings();
+        if (Events == null)
+            Events = new EventSettings();
+        if (Worlds == null)
+            Worlds = new ArrayList<>();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Checks whether another config describes the same world layout. Layout
+     * settings shape already generated terrain and need a restart to change.
+     */
+    public boolean hasSameLayout(@Nonnull PlotConfig other) {
+        if (!frozen) {
+            fillMissingSections();
+            computeDerived();
+        }
+        if (!other.frozen) {
+            other.fillMissingSections();
+            other.computeDerived();
+        }
+        return Objects.equals(getPlotWorldName(), other.getPlotWorldName())
+                && plotSizeX == other.plotSizeX && plotSizeZ == other.plotSizeZ
+                && roadSizeX == other.roadSizeX && roadSizeZ == other.roadSizeZ
+                && bedrockBlock.equals(other.bedrockBlock)
+                && plotSurfaceBlock.equals(other.plotSurfaceBlock)
+                && plotSubSurfaceBlock.equals(other.plotSubSurfaceBlock)
+                && roadSurfaceBlock.equals(other.roadSurfaceBlock)
+                && borderBlock.equals(other.borderBlock)
+                && fillingBlock.equals(other.fillingBlock)
+                && Objects.equals(Prefabs.Road, other.Prefabs.Road)
+                && Objects.equals(Prefabs.Plot, other.Prefabs.Plot)
+                && Objects.equals(Prefabs.Intersection, other.Prefabs.Intersection);
+    }
+
+    /**
+     * Copies the world layout settings (world, grid, blocks and prefabs) of
+     * another config into this unfrozen config
+     */
+    public void copyLayoutFrom(@Nonnull PlotConfig other) {
+        checkMutable();
+        World = other.World;
+        Blocks = other.Blocks;
+        Prefabs = other.Prefabs;
+        if (Plots == null)
+            Plots = new PlotSettings();
+        Plots.PlotSize = 32;
+        Plots.RoadSize = 4;
+        Plots.PlotSizeX = other.plotSizeX;
+        Plots.PlotSizeZ = other.plotSizeZ;
+        Plots.RoadSizeX = other.roadSizeX;
+        Plots.RoadSizeZ = other.roadSizeZ;
+    }
+
+    /**
+     * Get the additional plot worlds declared in config.json
+     */
+    @Nonnull
+    public List<WorldDefinition> getWorldDefinitions() {
+        return Worlds != null ? Collections.unmodifiableList(Worlds) : Collections.emptyList();
+    }
+
+    /**
+     * Creates the unfrozen config of an additional plot world. Settings that
+     * are not part of the world layout are shared with this config.
+     */
+    @Nonnull
+    public PlotConfig createWorldConfig(@Nonnull WorldDefinition definition) {
+        fillMissingSections();
+
+        PlotConfig worldConfig = new PlotConfig();
+        worldConfig.General = General;
+        worldConfig.Holograms = Holograms;
+        worldConfig.WorldMap = WorldMap;
+        worldConfig.Reset = Reset;
+        worldConfig.Schematics = Schematics;
+        worldConfig.Snapshots = Snapshots;
+        worldConfig.Audit = Audit;
+        worldConfig.Protection = Protection;
+        worldConfig.Purge = Purge;
+        worldConfig.Metrics = Metrics;
+        worldConfig.Events = Events;
+        worldConfig.Worlds = Collections.emptyList();
+
+        worldConfig.World = new WorldSettings();
+        worldConfig.World.PlotWorldName = definition.Name;
+        worldConfig.World.DefaultWorldTime = definition.DefaultWorldTime != null ? definition.DefaultWorldTime
+                : World.DefaultWorldTime;
+
+        // Grid sizes are adjusted to prefabs before freezing, so never share them
+        PlotSettings source = definition.Plots != null ? definition.Plots : Plots;
+        worldConfig.Plots = new PlotSettings();
+        worldConfig.Plots.PlotSize = source.PlotSize;
+        worldConfig.Plots.PlotSizeX = source.PlotSizeX;
+        worldConfig.Plots.PlotSizeZ = source.PlotSizeZ;
+        worldConfig.Plots.RoadSize = source.RoadSize;
+        worldConfig.Plots.RoadSizeX = source.RoadSizeX;
+        worldConfig.Plots.RoadSizeZ = source.RoadSizeZ;
+        worldConfig.Plots.MaxPlotsDefault = Plots.MaxPlotsDefault;
+        worldConfig.Plots.MaxPlotLimit = Plots.MaxPlotLimit;
+
+        worldConfig.Blocks = definition.Blocks != null ? definition.Blocks : Blocks;
+        worldConfig.Prefabs = definition.Prefabs != null ? definition.Prefabs : Prefabs;
+        return worldConfig;
+    }
+
+    /**
+     * Attaches the frozen configs of the additional plot worlds, by world name
+     */
+    public void setWorldConfigs(@Nonnull Map<String, PlotConfig> configs) {
+        checkMutable();
+        worldConfigs = Collections.unmodifiableMap(new LinkedHashMap<>(configs));
+    }
+
+    /**
+     * Get the config of an additional plot world
+     *
+     * @param worldName The world name
+     * @return The world's config, or {@code null} if it is not an additional
+     *         plot world
+     */
+    @Nullable
+    public PlotConfig getWorldConfig(@Nonnull String worldName) {
+        return worldConfigs.get(worldName);
+    }
+
+    /**
+     * Get the configs of all additional plot worlds
+     */
+    @Nonnull
+    public Collection<PlotConfig> getWorldConfigs() {
+        return worldConfigs.values();
+    }
+
+    private void checkMutable() {
+        if (frozen)
+            throw new IllegalStateException("PlotConfig is frozen");
+    }
+
+    private void computeDerived() {
+        plotSizeX = Math.max(1, rawPlotSizeX());
+        plotSizeZ = Math.max(1, rawPlotSizeZ());
+        roadSizeX = Math.max(0, rawRoadSizeX());
+        roadSizeZ = Math.max(0, rawRoadSizeZ());
+        periodX = plotSizeX + roadSizeX;
+        periodZ = plotSizeZ + roadSizeZ;
+
+        bedrockBlock = normalizeBlockName(Blocks.Bedrock);
+        plotSurfaceBlock = normalizeBlockName(Blocks.PlotSurface);
+        plotSubSurfaceBlock = normalizeBlockName(Blocks.PlotSubSurface);
+        roadSurfaceBlock = normalizeBlockName(Blocks.RoadSurface);
+        borderBlock = normalizeBlockName(Blocks.Border);
+        fillingBlock = normalizeBlockName(Blocks.Filling);
+    }
+
+    // Legacy PlotSize/RoadSize apply while the per-axis values are at their defaults
+    private int rawPlotSizeX() {
+        return (Plots.PlotSize != 32 && Plots.PlotSizeX == 32) ? Plots.PlotSize : Plots.PlotSizeX;
+    }
+
+    private int rawPlotSizeZ() {
+        return (Plots.PlotSize != 32 && Plots.PlotSizeZ == 32) ? Plots.PlotSize : Plots.PlotSizeZ;
+    }
+
+    private int rawRoadSizeX() {
+        return (Plots.RoadSize != 4 && Plots.RoadSizeX == 4) ? Plots.RoadSize : Plots.RoadSizeX;
+    }
+
+    private int rawRoadSizeZ() {
+        return (Plots.RoadSize != 4 && Plots.RoadSizeZ == 4) ? Plots.RoadSize : Plots.RoadSizeZ;
+    }
+
+    private void warnIfClamped(@Nonnull String name, int value, int used) {
+        if (value != used) {
+            ConsoleColors.warning("Config: Plots." + name + " must be at least " + used + ", got " + value);
+        }
+    }
+
     public String getLanguage() {
         return General.Language;
     }
@@ -66,6 +422,10 @@ public class PlotConfig {
         return General.AutoSaveIntervalSeconds;
     }
 
+    public boolean isDebug() {
+        return General.Debug;
+    }
+
     public String getPlotWorldName() {
         return World.PlotWorldName;
     }
@@ -83,34 +443,52 @@ public class PlotConfig {
     }
 
     public int getPlotSizeX() {
-        return (Plots.PlotSize != 32 && Plots.PlotSizeX == 32) ? Plots.PlotSize : Plots.PlotSizeX;
+        return plotSizeX;
     }
 
     public int getPlotSizeZ() {
-        return (Plots.PlotSize != 32 && Plots.PlotSizeZ == 32) ? Plots.PlotSize : Plots.PlotSizeZ;
+        return plotSizeZ;
     }
 
     public int getRoadSizeX() {
-        return (Plots.RoadSize != 4 && Plots.RoadSizeX == 4) ? Plots.RoadSize : Plots.RoadSizeX;
+        return roadSizeX;
     }
 
     public int getRoadSizeZ() {
-        return (Plots.RoadSize != 4 && Plots.RoadSizeZ == 4) ? Plots.RoadSize : Plots.RoadSizeZ;
+        return roadSizeZ;
+    }
+
+    /**
+     * Distance between the starts of two neighbouring plots along X
+     */
+    public int getPeriodX() {
+        return periodX;
+    }
+
+    /**
+     * Distance between the starts of two neighbouring plots along Z
+     */
+    public int getPeriodZ() {
+        return periodZ;
     }
 
     public void setPlotSizeX(int size) {
+        checkMutable();
         Plots.PlotSizeX = size;
     }
 
     public void setPlotSizeZ(int size) {
+        checkMutable();
         Plots.PlotSizeZ = size;
     }
 
     public void setRoadSizeX(int size) {
+        checkMutable();
         Plots.RoadSizeX = size;
     }
 
     public void setRoadSizeZ(int size) {
+        checkMutable();
         Plots.RoadSizeZ = size;
     }
 
@@ -126,11 +504,13 @@ public class PlotConfig {
 
     @Deprecated
     public void setPlotSize(int size) {
+        checkMutable();
         Plots.PlotSize = Plots.PlotSizeX = Plots.PlotSizeZ = size;
     }
 
     @Deprecated
     public void setRoadSize(int size) {
+        checkMutable();
         Plots.RoadSize = Plots.RoadSizeX = Plots.RoadSizeZ = size;
     }
 
@@ -158,7 +538,131 @@ public class PlotConfig {
         return Holograms.TitleColor;
     }
 
-    private String normalizeBlockName(String name) {
+    public int getHologramViewDistanceChunks() {
+        return Holograms.ViewDistanceChunks;
+    }
+
+    public boolean isWorldMapEnabled() {
+        return WorldMap.Enabled;
+    }
+
+    /**
+     * Get the number of plots per side of a world map region
+     */
+    public int getWorldMapRegionPlots() {
+        return Math.max(1, WorldMap.RegionPlots);
+    }
+
+    public String getWorldMapMarkerImage() {
+        return WorldMap.MarkerImage != null && !WorldMap.MarkerImage.isBlank() ? WorldMap.MarkerImage
+                : "Coordinate.png";
+    }
+
+    public boolean isResetOnDelete() {
+        return Reset.ResetOnDelete;
+    }
+
+    public int getResetBlocksPerTick() {
+        return Math.max(1, Reset.BlocksPerTick);
+    }
+
+    public int getResetTickIntervalMillis() {
+        return Math.max(1, Reset.TickIntervalMillis);
+    }
+
+    public int getSchematicBlocksPerTick() {
+        return Math.max(1, Schematics.BlocksPerTick);
+    }
+
+    public int getSchematicMaxExportsPerPlayer() {
+        return Math.max(0, Schematics.MaxExportsPerPlayer);
+    }
+
+    public boolean isSnapshotsEnabled() {
+        return Snapshots.Enabled;
+    }
+
+    public int getSnapshotIntervalMinutes() {
+        return Math.max(1, Snapshots.IntervalMinutes);
+    }
+
+    public int getSnapshotMaxPerPlot() {
+        return Math.max(1, Snapshots.MaxPerPlot);
+    }
+
+    public int getSnapshotMaxAgeDays() {
+        return Math.max(0, Snapshots.MaxAgeDays);
+    }
+
+    public boolean isAuditEnabled() {
+        return Audit.Enabled;
+    }
+
+    public int getAuditBufferSize() {
+        return Math.max(16, Audit.BufferSize);
+    }
+
+    public int getAuditFlushIntervalSeconds() {
+        return Math.max(1, Audit.FlushIntervalSeconds);
+    }
+
+    public long getAuditMaxRegionFileBytes() {
+        return Math.max(64, Audit.MaxRegionFileKB) * 1024L;
+    }
+
+    public int getDenialCooldownMillis() {
+        return Math.max(0, Protection.DenialCooldownMillis);
+    }
+
+    public boolean isShowBlockedCount() {
+        return Protection.ShowBlockedCount;
+    }
+
+    public boolean isPurgeEnabled() {
+        return Purge.Enabled;
+    }
+
+    public int getPurgeInactiveDays() {
+        return Math.max(1, Purge.InactiveDays);
+    }
+
+    public boolean isPurgeDeleteInactivePlots() {
+        return Purge.DeleteInactivePlots;
+    }
+
+    public boolean isPurgeResetDeletedPlots() {
+        return Purge.ResetDeletedPlots;
+    }
+
+    public int getPurgeScanIntervalMinutes() {
+        return Math.max(1, Purge.ScanIntervalMinutes);
+    }
+
+    public int getPurgeOwnersPerTick() {
+        return Math.max(1, Purge.OwnersPerTick);
+    }
+
+    public int getPurgeMaxReportEntries() {
+        return Math.max(0, Purge.MaxReportEntries);
+    }
+
+    public boolean isMetricsEnabled() {
+        return Metrics.Enabled;
+    }
+
+    public int getMetricsDumpIntervalSeconds() {
+        return Metrics.DumpIntervalSeconds;
+    }
+
+    public int getEventAsyncQueueSize() {
+        return Math.max(1, Events.AsyncQueueSize);
+    }
+
+    public int getEventSlowListenerMillis() {
+        return Math.max(0, Events.SlowListenerMillis);
+    }
+
+    private static String normalizeBlockName(String name) {
         if (name == null || name.isEmpty())
             return "Empty";
         String lower = name.toLowerCase().trim();
@@ -169,48 +673,46 @@ public class PlotConfig {
     }
 
     public String getBedrockBlock() {
-        return normalizeBlockName(Blocks.Bedrock);
+        return bedrockBlock;
     }
 
     public String getPlotSurfaceBlock() {
-        return normalizeBlockName(Blocks.PlotSurface);
+        return plotSurfaceBlock;
     }
 
     public String getPlotSubSurfaceBlock() {
-        return normalizeBlockName(Blocks.PlotSubSurface);
+        return plotSubSurfaceBlock;
     }
 
     public String getRoadSurfaceBlock() {
-        return normalizeBlockName(Blocks.RoadSurface);
+        return roadSurfaceBlock;
     }
 
     public String getBorderBlock() {
-        return normalizeBlockName(Blocks.Border);
+        return borderBlock;
     }
 
     public String getFillingBlock() {
-        return normalizeBlockName(Blocks.Filling);
+        return fillingBlock;
     }
 
     /**
      * Convert world coordinate to grid coordinate
      */
     public int worldToGridX(int worldX) {
-        int totalSize = getPlotSizeX() + getRoadSizeX();
-        return (worldX >= 0) ? worldX / totalSize : (worldX - totalSize + 1) / totalSize;
+        return Math.floorDiv(worldX, periodX);
     }
 
     public int worldToGridZ(int worldZ) {
-        int totalSize = getPlotSizeZ() + getRoadSizeZ();
-        return (worldZ >= 0) ? worldZ / totalSize : (worldZ - totalSize + 1) / totalSize;
+        return Math.floorDiv(worldZ, periodZ);
     }
 
     public int gridToWorldX(int gridX) {
-        return gridX * (getPlotSizeX() + getRoadSizeX());
+        return gridX * periodX;
     }
 
     public int gridToWorldZ(int gridZ) {
-        return gridZ * (getPlotSizeZ() + getRoadSizeZ());
+        return gridZ * periodZ;
     }
 
     /**
@@ -218,14 +720,17 @@ public class PlotConfig {
      * world
      */
     public boolean isInPlot(String worldName, int worldX, int worldZ) {
-        if (!worldName.equals(getPlotWorldName())) {
-            return false;
-        }
-        int totalSizeX = getPlotSizeX() + getRoadSizeX();
-        int totalSizeZ = getPlotSizeZ() + getRoadSizeZ();
-        int localX = Math.floorMod(worldX, totalSizeX);
-        int localZ = Math.floorMod(worldZ, totalSizeZ);
-        return localX < getPlotSizeX() && localZ < getPlotSizeZ();
+        return worldName.equals(getPlotWorldName()) && isInPlot(worldX, worldZ);
+    }
+
+    /**
+     * Check if coordinates in this config's world are within a plot (not on a
+     * road)
+     */
+    public boolean isInPlot(int worldX, int worldZ) {
+        int localX = Math.floorMod(worldX, periodX);
+        int localZ = Math.floorMod(worldZ, periodZ);
+        return localX < plotSizeX && localZ < plotSizeZ;
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.overworldlabs.plots.model;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Per-plot protection rules.
+ * <p>
+ * Each flag is one bit of a {@code long}, so a plot stores all of its flags in
+ * a single field and a check is a mask test. Flags a plot has not set fall
+ * back to their default.
+ * </p>
+ */
+public enum PlotFlag {
+    /**
+     * Players may damage each other on the plot
+     */
+    PVP("pvp", false, true),
+    /**
+     * Mobs may spawn on the plot. Stored only, not enforced yet
+     */
+    MOB_SPAWNING("mob-spawning", true, false),
+    /**
+     * Visitors may use blocks such as doors and containers
+     */
+    INTERACT("interact", false, true),
+    /**
+     * Only the owner and trusted players may enter the plot
+     */
+    ENTRY_DENY("entry-deny", false, true),
+    /**
+     * Fluids may flow on the plot. Stored only, not enforced yet
+     */
+    FLUID_FLOW("fluid-flow", true, false),
+    /**
+     * Fire may spread and burn blocks on the plot. Stored only, not enforced
+     * yet
+     */
+    FIRE("fire", false, false);
+
+    private static final PlotFlag[] VALUES = values();
+
+    /**
+     * Bits of the flags that are enabled by default
+     */
+    public static final long DEFAULTS;
+
+    static {
+        long defaults = 0L;
+        for (PlotFlag flag : VALUES) {
+            if (flag.defaultValue) {
+                defaults |= flag.bit;
+            }
+        }
+        DEFAULTS = defaults;
+    }
+
+    private final String key;
+    private final boolean defaultValue;
+    private final boolean enforced;
+    private final long bit;
+
+    PlotFlag(@Nonnull String key, boolean defaultValue, boolean enforced) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.enforced = enforced;
+        this.bit = 1L << ordinal();
+    }
+
+    /**
+     * Get the name used in commands and translations
+     */
+    @Nonnull
+    public String getKey() {
+        return key;
+    }
+
+    public boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Whether the plugin acts on this flag. Flags that are not enforced can
+     * be set and read, e.g. through the API, but change nothing in the world
+     * yet.
+     */
+    public boolean isEnforced() {
+        return enforced;
+    }
+
+    /**
+     * Get the bit of this flag in a plot's flag mask
+     */
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * Finds a flag by its key or enum name, ignoring case
+     *
+     * @return The flag, or {@code null} if there is none
+     */
+    @Nullable
+    public static PlotFlag fromKey(@Nullable String key) {
+        if (key == null)
+            return null;
+
+        String normalized = key.toLowerCase(Locale.ROOT).replace('_', '-');
+        for (PlotFlag flag : VALUES) {
+            if (flag.key.equals(normalized))
+                return flag;
+        }
+        return null;
+    }
+}
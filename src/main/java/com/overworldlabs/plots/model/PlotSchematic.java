@@ -0,0 +1,362 @@
+package com.overworldlabs.plots.model;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A copy of the blocks of one plot.
+ * <p>
+ * Schematics are GZIP-compressed and written and read as a stream. The header
+ * holds a magic number, the format version and the size as varints. It is
+ * followed by runs of blocks in {@link Cursor} order, each a varint palette
+ * index and a varint run length minus one. The palette is built while
+ * writing: the index one past the last entry introduces a new block, whose
+ * key follows in modified UTF-8. Blocks are stored by key, so schematics stay
+ * valid when block ids change between server versions.
+ * </p>
+ */
+public final class PlotSchematic {
+    public static final String FILE_EXTENSION = ".plotschem";
+    // Side of the square tiles of columns, see Cursor
+    public static final int TILE = 32;
+
+    private static final int MAGIC = 0x504C5343; // "PLSC"
+    private static final int VERSION = 1;
+    private static final int MAX_SIZE = 4096;
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    // The complete compressed file
+    private final byte[] data;
+
+    private PlotSchematic(int sizeX, int sizeY, int sizeZ, @Nonnull byte[] data) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.data = data;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    public long getBlockCount() {
+        return (long) sizeX * sizeY * sizeZ;
+    }
+
+    /**
+     * Get the compressed size in bytes
+     */
+    public int getCompressedSize() {
+        return data.length;
+    }
+
+    /**
+     * Starts writing a schematic of the given size. Blocks must be added in
+     * {@link Cursor} order.
+     */
+    @Nonnull
+    public static Writer writer(int sizeX, int sizeY, int sizeZ) {
+        return new Writer(sizeX, sizeY, sizeZ);
+    }
+
+    /**
+     * Opens a reader that returns the block keys in {@link Cursor} order
+     */
+    @Nonnull
+    public Reader openReader() throws IOException {
+        return new Reader(new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data))));
+    }
+
+    @Nonnull
+    public Cursor cursor() {
+        return new Cursor(sizeX, sizeY, sizeZ);
+    }
+
+    /**
+     * Reads a schematic and checks its header
+     *
+     * @throws IOException if the data is not a schematic of a supported
+     *                     version
+     */
+    @Nonnull
+    public static PlotSchematic read(@Nonnull InputStream in) throws IOException {
+        byte[] data = in.readAllBytes();
+        try (DataInputStream header = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            int[] size = readHeader(header);
+            return new PlotSchematic(size[0], size[1], size[2], data);
+        }
+    }
+
+    public void write(@Nonnull OutputStream out) throws IOException {
+        out.write(data);
+    }
+
+    @Nonnull
+    private static int[] readHeader(@Nonnull DataInput in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a plot schematic");
+        int version = readVarInt(in);
+        if (version != VERSION)
+            throw new IOException("Unsupported schematic version " + version);
+
+        int sizeX = readVarInt(in);
+        int sizeY = readVarInt(in);
+        int sizeZ = readVarInt(in);
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0 || sizeX > MAX_SIZE || sizeY > MAX_SIZE || sizeZ > MAX_SIZE)
+            throw new IOException("Invalid schematic size " + sizeX + "x" + sizeY + "x" + sizeZ);
+        return new int[] { sizeX, sizeY, sizeZ };
+    }
+
+    private static void writeVarInt(@Nonnull DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(@Nonnull DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint in schematic");
+    }
+
+    /**
+     * Encodes blocks into a schematic, compressing as it goes
+     */
+    public static final class Writer {
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final long total;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out;
+        private final Map<String, Integer> palette = new HashMap<>();
+
+        private String runKey;
+        private int runLength;
+        private long written;
+
+        private Writer(int sizeX, int sizeY, int sizeZ) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.total = (long) sizeX * sizeY * sizeZ;
+            try {
+                this.out = new DataOutputStream(new GZIPOutputStream(bytes));
+                out.writeInt(MAGIC);
+                writeVarInt(out, VERSION);
+                writeVarInt(out, sizeX);
+                writeVarInt(out, sizeY);
+                writeVarInt(out, sizeZ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Adds the next block
+         */
+        public void add(@Nonnull String blockKey) {
+            if (written >= total)
+                throw new IllegalStateException("Schematic is already complete");
+            written++;
+
+            if (blockKey.equals(runKey)) {
+                runLength++;
+                return;
+            }
+            flushRun();
+            runKey = blockKey;
+            runLength = 1;
+        }
+
+        /**
+         * Get the number of distinct blocks so far
+         */
+        public int getPaletteSize() {
+            return palette.size();
+        }
+
+        /**
+         * Completes the schematic
+         *
+         * @throws IllegalStateException if fewer blocks than the size were
+         *                               added
+         */
+        @Nonnull
+        public PlotSchematic finish() {
+            if (written != total)
+                throw new IllegalStateException("Schematic has " + written + " of " + total + " blocks");
+            flushRun();
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new PlotSchematic(sizeX, sizeY, sizeZ, bytes.toByteArray());
+        }
+
+        private void flushRun() {
+            if (runKey == null)
+                return;
+
+            try {
+                Integer index = palette.get(runKey);
+                if (index == null) {
+                    // One past the last entry: a new block follows
+                    writeVarInt(out, palette.size());
+                    out.writeUTF(runKey);
+                    palette.put(runKey, palette.size());
+                } else {
+                    writeVarInt(out, index);
+                }
+                writeVarInt(out, runLength - 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Decodes the blocks of a schematic in {@link Cursor} order
+     */
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final List<String> palette = new ArrayList<>();
+
+        private String runKey;
+        private int remaining;
+
+        private Reader(@Nonnull DataInputStream in) throws IOException {
+            this.in = in;
+            readHeader(in);
+        }
+
+        /**
+         * Get the key of the next block
+         *
+         * @throws IOException if the data ends early or is corrupt
+         */
+        @Nonnull
+        public String next() throws IOException {
+            if (remaining == 0) {
+                int index = readVarInt(in);
+                if (index == palette.size()) {
+                    palette.add(in.readUTF());
+                } else if (index > palette.size()) {
+                    throw new IOException("Corrupt schematic palette index " + index);
+                }
+                runKey = palette.get(index);
+                remaining = readVarInt(in) + 1;
+            }
+            remaining--;
+            return runKey;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Walks the blocks of a schematic in stored order: tiles of 32 x 32
+     * columns in plot-local coordinates, X major, then the columns of a tile,
+     * then Y upwards. On a chunk-aligned plot each tile is one chunk.
+     */
+    public static final class Cursor {
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final int tilesX;
+        private final int tilesZ;
+
+        private int tileX;
+        private int tileZ;
+        private int column;
+        private int y;
+
+        public Cursor(int sizeX, int sizeY, int sizeZ) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.tilesX = (sizeX + TILE - 1) / TILE;
+            this.tilesZ = (sizeZ + TILE - 1) / TILE;
+        }
+
+        public boolean hasNext() {
+            return tileX < tilesX;
+        }
+
+        public int x() {
+            return tileX * TILE + column % tileWidth();
+        }
+
+        public int y() {
+            return y;
+        }
+
+        public int z() {
+            return tileZ * TILE + column / tileWidth();
+        }
+
+        /**
+         * Checks whether the cursor is at the bottom of a column
+         */
+        public boolean isColumnStart() {
+            return y == 0;
+        }
+
+        public void advance() {
+            if (++y < sizeY)
+                return;
+            y = 0;
+
+            int depth = Math.min(TILE, sizeZ - tileZ * TILE);
+            if (++column < tileWidth() * depth)
+                return;
+            column = 0;
+
+            if (++tileZ < tilesZ)
+                return;
+            tileZ = 0;
+            tileX++;
+        }
+
+        private int tileWidth() {
+            return Math.min(TILE, sizeX - tileX * TILE);
+        }
+    }
+}
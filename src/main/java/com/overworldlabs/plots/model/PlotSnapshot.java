@@ -0,0 +1,98 @@
+package com.overworldlabs.plots.model;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A saved state of the blocks of one plot.
+ * <p>
+ * A snapshot only lists the content hashes of its sections, in the tile order
+ * of {@link PlotSchematic.Cursor}: for every tile of 32 x 32 columns, its
+ * slabs of {@link #SECTION_HEIGHT} blocks from the bottom up. The sections
+ * themselves are stored once in the snapshot blob store, so sections that did
+ * not change between snapshots, or that are equal across plots, take no
+ * additional space.
+ * </p>
+ */
+public class PlotSnapshot {
+    public static final int SECTION_HEIGHT = 32;
+
+    private final int id;
+    private final long createdAt;
+    private final UUID owner;
+    // Player who took the snapshot, or null for automatic snapshots
+    private final UUID createdBy;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final List<String> sections;
+    // Sections this snapshot added to the blob store, not persisted
+    private transient int newSections;
+
+    public PlotSnapshot(int id, long createdAt, @Nonnull UUID owner, @Nullable UUID createdBy, int sizeX, int sizeY,
+            int sizeZ, @Nonnull List<String> sections) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.owner = owner;
+        this.createdBy = createdBy;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.sections = sections;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Get the owner of the plot when the snapshot was taken
+     */
+    public UUID getOwner() {
+        return owner;
+    }
+
+    @Nullable
+    public UUID getCreatedBy() {
+        return createdBy;
+    }
+
+    public boolean isAutomatic() {
+        return createdBy == null;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Get the content hashes of the sections, in stored order
+     */
+    @Nonnull
+    public List<String> getSections() {
+        return sections != null ? Collections.unmodifiableList(sections) : Collections.emptyList();
+    }
+
+    public int getNewSections() {
+        return newSections;
+    }
+
+    public void setNewSections(int newSections) {
+        this.newSections = newSections;
+    }
+}
@@ -11,11 +11,10 @@ import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.overworldlabs.plots.Plots;
-import com.overworldlabs.plots.manager.PlotManager;
-import com.overworldlabs.plots.manager.TranslationManager;
-import com.overworldlabs.plots.manager.WorldManager;
-import com.overworldlabs.plots.util.ChatUtil;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlotSnapshotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
 
 import javax.annotation.Nonnull;
 
@@ -23,13 +22,16 @@ import javax.annotation.Nonnull;
  * System to protect blocks from being broken.
  */
 public class BreakProtectionSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
-    private final PlotManager plotManager;
-    private final WorldManager worldManager;
+    private final PlotWorldRegistry plotWorlds;
+    private final DenialThrottle denialThrottle;
+    private final PlotSnapshotManager snapshotManager;
 
-    public BreakProtectionSystem(PlotManager plotManager, WorldManager worldManager) {
+    public BreakProtectionSystem(PlotWorldRegistry plotWorlds, DenialThrottle denialThrottle,
+            PlotSnapshotManager snapshotManager) {
         super(BreakBlockEvent.class);
-        this.plotManager = plotManager;
-        this.worldManager = worldManager;
+        this.plotWorlds = plotWorlds;
+        this.denialThrottle = denialThrottle;
+        this.snapshotManager = snapshotManager;
     }
 
     @Override
@@ -37,7 +39,8 @@ public class BreakProtectionSystem extends EntityEventSystem<EntityStore, BreakB
             @Nonnull CommandBuffer<EntityStore> buffer, @Nonnull BreakBlockEvent event) {
 
         World world = ((EntityStore) store.getExternalData()).getWorld();
-        if (!world.getName().equals(worldManager.getWorldName())) {
+        PlotWorld plotWorld = plotWorlds.get(world);
+        if (plotWorld == null) {
             return;
         }
 
@@ -48,10 +51,14 @@ public class BreakProtectionSystem extends EntityEventSystem<EntityStore, BreakB
 
         Vector3i pos = event.getTargetBlock();
 
-        if (!plotManager.canModify(playerRef, world, pos.x, pos.y, pos.z)) {
+        if (!plotWorld.getPlotManager().canModify(playerRef, world, pos.x, pos.y, pos.z)) {
             event.setCancelled(true);
-            TranslationManager tm = Plots.getInstance().getTranslationManager();
-            playerRef.sendMessage(ChatUtil.error(tm.get("protection.no_permission_break")));
+            denialThrottle.deny(playerRef, "protection.no_permission_break");
+        } else {
+            plotWorld.getAuditLog().record(pos.x, pos.y, pos.z, world.getBlock(pos.x, pos.y, pos.z),
+                    playerRef.getUuid(), false);
+            snapshotManager.markEdited(plotWorld, pos.x, pos.z);
+            plotWorld.getPlotManager().getSpawnCache().invalidate(pos.x, pos.z);
         }
     }
 
@@ -10,61 +10,58 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.overworldlabs.plots.integration.buildertools.BuilderToolsIntegration;
-import com.overworldlabs.plots.manager.WorldManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
 import com.overworldlabs.plots.util.ConsoleColors;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * ECS System to manage BuilderTools global masking for players in the plot
- * world
+ * ECS System to manage BuilderTools global masking for players in plot worlds
  */
 public class BuilderToolsMaskSystem extends EntityTickingSystem<EntityStore> {
-    private final WorldManager worldManager;
+    private final PlotWorldRegistry plotWorlds;
     private final BuilderToolsIntegration integration;
-    private final Set<UUID> playersWithMask = new HashSet<>();
+    // Player -> plot world the mask was created in
+    private final Map<UUID, String> playersWithMask = new ConcurrentHashMap<>();
 
-    public BuilderToolsMaskSystem(@Nonnull WorldManager worldManager, @Nonnull BuilderToolsIntegration integration) {
-        this.worldManager = worldManager;
+    public BuilderToolsMaskSystem(@Nonnull PlotWorldRegistry plotWorlds,
+            @Nonnull BuilderToolsIntegration integration) {
+        this.plotWorlds = plotWorlds;
         this.integration = integration;
-        ConsoleColors.success("[BuilderToolsMaskSystem] System created and initialized!");
+        ConsoleColors.debug("[BuilderToolsMaskSystem] System created and initialized!");
     }
 
     @Override
     public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> chunk,
             @Nonnull Store<EntityStore> store, @Nonnull CommandBuffer<EntityStore> buffer) {
 
-        World plotWorld = worldManager.getPlotWorld();
-        if (plotWorld == null) {
-            return;
-        }
-
         PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
         if (playerRef == null) {
             return;
         }
 
         UUID uuid = playerRef.getUuid();
-        UUID playerWorldUuid = playerRef.getWorldUuid();
-        if (playerWorldUuid == null) {
-            return;
-        }
-
-        boolean inPlotWorld = playerWorldUuid.equals(plotWorld.getWorldConfig().getUuid());
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        PlotWorld plotWorld = plotWorlds.get(world);
+        String maskWorld = playersWithMask.get(uuid);
 
-        if (inPlotWorld && !playersWithMask.contains(uuid)) {
-            // Player entered plot world, apply mask
+        if (plotWorld != null && !plotWorld.getName().equals(maskWorld)) {
+            // Player entered a plot world; masks are bound to the world they were created in
+            if (maskWorld != null) {
+                integration.clearMask(chunk.getReferenceTo(index), buffer);
+            }
             integration.applyMask(chunk.getReferenceTo(index), buffer);
-            playersWithMask.add(uuid);
-            ConsoleColors.success("[BuilderToolsMaskSystem] Applied mask for player: " + uuid);
-        } else if (!inPlotWorld && playersWithMask.contains(uuid)) {
+            playersWithMask.put(uuid, plotWorld.getName());
+            ConsoleColors.debug(() -> "[BuilderToolsMaskSystem] Applied mask for player: " + uuid);
+        } else if (plotWorld == null && maskWorld != null) {
             // Player left plot world, clear mask
             integration.clearMask(chunk.getReferenceTo(index), buffer);
             playersWithMask.remove(uuid);
-            ConsoleColors.info("[BuilderToolsMaskSystem] Cleared mask for player: " + uuid);
+            ConsoleColors.debug(() -> "[BuilderToolsMaskSystem] Cleared mask for player: " + uuid);
         }
     }
 
@@ -0,0 +1,90 @@
+package com.overworldlabs.plots.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlotContext;
+import com.overworldlabs.plots.manager.PlotContextCache;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * System to protect players and entities from being damaged by players.
+ * <p>
+ * The rules of the plot the damaged entity stands on apply: players can only
+ * be hurt on plots with the {@code pvp} flag, other entities only by the
+ * plot's owner and trusted players. Damage that is not dealt by a player is
+ * left alone.
+ * </p>
+ */
+public class DamageProtectionSystem extends EntityEventSystem<EntityStore, Damage> {
+    private final PlotWorldRegistry plotWorlds;
+    private final PlotContextCache contexts;
+    private final DenialThrottle denialThrottle;
+
+    public DamageProtectionSystem(PlotWorldRegistry plotWorlds, PlotContextCache contexts,
+            DenialThrottle denialThrottle) {
+        super(Damage.class);
+        this.plotWorlds = plotWorlds;
+        this.contexts = contexts;
+        this.denialThrottle = denialThrottle;
+    }
+
+    @Override
+    public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> buffer, @Nonnull Damage event) {
+
+        // Projectiles report their shooter as an entity source too
+        if (!(event.getSource() instanceof Damage.EntitySource source))
+            return;
+
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        PlotWorld plotWorld = plotWorlds.get(world);
+        if (plotWorld == null) {
+            return;
+        }
+
+        Ref<EntityStore> attackerRef = source.getRef();
+        if (attackerRef == null || !attackerRef.isValid())
+            return;
+
+        PlayerRef attacker = store.getComponent(attackerRef, PlayerRef.getComponentType());
+        if (attacker == null)
+            return;
+
+        TransformComponent transform = chunk.getComponent(index, TransformComponent.getComponentType());
+        if (transform == null)
+            return;
+
+        Vector3d pos = transform.getPosition();
+        PlotContext context = contexts.resolve(attacker, plotWorld, (int) Math.floor(pos.x),
+                (int) Math.floor(pos.z));
+
+        boolean victimIsPlayer = chunk.getComponent(index, PlayerRef.getComponentType()) != null;
+        if (victimIsPlayer ? context.canAttackPlayers() : context.canAttackEntities())
+            return;
+
+        event.setCancelled(true);
+        PlotMetrics.PROTECTION_DENIED.increment();
+        denialThrottle.deny(attacker, victimIsPlayer ? "protection.no_permission_pvp"
+                : "protection.no_permission_damage");
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.any();
+    }
+}
@@ -0,0 +1,88 @@
+package com.overworldlabs.plots.system;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.integration.holograms.HologramManager;
+import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.WorldManager;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * System to spawn plot holograms only around players in the plot world.
+ * The visible area is only recomputed when a player crosses a chunk border.
+ */
+public class HologramVisibilitySystem extends EntityTickingSystem<EntityStore> {
+    private final PlotManager plotManager;
+    private final WorldManager worldManager;
+    private final HologramManager hologramManager;
+    private final Map<UUID, Long> lastChunk = new ConcurrentHashMap<>();
+
+    public HologramVisibilitySystem(PlotManager plotManager, WorldManager worldManager,
+            HologramManager hologramManager) {
+        this.plotManager = plotManager;
+        this.worldManager = worldManager;
+        this.hologramManager = hologramManager;
+    }
+
+    @Override
+    public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> buffer) {
+
+        if (!plotManager.getConfig().isHologramEnabled())
+            return;
+
+        PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null)
+            return;
+
+        UUID uuid = playerRef.getUuid();
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        if (!world.getName().equals(worldManager.getWorldName())) {
+            // Left the plot world
+            if (lastChunk.remove(uuid) != null) {
+                hologramManager.removeViewer(uuid);
+            }
+            return;
+        }
+
+        Vector3d pos = playerRef.getTransform().getPosition();
+        int chunkX = Math.floorDiv((int) Math.floor(pos.x), 32);
+        int chunkZ = Math.floorDiv((int) Math.floor(pos.z), 32);
+        long chunkKey = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+
+        Long previous = lastChunk.put(uuid, chunkKey);
+        if (previous != null && previous == chunkKey)
+            return;
+
+        int radius = Math.max(0, plotManager.getConfig().getHologramViewDistanceChunks());
+        hologramManager.updateViewer(uuid,
+                hologramManager.getCellsInChunkRange(chunkX - radius, chunkZ - radius, chunkX + radius,
+                        chunkZ + radius),
+                store);
+    }
+
+    /**
+     * Called when a player leaves the server
+     */
+    public void onPlayerDisconnect(@Nonnull UUID playerUuid) {
+        lastChunk.remove(playerUuid);
+        hologramManager.removeViewer(playerUuid);
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Archetype.of(PlayerRef.getComponentType());
+    }
+}
@@ -11,11 +11,11 @@ import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.overworldlabs.plots.Plots;
-import com.overworldlabs.plots.manager.PlotManager;
-import com.overworldlabs.plots.manager.TranslationManager;
-import com.overworldlabs.plots.manager.WorldManager;
-import com.overworldlabs.plots.util.ChatUtil;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlotSnapshotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
+import com.overworldlabs.plots.util.ConsoleColors;
 
 import javax.annotation.Nonnull;
 
@@ -23,13 +23,16 @@ import javax.annotation.Nonnull;
  * System to protect blocks from being placed.
  */
 public class PlaceProtectionSystem extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
-    private final PlotManager plotManager;
-    private final WorldManager worldManager;
+    private final PlotWorldRegistry plotWorlds;
+    private final DenialThrottle denialThrottle;
+    private final PlotSnapshotManager snapshotManager;
 
-    public PlaceProtectionSystem(PlotManager plotManager, WorldManager worldManager) {
+    public PlaceProtectionSystem(PlotWorldRegistry plotWorlds, DenialThrottle denialThrottle,
+            PlotSnapshotManager snapshotManager) {
         super(PlaceBlockEvent.class);
-        this.plotManager = plotManager;
-        this.worldManager = worldManager;
+        this.plotWorlds = plotWorlds;
+        this.denialThrottle = denialThrottle;
+        this.snapshotManager = snapshotManager;
     }
 
     @Override
@@ -37,7 +40,8 @@ public class PlaceProtectionSystem extends EntityEventSystem<EntityStore, PlaceB
             @Nonnull CommandBuffer<EntityStore> buffer, @Nonnull PlaceBlockEvent event) {
 
         World world = ((EntityStore) store.getExternalData()).getWorld();
-        if (!world.getName().equals(worldManager.getWorldName())) {
+        PlotWorld plotWorld = plotWorlds.get(world);
+        if (plotWorld == null) {
             return;
         }
 
@@ -48,18 +52,18 @@ public class PlaceProtectionSystem extends EntityEventSystem<EntityStore, PlaceB
 
         Vector3i pos = event.getTargetBlock();
 
-        com.overworldlabs.plots.util.ConsoleColors.warning("[PlaceProtection] ⚡ PlaceBlockEvent at [" + pos.x + ","
-                + pos.y + "," + pos.z + "] by " + playerRef.getUuid());
-
-        if (!plotManager.canModify(playerRef, world, pos.x, pos.y, pos.z)) {
+        if (!plotWorld.getPlotManager().canModify(playerRef, world, pos.x, pos.y, pos.z)) {
             event.setCancelled(true);
-            TranslationManager tm = Plots.getInstance().getTranslationManager();
-            playerRef.sendMessage(ChatUtil.error(tm.get("protection.no_permission_place")));
-            com.overworldlabs.plots.util.ConsoleColors
-                    .error("[PlaceProtection] ✖ BLOCKED placement at [" + pos.x + "," + pos.y + "," + pos.z + "]");
+            denialThrottle.deny(playerRef, "protection.no_permission_place");
+            // Checked first so the message lambda is not allocated with debug off
+            if (ConsoleColors.isDebugEnabled()) {
+                ConsoleColors.debug("[PlaceProtection] BLOCKED placement at [" + pos.x + "," + pos.y + ","
+                        + pos.z + "] by " + playerRef.getUuid());
+            }
         } else {
-            com.overworldlabs.plots.util.ConsoleColors
-                    .success("[PlaceProtection] ✓ ALLOWED placement at [" + pos.x + "," + pos.y + "," + pos.z + "]");
+            plotWorld.getAuditLog().record(pos.x, pos.y, pos.z, 0, playerRef.getUuid(), true);
+            snapshotManager.markEdited(plotWorld, pos.x, pos.z);
+            plotWorld.getPlotManager().getSpawnCache().invalidate(pos.x, pos.z);
         }
     }
 
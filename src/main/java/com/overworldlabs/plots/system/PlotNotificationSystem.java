@@ -3,85 +3,104 @@ package com.overworldlabs.plots.system;
 import com.hypixel.hytale.component.Archetype;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.math.vector.Transform;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.EventTitleUtil;
 import com.overworldlabs.plots.Plots;
+import com.overworldlabs.plots.manager.DenialThrottle;
 import com.overworldlabs.plots.manager.PlotManager;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
 import com.overworldlabs.plots.manager.TranslationManager;
-import com.overworldlabs.plots.manager.WorldManager;
 import com.overworldlabs.plots.model.Plot;
-import com.overworldlabs.plots.util.ChatUtil;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.PlotFlag;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * System to notify players when they enter the plot world or a plot area
+ * System to notify players when they enter a plot world or a plot area, and to
+ * keep them out of plots with {@link PlotFlag#ENTRY_DENY}
  */
 public class PlotNotificationSystem extends EntityTickingSystem<EntityStore> {
-    private final PlotManager plotManager;
-    private final WorldManager worldManager;
-    private final Map<UUID, String> lastPlotId = new HashMap<>();
-    private final Set<UUID> notifiedWorld = new HashSet<>();
-
-    public PlotNotificationSystem(PlotManager plotManager, WorldManager worldManager) {
-        this.plotManager = plotManager;
-        this.worldManager = worldManager;
+    private final PlotWorldRegistry plotWorlds;
+    private final DenialThrottle denialThrottle;
+    // Plot worlds tick on their own threads
+    private final Map<UUID, String> lastPlotId = new ConcurrentHashMap<>();
+    private final Map<UUID, String> notifiedWorld = new ConcurrentHashMap<>();
+    // Last position outside of denied plots, {x, y, z}, updated in place
+    private final Map<UUID, double[]> lastAllowed = new ConcurrentHashMap<>();
+
+    public PlotNotificationSystem(PlotWorldRegistry plotWorlds, DenialThrottle denialThrottle) {
+        this.plotWorlds = plotWorlds;
+        this.denialThrottle = denialThrottle;
     }
 
     @Override
     public void tick(float dt, int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store,
             @Nonnull CommandBuffer<EntityStore> buffer) {
 
-        World plotWorld = worldManager.getPlotWorld();
-        if (plotWorld == null)
-            return;
-
         // Fix deprecation: use store.getComponent instead of playerRef.getComponent
         PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
         if (playerRef == null)
             return;
 
         UUID uuid = playerRef.getUuid();
-        UUID worldUuid = playerRef.getWorldUuid();
-        if (worldUuid == null || plotWorld.getWorldConfig() == null)
-            return;
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        PlotWorld plotWorld = plotWorlds.get(world);
 
-        // Only notify if in plot world
-        if (!worldUuid.equals(plotWorld.getWorldConfig().getUuid())) {
+        // Only notify if in a plot world
+        if (plotWorld == null) {
             // Cleanup if they left the world
             notifiedWorld.remove(uuid);
             lastPlotId.remove(uuid);
+            lastAllowed.remove(uuid);
             return;
         }
 
         TranslationManager tm = Plots.getInstance().getTranslationManager();
 
         // World entry notification
-        if (!notifiedWorld.contains(uuid)) {
+        if (!plotWorld.getName().equals(notifiedWorld.get(uuid))) {
             EventTitleUtil.showEventTitleToPlayer(
                     playerRef,
-                    ChatUtil.colorize(tm.get("notification.world_enter.title")),
-                    ChatUtil.colorize(tm.get("notification.world_enter.subtitle")),
+                    tm.message("notification.world_enter.title"),
+                    tm.message("notification.world_enter.subtitle"),
                     true);
-            notifiedWorld.add(uuid);
-
-            // Refresh radar markers
-            Plots.getInstance().getRadarManager().refreshPlayerMarkers(playerRef);
+            notifiedWorld.put(uuid, plotWorld.getName());
+            lastPlotId.remove(uuid);
+            lastAllowed.remove(uuid);
         }
 
         // Plot entry notification
-        com.hypixel.hytale.math.vector.Vector3d pos = playerRef.getTransform().getPosition();
-        Plot plot = plotManager.getPlotAt(plotWorld.getName(), (int) pos.x, (int) pos.z);
+        Transform transform = playerRef.getTransform();
+        Vector3d pos = transform.getPosition();
+        Plot plot = plotWorld.getPlotManager().getPlotAt((int) pos.x, (int) pos.z);
+
+        if (plot != null && plot.hasFlag(PlotFlag.ENTRY_DENY) && !plot.hasPermission(uuid)
+                && !PermissionsModule.get().hasPermission(uuid, PlotManager.PERM_ADMIN)) {
+            sendBack(uuid, chunk.getReferenceTo(index), buffer, world, transform, plotWorld.getPlotManager(), plot);
+            // Sent every tick until the teleport applies
+            denialThrottle.deny(playerRef, "flag.entry_denied");
+            return;
+        }
+
+        double[] allowed = lastAllowed.computeIfAbsent(uuid, k -> new double[3]);
+        allowed[0] = pos.x;
+        allowed[1] = pos.y;
+        allowed[2] = pos.z;
         String currentId = (plot == null) ? "road" : plot.getGridX() + "_" + plot.getGridZ();
         String lastId = lastPlotId.get(uuid);
 
@@ -90,8 +109,8 @@ public class PlotNotificationSystem extends EntityTickingSystem<EntityStore> {
                 String ownerName = plot.getOwnerName();
                 EventTitleUtil.showEventTitleToPlayer(
                         playerRef,
-                        ChatUtil.colorize(tm.get("notification.plot_enter.title", "name", plot.getName())),
-                        ChatUtil.colorize(tm.get("notification.plot_enter.subtitle", "owner", ownerName)),
+                        tm.message("notification.plot_enter.title", "name", plot.getName()),
+                        tm.message("notification.plot_enter.subtitle", "owner", ownerName),
                         false);
             }
 
@@ -99,6 +118,23 @@ public class PlotNotificationSystem extends EntityTickingSystem<EntityStore> {
         }
     }
 
+    /**
+     * Teleports a player back to where they were before entering a denied
+     * plot, or onto the road in front of it
+     */
+    private void sendBack(@Nonnull UUID uuid, @Nonnull Ref<EntityStore> ref, @Nonnull CommandBuffer<EntityStore> buffer,
+            @Nonnull World world, @Nonnull Transform transform, @Nonnull PlotManager plotManager, @Nonnull Plot plot) {
+        Vector3d target;
+        double[] allowed = lastAllowed.get(uuid);
+        if (allowed != null) {
+            target = new Vector3d(allowed[0], allowed[1], allowed[2]);
+        } else {
+            PlotConfig config = plotManager.getConfig();
+            target = new Vector3d(plot.getCenterX(config), transform.getPosition().y, plot.getMinZ(config) - 1.5);
+        }
+        buffer.addComponent(ref, Teleport.getComponentType(), new Teleport(world, target, transform.getRotation()));
+    }
+
     @Override
     public Query<EntityStore> getQuery() {
         return Archetype.of(PlayerRef.getComponentType());
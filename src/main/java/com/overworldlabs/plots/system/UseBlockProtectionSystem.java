@@ -0,0 +1,68 @@
+package com.overworldlabs.plots.system;
+
+import com.hypixel.hytale.component.Archetype;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.event.events.ecs.UseBlockEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.overworldlabs.plots.manager.DenialThrottle;
+import com.overworldlabs.plots.manager.PlotContext;
+import com.overworldlabs.plots.manager.PlotContextCache;
+import com.overworldlabs.plots.manager.PlotWorld;
+import com.overworldlabs.plots.manager.PlotWorldRegistry;
+import com.overworldlabs.plots.metrics.PlotMetrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * System to protect blocks from being used: doors, containers, benches and
+ * buckets picking up fluids.
+ */
+public class UseBlockProtectionSystem extends EntityEventSystem<EntityStore, UseBlockEvent.Pre> {
+    private final PlotWorldRegistry plotWorlds;
+    private final PlotContextCache contexts;
+    private final DenialThrottle denialThrottle;
+
+    public UseBlockProtectionSystem(PlotWorldRegistry plotWorlds, PlotContextCache contexts,
+            DenialThrottle denialThrottle) {
+        super(UseBlockEvent.Pre.class);
+        this.plotWorlds = plotWorlds;
+        this.contexts = contexts;
+        this.denialThrottle = denialThrottle;
+    }
+
+    @Override
+    public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> chunk, @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> buffer, @Nonnull UseBlockEvent.Pre event) {
+
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        PlotWorld plotWorld = plotWorlds.get(world);
+        if (plotWorld == null) {
+            return;
+        }
+
+        PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null)
+            return;
+
+        Vector3i pos = event.getTargetBlock();
+        PlotContext context = contexts.resolve(playerRef, plotWorld, pos.x, pos.z);
+
+        if (!context.canInteract()) {
+            event.setCancelled(true);
+            PlotMetrics.PROTECTION_DENIED.increment();
+            denialThrottle.deny(playerRef, "protection.no_permission_use");
+        }
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Archetype.of(PlayerRef.getComponentType());
+    }
+}
@@ -24,6 +24,40 @@ public final class ChatUtil {
      */
     public static final String PREFIX = ColorConstants.PRIMARY + "[Plots] " + ColorConstants.SECONDARY + "» ";
 
+    /**
+     * {@link #PREFIX} compiled for rendering templates
+     */
+    static final MessageTemplate PREFIX_TEMPLATE = MessageTemplate.compile(PREFIX);
+
+    /**
+     * Standard message styles: an optional plugin prefix plus the colour of
+     * text before the first colour tag
+     */
+    public enum Style {
+        PLAIN(null, false),
+        INFO(ColorConstants.INFO, true),
+        SUCCESS(ColorConstants.SUCCESS, true),
+        ERROR(ColorConstants.ERROR, true),
+        WARNING(ColorConstants.WARNING, true);
+
+        private final String color;
+        private final boolean prefixed;
+
+        Style(String colorTag, boolean prefixed) {
+            // "{#RRGGBB}" -> "#RRGGBB"
+            this.color = colorTag != null ? colorTag.substring(1, colorTag.length() - 1) : null;
+            this.prefixed = prefixed;
+        }
+
+        public String getColor() {
+            return color;
+        }
+
+        public boolean isPrefixed() {
+            return prefixed;
+        }
+    }
+
     private ChatUtil() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -1,10 +1,27 @@
 package com.overworldlabs.plots.util;
 
 import javax.annotation.Nonnull;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Utility class for colorized console output using ANSI escape codes.
  * Provides methods for printing colored messages to the terminal/console.
+ * <p>
+ * Messages below the current {@link Level} are discarded before any string is
+ * built when the {@link Supplier} overloads are used. While the async
+ * appender is running, messages are handed to a background thread through a
+ * bounded queue; when the queue is full they are dropped and counted instead
+ * of blocking the caller. Errors are always written directly so they stay
+ * next to their stack traces.
+ * </p>
  */
 public final class ConsoleColors {
 
@@ -59,10 +76,140 @@ public final class ConsoleColors {
     public static final String WARNING = YELLOW_BRIGHT;
     public static final String INFO = BLUE_BRIGHT;
 
+    /**
+     * Log levels, from most to least verbose
+     */
+    public enum Level {
+        DEBUG, INFO, WARNING, ERROR
+    }
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile Level level = Level.INFO;
+    private static volatile Thread appender;
+
     private ConsoleColors() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
+    /**
+     * Sets the minimum level that is written to the console
+     *
+     * @param minLevel The least severe level to print
+     */
+    public static void setLevel(@Nonnull Level minLevel) {
+        level = minLevel;
+    }
+
+    @Nonnull
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Enables or disables debug output
+     */
+    public static void setDebug(boolean debug) {
+        level = debug ? Level.DEBUG : Level.INFO;
+    }
+
+    /**
+     * Checks whether messages of a level would be printed
+     *
+     * @param messageLevel The level to check
+     * @return true if the level is enabled
+     */
+    public static boolean isEnabled(@Nonnull Level messageLevel) {
+        return messageLevel.ordinal() >= level.ordinal();
+    }
+
+    public static boolean isDebugEnabled() {
+        return level == Level.DEBUG;
+    }
+
+    /**
+     * Starts the background appender. Until it is started, and after it is
+     * stopped, messages are written on the calling thread.
+     */
+    public static synchronized void startAsync() {
+        if (appender != null)
+            return;
+
+        Thread thread = new Thread(ConsoleColors::drainLoop, "Plots-Logger");
+        thread.setDaemon(true);
+        appender = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the background appender and writes all queued messages
+     */
+    public static synchronized void stopAsync() {
+        Thread thread = appender;
+        if (thread == null)
+            return;
+
+        appender = null;
+        thread.interrupt();
+        try {
+            thread.join(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Get the number of messages dropped because the queue was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void drainLoop() {
+        List<String> batch = new ArrayList<>();
+        while (appender == Thread.currentThread()) {
+            try {
+                String line = queue.poll(1, TimeUnit.SECONDS);
+                if (line == null)
+                    continue;
+
+                batch.add(line);
+                queue.drainTo(batch);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private static void flush() {
+        List<String> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        writeBatch(batch);
+    }
+
+    private static void writeBatch(@Nonnull List<String> batch) {
+        long lost = dropped.getAndSet(0L);
+        if (lost > 0) {
+            System.out.println(PLUGIN_PREFIX + WARNING + "⚠ " + lost + " log message(s) dropped, console queue full"
+                    + RESET);
+        }
+        for (String line : batch) {
+            System.out.println(line);
+        }
+        batch.clear();
+    }
+
+    private static void write(@Nonnull String line) {
+        if (appender == null) {
+            System.out.println(line);
+        } else if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
     /**
      * Prints a success message to the console with a green checkmark.
      * <p>
@@ -72,7 +219,9 @@ public final class ConsoleColors {
      * @param message The success message to display
      */
     public static void success(@Nonnull String message) {
-        System.out.println(PLUGIN_PREFIX + SUCCESS + "✓ " + message + RESET);
+        if (isEnabled(Level.INFO)) {
+            write(PLUGIN_PREFIX + SUCCESS + "✓ " + message + RESET);
+        }
     }
 
     /**
@@ -87,6 +236,18 @@ public final class ConsoleColors {
         System.err.println(PLUGIN_PREFIX + ERROR + "✗ " + message + RESET);
     }
 
+    /**
+     * Prints an error message followed by the stack trace of its cause.
+     *
+     * @param message The error message to display
+     * @param error   The exception that caused it
+     */
+    public static void error(@Nonnull String message, @Nonnull Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        System.err.println(PLUGIN_PREFIX + ERROR + "✗ " + message + RESET + System.lineSeparator() + trace);
+    }
+
     /**
      * Prints a warning message to the console with a yellow warning symbol.
      * <p>
@@ -96,7 +257,9 @@ public final class ConsoleColors {
      * @param message The warning message to display
      */
     public static void warning(@Nonnull String message) {
-        System.out.println(PLUGIN_PREFIX + WARNING + "⚠ " + message + RESET);
+        if (isEnabled(Level.WARNING)) {
+            write(PLUGIN_PREFIX + WARNING + "⚠ " + message + RESET);
+        }
     }
 
     /**
@@ -108,7 +271,9 @@ public final class ConsoleColors {
      * @param message The informational message to display
      */
     public static void info(@Nonnull String message) {
-        System.out.println(PLUGIN_PREFIX + INFO + "ℹ " + message + RESET);
+        if (isEnabled(Level.INFO)) {
+            write(PLUGIN_PREFIX + INFO + "ℹ " + message + RESET);
+        }
     }
 
     /**
@@ -120,7 +285,21 @@ public final class ConsoleColors {
      * @param message The debug message to display
      */
     public static void debug(@Nonnull String message) {
-        System.out.println(PLUGIN_PREFIX + BLACK_BRIGHT + "⚙ " + message + RESET);
+        if (isDebugEnabled()) {
+            write(PLUGIN_PREFIX + BLACK_BRIGHT + "⚙ " + message + RESET);
+        }
+    }
+
+    /**
+     * Prints a debug message built only if debug output is enabled. Use this on
+     * hot paths so disabled logging costs a single volatile read.
+     *
+     * @param message Supplier of the debug message
+     */
+    public static void debug(@Nonnull Supplier<String> message) {
+        if (isDebugEnabled()) {
+            write(PLUGIN_PREFIX + BLACK_BRIGHT + "⚙ " + message.get() + RESET);
+        }
     }
 
     /**
@@ -133,7 +312,9 @@ public final class ConsoleColors {
      * @param message The message to display
      */
     public static void print(@Nonnull String color, @Nonnull String message) {
-        System.out.println(PLUGIN_PREFIX + color + message + RESET);
+        if (isEnabled(Level.INFO)) {
+            write(PLUGIN_PREFIX + color + message + RESET);
+        }
     }
 
     /**
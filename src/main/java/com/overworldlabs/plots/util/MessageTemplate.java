@@ -0,0 +1,275 @@
+package com.overworldlabs.plots.util;
+
+import com.hypixel.hytale.server.core.Message;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A translation string compiled into literal, placeholder and colour
+ * segments.
+ * <p>
+ * Templates are parsed once when translations are loaded. Rendering walks the
+ * segments and builds the {@link Message} tree directly, without string
+ * replacement or regex matching. Templates without placeholders cache their
+ * rendered message per {@link ChatUtil.Style}.
+ * </p>
+ */
+public final class MessageTemplate {
+    private static final Segment[] NO_SEGMENTS = new Segment[0];
+
+    private final String source;
+    // Text split on placeholders: text[0] name[0] text[1] name[1] ... text[n]
+    private final String[] texts;
+    private final String[] names;
+    // Coloured segments for Message rendering
+    private final Segment[] segments;
+    private final Message[] cached = new Message[ChatUtil.Style.values().length];
+
+    private MessageTemplate(@Nonnull String source, @Nonnull String[] texts, @Nonnull String[] names,
+            @Nonnull Segment[] segments) {
+        this.source = source;
+        this.texts = texts;
+        this.names = names;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a string containing {@code {#RRGGBB}} colour tags and
+     * {@code %name%} placeholders
+     *
+     * @param text The translation text
+     * @return The compiled template
+     */
+    @Nonnull
+    public static MessageTemplate compile(@Nonnull String text) {
+        List<String> texts = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Segment> segments = new ArrayList<>();
+
+        StringBuilder plain = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        String color = null;
+        int i = 0;
+        while (i < text.length()) {
+            int tagEnd = colorTagEnd(text, i);
+            if (tagEnd > 0) {
+                addLiteral(segments, literal, color);
+                color = "#" + text.substring(i + 2, tagEnd - 1);
+                plain.append(text, i, tagEnd);
+                i = tagEnd;
+                continue;
+            }
+
+            int placeholderEnd = placeholderEnd(text, i);
+            if (placeholderEnd > 0) {
+                String name = text.substring(i + 1, placeholderEnd - 1);
+                addLiteral(segments, literal, color);
+                segments.add(new Segment(null, name, color));
+                texts.add(plain.toString());
+                names.add(name);
+                plain.setLength(0);
+                i = placeholderEnd;
+                continue;
+            }
+
+            char c = text.charAt(i);
+            plain.append(c);
+            literal.append(c);
+            i++;
+        }
+        addLiteral(segments, literal, color);
+        texts.add(plain.toString());
+
+        return new MessageTemplate(text, texts.toArray(new String[0]), names.toArray(new String[0]),
+                segments.isEmpty() ? NO_SEGMENTS : segments.toArray(NO_SEGMENTS));
+    }
+
+    /**
+     * Get the uncompiled text
+     */
+    @Nonnull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Checks whether the template has no placeholders
+     */
+    public boolean isConstant() {
+        return names.length == 0;
+    }
+
+    /**
+     * Fills in placeholders and returns the text, colour tags included
+     *
+     * @param args Alternating placeholder names and values
+     */
+    @Nonnull
+    public String format(Object... args) {
+        if (names.length == 0)
+            return texts[0];
+
+        StringBuilder sb = new StringBuilder(source.length() + 16);
+        for (int i = 0; i < names.length; i++) {
+            sb.append(texts[i]);
+            String value = lookup(names[i], args);
+            if (value != null) {
+                sb.append(value);
+            } else {
+                sb.append('%').append(names[i]).append('%');
+            }
+        }
+        sb.append(texts[names.length]);
+        return sb.toString();
+    }
+
+    /**
+     * Renders the template as a message
+     *
+     * @param args Alternating placeholder names and values
+     */
+    @Nonnull
+    public Message render(Object... args) {
+        return render(ChatUtil.Style.PLAIN, args);
+    }
+
+    /**
+     * Renders the template as a message in a chat style. Constant templates
+     * return a shared instance, which must not be modified.
+     *
+     * @param style The prefix and base colour to use
+     * @param args  Alternating placeholder names and values
+     */
+    @Nonnull
+    public Message render(@Nonnull ChatUtil.Style style, Object... args) {
+        if (names.length == 0) {
+            Message message = cached[style.ordinal()];
+            if (message == null) {
+                message = build(style, args);
+                cached[style.ordinal()] = message;
+            }
+            return message;
+        }
+        return build(style, args);
+    }
+
+    @Nonnull
+    private Message build(@Nonnull ChatUtil.Style style, Object... args) {
+        List<Message> parts = new ArrayList<>(segments.length + 2);
+        if (style.isPrefixed()) {
+            ChatUtil.PREFIX_TEMPLATE.appendParts(parts, null, args);
+        }
+        appendParts(parts, style.getColor(), args);
+
+        if (parts.isEmpty())
+            return Message.raw("");
+        if (parts.size() == 1)
+            return parts.get(0);
+        return Message.join(parts.toArray(new Message[0]));
+    }
+
+    /**
+     * Appends one message part per segment
+     *
+     * @param baseColor Colour of text before the first colour tag
+     */
+    void appendParts(@Nonnull List<Message> parts, @Nullable String baseColor, Object... args) {
+        for (Segment segment : segments) {
+            String color = segment.color != null ? segment.color : baseColor;
+            if (segment.text != null) {
+                parts.add(part(segment.text, color));
+                continue;
+            }
+
+            String value = lookup(segment.name, args);
+            if (value == null) {
+                parts.add(part("%" + segment.name + "%", color));
+            } else if (value.indexOf("{#") >= 0) {
+                // Values with their own colour tags, e.g. a coloured plot name
+                compile(value).appendParts(parts, color);
+            } else if (!value.isEmpty()) {
+                parts.add(part(value, color));
+            }
+        }
+    }
+
+    @Nonnull
+    private static Message part(@Nonnull String text, @Nullable String color) {
+        Message message = Message.raw(text);
+        if (color != null) {
+            message.color(color);
+        }
+        return message;
+    }
+
+    @Nullable
+    private static String lookup(@Nonnull String name, Object[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (name.equals(args[i])) {
+                Object value = args[i + 1];
+                return value != null ? String.valueOf(value) : "null";
+            }
+        }
+        return null;
+    }
+
+    private static void addLiteral(@Nonnull List<Segment> segments, @Nonnull StringBuilder literal,
+            @Nullable String color) {
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString(), null, color));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * @return The index after a {@code {#RRGGBB}} tag starting at {@code i}, or
+     *         {@code -1}
+     */
+    private static int colorTagEnd(@Nonnull String text, int i) {
+        if (i + 9 > text.length() || text.charAt(i) != '{' || text.charAt(i + 1) != '#'
+                || text.charAt(i + 8) != '}')
+            return -1;
+
+        for (int j = i + 2; j < i + 8; j++) {
+            if (Character.digit(text.charAt(j), 16) < 0)
+                return -1;
+        }
+        return i + 9;
+    }
+
+    /**
+     * @return The index after a {@code %name%} placeholder starting at
+     *         {@code i}, or {@code -1}
+     */
+    private static int placeholderEnd(@Nonnull String text, int i) {
+        if (text.charAt(i) != '%')
+            return -1;
+
+        int j = i + 1;
+        while (j < text.length()) {
+            char c = text.charAt(j);
+            if (c == '%')
+                return j > i + 1 ? j + 1 : -1;
+            if (!Character.isLetterOrDigit(c) && c != '_')
+                return -1;
+            j++;
+        }
+        return -1;
+    }
+
+    private static final class Segment {
+        // Either text or name is set
+        final String text;
+        final String name;
+        final String color;
+
+        Segment(@Nullable String text, @Nullable String name, @Nullable String color) {
+            this.text = text;
+            this.name = name;
+            this.color = color;
+        }
+    }
+}
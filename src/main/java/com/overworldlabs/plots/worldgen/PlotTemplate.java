@@ -0,0 +1,329 @@
+package com.overworldlabs.plots.worldgen;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.overworldlabs.plots.manager.PlotMergeIndex;
+import com.overworldlabs.plots.manager.PrefabManager;
+import com.overworldlabs.plots.model.PlotConfig;
+import com.overworldlabs.plots.model.Prefab;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the blocks of a freshly generated plot world, column by column.
+ * <p>
+ * Shared by the world generator and the plot reset engine so a reset plot is
+ * identical to a newly generated one, including stamped prefabs.
+ * </p>
+ * <p>
+ * With a {@link PlotMergeIndex}, roads inside a merged region are generated
+ * as plot ground without road prefabs, and borders only run along the edge of
+ * the region.
+ * </p>
+ */
+public class PlotTemplate {
+    /**
+     * Height of the world, the range resets, schematics, snapshots and the
+     * spawn scan cover
+     */
+    public static final int HEIGHT = ChunkUtil.HEIGHT;
+    public static final int GROUND_HEIGHT = 64;
+
+    public enum PositionType {
+        PLOT,
+        PLOT_BORDER,
+        ROAD_X,
+        ROAD_Z,
+        INTERSECTION
+    }
+
+    private final int plotSizeX;
+    private final int plotSizeZ;
+    private final int totalSizeX;
+    private final int totalSizeZ;
+
+    private final int bedrockBlockId;
+    private final int grassBlockId;
+    private final int dirtBlockId;
+    private final int stoneBlockId;
+    private final int roadBlockId;
+    private final int borderBlockId;
+
+    // Prefab blocks grouped by column, relative to the prefab origin
+    private final PrefabColumns plotColumns;
+    private final PrefabColumns roadXColumns;
+    private final PrefabColumns roadZColumns;
+    private final PrefabColumns intersectionColumns;
+
+    public PlotTemplate(@Nonnull PlotConfig config, @Nullable PrefabManager prefabManager, int plotSizeX,
+            int plotSizeZ, int roadSizeX, int roadSizeZ) {
+        this.plotSizeX = plotSizeX;
+        this.plotSizeZ = plotSizeZ;
+        this.totalSizeX = Math.max(1, plotSizeX + roadSizeX);
+        this.totalSizeZ = Math.max(1, plotSizeZ + roadSizeZ);
+
+        // Cache IDs with safety checks from config
+        this.bedrockBlockId = getBlockId(config.getBedrockBlock(), 0);
+        this.grassBlockId = getBlockId(config.getPlotSurfaceBlock(), 0);
+        this.dirtBlockId = getBlockId(config.getPlotSubSurfaceBlock(), 0);
+        this.stoneBlockId = getBlockId(config.getFillingBlock(), 0);
+        this.roadBlockId = getBlockId(config.getRoadSurfaceBlock(), stoneBlockId);
+        this.borderBlockId = getBlockId(config.getBorderBlock(), roadBlockId);
+
+        Prefab roadPrefab = null;
+        Prefab plotPrefab = null;
+        Prefab intersectionPrefab = null;
+        if (prefabManager != null) {
+            roadPrefab = prefabManager.getOrLoadPrefab(config.getRoadPrefab());
+            plotPrefab = prefabManager.getOrLoadPrefab(config.getPlotPrefab());
+            intersectionPrefab = prefabManager.getOrLoadPrefab(config.getIntersectionPrefab());
+        }
+
+        this.plotColumns = PrefabColumns.of(plotPrefab, 0);
+        // Road Z (vertical, separates plots horizontally) is the road prefab rotated
+        this.roadZColumns = PrefabColumns.of(roadPrefab, 1);
+        this.roadXColumns = PrefabColumns.of(roadPrefab, 0);
+        this.intersectionColumns = PrefabColumns.of(intersectionPrefab, 0);
+    }
+
+    public int getTotalSizeX() {
+        return totalSizeX;
+    }
+
+    public int getTotalSizeZ() {
+        return totalSizeZ;
+    }
+
+    public PositionType getPositionType(int worldX, int worldZ) {
+        int modX = Math.floorMod(worldX, totalSizeX);
+        int modZ = Math.floorMod(worldZ, totalSizeZ);
+
+        if (modX >= plotSizeX && modZ >= plotSizeZ) {
+            return PositionType.INTERSECTION;
+        }
+        if (modX >= plotSizeX) {
+            return PositionType.ROAD_Z;
+        }
+        if (modZ >= plotSizeZ) {
+            return PositionType.ROAD_X;
+        }
+
+        if (modX == 0 || modX == plotSizeX - 1 || modZ == 0 || modZ == plotSizeZ - 1) {
+            return PositionType.PLOT_BORDER;
+        }
+
+        return PositionType.PLOT;
+    }
+
+    /**
+     * Get the position type of a column, taking merged plots into account
+     */
+    public PositionType getPositionType(int worldX, int worldZ, @Nullable PlotMergeIndex merges) {
+        PositionType type = getPositionType(worldX, worldZ);
+        if (type == PositionType.PLOT || merges == null || merges.isEmpty())
+            return type;
+
+        long region = getRegionAt(worldX, worldZ, merges);
+        if (region == PlotMergeIndex.NO_REGION)
+            return type;
+
+        // Borders run where the region meets road or another plot
+        boolean edge = getRegionAt(worldX - 1, worldZ, merges) != region
+                || getRegionAt(worldX + 1, worldZ, merges) != region
+                || getRegionAt(worldX, worldZ - 1, merges) != region
+                || getRegionAt(worldX, worldZ + 1, merges) != region;
+        return edge ? PositionType.PLOT_BORDER : PositionType.PLOT;
+    }
+
+    private long getRegionAt(int worldX, int worldZ, @Nonnull PlotMergeIndex merges) {
+        int gridX = Math.floorDiv(worldX, totalSizeX);
+        int gridZ = Math.floorDiv(worldZ, totalSizeZ);
+        boolean eastRoad = worldX - gridX * totalSizeX >= plotSizeX;
+        boolean southRoad = worldZ - gridZ * totalSizeZ >= plotSizeZ;
+        return merges.getRegionAt(gridX, gridZ, eastRoad, southRoad);
+    }
+
+    private static boolean isRoad(@Nonnull PositionType type) {
+        return type == PositionType.ROAD_X || type == PositionType.ROAD_Z || type == PositionType.INTERSECTION;
+    }
+
+    /**
+     * Writes the generated block IDs of a world column into {@code column},
+     * indexed by Y. Unset heights are {@code 0} (empty).
+     *
+     * @param worldX The X coordinate in world space
+     * @param worldZ The Z coordinate in world space
+     * @param column Array of at least {@link #HEIGHT} entries
+     */
+    public void fillColumn(int worldX, int worldZ, @Nonnull int[] column) {
+        fillBaseColumn(worldX, worldZ, column);
+        applyPrefabs(worldX, worldZ, column);
+    }
+
+    /**
+     * Writes the block IDs of a world column with merged plots applied, see
+     * {@link #fillColumn(int, int, int[])}
+     */
+    public void fillColumn(int worldX, int worldZ, @Nonnull int[] column, @Nullable PlotMergeIndex merges) {
+        if (merges == null || merges.isEmpty()) {
+            fillColumn(worldX, worldZ, column);
+            return;
+        }
+
+        PositionType type = getPositionType(worldX, worldZ, merges);
+        fillLayers(type, column);
+        // Merged roads are plot ground; road and intersection prefabs stay off them
+        if (!isRoad(getPositionType(worldX, worldZ)) || isRoad(type)) {
+            applyPrefabs(worldX, worldZ, column);
+        }
+    }
+
+    /**
+     * Check if any prefab is stamped over the base layers
+     */
+    public boolean hasPrefabs() {
+        return !plotColumns.isEmpty() || !roadXColumns.isEmpty() || !roadZColumns.isEmpty()
+                || !intersectionColumns.isEmpty();
+    }
+
+    /**
+     * Writes only the base layers of a column, see
+     * {@link #fillColumn(int, int, int[])}
+     */
+    public void fillBaseColumn(int worldX, int worldZ, @Nonnull int[] column) {
+        fillLayers(getPositionType(worldX, worldZ), column);
+    }
+
+    private void fillLayers(@Nonnull PositionType posType, @Nonnull int[] column) {
+        Arrays.fill(column, 0, HEIGHT, 0);
+
+        // Layer 0: Bedrock
+        column[0] = bedrockBlockId;
+
+        // Layer 1 to groundHeight - 4: Stone (Mass fill)
+        for (int y = 1; y < GROUND_HEIGHT - 3; y++) {
+            column[y] = stoneBlockId;
+        }
+
+        // Layer groundHeight - 3 to groundHeight - 1: Dirt or Stone (Road)
+        boolean isAnyRoad = isRoad(posType);
+        int subSurfaceBlockId = isAnyRoad ? stoneBlockId : dirtBlockId;
+        for (int y = GROUND_HEIGHT - 3; y < GROUND_HEIGHT; y++) {
+            column[y] = subSurfaceBlockId;
+        }
+
+        // Layer groundHeight (Surface)
+        column[GROUND_HEIGHT] = isAnyRoad ? roadBlockId : grassBlockId;
+
+        // Layer groundHeight + 1: Border (if applicable)
+        if (posType == PositionType.PLOT_BORDER) {
+            column[GROUND_HEIGHT + 1] = borderBlockId;
+        }
+    }
+
+    /**
+     * Stamps the prefabs covering a column over its base layers
+     */
+    public void applyPrefabs(int worldX, int worldZ, @Nonnull int[] column) {
+        // Prefabs are stamped over the base layers in the same order as before:
+        // plot, road Z, road X, intersection
+        int originX = Math.floorDiv(worldX, totalSizeX) * totalSizeX;
+        int originZ = Math.floorDiv(worldZ, totalSizeZ) * totalSizeZ;
+        plotColumns.apply(column, worldX - originX, worldZ - originZ);
+        roadZColumns.apply(column, worldX - originX - plotSizeX, worldZ - originZ);
+        roadXColumns.apply(column, worldX - originX, worldZ - originZ - plotSizeZ);
+        intersectionColumns.apply(column, worldX - originX - plotSizeX, worldZ - originZ - plotSizeZ);
+    }
+
+    static int getBlockId(String name, int fallback) {
+        try {
+            var assetMap = BlockType.getAssetMap();
+            if (assetMap == null)
+                return fallback;
+
+            int id = assetMap.getIndex(name);
+            return (id == Integer.MIN_VALUE) ? fallback : id;
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Prefab blocks indexed by their column relative to the prefab origin, so a
+     * single world column can be stamped without scanning the whole prefab
+     */
+    private static final class PrefabColumns {
+        private static final PrefabColumns EMPTY = new PrefabColumns(new HashMap<>());
+
+        // Column key -> interleaved (y, blockId) pairs in prefab order
+        private final Map<Long, int[]> columns;
+
+        private PrefabColumns(Map<Long, int[]> columns) {
+            this.columns = columns;
+        }
+
+        static PrefabColumns of(@Nullable Prefab prefab, int rotation) {
+            if (prefab == null || prefab.getBlocks() == null)
+                return EMPTY;
+
+            Map<Long, List<int[]>> grouped = new HashMap<>();
+            for (Prefab.PrefabBlock block : prefab.getBlocks()) {
+                // Alignment: prefab minimum maps to the plot origin, minY to world Y 0
+                int relX = block.getX() - prefab.getMinX();
+                int relY = block.getY() - prefab.getMinY();
+                int relZ = block.getZ() - prefab.getMinZ();
+                if (relY < 0 || relY >= HEIGHT)
+                    continue;
+
+                int blockId = block.getBlockId();
+                if (blockId == -1) {
+                    blockId = getBlockId(block.getName(), 0);
+                    block.setBlockId(blockId);
+                }
+
+                int offsetX = rotation == 1 ? relZ : relX; // 90 degrees
+                int offsetZ = rotation == 1 ? relX : relZ;
+                grouped.computeIfAbsent(key(offsetX, offsetZ), k -> new ArrayList<>())
+                        .add(new int[] { relY, blockId });
+            }
+
+            Map<Long, int[]> columns = new HashMap<>();
+            grouped.forEach((key, blocks) -> {
+                int[] packed = new int[blocks.size() * 2];
+                for (int i = 0; i < blocks.size(); i++) {
+                    packed[i * 2] = blocks.get(i)[0];
+                    packed[i * 2 + 1] = blocks.get(i)[1];
+                }
+                columns.put(key, packed);
+            });
+            return new PrefabColumns(columns);
+        }
+
+        boolean isEmpty() {
+            return columns.isEmpty();
+        }
+
+        void apply(int[] column, int offsetX, int offsetZ) {
+            if (columns.isEmpty())
+                return;
+
+            int[] blocks = columns.get(key(offsetX, offsetZ));
+            if (blocks == null)
+                return;
+
+            for (int i = 0; i < blocks.length; i += 2) {
+                column[blocks[i]] = blocks[i + 1];
+            }
+        }
+
+        private static long key(int x, int z) {
+            return ((long) x << 32) | (z & 0xFFFFFFFFL);
+        }
+    }
+}